@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -27,8 +28,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import freemarker.template.TemplateException;
 
 import ch.rodano.api.configuration.interceptor.MustChangePasswordInterceptor;
+import ch.rodano.api.configuration.interceptor.QueryCounterHandlerInterceptor;
 import ch.rodano.api.configuration.interceptor.RequestContextInterceptor;
 import ch.rodano.api.configuration.interceptor.TransactionCacheHandlerInterceptor;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
 
 @Profile({ "api", "test" })
 @Configuration
@@ -38,7 +41,10 @@ public class WebConfigurer implements WebMvcConfigurer {
 	private final MustChangePasswordInterceptor mustChangePasswordInterceptor;
 	private final TransactionCacheHandlerInterceptor transactionCacheHandlerInterceptor;
 	private final RequestContextInterceptor requestContextInterceptor;
+	private final QueryCounterHandlerInterceptor queryCounterHandlerInterceptor;
+	private final TransactionCacheDAOService transactionCacheDAOService;
 
+	private final boolean virtualThreads;
 	private final Integer corePoolSize;
 	private final Integer maxPoolSize;
 	private final Integer poolQueueCapacity;
@@ -51,6 +57,9 @@ public class WebConfigurer implements WebMvcConfigurer {
 		final MustChangePasswordInterceptor mustChangePasswordInterceptor,
 		final TransactionCacheHandlerInterceptor transactionCacheHandlerInterceptor,
 		final RequestContextInterceptor requestContextInterceptor,
+		final QueryCounterHandlerInterceptor queryCounterHandlerInterceptor,
+		final TransactionCacheDAOService transactionCacheDAOService,
+		@Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads,
 		@Value("${rodano.controller.pool.core-size:-1}") final Integer corePoolSize,
 		@Value("${rodano.controller.pool.max-size:40}") final Integer maxPoolSize,
 		@Value("${rodano.controller.pool.queue-capacity:15}") final Integer poolQueueCapacity,
@@ -62,6 +71,9 @@ public class WebConfigurer implements WebMvcConfigurer {
 		this.mustChangePasswordInterceptor = mustChangePasswordInterceptor;
 		this.transactionCacheHandlerInterceptor = transactionCacheHandlerInterceptor;
 		this.requestContextInterceptor = requestContextInterceptor;
+		this.queryCounterHandlerInterceptor = queryCounterHandlerInterceptor;
+		this.transactionCacheDAOService = transactionCacheDAOService;
+		this.virtualThreads = virtualThreads;
 		this.corePoolSize = corePoolSize;
 		this.maxPoolSize = maxPoolSize;
 		this.poolQueueCapacity = poolQueueCapacity;
@@ -88,6 +100,7 @@ public class WebConfigurer implements WebMvcConfigurer {
 		registry.addInterceptor(mustChangePasswordInterceptor).excludePathPatterns("/auth/password/change", "/me", "/config/study", "/config/public-study");
 		registry.addInterceptor(transactionCacheHandlerInterceptor);
 		registry.addInterceptor(requestContextInterceptor);
+		registry.addInterceptor(queryCounterHandlerInterceptor);
 	}
 
 	/**
@@ -107,10 +120,20 @@ public class WebConfigurer implements WebMvcConfigurer {
 
 	/**
 	 * Configure asynchronous request handling options.
+	 * The transaction cache of a request is handed over to the thread that completes the request asynchronously (for example, to write a streamed response)
 	 *
 	 */
 	@Override
 	public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+		//with virtual threads, there is no need to pool the threads, the number of concurrent requests is limited by the database pool anyway
+		if(virtualThreads) {
+			final var executor = new SimpleAsyncTaskExecutor(poolName);
+			executor.setVirtualThreads(true);
+			executor.setTaskDecorator(transactionCacheDAOService::handOver);
+			configurer.setTaskExecutor(executor);
+			return;
+		}
+
 		final var executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(corePoolSize > 0 ? corePoolSize : Runtime.getRuntime().availableProcessors());
 		executor.setMaxPoolSize(maxPoolSize);
@@ -118,6 +141,7 @@ public class WebConfigurer implements WebMvcConfigurer {
 		executor.setThreadNamePrefix(poolName);
 		executor.setAllowCoreThreadTimeOut(poolTimeoutActive);
 		executor.setKeepAliveSeconds(poolTimeoutDuration);
+		executor.setTaskDecorator(transactionCacheDAOService::handOver);
 		executor.initialize();
 
 		configurer.setTaskExecutor(executor);
@@ -0,0 +1,27 @@
+package ch.rodano.api.audit;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import ch.rodano.core.model.audit.AuditTrail;
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
+
+/**
+ * It is not possible to annotate this object with a @Schema, for the same reason as the PagedResult
+ */
+public record AuditTrailPageDTO<T extends AuditTrail>(
+	@Schema(description = "Audit trails of the page, sorted by date")
+	@NotNull
+	List<T> objects,
+	@Schema(description = "Cursor to send to retrieve the next page, null if this is the last page")
+	String nextCursor
+) {
+
+	public AuditTrailPageDTO(final AuditTrailPage<T> page) {
+		this(page.auditTrails(), page.nextCursor().map(AuditTrailCursor::toToken).orElse(null));
+	}
+}
@@ -1,18 +1,26 @@
 package ch.rodano.api.audit;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -21,6 +29,8 @@ import ch.rodano.api.request.context.RequestContextService;
 import ch.rodano.api.utils.URLConsistencyUtils;
 import ch.rodano.configuration.model.feature.FeatureStatic;
 import ch.rodano.configuration.model.rights.Rights;
+import ch.rodano.core.model.audit.AuditTrail;
+import ch.rodano.core.model.audit.AuditTrailCursor;
 import ch.rodano.core.model.audit.models.DatasetAuditTrail;
 import ch.rodano.core.model.audit.models.EventAuditTrail;
 import ch.rodano.core.model.audit.models.FieldAuditTrail;
@@ -31,6 +41,7 @@ import ch.rodano.core.model.audit.models.ScopeAuditTrail;
 import ch.rodano.core.model.audit.models.WorkflowStatusAuditTrail;
 import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.event.Event;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.exception.UnauthorizedException;
 import ch.rodano.core.model.field.Field;
 import ch.rodano.core.model.form.Form;
@@ -60,6 +71,16 @@ import ch.rodano.core.utils.UtilsService;
 @RestController
 @Transactional(readOnly = true)
 public class VersionsController extends AbstractSecuredController {
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	private record AuditedObject<T>(
+		T object,
+		Optional<Timeframe> timeframe
+	) {
+		//nothing to do here
+	}
+
 	private final ScopeService scopeService;
 	private final ScopeDAOService scopeDAOService;
 	private final EventDAOService eventDAOService;
@@ -71,6 +92,7 @@ public class VersionsController extends AbstractSecuredController {
 	private final RobotDAOService robotDAOService;
 	private final RoleDAOService roleDAOService;
 	private final UtilsService utilsService;
+	private final ObjectMapper objectMapper;
 
 	public VersionsController(
 		final RequestContextService requestContextService,
@@ -88,7 +110,8 @@ public class VersionsController extends AbstractSecuredController {
 		final UserDAOService userDAOService,
 		final RobotDAOService robotDAOService,
 		final RoleDAOService roleDAOService,
-		final UtilsService utilsService
+		final UtilsService utilsService,
+		final ObjectMapper objectMapper
 	) {
 		super(requestContextService, studyService, actorService, roleService, rightsService);
 		this.scopeService = scopeService;
@@ -102,6 +125,7 @@ public class VersionsController extends AbstractSecuredController {
 		this.robotDAOService = robotDAOService;
 		this.roleDAOService = roleDAOService;
 		this.utilsService = utilsService;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping("scopes/{scopePk}/versions")
@@ -110,18 +134,30 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long scopePk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var scope = scopeDAOService.getScopeByPk(scopePk);
-
-		utilsService.checkNotNull(Scope.class, scope, scopePk);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedScope(scopePk);
+		return scopeDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+	@GetMapping("scopes/{scopePk}/versions/page")
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<ScopeAuditTrail> getPageForScope(
+		@PathVariable final Long scopePk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedScope(scopePk);
+		return new AuditTrailPageDTO<>(scopeDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return scopeDAOService.getAuditTrails(scope, timeframe, auditActorPk);
+	@GetMapping("scopes/{scopePk}/versions/export")
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForScope(
+		@PathVariable final Long scopePk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedScope(scopePk);
+		return exportAuditTrails(consumer -> scopeDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping("workflows/{workflowPk}/versions")
@@ -130,19 +166,30 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long workflowPk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var workflowStatus = workflowStatusDAOService.getWorkflowStatusByPk(workflowPk);
-		utilsService.checkNotNull(WorkflowStatus.class, workflowStatus, workflowPk);
-
-		final var scope = scopeService.get(workflowStatus);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedWorkflowStatus(workflowPk);
+		return workflowStatusDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, workflowStatus.getWorkflow());
+	@GetMapping("workflows/{workflowPk}/versions/page")
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<WorkflowStatusAuditTrail> getPageForWorkflowStatus(
+		@PathVariable final Long workflowPk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedWorkflowStatus(workflowPk);
+		return new AuditTrailPageDTO<>(workflowStatusDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return workflowStatusDAOService.getAuditTrails(workflowStatus, timeframe, auditActorPk);
+	@GetMapping("workflows/{workflowPk}/versions/export")
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForWorkflowStatus(
+		@PathVariable final Long workflowPk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedWorkflowStatus(workflowPk);
+		return exportAuditTrails(consumer -> workflowStatusDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping("scopes/{scopePk}/events/{eventPk}/versions")
@@ -152,23 +199,32 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long eventPk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var scope = scopeDAOService.getScopeByPk(scopePk);
-		final var event = eventDAOService.getEventByPk(eventPk);
-
-		utilsService.checkNotNull(Scope.class, scope, scopePk);
-		utilsService.checkNotNull(Event.class, event, eventPk);
-
-		URLConsistencyUtils.checkConsistency(scope, event);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedEvent(scopePk, eventPk);
+		return eventDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
-		rightsService.checkRight(currentActor, currentRoles, event.getEventModel(), Rights.READ);
+	@GetMapping("scopes/{scopePk}/events/{eventPk}/versions/page")
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<EventAuditTrail> getPageForEvent(
+		@PathVariable final Long scopePk,
+		@PathVariable final Long eventPk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedEvent(scopePk, eventPk);
+		return new AuditTrailPageDTO<>(eventDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return eventDAOService.getAuditTrails(event, timeframe, auditActorPk);
+	@GetMapping("scopes/{scopePk}/events/{eventPk}/versions/export")
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForEvent(
+		@PathVariable final Long scopePk,
+		@PathVariable final Long eventPk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedEvent(scopePk, eventPk);
+		return exportAuditTrails(consumer -> eventDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/versions", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/versions" })
@@ -179,26 +235,34 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long datasetPk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var scope = scopeDAOService.getScopeByPk(scopePk);
-		final var event = eventPk.map(eventDAOService::getEventByPk);
-		final var dataset = datasetDAOService.getDatasetByPk(datasetPk);
-
-		utilsService.checkNotNull(Scope.class, scope, scopePk);
-		utilsService.checkNotNull(Event.class, event, eventPk);
-		utilsService.checkNotNull(Dataset.class, dataset, datasetPk);
-
-		URLConsistencyUtils.checkConsistency(scope, event, dataset);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedDataset(scopePk, eventPk, datasetPk);
+		return datasetDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
-		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
-		rightsService.checkRight(currentActor, currentRoles, dataset.getDatasetModel(), Rights.READ);
+	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/versions/page", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/versions/page" })
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<DatasetAuditTrail> getPageForDataset(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long datasetPk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedDataset(scopePk, eventPk, datasetPk);
+		return new AuditTrailPageDTO<>(datasetDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return datasetDAOService.getAuditTrails(dataset, timeframe, auditActorPk);
+	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/versions/export", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/versions/export" })
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForDataset(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long datasetPk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedDataset(scopePk, eventPk, datasetPk);
+		return exportAuditTrails(consumer -> datasetDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/fields/{fieldPk}/versions", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/fields/{fieldPk}/versions" })
@@ -210,28 +274,36 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long fieldPk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var scope = scopeDAOService.getScopeByPk(scopePk);
-		final var event = eventPk.map(eventDAOService::getEventByPk);
-		final var dataset = datasetDAOService.getDatasetByPk(datasetPk);
-		final var field = fieldDAOService.getFieldByPk(fieldPk);
-
-		utilsService.checkNotNull(Scope.class, scope, scopePk);
-		utilsService.checkNotNull(Event.class, event, eventPk);
-		utilsService.checkNotNull(Dataset.class, dataset, datasetPk);
-		utilsService.checkNotNull(Field.class, field, fieldPk);
-
-		URLConsistencyUtils.checkConsistency(scope, event, dataset, field);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedField(scopePk, eventPk, datasetPk, fieldPk);
+		return fieldDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
-		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
-		rightsService.checkRight(currentActor, currentRoles, dataset.getDatasetModel(), Rights.READ);
+	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/fields/{fieldPk}/versions/page", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/fields/{fieldPk}/versions/page" })
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<FieldAuditTrail> getPageForField(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long datasetPk,
+		@PathVariable final Long fieldPk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedField(scopePk, eventPk, datasetPk, fieldPk);
+		return new AuditTrailPageDTO<>(fieldDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return fieldDAOService.getAuditTrails(field, timeframe, auditActorPk);
+	@GetMapping({ "scopes/{scopePk}/datasets/{datasetPk}/fields/{fieldPk}/versions/export", "scopes/{scopePk}/events/{eventPk}/datasets/{datasetPk}/fields/{fieldPk}/versions/export" })
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForField(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long datasetPk,
+		@PathVariable final Long fieldPk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedField(scopePk, eventPk, datasetPk, fieldPk);
+		return exportAuditTrails(consumer -> fieldDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping({ "scopes/{scopePk}/forms/{formPk}/versions", "scopes/{scopePk}/events/{eventPk}/forms/{formPk}/versions" })
@@ -242,26 +314,34 @@ public class VersionsController extends AbstractSecuredController {
 		@PathVariable final Long formPk,
 		@RequestParam final Optional<Long> auditActorPk
 	) {
-		final var scope = scopeDAOService.getScopeByPk(scopePk);
-		final var event = eventPk.map(eventDAOService::getEventByPk);
-		final var form = formDAOService.getFormByPk(formPk);
-
-		utilsService.checkNotNull(Scope.class, scope, scopePk);
-		utilsService.checkNotNull(Event.class, event, eventPk);
-		utilsService.checkNotNull(Form.class, form, formPk);
-
-		URLConsistencyUtils.checkConsistency(scope, event, form);
-
-		final var currentActor = currentActor();
-		final var currentRoles = currentActiveRoles(scope);
+		final var audited = getAuditedForm(scopePk, eventPk, formPk);
+		return formDAOService.getAuditTrails(audited.object(), audited.timeframe(), auditActorPk);
+	}
 
-		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
-		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
-		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
-		rightsService.checkRight(currentActor, currentRoles, form.getFormModel(), Rights.READ);
+	@GetMapping({ "scopes/{scopePk}/forms/{formPk}/versions/page", "scopes/{scopePk}/events/{eventPk}/forms/{formPk}/versions/page" })
+	@ResponseStatus(HttpStatus.OK)
+	public AuditTrailPageDTO<FormAuditTrail> getPageForForm(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long formPk,
+		@RequestParam final Optional<Long> auditActorPk,
+		@RequestParam final Optional<String> cursor,
+		@RequestParam final Optional<Integer> pageSize
+	) {
+		final var audited = getAuditedForm(scopePk, eventPk, formPk);
+		return new AuditTrailPageDTO<>(formDAOService.getAuditTrailPage(audited.object(), audited.timeframe(), auditActorPk, toCursor(cursor), toPageSize(pageSize)));
+	}
 
-		final var timeframe = actorService.getTimeframeForScope(currentActor, scope, currentRoles);
-		return formDAOService.getAuditTrails(form, timeframe, auditActorPk);
+	@GetMapping({ "scopes/{scopePk}/forms/{formPk}/versions/export", "scopes/{scopePk}/events/{eventPk}/forms/{formPk}/versions/export" })
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<StreamingResponseBody> exportForForm(
+		@PathVariable final Long scopePk,
+		@PathVariable final Optional<Long> eventPk,
+		@PathVariable final Long formPk,
+		@RequestParam final Optional<Long> auditActorPk
+	) {
+		final var audited = getAuditedForm(scopePk, eventPk, formPk);
+		return exportAuditTrails(consumer -> formDAOService.streamAuditTrails(audited.object(), audited.timeframe(), auditActorPk, consumer));
 	}
 
 	@GetMapping("users/{userPk}/versions")
@@ -356,4 +436,153 @@ public class VersionsController extends AbstractSecuredController {
 
 		return roleDAOService.getAuditTrails(role, Optional.empty(), auditActorPk);
 	}
+
+	private AuditedObject<Scope> getAuditedScope(final Long scopePk) {
+		final var scope = scopeDAOService.getScopeByPk(scopePk);
+
+		utilsService.checkNotNull(Scope.class, scope, scopePk);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+
+		return new AuditedObject<>(scope, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private AuditedObject<WorkflowStatus> getAuditedWorkflowStatus(final Long workflowPk) {
+		final var workflowStatus = workflowStatusDAOService.getWorkflowStatusByPk(workflowPk);
+		utilsService.checkNotNull(WorkflowStatus.class, workflowStatus, workflowPk);
+
+		final var scope = scopeService.get(workflowStatus);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, workflowStatus.getWorkflow());
+
+		return new AuditedObject<>(workflowStatus, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private AuditedObject<Event> getAuditedEvent(final Long scopePk, final Long eventPk) {
+		final var scope = scopeDAOService.getScopeByPk(scopePk);
+		final var event = eventDAOService.getEventByPk(eventPk);
+
+		utilsService.checkNotNull(Scope.class, scope, scopePk);
+		utilsService.checkNotNull(Event.class, event, eventPk);
+
+		URLConsistencyUtils.checkConsistency(scope, event);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+		rightsService.checkRight(currentActor, currentRoles, event.getEventModel(), Rights.READ);
+
+		return new AuditedObject<>(event, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private AuditedObject<Dataset> getAuditedDataset(final Long scopePk, final Optional<Long> eventPk, final Long datasetPk) {
+		final var scope = scopeDAOService.getScopeByPk(scopePk);
+		final var event = eventPk.map(eventDAOService::getEventByPk);
+		final var dataset = datasetDAOService.getDatasetByPk(datasetPk);
+
+		utilsService.checkNotNull(Scope.class, scope, scopePk);
+		utilsService.checkNotNull(Event.class, event, eventPk);
+		utilsService.checkNotNull(Dataset.class, dataset, datasetPk);
+
+		URLConsistencyUtils.checkConsistency(scope, event, dataset);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
+		rightsService.checkRight(currentActor, currentRoles, dataset.getDatasetModel(), Rights.READ);
+
+		return new AuditedObject<>(dataset, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private AuditedObject<Field> getAuditedField(final Long scopePk, final Optional<Long> eventPk, final Long datasetPk, final Long fieldPk) {
+		final var scope = scopeDAOService.getScopeByPk(scopePk);
+		final var event = eventPk.map(eventDAOService::getEventByPk);
+		final var dataset = datasetDAOService.getDatasetByPk(datasetPk);
+		final var field = fieldDAOService.getFieldByPk(fieldPk);
+
+		utilsService.checkNotNull(Scope.class, scope, scopePk);
+		utilsService.checkNotNull(Event.class, event, eventPk);
+		utilsService.checkNotNull(Dataset.class, dataset, datasetPk);
+		utilsService.checkNotNull(Field.class, field, fieldPk);
+
+		URLConsistencyUtils.checkConsistency(scope, event, dataset, field);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
+		rightsService.checkRight(currentActor, currentRoles, dataset.getDatasetModel(), Rights.READ);
+
+		return new AuditedObject<>(field, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private AuditedObject<Form> getAuditedForm(final Long scopePk, final Optional<Long> eventPk, final Long formPk) {
+		final var scope = scopeDAOService.getScopeByPk(scopePk);
+		final var event = eventPk.map(eventDAOService::getEventByPk);
+		final var form = formDAOService.getFormByPk(formPk);
+
+		utilsService.checkNotNull(Scope.class, scope, scopePk);
+		utilsService.checkNotNull(Event.class, event, eventPk);
+		utilsService.checkNotNull(Form.class, form, formPk);
+
+		URLConsistencyUtils.checkConsistency(scope, event, form);
+
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scope);
+
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.VIEW_AUDIT_TRAIL);
+		rightsService.checkRight(currentActor, currentRoles, scope.getScopeModel(), Rights.READ);
+		event.ifPresent(e -> rightsService.checkRight(currentActor, currentRoles, e.getEventModel(), Rights.READ));
+		rightsService.checkRight(currentActor, currentRoles, form.getFormModel(), Rights.READ);
+
+		return new AuditedObject<>(form, actorService.getTimeframeForScope(currentActor, scope, currentRoles));
+	}
+
+	private static Optional<AuditTrailCursor> toCursor(final Optional<String> cursor) {
+		return cursor.filter(c -> !c.isBlank()).map(AuditTrailCursor::fromToken);
+	}
+
+	private static int toPageSize(final Optional<Integer> pageSize) {
+		return Math.clamp(pageSize.orElse(DEFAULT_PAGE_SIZE), 1, MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * Write audit trails as a JSON array while they are read from the database
+	 * The stream is written after the end of the request transaction, so the rights must have been checked before
+	 *
+	 * @param streamer The function that gives the audit trails to a consumer
+	 * @return The response
+	 */
+	private ResponseEntity<StreamingResponseBody> exportAuditTrails(final Consumer<Consumer<AuditTrail>> streamer) {
+		final StreamingResponseBody stream = os -> {
+			try(final var generator = objectMapper.createGenerator(os)) {
+				generator.writeStartArray();
+				streamer.accept(auditTrail -> {
+					try {
+						generator.writeObject(auditTrail);
+					}
+					catch(final IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				generator.writeEndArray();
+			}
+		};
+		return streamResponse(stream, MediaType.APPLICATION_JSON);
+	}
 }
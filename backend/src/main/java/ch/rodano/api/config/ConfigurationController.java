@@ -1,9 +1,8 @@
 package ch.rodano.api.config;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -39,6 +38,7 @@ import ch.rodano.core.configuration.core.Configurator;
 import ch.rodano.core.configuration.core.Environment;
 import ch.rodano.core.model.role.Role;
 import ch.rodano.core.services.bll.actor.ActorService;
+import ch.rodano.core.services.bll.dictionary.DictionaryService;
 import ch.rodano.core.services.bll.role.RoleService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.utils.RightsService;
@@ -49,12 +49,15 @@ import ch.rodano.core.utils.RightsService;
 @Transactional(readOnly = true)
 public class ConfigurationController extends AbstractSecuredController {
 
+	private static final int AUTOCOMPLETE_LIMIT = 100;
+
 	private final StudyDTOService studyDTOService;
 	private final MenuDTOService menuDTOService;
 	private final CMSDTOService cmsDTOService;
 	private final WorkflowDTOService workflowDTOService;
 	private final ConfigDTOService configDTOService;
 	private final Configurator configurator;
+	private final DictionaryService dictionaryService;
 
 	public ConfigurationController(
 		final RequestContextService requestContextService,
@@ -67,7 +70,8 @@ public class ConfigurationController extends AbstractSecuredController {
 		final CMSDTOService cmsDTOService,
 		final WorkflowDTOService workflowDTOService,
 		final ConfigDTOService configDTOService,
-		final Configurator configurator
+		final Configurator configurator,
+		final DictionaryService dictionaryService
 	) {
 		super(requestContextService, studyService, actorService, roleService, rightsService);
 		this.studyDTOService = studyDTOService;
@@ -76,6 +80,7 @@ public class ConfigurationController extends AbstractSecuredController {
 		this.workflowDTOService = workflowDTOService;
 		this.configDTOService = configDTOService;
 		this.configurator = configurator;
+		this.dictionaryService = dictionaryService;
 	}
 
 	/**
@@ -243,24 +248,12 @@ public class ConfigurationController extends AbstractSecuredController {
 		@PathVariable final String datasetModelId,
 		@PathVariable final String fieldModelId,
 		@PathVariable final String text
-	) throws IOException {
+	) {
 		final var fieldModel = studyService.getStudy().getDatasetModel(datasetModelId).getFieldModel(fieldModelId);
-		final var dictionary = fieldModel.getDictionary();
-		final List<String> results = new ArrayList<>();
-		if(StringUtils.isNotBlank(text) && text.length() > 1) {
-			final var search = text.toLowerCase();
-			var i = 0;
-			try(var scan = new Scanner(ConfigurationController.class.getResource(String.format("/dictionaries/%s", dictionary)).openStream())) {
-				while(scan.hasNext() && i < 100) {
-					final var line = scan.nextLine();
-					if(line.toLowerCase().contains(search)) {
-						results.add(line);
-						i++;
-					}
-				}
-			}
+		if(StringUtils.isBlank(text) || text.length() < 2) {
+			return Collections.emptyList();
 		}
-		return results;
+		return dictionaryService.search(fieldModel.getDictionary(), text, AUTOCOMPLETE_LIMIT);
 	}
 
 	@Operation(summary = "Get all available resource categories")
@@ -0,0 +1,41 @@
+package ch.rodano.api.configuration.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import ch.rodano.core.configuration.jooq.QueryCounter;
+
+/**
+ * Count the queries executed by each request, resetting the counter of the thread that handles the request on both ends of the request
+ */
+@Component
+public class QueryCounterHandlerInterceptor implements AsyncHandlerInterceptor {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		QueryCounter.reset();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception ex) {
+		try {
+			logger.debug("Request {} {} executed {} queries", request.getMethod(), request.getRequestURI(), QueryCounter.getCount());
+		}
+		finally {
+			QueryCounter.reset();
+		}
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		//the request is completed by another thread, so the thread that started it is released
+		QueryCounter.reset();
+	}
+}
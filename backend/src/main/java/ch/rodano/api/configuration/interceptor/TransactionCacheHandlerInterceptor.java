@@ -6,12 +6,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.AsyncHandlerInterceptor;
-import org.springframework.web.servlet.HandlerInterceptor;
 
 import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
 
 @Component
-public class TransactionCacheHandlerInterceptor implements HandlerInterceptor {
+public class TransactionCacheHandlerInterceptor implements AsyncHandlerInterceptor {
 	private final TransactionCacheDAOService transactionCacheDAOService;
 
 	public TransactionCacheHandlerInterceptor(final TransactionCacheDAOService transactionCacheDAOService) {
@@ -42,4 +41,18 @@ public class TransactionCacheHandlerInterceptor implements HandlerInterceptor {
 	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception ex) {
 		transactionCacheDAOService.emptyCache();
 	}
+
+	/**
+	 * Called instead of {@code afterCompletion} when the handler has started an asynchronous processing of the request
+	 * The transaction cache of the request has been handed over to the thread that completes the request, so only the cache the current thread may have used since is freed
+	 *
+	 * @param request  current HTTP request
+	 * @param response current HTTP response
+	 * @param handler  handler (or {@link HandlerMethod}) that started asynchronous
+	 *                 execution, for type and/or instance examination
+	 */
+	@Override
+	public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		transactionCacheDAOService.emptyCache();
+	}
 }
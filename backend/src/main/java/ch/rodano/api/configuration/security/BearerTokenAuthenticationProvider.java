@@ -1,6 +1,5 @@
 package ch.rodano.api.configuration.security;
 
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,30 +14,22 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import ch.rodano.core.services.bll.role.RoleService;
 import ch.rodano.core.services.bll.session.SessionService;
-import ch.rodano.core.services.dao.user.UserDAOService;
 import ch.rodano.core.utils.RightsService;
 
 @Component
 public class BearerTokenAuthenticationProvider implements AuthenticationProvider {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
-	private final UserDAOService userDAOService;
 	private final SessionService sessionService;
 	private final RightsService rightsService;
-	private final RoleService roleService;
 
 	public BearerTokenAuthenticationProvider(
-		final UserDAOService userDAOService,
 		final SessionService sessionService,
-		final RightsService rightsService,
-		final RoleService roleService
+		final RightsService rightsService
 	) {
-		this.userDAOService = userDAOService;
 		this.sessionService = sessionService;
 		this.rightsService = rightsService;
-		this.roleService = roleService;
 	}
 
 	/**
@@ -59,19 +50,15 @@ public class BearerTokenAuthenticationProvider implements AuthenticationProvider
 		// Get the token
 		final var token = authentication.getCredentials().toString();
 
-		// Get the session associated with the token
-		final var session = sessionService.getSessionByToken(token);
+		// Get the session associated with the token, with the user and their roles
+		final var authenticatedSession = sessionService.getAuthenticatedSession(token);
 
-		if(session != null) {
-			// Update the user's last access date in the database if required
-			// Update session only once every 5 seconds to improve performance
-			if(session.getLastAccessTime().plusSeconds(5).isBefore(ZonedDateTime.now())) {
-				sessionService.refreshSession(session);
-			}
+		if(authenticatedSession != null) {
+			// Update the user's last access date, it will be saved in the database with the next flush
+			sessionService.refreshSession(authenticatedSession.session());
 
-			// Get the user and their roles
-			final var user = userDAOService.getUserByPk(session.getUserFk());
-			final var roles = roleService.getActiveRoles(user);
+			final var user = authenticatedSession.user();
+			final var roles = authenticatedSession.activeRoles();
 
 			// Retrieve authorities
 			final List<GrantedAuthority> authorities = new ArrayList<>();
@@ -0,0 +1,42 @@
+package ch.rodano.api.documentation;
+
+import java.time.ZonedDateTime;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import ch.rodano.core.services.bll.export.dct.CRFArchiveJob;
+import ch.rodano.core.services.bll.export.dct.CRFDocumentationGenerationStatus;
+
+@Schema(description = "Progress of a CRF archive job")
+public record CRFArchiveJobDTO(
+	@NotBlank
+	String id,
+	@NotNull
+	CRFDocumentationGenerationStatus status,
+	@NotNull
+	ZonedDateTime creationTime,
+
+	@Schema(description = "Number of archives to generate, 0 as long as they have not been listed")
+	int total,
+	@Schema(description = "Number of archives generated")
+	int done,
+	@Schema(description = "Number of archives that could not be generated since the job has been started or resumed")
+	int failed,
+	@Schema(description = "Estimated end time of the job, when it is running")
+	ZonedDateTime estimatedEndTime
+) {
+	public CRFArchiveJobDTO(final CRFArchiveJob job) {
+		this(
+			job.getId(),
+			job.getStatus(),
+			job.getCreationTime(),
+			job.getTotal(),
+			job.getDone(),
+			job.getFailed(),
+			job.getEstimatedEndTime().orElse(null)
+		);
+	}
+}
@@ -1,6 +1,7 @@
 package ch.rodano.api.documentation;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.validation.Valid;
@@ -27,6 +28,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import ch.rodano.api.controller.AbstractSecuredController;
+import ch.rodano.api.exception.http.NotFoundException;
 import ch.rodano.api.request.context.RequestContextService;
 import ch.rodano.configuration.model.dataset.DatasetModel;
 import ch.rodano.configuration.model.export.ExportFormat;
@@ -34,6 +36,7 @@ import ch.rodano.configuration.model.feature.FeatureStatic;
 import ch.rodano.configuration.model.rights.Rights;
 import ch.rodano.configuration.utils.ExportableUtils;
 import ch.rodano.core.services.bll.actor.ActorService;
+import ch.rodano.core.services.bll.export.dct.CRFArchiveJob;
 import ch.rodano.core.services.bll.export.dct.CRFDocumentationGenerationStatus;
 import ch.rodano.core.services.bll.export.dct.CRFDocumentationService;
 import ch.rodano.core.services.bll.role.RoleService;
@@ -126,16 +129,13 @@ public class DocumentationController extends AbstractSecuredController {
 			rightsService.checkRight(currentActor, roles, scopeModel, Rights.READ);
 		}
 
-		//do not allow multiple generation at the same time
-		if(CRFDocumentationGenerationStatus.IN_PROGRESS.equals(crfDocumentationService.getCRFArchiveGenerationStatus())) {
-			throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "There is already one running archive request");
-		}
-
-		final var generationId = crfDocumentationService.generateCRFArchive(currentActor, scopeModel, scopes, request.auditTrails());
+		//do not allow multiple generation at the same time for the same actor
+		final var generationId = crfDocumentationService.generateCRFArchive(currentActor, scopeModel, scopes, request.auditTrails())
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "There is already one running archive request"));
 		return Collections.singletonMap("id", generationId);
 	}
 
-	@Operation(summary = "Get the current status of the CRF archive generation")
+	@Operation(summary = "Get the current status of the last CRF archive generation of the current user")
 	@GetMapping("/crf-archive/status")
 	@ResponseStatus(HttpStatus.OK)
 	public Map<String, CRFDocumentationGenerationStatus> getCRFArchiveStatus() {
@@ -143,10 +143,10 @@ public class DocumentationController extends AbstractSecuredController {
 		final var currentRoles = currentActiveRoles(scopeService.getRootScope());
 		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.DOCUMENTATION);
 
-		return Collections.singletonMap("status", crfDocumentationService.getCRFArchiveGenerationStatus());
+		return Collections.singletonMap("status", crfDocumentationService.getCRFArchiveGenerationStatus(currentActor));
 	}
 
-	@Operation(summary = "Get the latest CRF archive in zip form")
+	@Operation(summary = "Get the latest CRF archive of the current user in zip form")
 	@GetMapping("/crf-archive/download")
 	public ResponseEntity<StreamingResponseBody> getCRFArchiveZip() {
 		final var currentActor = currentActor();
@@ -154,8 +154,51 @@ public class DocumentationController extends AbstractSecuredController {
 
 		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.DOCUMENTATION);
 
-		final StreamingResponseBody stream = crfDocumentationService::streamCRFArchive;
-		return fileResponse(stream, MediaType.valueOf("application/zip"), crfDocumentationService.getCRFArchiveFilename());
+		final var job = crfDocumentationService.getCRFArchiveJobs(currentActor).stream()
+			.findFirst()
+			.orElseThrow(() -> new NotFoundException("No CRF archive is available"));
+		return getCRFArchiveZip(job);
+	}
+
+	@Operation(summary = "Get the CRF archive jobs of the current user")
+	@GetMapping("/crf-archive/jobs")
+	@ResponseStatus(HttpStatus.OK)
+	public List<CRFArchiveJobDTO> getCRFArchiveJobs() {
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scopeService.getRootScope());
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.DOCUMENTATION);
+
+		return crfDocumentationService.getCRFArchiveJobs(currentActor).stream().map(CRFArchiveJobDTO::new).toList();
+	}
+
+	@Operation(summary = "Get the progress of a CRF archive job")
+	@GetMapping("/crf-archive/jobs/{jobId}")
+	@ResponseStatus(HttpStatus.OK)
+	public CRFArchiveJobDTO getCRFArchiveJob(
+		@PathVariable final String jobId
+	) {
+		return new CRFArchiveJobDTO(getCurrentActorCRFArchiveJob(jobId));
+	}
+
+	@Operation(summary = "Resume an interrupted CRF archive job")
+	@PostMapping("/crf-archive/jobs/{jobId}/resume")
+	@ResponseStatus(HttpStatus.ACCEPTED)
+	public CRFArchiveJobDTO resumeCRFArchiveJob(
+		@PathVariable final String jobId
+	) {
+		final var job = getCurrentActorCRFArchiveJob(jobId);
+		if(!crfDocumentationService.resumeCRFArchiveJob(job)) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, String.format("CRF archive job %s is not interrupted", jobId));
+		}
+		return new CRFArchiveJobDTO(job);
+	}
+
+	@Operation(summary = "Get the CRF archive generated by a job in zip form")
+	@GetMapping("/crf-archive/jobs/{jobId}/download")
+	public ResponseEntity<StreamingResponseBody> getCRFArchiveJobZip(
+		@PathVariable final String jobId
+	) {
+		return getCRFArchiveZip(getCurrentActorCRFArchiveJob(jobId));
 	}
 
 	@Operation(summary = "Generate the data structure")
@@ -183,4 +226,18 @@ public class DocumentationController extends AbstractSecuredController {
 		final var filename = String.format("%s_data_structure_%s_%s.csv", studyLabel, versionNumber, versionDate);
 		return exportResponse(ExportFormat.CSV, stream, filename);
 	}
+
+	private CRFArchiveJob getCurrentActorCRFArchiveJob(final String jobId) {
+		final var currentActor = currentActor();
+		final var currentRoles = currentActiveRoles(scopeService.getRootScope());
+		rightsService.checkRight(currentActor, currentRoles, FeatureStatic.DOCUMENTATION);
+
+		return crfDocumentationService.getCRFArchiveJob(currentActor, jobId)
+			.orElseThrow(() -> new NotFoundException(CRFArchiveJob.class, jobId));
+	}
+
+	private ResponseEntity<StreamingResponseBody> getCRFArchiveZip(final CRFArchiveJob job) {
+		final StreamingResponseBody stream = os -> crfDocumentationService.streamCRFArchive(job, os);
+		return fileResponse(stream, MediaType.valueOf("application/zip"), crfDocumentationService.getCRFArchiveFilename(job));
+	}
 }
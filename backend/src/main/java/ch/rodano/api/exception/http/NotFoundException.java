@@ -11,6 +11,10 @@ public class NotFoundException extends RuntimeException implements ManagedExcept
 	@Serial
 	private static final long serialVersionUID = 2633899282052460313L;
 
+	public NotFoundException(final String message) {
+		super(message);
+	}
+
 	public NotFoundException(final Class<?> clazz, final Long pk) {
 		super("Unable to find " + clazz.getSimpleName().toLowerCase() + " with pk=" + pk);
 	}
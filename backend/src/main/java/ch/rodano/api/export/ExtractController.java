@@ -10,6 +10,7 @@ import java.util.TreeSet;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StopWatch;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -199,26 +200,43 @@ public class ExtractController extends AbstractSecuredController {
 		//extract the selected dataset model
 		if(datasetModels.size() == 1) {
 			final var document = datasetModels.get(0);
-			final StreamingResponseBody stream = os -> extractService.getDataExtract(
+			final StreamingResponseBody stream = os -> {
+				final var watch = new StopWatch();
+				watch.start();
+				final var rows = extractService.getDataExtract(
+					os,
+					document,
+					study.getDefaultLanguageId(),
+					scopes,
+					withModificationDates.orElse(false)
+				);
+				watch.stop();
+				logThroughput(rows, watch);
+			};
+			final var filename = extractService.getCSVDocumentFilename(document);
+			return exportResponse(ExportFormat.CSV, stream, filename);
+		}
+		//extract multiple dataset models
+		final StreamingResponseBody stream = os -> {
+			final var watch = new StopWatch();
+			watch.start();
+			final var rows = extractService.zipExtracts(
 				os,
-				document,
+				datasetModels,
 				study.getDefaultLanguageId(),
 				scopes,
 				withModificationDates.orElse(false)
 			);
-			final var filename = extractService.getCSVDocumentFilename(document);
-			return exportResponse(ExportFormat.CSV, stream, filename);
-		}
-		//extract multiple dataset models
-		final StreamingResponseBody stream = os -> extractService.zipExtracts(
-			os,
-			datasetModels,
-			study.getDefaultLanguageId(),
-			scopes,
-			withModificationDates.orElse(false)
-		);
+			watch.stop();
+			logThroughput(rows, watch);
+		};
 		final var filename = ZIPPED_EXTRACTS_FILENAME;
 		return exportResponse(ExportFormat.ZIP, stream, filename);
 	}
 
+	private void logThroughput(final long rows, final StopWatch watch) {
+		final var millis = Math.max(1, watch.getTotalTimeMillis());
+		logger.info("Extracted {} rows in {} ms ({} rows/s)", rows, millis, rows * 1000 / millis);
+	}
+
 }
@@ -20,7 +20,6 @@ import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.event.Event;
 import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.field.Field;
-import ch.rodano.core.model.field.FieldRecord;
 import ch.rodano.core.model.file.File;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.model.workflow.WorkflowStatus;
@@ -187,7 +186,7 @@ public class FieldDTOServiceImpl implements FieldDTOService {
 			.map(w -> workflowDTOService.createWorkflowDTO(w, acl))
 			.toList();
 
-		final var entries = fieldDAOService.getAuditTrailsForProperty(field, timeframe, FieldRecord::getValue);
+		final var entries = fieldDAOService.getValueAuditTrails(field, timeframe);
 		if(entries.size() > 1) {
 			dto.newContent = entries.stream()
 				.filter(e -> e.getValue() != null && !Objects.equals(e.getValue(), ""))
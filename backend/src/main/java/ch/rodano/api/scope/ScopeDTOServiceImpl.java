@@ -154,10 +154,12 @@ public class ScopeDTOServiceImpl implements ScopeDTOService {
 				)
 			);
 
+		//recalculate ACL for each scope
+		final var scopeACLs = rightsService.getACLs(acl.actor(), scopes);
+
 		final List<ScopeDTO> dtos = new ArrayList<>();
 		for(final Scope scope : scopes) {
-			//recalculate ACL for each scope
-			final var scopeACL = rightsService.getACL(acl.actor(), scope);
+			final var scopeACL = scopeACLs.get(scope);
 			if(scopeACL.hasRight(scope.getScopeModel(), Rights.READ)) {
 				final var dto = createDTO(
 					scope,
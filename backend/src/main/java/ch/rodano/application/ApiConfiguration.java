@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Profile;
 
 import ch.rodano.core.database.initializer.DatabaseInitializer;
 import ch.rodano.core.services.bll.export.views.AggregateWorkflowViewService;
-import ch.rodano.core.services.bll.export.views.ExportViewService;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.scope.ScopeAncestorServiceImpl;
 
 @Profile({ "api" })
@@ -21,18 +21,18 @@ public class ApiConfiguration implements InitializingBean {
 	private final DatabaseInitializer databaseInitializer;
 	private final ScopeAncestorServiceImpl scopeAncestorService;
 	private final AggregateWorkflowViewService aggregateWorkflowViewService;
-	private final ExportViewService exportViewService;
+	private final ExportTableService exportTableService;
 
 	public ApiConfiguration(
 		final DatabaseInitializer databaseInitializer,
 		final ScopeAncestorServiceImpl scopeAncestorService,
 		final AggregateWorkflowViewService aggregateWorkflowViewService,
-		final ExportViewService exportViewService
+		final ExportTableService exportTableService
 	) {
 		this.databaseInitializer = databaseInitializer;
 		this.scopeAncestorService = scopeAncestorService;
 		this.aggregateWorkflowViewService = aggregateWorkflowViewService;
-		this.exportViewService = exportViewService;
+		this.exportTableService = exportTableService;
 	}
 
 	@Override
@@ -45,9 +45,9 @@ public class ApiConfiguration implements InitializingBean {
 			databaseInitializer.initializeStructure();
 		}
 
-		//initialize views in all cases
+		//initialize views and export tables in all cases
 		scopeAncestorService.updateView();
 		aggregateWorkflowViewService.updateView();
-		exportViewService.updateViews();
+		exportTableService.rebuildTables();
 	}
 }
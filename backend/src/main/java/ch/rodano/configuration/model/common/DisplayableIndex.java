@@ -0,0 +1,96 @@
+package ch.rodano.configuration.model.common;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Case-insensitive hash index of a collection of displayables by id.
+ * The index is built when the configuration is loaded and is invalidated by the setter that replaces the indexed collection, or rebuilt when the size of the collection changes.
+ * Displayables can also be renamed or replaced in place, so a hit is checked against the id of the displayable and a miss falls back on a scan of the collection, which rebuilds the index if it is outdated.
+ */
+public final class DisplayableIndex<T extends Displayable> implements Serializable {
+	private static final long serialVersionUID = -1856201917469317215L;
+
+	private record Snapshot<T>(Collection<T> displayables, int size, Map<String, T> index) {}
+
+	private transient volatile Snapshot<T> snapshot;
+
+	/**
+	 * Build the index for the given collection
+	 *
+	 * @param displayables The indexed collection
+	 */
+	public void index(final Collection<T> displayables) {
+		snapshot = build(displayables);
+	}
+
+	/**
+	 * Invalidate the index, which will be built again for the next lookup
+	 */
+	public void invalidate() {
+		snapshot = null;
+	}
+
+	/**
+	 * Find the displayable with the given id, ignoring the case
+	 *
+	 * @param displayables The indexed collection
+	 * @param id           The id of the displayable
+	 * @return The displayable with the given id or an empty optional
+	 */
+	public Optional<T> find(final Collection<T> displayables, final String id) {
+		if(id == null) {
+			return Optional.empty();
+		}
+		final var displayable = getSnapshot(displayables).index().get(toKey(id));
+		if(displayable != null && displayable.getId().equalsIgnoreCase(id)) {
+			return Optional.of(displayable);
+		}
+		//a displayable may have been renamed or replaced in the collection without changing its size
+		final var scanned = displayables.stream().filter(d -> d.getId().equalsIgnoreCase(id)).findFirst();
+		if(displayable != null || scanned.isPresent()) {
+			//the index is outdated
+			snapshot = build(displayables);
+		}
+		return scanned;
+	}
+
+	/**
+	 * Check if a displayable with the given id exists, ignoring the case
+	 *
+	 * @param displayables The indexed collection
+	 * @param id           The id of the displayable
+	 * @return True if a displayable with the given id exists
+	 */
+	public boolean contains(final Collection<T> displayables, final String id) {
+		return find(displayables, id).isPresent();
+	}
+
+	private Snapshot<T> getSnapshot(final Collection<T> displayables) {
+		var current = snapshot;
+		if(current == null || current.displayables() != displayables || current.size() != displayables.size()) {
+			current = build(displayables);
+			snapshot = current;
+		}
+		return current;
+	}
+
+	private static <T extends Displayable> Snapshot<T> build(final Collection<T> displayables) {
+		final Map<String, T> index = new HashMap<>(displayables.size() * 2);
+		for(final var displayable : displayables) {
+			//keep the first displayable in case of duplicate ids, as a scan of the collection would do
+			index.putIfAbsent(toKey(displayable.getId()), displayable);
+		}
+		return new Snapshot<>(displayables, displayables.size(), Collections.unmodifiableMap(index));
+	}
+
+	private static String toKey(final String id) {
+		//ids are usually upper case, in which case this does not create a new string
+		return id.toUpperCase(Locale.ROOT);
+	}
+}
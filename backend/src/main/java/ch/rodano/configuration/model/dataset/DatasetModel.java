@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import ch.rodano.configuration.exceptions.NoNodeException;
+import ch.rodano.configuration.model.common.DisplayableIndex;
 import ch.rodano.configuration.model.common.Entity;
 import ch.rodano.configuration.model.common.Node;
 import ch.rodano.configuration.model.common.SuperDisplayable;
@@ -49,6 +50,7 @@ public class DatasetModel implements Serializable, SuperDisplayable, Node, Right
 
 	private boolean multiple;
 	private List<FieldModel> fieldModels;
+	private final DisplayableIndex<FieldModel> fieldModelsIndex = new DisplayableIndex<>();
 
 	private SortedMap<String, String> shortname;
 	private SortedMap<String, String> longname;
@@ -131,6 +133,7 @@ public class DatasetModel implements Serializable, SuperDisplayable, Node, Right
 	@JsonManagedReference
 	public final void setFieldModels(final List<FieldModel> fieldModels) {
 		this.fieldModels = fieldModels;
+		fieldModelsIndex.invalidate();
 	}
 
 	public final String getFamily() {
@@ -234,17 +237,22 @@ public class DatasetModel implements Serializable, SuperDisplayable, Node, Right
 		this.restoreRules = restoreRules;
 	}
 
+	/**
+	 * Build the index used to retrieve the field models by id
+	 */
+	public void initIndexes() {
+		fieldModelsIndex.index(fieldModels);
+	}
+
 	@JsonIgnore
 	public final FieldModel getFieldModel(final String fieldModelId) {
-		return fieldModels.stream()
-			.filter(f -> f.getId().equalsIgnoreCase(fieldModelId))
-			.findAny()
+		return fieldModelsIndex.find(fieldModels, fieldModelId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.FIELD_MODEL, fieldModelId));
 	}
 
 	@JsonIgnore
 	public final boolean hasFieldModel(final String fieldModelId) {
-		return fieldModels.stream().anyMatch(a -> a.getId().equalsIgnoreCase(fieldModelId));
+		return fieldModelsIndex.contains(fieldModels, fieldModelId);
 	}
 
 	@JsonIgnore
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import ch.rodano.configuration.exceptions.NoNodeException;
 import ch.rodano.configuration.exceptions.NoRespectForConfigurationException;
 import ch.rodano.configuration.model.cms.CMSLayout;
+import ch.rodano.configuration.model.common.DisplayableIndex;
 import ch.rodano.configuration.model.common.Entity;
 import ch.rodano.configuration.model.common.Node;
 import ch.rodano.configuration.model.common.SuperDisplayable;
@@ -79,6 +80,9 @@ public class ScopeModel implements Serializable, SuperDisplayable, WorkflowableM
 	private List<EventGroup> eventGroups;
 	private List<EventModel> eventModels;
 
+	private final DisplayableIndex<EventGroup> eventGroupsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<EventModel> eventModelsIndex = new DisplayableIndex<>();
+
 	private List<String> datasetModelIds;
 	private List<String> formModelIds;
 	private List<String> workflowIds;
@@ -219,6 +223,7 @@ public class ScopeModel implements Serializable, SuperDisplayable, WorkflowableM
 	@JsonManagedReference
 	public void setEventModels(final List<EventModel> eventModels) {
 		this.eventModels = eventModels;
+		eventModelsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -226,17 +231,24 @@ public class ScopeModel implements Serializable, SuperDisplayable, WorkflowableM
 		return eventModels;
 	}
 
+	/**
+	 * Build the indexes used to retrieve the children of the scope model by id
+	 */
+	public void initIndexes() {
+		eventGroupsIndex.index(eventGroups);
+		eventModelsIndex.index(eventModels);
+	}
+
 	@JsonIgnore
 	public EventModel getEventModel(final String eventModelId) {
-		return eventModels.stream()
-			.filter(e -> e.getId().equalsIgnoreCase(eventModelId))
-			.findAny()
+		return eventModelsIndex.find(eventModels, eventModelId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.EVENT_MODEL, eventModelId));
 	}
 
 	@JsonManagedReference
 	public final void setEventGroups(final List<EventGroup> eventGroups) {
 		this.eventGroups = eventGroups;
+		eventGroupsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -246,9 +258,7 @@ public class ScopeModel implements Serializable, SuperDisplayable, WorkflowableM
 
 	@JsonIgnore
 	public EventGroup getEventGroup(final String eventGroupId) {
-		return eventGroups.stream()
-			.filter(e -> e.getId().equalsIgnoreCase(eventGroupId))
-			.findAny()
+		return eventGroupsIndex.find(eventGroups, eventGroupId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.EVENT_GROUP, eventGroupId));
 	}
 
@@ -35,6 +35,7 @@ import ch.rodano.configuration.exceptions.NoNodeException;
 import ch.rodano.configuration.exceptions.NoRespectForConfigurationException;
 import ch.rodano.configuration.model.changelog.Changelog;
 import ch.rodano.configuration.model.chart.Chart;
+import ch.rodano.configuration.model.common.DisplayableIndex;
 import ch.rodano.configuration.model.common.Entity;
 import ch.rodano.configuration.model.common.Node;
 import ch.rodano.configuration.model.common.SuperDisplayable;
@@ -168,6 +169,23 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	private String exportVisitsLabel;
 
+	//indexes used to retrieve the nodes by id
+	private final DisplayableIndex<ScopeModel> scopeModelsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Menu> menusIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Workflow> workflowsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<WorkflowWidget> workflowWidgetsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<TimelineGraph> timelineGraphsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Report> reportsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Language> languagesIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<ResourceCategory> resourceCategoriesIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<PrivacyPolicy> privacyPoliciesIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<PaymentPlan> paymentPlansIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<FormModel> formModelsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<DatasetModel> datasetModelsIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Feature> featuresIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Profile> profilesIndex = new DisplayableIndex<>();
+	private final DisplayableIndex<Validator> validatorsIndex = new DisplayableIndex<>();
+
 	public Study() {
 		passwordLength = PASSWORD_LENGTH;
 		configChangelogs = new TreeSet<>();
@@ -201,6 +219,25 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 		//add static language and features
 		features.addAll(getFeaturesStatic());
 		languages.addAll(getLanguagesStatic());
+
+		//build the indexes up front, lookups are done in loops over large result sets
+		scopeModelsIndex.index(scopeModels);
+		menusIndex.index(menus);
+		workflowsIndex.index(workflows);
+		workflowWidgetsIndex.index(workflowWidgets);
+		timelineGraphsIndex.index(timelineGraphs);
+		reportsIndex.index(reports);
+		languagesIndex.index(languages);
+		resourceCategoriesIndex.index(resourceCategories);
+		privacyPoliciesIndex.index(privacyPolicies);
+		paymentPlansIndex.index(paymentPlans);
+		formModelsIndex.index(formModels);
+		datasetModelsIndex.index(datasetModels);
+		featuresIndex.index(features);
+		profilesIndex.index(profiles);
+		validatorsIndex.index(validators);
+		scopeModels.forEach(ScopeModel::initIndexes);
+		datasetModels.forEach(DatasetModel::initIndexes);
 	}
 
 	public final void setId(final String id) {
@@ -505,6 +542,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonManagedReference
 	public void setScopeModels(final SortedSet<ScopeModel> scopeModels) {
 		this.scopeModels = scopeModels;
+		scopeModelsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -514,15 +552,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public ScopeModel getScopeModel(final String scopeModelId) {
-		return scopeModels.stream()
-			.filter(s -> s.getId().equalsIgnoreCase(scopeModelId))
-			.findAny()
+		return scopeModelsIndex.find(scopeModels, scopeModelId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.SCOPE_MODEL, scopeModelId));
 	}
 
 	@JsonManagedReference("study")
 	public final void setMenus(final SortedSet<Menu> menus) {
 		this.menus = menus;
+		menusIndex.invalidate();
 	}
 
 	@JsonManagedReference("study")
@@ -532,9 +569,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Menu getMenu(final String menuId) {
-		return menus.stream()
-			.filter(m -> m.getId().equalsIgnoreCase(menuId))
-			.findAny()
+		return menusIndex.find(menus, menuId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.MENU, menuId));
 	}
 
@@ -556,6 +591,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonManagedReference
 	public final void setWorkflows(final SortedSet<Workflow> workflows) {
 		this.workflows = workflows;
+		workflowsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -565,15 +601,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Workflow getWorkflow(final String workflowId) {
-		return workflows.stream()
-			.filter(w -> w.getId().equalsIgnoreCase(workflowId))
-			.findAny()
+		return workflowsIndex.find(workflows, workflowId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.WORKFLOW, workflowId));
 	}
 
 	@JsonManagedReference
 	public final void setWorkflowWidgets(final SortedSet<WorkflowWidget> workflowWidgets) {
 		this.workflowWidgets = workflowWidgets;
+		workflowWidgetsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -583,9 +618,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public WorkflowWidget getWorkflowWidget(final String workflowWidgetId) {
-		return workflowWidgets.stream()
-			.filter(w -> w.getId().equalsIgnoreCase(workflowWidgetId))
-			.findAny()
+		return workflowWidgetsIndex.find(workflowWidgets, workflowWidgetId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.WORKFLOW_WIDGET, workflowWidgetId));
 	}
 
@@ -628,6 +661,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonManagedReference
 	public final void setTimelineGraphs(final SortedSet<TimelineGraph> graphConfigs) {
 		timelineGraphs = graphConfigs;
+		timelineGraphsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -637,15 +671,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public TimelineGraph getTimelineGraph(final String timelineGraphId) {
-		return timelineGraphs.stream()
-			.filter(t -> t.getId().equalsIgnoreCase(timelineGraphId))
-			.findAny()
+		return timelineGraphsIndex.find(timelineGraphs, timelineGraphId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.TIMELINE_GRAPH, timelineGraphId));
 	}
 
 	@JsonManagedReference
 	public final void setReports(final SortedSet<Report> reports) {
 		this.reports = reports;
+		reportsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -655,15 +688,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Report getReport(final String reportId) {
-		return reports.stream()
-			.filter(r -> r.getId().equalsIgnoreCase(reportId))
-			.findAny()
+		return reportsIndex.find(reports, reportId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.REPORT, reportId));
 	}
 
 	@JsonProperty("languages")
 	public void setLanguages(final SortedSet<Language> languages) {
 		this.languages = languages;
+		languagesIndex.invalidate();
 	}
 
 	@JsonIgnore
@@ -673,9 +705,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Language getLanguage(final String languageId) {
-		return languages.stream()
-			.filter(l -> l.getId().equalsIgnoreCase(languageId))
-			.findAny()
+		return languagesIndex.find(languages, languageId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.LANGUAGE, languageId));
 	}
 
@@ -706,6 +736,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonProperty("resourceCategories")
 	public void setResourceCategories(final SortedSet<ResourceCategory> resourceCategories) {
 		this.resourceCategories = resourceCategories;
+		resourceCategoriesIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -715,15 +746,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public ResourceCategory getResourceCategory(final String resourceCategoryId) {
-		return resourceCategories.stream()
-			.filter(r -> r.getId().equalsIgnoreCase(resourceCategoryId))
-			.findAny()
+		return resourceCategoriesIndex.find(resourceCategories, resourceCategoryId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.RESOURCE_CATEGORY, resourceCategoryId));
 	}
 
 	@JsonManagedReference
 	public final void setPrivacyPolicies(final SortedSet<PrivacyPolicy> privacyPolicies) {
 		this.privacyPolicies = privacyPolicies;
+		privacyPoliciesIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -733,15 +763,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public PrivacyPolicy getPrivacyPolicy(final String privacyPolicyId) {
-		return privacyPolicies.stream()
-			.filter(p -> p.getId().equalsIgnoreCase(privacyPolicyId))
-			.findAny()
+		return privacyPoliciesIndex.find(privacyPolicies, privacyPolicyId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.PRIVACY_POLICY, privacyPolicyId));
 	}
 
 	@JsonManagedReference
 	public final void setPaymentPlans(final SortedSet<PaymentPlan> paymentPlans) {
 		this.paymentPlans = paymentPlans;
+		paymentPlansIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -751,9 +780,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public PaymentPlan getPaymentPlan(final String paymentPlanId) {
-		return paymentPlans.stream()
-			.filter(p -> p.getId().equalsIgnoreCase(paymentPlanId))
-			.findAny()
+		return paymentPlansIndex.find(paymentPlans, paymentPlanId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.PAYMENT_PLAN, paymentPlanId));
 	}
 
@@ -826,6 +853,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonManagedReference
 	public final void setFormModels(final SortedSet<FormModel> formModels) {
 		this.formModels = formModels;
+		formModelsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -835,15 +863,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public FormModel getFormModel(final String formModelId) {
-		return formModels.stream()
-			.filter(p -> p.getId().equalsIgnoreCase(formModelId))
-			.findAny()
+		return formModelsIndex.find(formModels, formModelId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.FORM_MODEL, formModelId));
 	}
 
 	@JsonManagedReference
 	public final void setDatasetModels(final SortedSet<DatasetModel> datasetModels) {
 		this.datasetModels = datasetModels;
+		datasetModelsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -853,15 +880,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public DatasetModel getDatasetModel(final String datasetModelId) {
-		return datasetModels.stream()
-			.filter(d -> d.getId().equalsIgnoreCase(datasetModelId))
-			.findAny()
+		return datasetModelsIndex.find(datasetModels, datasetModelId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.DATASET_MODEL, datasetModelId));
 	}
 
 	@JsonProperty("features")
 	public void setFeatures(final SortedSet<Feature> features) {
 		this.features = features;
+		featuresIndex.invalidate();
 	}
 
 	@JsonIgnore
@@ -871,9 +897,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Feature getFeature(final String featureId) {
-		return features.stream()
-			.filter(f -> f.getId().equalsIgnoreCase(featureId))
-			.findAny()
+		return featuresIndex.find(features, featureId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.FEATURE, featureId));
 	}
 
@@ -908,6 +932,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 	@JsonManagedReference
 	public final void setProfiles(final SortedSet<Profile> profiles) {
 		this.profiles = profiles;
+		profilesIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -917,15 +942,14 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Profile getProfile(final String profileId) {
-		return profiles.stream()
-			.filter(p -> p.getId().equalsIgnoreCase(profileId))
-			.findAny()
+		return profilesIndex.find(profiles, profileId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.PROFILE, profileId));
 	}
 
 	@JsonManagedReference
 	public final void setValidators(final SortedSet<Validator> validators) {
 		this.validators = validators;
+		validatorsIndex.invalidate();
 	}
 
 	@JsonManagedReference
@@ -935,9 +959,7 @@ public final class Study implements Serializable, SuperDisplayable, Node, Compar
 
 	@JsonIgnore
 	public Validator getValidator(final String validatorId) {
-		return validators.stream()
-			.filter(v -> v.getId().equalsIgnoreCase(validatorId))
-			.findAny()
+		return validatorsIndex.find(validators, validatorId)
 			.orElseThrow(() -> new NoNodeException(this, Entity.VALIDATOR, validatorId));
 	}
 
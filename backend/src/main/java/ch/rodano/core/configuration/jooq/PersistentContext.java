@@ -3,12 +3,15 @@ package ch.rodano.core.configuration.jooq;
 import javax.sql.DataSource;
 
 import org.jooq.DSLContext;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordUnmapperProvider;
 import org.jooq.SQLDialect;
 import org.jooq.conf.RenderImplicitJoinType;
 import org.jooq.conf.Settings;
 import org.jooq.impl.DataSourceConnectionProvider;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultDSLContext;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.springframework.boot.autoconfigure.jooq.DefaultConfigurationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,6 +46,11 @@ public class PersistentContext {
 		return configuration -> configuration.set(connectionProvider());
 	}
 
+	@Bean
+	public RecordMappingProvider recordMappingProvider() {
+		return new RecordMappingProvider();
+	}
+
 	@Bean
 	public DSLContext dsl() {
 		return new DefaultDSLContext(configuration());
@@ -53,6 +61,10 @@ public class PersistentContext {
 		config.set(connectionProvider());
 		config.set(SQLDialect.MARIADB);
 		config.set(new Settings().withRenderImplicitJoinToManyType(RenderImplicitJoinType.INNER_JOIN));
+		config.set(new DefaultExecuteListenerProvider(new QueryCounter()));
+		//records are mapped to objects and back without reflection
+		config.set((RecordMapperProvider) recordMappingProvider());
+		config.set((RecordUnmapperProvider) recordMappingProvider());
 		return config;
 	}
 }
@@ -0,0 +1,33 @@
+package ch.rodano.core.configuration.jooq;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+/**
+ * Count the queries executed by each thread, to report the number of queries needed by an operation
+ * The counter must be reset when a thread starts a new unit of work, such as a request, so pooled threads do not accumulate the queries of all their units of work
+ */
+public class QueryCounter implements ExecuteListener {
+	private static final long serialVersionUID = 4580612795263425180L;
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	/**
+	 * @return The number of queries executed by the current thread since its counter has been reset
+	 */
+	public static long getCount() {
+		return COUNT.get()[0];
+	}
+
+	/**
+	 * Reset the counter of the current thread
+	 */
+	public static void reset() {
+		COUNT.remove();
+	}
+
+	@Override
+	public void executeStart(final ExecuteContext ctx) {
+		COUNT.get()[0]++;
+	}
+}
@@ -0,0 +1,350 @@
+package ch.rodano.core.configuration.jooq;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordType;
+import org.jooq.RecordUnmapper;
+import org.jooq.RecordUnmapperProvider;
+import org.jooq.SQLDialect;
+import org.jooq.exception.MappingException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultRecordMapperProvider;
+import org.jooq.impl.DefaultRecordUnmapperProvider;
+import org.jooq.tools.StringUtils;
+
+/**
+ * Mapping between the records and the objects of the application, compiled once for each class and each list of columns
+ * The members of the objects are accessed with method handles resolved the first time a class is mapped, following the rules of the default mapping of jOOQ (setters, getters and members named like the columns)
+ * Other classes (classes of the JDK or of libraries, records, classes without a constructor without parameters) are mapped by jOOQ
+ */
+public class RecordMappingProvider implements RecordMapperProvider, RecordUnmapperProvider {
+
+	private static final String MAPPED_PACKAGE = "ch.rodano.";
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	private record MappingKey(
+		Class<?> type,
+		List<String> names,
+		List<Class<?>> types
+	) {
+		static MappingKey of(final Class<?> type, final Field<?>[] fields) {
+			final List<String> names = new ArrayList<>(fields.length);
+			final List<Class<?>> types = new ArrayList<>(fields.length);
+			for(final var field : fields) {
+				names.add(field.getName());
+				types.add(field.getType());
+			}
+			return new MappingKey(type, names, types);
+		}
+	}
+
+	//a mapping that can not be compiled is cached too, so the class is not inspected again
+	private final Map<MappingKey, Optional<CompiledRecordMapper<?>>> mappers = new ConcurrentHashMap<>();
+	private final Map<MappingKey, Optional<CompiledRecordUnmapper<?>>> unmappers = new ConcurrentHashMap<>();
+
+	private final DefaultRecordMapperProvider defaultMapperProvider;
+	private final DefaultRecordUnmapperProvider defaultUnmapperProvider;
+	//used to create the records given back to jOOQ by the unmappers, which copies them into the records actually used
+	private final DSLContext create;
+
+	public RecordMappingProvider() {
+		final Configuration configuration = new DefaultConfiguration().set(SQLDialect.MARIADB);
+		this.defaultMapperProvider = new DefaultRecordMapperProvider(configuration) {
+			private static final long serialVersionUID = 2468031512687334215L;
+		};
+		this.defaultUnmapperProvider = new DefaultRecordUnmapperProvider(configuration) {
+			private static final long serialVersionUID = -4021735880421694409L;
+		};
+		this.create = DSL.using(configuration);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <R extends Record, E> RecordMapper<R, E> provide(final RecordType<R> recordType, final Class<? extends E> type) {
+		if(!isMappable(type)) {
+			return defaultMapperProvider.provide(recordType, type);
+		}
+		final var mapper = mappers.computeIfAbsent(MappingKey.of(type, recordType.fields()), k -> CompiledRecordMapper.compile(k.type(), recordType.fields()));
+		return mapper.isPresent() ? (RecordMapper<R, E>) mapper.get() : defaultMapperProvider.provide(recordType, type);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <E, R extends Record> RecordUnmapper<E, R> provide(final Class<? extends E> type, final RecordType<R> recordType) {
+		final var unmapper = getUnmapper(type, recordType.fields());
+		return unmapper.isPresent() ? (RecordUnmapper<E, R>) unmapper.get() : defaultUnmapperProvider.provide(type, recordType);
+	}
+
+	/**
+	 * Get the values of an object that differ from a record, comparing the columns one by one without creating a record for the object
+	 *
+	 * @param o      The object
+	 * @param record The record, typically the record of the object as it has been saved for the last time
+	 * @return The values of the object that differ from the record, by column
+	 */
+	public Map<Field<?>, Object> getChangedValues(final Object o, final Record record) {
+		final Map<Field<?>, Object> changedValues = new LinkedHashMap<>();
+		final var unmapper = getUnmapper(o.getClass(), record.fields());
+		if(unmapper.isPresent()) {
+			final var compiledUnmapper = unmapper.get();
+			for(var i = 0; i < record.size(); i++) {
+				final var value = compiledUnmapper.getValue(o, i);
+				if(!Objects.deepEquals(value, record.get(i))) {
+					changedValues.put(record.field(i), value);
+				}
+			}
+			return changedValues;
+		}
+
+		final var newRecord = create.newRecord(record.fields());
+		newRecord.from(o);
+		for(var i = 0; i < record.size(); i++) {
+			final var value = newRecord.get(i);
+			if(!Objects.deepEquals(value, record.get(i))) {
+				changedValues.put(record.field(i), value);
+			}
+		}
+		return changedValues;
+	}
+
+	private Optional<CompiledRecordUnmapper<?>> getUnmapper(final Class<?> type, final Field<?>[] fields) {
+		if(!isMappable(type)) {
+			return Optional.empty();
+		}
+		return unmappers.computeIfAbsent(MappingKey.of(type, fields), k -> CompiledRecordUnmapper.compile(k.type(), fields, create));
+	}
+
+	private static boolean isMappable(final Class<?> type) {
+		return type.getName().startsWith(MAPPED_PACKAGE)
+			&& !type.isInterface()
+			&& !type.isRecord()
+			&& !type.isEnum()
+			&& !Modifier.isAbstract(type.getModifiers())
+			&& !Record.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Get the non static members of a class and of its super classes, as jOOQ does
+	 */
+	private static List<java.lang.reflect.Field> getInstanceMembers(final Class<?> type) {
+		final List<java.lang.reflect.Field> members = new ArrayList<>();
+		for(var t = type; t != null; t = t.getSuperclass()) {
+			Arrays.stream(t.getDeclaredFields())
+				.filter(m -> !Modifier.isStatic(m.getModifiers()))
+				.forEach(members::add);
+		}
+		return members;
+	}
+
+	/**
+	 * Get the non static methods of a class and of its super classes, as jOOQ does
+	 */
+	private static List<Method> getInstanceMethods(final Class<?> type) {
+		final Map<String, Method> methods = new LinkedHashMap<>();
+		for(final var method : type.getMethods()) {
+			if(!Modifier.isStatic(method.getModifiers()) && !method.isBridge()) {
+				methods.putIfAbsent(getSignature(method), method);
+			}
+		}
+		for(var t = type; t != null; t = t.getSuperclass()) {
+			for(final var method : t.getDeclaredMethods()) {
+				if(!Modifier.isStatic(method.getModifiers()) && !method.isBridge()) {
+					methods.putIfAbsent(getSignature(method), method);
+				}
+			}
+		}
+		return List.copyOf(methods.values());
+	}
+
+	private static String getSignature(final Method method) {
+		return method.getName() + Arrays.toString(method.getParameterTypes());
+	}
+
+	private static MethodHandle unreflect(final Method method) throws IllegalAccessException {
+		method.setAccessible(true);
+		return MethodHandles.lookup().unreflect(method);
+	}
+
+	/**
+	 * Mapper of the records to the objects of a class, setting the matching members then calling the matching setters for each column
+	 */
+	private static final class CompiledRecordMapper<E> implements RecordMapper<Record, E> {
+		private final MethodHandle constructor;
+		//for each column, the setters and the types to which the values must be converted, null when no conversion is required
+		private final MethodHandle[][] setters;
+		private final Class<?>[][] conversions;
+
+		private CompiledRecordMapper(final MethodHandle constructor, final MethodHandle[][] setters, final Class<?>[][] conversions) {
+			this.constructor = constructor;
+			this.setters = setters;
+			this.conversions = conversions;
+		}
+
+		static Optional<CompiledRecordMapper<?>> compile(final Class<?> type, final Field<?>[] fields) {
+			try {
+				final Constructor<?> defaultConstructor = type.getDeclaredConstructor();
+				defaultConstructor.setAccessible(true);
+				final var constructor = MethodHandles.lookup().unreflectConstructor(defaultConstructor).asType(CONSTRUCTOR_TYPE);
+
+				final var members = getInstanceMembers(type);
+				final var methods = getInstanceMethods(type);
+				final var setters = new MethodHandle[fields.length][];
+				final var conversions = new Class<?>[fields.length][];
+				for(var i = 0; i < fields.length; i++) {
+					final var name = fields[i].getName();
+					final var camelCaseLC = StringUtils.toCamelCaseLC(name);
+					final var setterNames = List.of(name, camelCaseLC, "set" + name, "set" + StringUtils.toCamelCase(name));
+					final List<MethodHandle> columnSetters = new ArrayList<>();
+					final List<Class<?>> columnConversions = new ArrayList<>();
+					for(final var member : members) {
+						if(!Modifier.isFinal(member.getModifiers()) && (name.equals(member.getName()) || camelCaseLC.equals(member.getName()))) {
+							member.setAccessible(true);
+							columnSetters.add(MethodHandles.lookup().unreflectSetter(member).asType(SETTER_TYPE));
+							columnConversions.add(getConversion(fields[i], member.getType()));
+						}
+					}
+					for(final var method : methods) {
+						if(method.getParameterCount() == 1 && setterNames.contains(method.getName())) {
+							columnSetters.add(unreflect(method).asType(SETTER_TYPE));
+							columnConversions.add(getConversion(fields[i], method.getParameterTypes()[0]));
+						}
+					}
+					setters[i] = columnSetters.toArray(MethodHandle[]::new);
+					conversions[i] = columnConversions.toArray(Class<?>[]::new);
+				}
+				return Optional.of(new CompiledRecordMapper<>(constructor, setters, conversions));
+			}
+			catch(final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+				return Optional.empty();
+			}
+		}
+
+		private static Class<?> getConversion(final Field<?> field, final Class<?> type) {
+			return !type.isPrimitive() && type.isAssignableFrom(field.getType()) ? null : type;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E map(final Record record) {
+			try {
+				final var o = (E) constructor.invokeExact();
+				for(var i = 0; i < setters.length; i++) {
+					final var columnSetters = setters[i];
+					for(var j = 0; j < columnSetters.length; j++) {
+						final var conversion = conversions[i][j];
+						columnSetters[j].invokeExact((Object) o, conversion == null ? record.get(i) : record.get(i, conversion));
+					}
+				}
+				return o;
+			}
+			catch(final Throwable e) {
+				throw new MappingException("An error occurred when mapping record to " + constructor.type(), e);
+			}
+		}
+	}
+
+	/**
+	 * Unmapper of the objects of a class to records, reading the matching getter or the first matching member for each column
+	 */
+	private static final class CompiledRecordUnmapper<E> implements RecordUnmapper<E, Record> {
+		private final Field<?>[] fields;
+		//for each column, the getter, or null if the object has no value for the column
+		private final MethodHandle[] getters;
+		private final DSLContext create;
+
+		private CompiledRecordUnmapper(final Field<?>[] fields, final MethodHandle[] getters, final DSLContext create) {
+			this.fields = fields;
+			this.getters = getters;
+			this.create = create;
+		}
+
+		static Optional<CompiledRecordUnmapper<?>> compile(final Class<?> type, final Field<?>[] fields, final DSLContext create) {
+			try {
+				final var members = getInstanceMembers(type);
+				final var methods = getInstanceMethods(type);
+				final var getters = new MethodHandle[fields.length];
+				for(var i = 0; i < fields.length; i++) {
+					final var name = fields[i].getName();
+					final var camelCaseLC = StringUtils.toCamelCaseLC(name);
+					final var camelCase = StringUtils.toCamelCase(name);
+					final var getterNames = List.of(name, camelCaseLC, "get" + name, "get" + camelCase, "is" + name, "is" + camelCase);
+					final var getter = methods.stream()
+						.filter(m -> m.getParameterCount() == 0 && !void.class.equals(m.getReturnType()) && getterNames.contains(m.getName()))
+						.findFirst();
+					if(getter.isPresent()) {
+						getters[i] = unreflect(getter.get()).asType(GETTER_TYPE);
+						continue;
+					}
+					final var member = members.stream()
+						.filter(m -> name.equals(m.getName()) || camelCaseLC.equals(m.getName()))
+						.findFirst();
+					if(member.isPresent()) {
+						member.get().setAccessible(true);
+						getters[i] = MethodHandles.lookup().unreflectGetter(member.get()).asType(GETTER_TYPE);
+					}
+				}
+				return Optional.of(new CompiledRecordUnmapper<>(fields, getters, create));
+			}
+			catch(final IllegalAccessException | RuntimeException e) {
+				return Optional.empty();
+			}
+		}
+
+		/**
+		 * Get the value of a column for an object, converted to the type of the column
+		 *
+		 * @param o     The object
+		 * @param index The index of the column
+		 * @return The value or null if the object has no value for the column
+		 */
+		Object getValue(final Object o, final int index) {
+			final var getter = getters[index];
+			if(getter == null) {
+				return null;
+			}
+			try {
+				final var value = (Object) getter.invokeExact(o);
+				final var field = fields[index];
+				return value == null || field.getType().isInstance(value) ? value : field.getDataType().convert(value);
+			}
+			catch(final Throwable e) {
+				throw new MappingException("An error occurred when mapping object " + o.getClass().getName(), e);
+			}
+		}
+
+		@Override
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public Record unmap(final E source) {
+			final var record = create.newRecord(fields);
+			for(var i = 0; i < fields.length; i++) {
+				//columns without value are left untouched, as jOOQ does
+				if(getters[i] != null) {
+					record.set((Field) fields[i], getValue(source, i));
+				}
+			}
+			return record;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package ch.rodano.core.database.migrations.scripts;
+
+import java.util.List;
+
+import ch.rodano.core.database.migrations.AbstractDatabaseMigration;
+import ch.rodano.core.database.migrations.MigrationBean;
+import ch.rodano.core.database.migrations.MigrationTask;
+import ch.rodano.core.services.dao.scope.ScopeAncestorDAOService;
+
+/**
+ * Check that the scope ancestor table matches the reference view and rebuild it if it does not
+ */
+@MigrationBean
+public class DBScopeAncestorCheck extends AbstractDatabaseMigration {
+
+	private final ScopeAncestorDAOService scopeAncestorDAOService;
+
+	public DBScopeAncestorCheck(
+		final ScopeAncestorDAOService scopeAncestorDAOService
+	) {
+		this.scopeAncestorDAOService = scopeAncestorDAOService;
+	}
+
+	@Override
+	protected List<MigrationTask> tasks() {
+		return List.of(
+			rebuildIfInconsistent(),
+			verify()
+		);
+	}
+
+	private MigrationTask rebuildIfInconsistent() {
+		return new MigrationTask() {
+			@Override
+			public boolean run() {
+				final var inconsistencies = scopeAncestorDAOService.countInconsistencies();
+				if(inconsistencies == 0) {
+					logger.info("Scope ancestor table is consistent ✅");
+					return true;
+				}
+				logger.warn("Scope ancestor table has {} inconsistencies, rebuilding it", inconsistencies);
+				scopeAncestorDAOService.rebuild();
+				return true;
+			}
+
+			@Override
+			public String description() {
+				return "Compare the scope ancestor table with the reference view and rebuild it if necessary";
+			}
+		};
+	}
+
+	private MigrationTask verify() {
+		return new MigrationTask() {
+			@Override
+			public boolean run() {
+				if(scopeAncestorDAOService.countInconsistencies() == 0) {
+					logger.info("All checks succeeded! ✅");
+					return true;
+				}
+				logger.error("Scope ancestor check failed! ❌");
+				return false;
+			}
+
+			@Override
+			public String description() {
+				return "Verify the scope ancestor table against the reference view";
+			}
+		};
+	}
+
+	@Override
+	protected Double migrationTaskNumber() {
+		return null;
+	}
+
+	@Override
+	protected String context() {
+		return null;
+	}
+}
@@ -21,6 +21,7 @@ import ch.rodano.configuration.model.request.ResultType;
 import ch.rodano.configuration.model.scope.ScopeModel;
 import ch.rodano.core.model.graph.RodanoSqlResult;
 import ch.rodano.core.model.scope.Scope;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.utils.Utils;
 
@@ -32,13 +33,16 @@ public class RequestHelperService {
 
 	private final DSLContext create;
 	private final StudyService studyService;
+	private final ExportTableService exportTableService;
 
 	public RequestHelperService(
 		final DSLContext create,
-		final StudyService studyService
+		final StudyService studyService,
+		final ExportTableService exportTableService
 	) {
 		this.create = create;
 		this.studyService = studyService;
+		this.exportTableService = exportTableService;
 	}
 
 	//if a list of value source is used, we assume that all value sources target the same event and the same document
@@ -153,6 +157,9 @@ public class RequestHelperService {
 
 		final Map<String, Double> resultCount = new LinkedHashMap<>();
 
+		//the export tables must contain the modifications done in the current transaction
+		exportTableService.flush();
+
 		for(final var valueSource : request.getResults()) {
 			valueSource.setForStatistics(forStatictics);
 
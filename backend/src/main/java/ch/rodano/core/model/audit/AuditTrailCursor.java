@@ -0,0 +1,54 @@
+package ch.rodano.core.model.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the audit trails of an object, sorted by date and pk
+ * The cursor is given to the clients as an opaque token that they send back to retrieve the next page
+ *
+ * @param auditDatetime The date of the last audit trail of the previous page
+ * @param pk            The pk of the last audit trail of the previous page
+ */
+public record AuditTrailCursor(
+	ZonedDateTime auditDatetime,
+	Long pk
+) {
+
+	private static final String SEPARATOR = "|";
+
+	public static AuditTrailCursor of(final AuditTrail auditTrail) {
+		return new AuditTrailCursor(auditTrail.getAuditDatetime(), auditTrail.getPk());
+	}
+
+	/**
+	 * Decode a cursor from its token
+	 *
+	 * @param token The token
+	 * @return The cursor
+	 * @throws IllegalArgumentException If the token is not valid
+	 */
+	public static AuditTrailCursor fromToken(final String token) {
+		final var decodedToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		final var index = decodedToken.lastIndexOf(SEPARATOR);
+		if(index == -1) {
+			throw new IllegalArgumentException(String.format("Invalid audit trail cursor %s", token));
+		}
+		try {
+			final var auditDatetime = ZonedDateTime.parse(decodedToken.substring(0, index), DateTimeFormatter.ISO_ZONED_DATE_TIME);
+			final var pk = Long.valueOf(decodedToken.substring(index + 1));
+			return new AuditTrailCursor(auditDatetime, pk);
+		}
+		catch(final DateTimeParseException | NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Invalid audit trail cursor %s", token), e);
+		}
+	}
+
+	public String toToken() {
+		final var token = auditDatetime.format(DateTimeFormatter.ISO_ZONED_DATE_TIME) + SEPARATOR + pk;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,17 @@
+package ch.rodano.core.model.audit;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Page of the audit trails of an object
+ *
+ * @param auditTrails The audit trails of the page, sorted by date and pk
+ * @param nextCursor  The cursor to retrieve the next page, or an empty optional if this is the last page
+ */
+public record AuditTrailPage<V extends AuditTrail>(
+	List<V> auditTrails,
+	Optional<AuditTrailCursor> nextCursor
+) {
+	//nothing to do here
+}
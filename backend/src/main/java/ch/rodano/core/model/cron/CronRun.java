@@ -0,0 +1,28 @@
+package ch.rodano.core.model.cron;
+
+import java.time.ZonedDateTime;
+
+/**
+ * State of the last pass of a cron over the scopes
+ * Scopes are processed in the order of their pk, so a pass that has been interrupted can be resumed after the last processed scope
+ *
+ * @param cronId      The id of the cron
+ * @param startTime   The time at which the pass has started
+ * @param endTime     The time at which the pass has ended, or null if the pass is still running or has been interrupted
+ * @param lastScopePk The pk of the last processed scope, or null if no scope has been processed yet
+ * @param processed   The number of processed scopes
+ * @param failed      The number of scopes on which the rules of the cron could not be executed
+ */
+public record CronRun(
+	String cronId,
+	ZonedDateTime startTime,
+	ZonedDateTime endTime,
+	Long lastScopePk,
+	int processed,
+	int failed
+) {
+
+	public boolean isCompleted() {
+		return endTime != null;
+	}
+}
@@ -9,8 +9,10 @@ import ch.rodano.core.model.jooq.tables.Chart;
 import ch.rodano.core.model.jooq.tables.ChartCategory;
 import ch.rodano.core.model.jooq.tables.ChartColor;
 import ch.rodano.core.model.jooq.tables.ChartState;
+import ch.rodano.core.model.jooq.tables.CronRun;
 import ch.rodano.core.model.jooq.tables.Dataset;
 import ch.rodano.core.model.jooq.tables.DatasetAudit;
+import ch.rodano.core.model.jooq.tables.EntityCacheInvalidation;
 import ch.rodano.core.model.jooq.tables.Event;
 import ch.rodano.core.model.jooq.tables.EventAudit;
 import ch.rodano.core.model.jooq.tables.Field;
@@ -84,6 +86,11 @@ public class DefaultSchema extends SchemaImpl {
 	 */
 	public final ChartState CHART_STATE = ChartState.CHART_STATE;
 
+	/**
+	 * The table <code>cron_run</code>.
+	 */
+	public final CronRun CRON_RUN = CronRun.CRON_RUN;
+
 	/**
 	 * The table <code>dataset</code>.
 	 */
@@ -94,6 +101,11 @@ public class DefaultSchema extends SchemaImpl {
 	 */
 	public final DatasetAudit DATASET_AUDIT = DatasetAudit.DATASET_AUDIT;
 
+	/**
+	 * The table <code>entity_cache_invalidation</code>.
+	 */
+	public final EntityCacheInvalidation ENTITY_CACHE_INVALIDATION = EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION;
+
 	/**
 	 * The table <code>event</code>.
 	 */
@@ -245,8 +257,10 @@ public class DefaultSchema extends SchemaImpl {
 			ChartCategory.CHART_CATEGORY,
 			ChartColor.CHART_COLOR,
 			ChartState.CHART_STATE,
+			CronRun.CRON_RUN,
 			Dataset.DATASET,
 			DatasetAudit.DATASET_AUDIT,
+			EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION,
 			Event.EVENT,
 			EventAudit.EVENT_AUDIT,
 			Field.FIELD,
@@ -5,7 +5,9 @@ package ch.rodano.core.model.jooq;
 
 
 import ch.rodano.core.model.jooq.tables.Dataset;
+import ch.rodano.core.model.jooq.tables.EntityCacheInvalidation;
 import ch.rodano.core.model.jooq.tables.Event;
+import ch.rodano.core.model.jooq.tables.FieldAudit;
 import ch.rodano.core.model.jooq.tables.Form;
 import ch.rodano.core.model.jooq.tables.Mail;
 import ch.rodano.core.model.jooq.tables.Payment;
@@ -15,6 +17,7 @@ import ch.rodano.core.model.jooq.tables.Resource;
 import ch.rodano.core.model.jooq.tables.Robot;
 import ch.rodano.core.model.jooq.tables.Role;
 import ch.rodano.core.model.jooq.tables.Scope;
+import ch.rodano.core.model.jooq.tables.ScopeAncestor;
 import ch.rodano.core.model.jooq.tables.User;
 import ch.rodano.core.model.jooq.tables.WorkflowStatus;
 
@@ -37,10 +40,12 @@ public class Indexes {
 	public static final Index WORKFLOW_STATUS_AGGREGATE_EVENT = Internal.createIndex(DSL.name("aggregate_event"), WorkflowStatus.WORKFLOW_STATUS, new OrderField[] { WorkflowStatus.WORKFLOW_STATUS.WORKFLOW_ID, WorkflowStatus.WORKFLOW_STATUS.DELETED, WorkflowStatus.WORKFLOW_STATUS.EVENT_FK, WorkflowStatus.WORKFLOW_STATUS.FORM_FK, WorkflowStatus.WORKFLOW_STATUS.FIELD_FK }, false);
 	public static final Index WORKFLOW_STATUS_AGGREGATE_SCOPE = Internal.createIndex(DSL.name("aggregate_scope"), WorkflowStatus.WORKFLOW_STATUS, new OrderField[] { WorkflowStatus.WORKFLOW_STATUS.WORKFLOW_ID, WorkflowStatus.WORKFLOW_STATUS.DELETED, WorkflowStatus.WORKFLOW_STATUS.SCOPE_FK }, false);
 	public static final Index DATASET_IDX_DATASET_DELETED = Internal.createIndex(DSL.name("idx_dataset_deleted"), Dataset.DATASET, new OrderField[] { Dataset.DATASET.DELETED }, false);
+	public static final Index ENTITY_CACHE_INVALIDATION_IDX_ENTITY_CACHE_INVALIDATION_DATE = Internal.createIndex(DSL.name("idx_entity_cache_invalidation_date"), EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION, new OrderField[] { EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION.DATE }, false);
 	public static final Index EVENT_IDX_EVENT_BLOCKING = Internal.createIndex(DSL.name("idx_event_blocking"), Event.EVENT, new OrderField[] { Event.EVENT.BLOCKING }, false);
 	public static final Index EVENT_IDX_EVENT_DATE = Internal.createIndex(DSL.name("idx_event_date"), Event.EVENT, new OrderField[] { Event.EVENT.DATE }, false);
 	public static final Index EVENT_IDX_EVENT_DELETED = Internal.createIndex(DSL.name("idx_event_deleted"), Event.EVENT, new OrderField[] { Event.EVENT.DELETED }, false);
 	public static final Index EVENT_IDX_EVENT_EVENT_MODEL_ID = Internal.createIndex(DSL.name("idx_event_event_model_id"), Event.EVENT, new OrderField[] { Event.EVENT.EVENT_MODEL_ID }, false);
+	public static final Index FIELD_AUDIT_IDX_FIELD_AUDIT_OBJECT_FK_DATETIME = Internal.createIndex(DSL.name("idx_field_audit_object_fk_datetime"), FieldAudit.FIELD_AUDIT, new OrderField[] { FieldAudit.FIELD_AUDIT.AUDIT_OBJECT_FK, FieldAudit.FIELD_AUDIT.AUDIT_DATETIME }, false);
 	public static final Index FORM_IDX_FORM_DELETED = Internal.createIndex(DSL.name("idx_form_deleted"), Form.FORM, new OrderField[] { Form.FORM.DELETED }, false);
 	public static final Index MAIL_IDX_MAIL_ORIGIN = Internal.createIndex(DSL.name("idx_mail_origin"), Mail.MAIL, new OrderField[] { Mail.MAIL.ORIGIN }, false);
 	public static final Index MAIL_IDX_MAIL_SENDER = Internal.createIndex(DSL.name("idx_mail_sender"), Mail.MAIL, new OrderField[] { Mail.MAIL.SENDER }, false);
@@ -52,6 +57,7 @@ public class Indexes {
 	public static final Index RESOURCE_IDX_RESOURCE_DELETED = Internal.createIndex(DSL.name("idx_resource_deleted"), Resource.RESOURCE, new OrderField[] { Resource.RESOURCE.DELETED }, false);
 	public static final Index ROBOT_IDX_ROBOT_DELETED = Internal.createIndex(DSL.name("idx_robot_deleted"), Robot.ROBOT, new OrderField[] { Robot.ROBOT.DELETED }, false);
 	public static final Index ROLE_IDX_ROLE_PROFILE_ID = Internal.createIndex(DSL.name("idx_role_profile_id"), Role.ROLE, new OrderField[] { Role.ROLE.PROFILE_ID }, false);
+	public static final Index SCOPE_ANCESTOR_IDX_SCOPE_ANCESTOR_ANCESTOR_FK = Internal.createIndex(DSL.name("idx_scope_ancestor_ancestor_fk"), ScopeAncestor.SCOPE_ANCESTOR, new OrderField[] { ScopeAncestor.SCOPE_ANCESTOR.ANCESTOR_FK, ScopeAncestor.SCOPE_ANCESTOR.SCOPE_FK }, false);
 	public static final Index SCOPE_IDX_SCOPE_DELETED = Internal.createIndex(DSL.name("idx_scope_deleted"), Scope.SCOPE, new OrderField[] { Scope.SCOPE.DELETED }, false);
 	public static final Index USER_IDX_USER_DELETED = Internal.createIndex(DSL.name("idx_user_deleted"), User.USER, new OrderField[] { User.USER.DELETED }, false);
 	public static final Index USER_IDX_USER_EMAIL = Internal.createIndex(DSL.name("idx_user_email"), User.USER, new OrderField[] { User.USER.EMAIL }, false);
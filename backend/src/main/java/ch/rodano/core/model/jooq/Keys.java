@@ -9,8 +9,10 @@ import ch.rodano.core.model.jooq.tables.Chart;
 import ch.rodano.core.model.jooq.tables.ChartCategory;
 import ch.rodano.core.model.jooq.tables.ChartColor;
 import ch.rodano.core.model.jooq.tables.ChartState;
+import ch.rodano.core.model.jooq.tables.CronRun;
 import ch.rodano.core.model.jooq.tables.Dataset;
 import ch.rodano.core.model.jooq.tables.DatasetAudit;
+import ch.rodano.core.model.jooq.tables.EntityCacheInvalidation;
 import ch.rodano.core.model.jooq.tables.Event;
 import ch.rodano.core.model.jooq.tables.EventAudit;
 import ch.rodano.core.model.jooq.tables.Field;
@@ -29,6 +31,7 @@ import ch.rodano.core.model.jooq.tables.RobotAudit;
 import ch.rodano.core.model.jooq.tables.Role;
 import ch.rodano.core.model.jooq.tables.RoleAudit;
 import ch.rodano.core.model.jooq.tables.Scope;
+import ch.rodano.core.model.jooq.tables.ScopeAncestor;
 import ch.rodano.core.model.jooq.tables.ScopeAudit;
 import ch.rodano.core.model.jooq.tables.ScopeRelation;
 import ch.rodano.core.model.jooq.tables.User;
@@ -41,7 +44,9 @@ import ch.rodano.core.model.jooq.tables.records.ChartCategoryRecord;
 import ch.rodano.core.model.jooq.tables.records.ChartColorRecord;
 import ch.rodano.core.model.jooq.tables.records.ChartRecord;
 import ch.rodano.core.model.jooq.tables.records.ChartStateRecord;
+import ch.rodano.core.model.jooq.tables.records.CronRunRecord;
 import ch.rodano.core.model.jooq.tables.records.DatasetAuditRecord;
+import ch.rodano.core.model.jooq.tables.records.EntityCacheInvalidationRecord;
 import ch.rodano.core.model.jooq.tables.records.DatasetRecord;
 import ch.rodano.core.model.jooq.tables.records.EventAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.EventRecord;
@@ -60,6 +65,7 @@ import ch.rodano.core.model.jooq.tables.records.RobotAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.RobotRecord;
 import ch.rodano.core.model.jooq.tables.records.RoleAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.RoleRecord;
+import ch.rodano.core.model.jooq.tables.records.ScopeAncestorRecord;
 import ch.rodano.core.model.jooq.tables.records.ScopeAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.ScopeRecord;
 import ch.rodano.core.model.jooq.tables.records.ScopeRelationRecord;
@@ -92,9 +98,11 @@ public class Keys {
 	public static final UniqueKey<ChartCategoryRecord> KEY_CHART_CATEGORY_PRIMARY = Internal.createUniqueKey(ChartCategory.CHART_CATEGORY, DSL.name("KEY_chart_category_PRIMARY"), new TableField[] { ChartCategory.CHART_CATEGORY.PK }, true);
 	public static final UniqueKey<ChartColorRecord> KEY_CHART_COLOR_PRIMARY = Internal.createUniqueKey(ChartColor.CHART_COLOR, DSL.name("KEY_chart_color_PRIMARY"), new TableField[] { ChartColor.CHART_COLOR.PK }, true);
 	public static final UniqueKey<ChartStateRecord> KEY_CHART_STATE_PRIMARY = Internal.createUniqueKey(ChartState.CHART_STATE, DSL.name("KEY_chart_state_PRIMARY"), new TableField[] { ChartState.CHART_STATE.PK }, true);
+	public static final UniqueKey<CronRunRecord> KEY_CRON_RUN_PRIMARY = Internal.createUniqueKey(CronRun.CRON_RUN, DSL.name("KEY_cron_run_PRIMARY"), new TableField[] { CronRun.CRON_RUN.CRON_ID }, true);
 	public static final UniqueKey<DatasetRecord> KEY_DATASET_PRIMARY = Internal.createUniqueKey(Dataset.DATASET, DSL.name("KEY_dataset_PRIMARY"), new TableField[] { Dataset.DATASET.PK }, true);
 	public static final UniqueKey<DatasetRecord> KEY_DATASET_U_DATASET_ID = Internal.createUniqueKey(Dataset.DATASET, DSL.name("KEY_dataset_u_dataset_id"), new TableField[] { Dataset.DATASET.ID }, true);
 	public static final UniqueKey<DatasetAuditRecord> KEY_DATASET_AUDIT_PRIMARY = Internal.createUniqueKey(DatasetAudit.DATASET_AUDIT, DSL.name("KEY_dataset_audit_PRIMARY"), new TableField[] { DatasetAudit.DATASET_AUDIT.PK }, true);
+	public static final UniqueKey<EntityCacheInvalidationRecord> KEY_ENTITY_CACHE_INVALIDATION_PRIMARY = Internal.createUniqueKey(EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION, DSL.name("KEY_entity_cache_invalidation_PRIMARY"), new TableField[] { EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION.PK }, true);
 	public static final UniqueKey<EventRecord> KEY_EVENT_PRIMARY = Internal.createUniqueKey(Event.EVENT, DSL.name("KEY_event_PRIMARY"), new TableField[] { Event.EVENT.PK }, true);
 	public static final UniqueKey<EventRecord> KEY_EVENT_U_EVENT_ID = Internal.createUniqueKey(Event.EVENT, DSL.name("KEY_event_u_event_id"), new TableField[] { Event.EVENT.ID }, true);
 	public static final UniqueKey<EventAuditRecord> KEY_EVENT_AUDIT_PRIMARY = Internal.createUniqueKey(EventAudit.EVENT_AUDIT, DSL.name("KEY_event_audit_PRIMARY"), new TableField[] { EventAudit.EVENT_AUDIT.PK }, true);
@@ -118,6 +126,7 @@ public class Keys {
 	public static final UniqueKey<RoleRecord> KEY_ROLE_PRIMARY = Internal.createUniqueKey(Role.ROLE, DSL.name("KEY_role_PRIMARY"), new TableField[] { Role.ROLE.PK }, true);
 	public static final UniqueKey<RoleAuditRecord> KEY_ROLE_AUDIT_PRIMARY = Internal.createUniqueKey(RoleAudit.ROLE_AUDIT, DSL.name("KEY_role_audit_PRIMARY"), new TableField[] { RoleAudit.ROLE_AUDIT.PK }, true);
 	public static final UniqueKey<ScopeRecord> KEY_SCOPE_PRIMARY = Internal.createUniqueKey(Scope.SCOPE, DSL.name("KEY_scope_PRIMARY"), new TableField[] { Scope.SCOPE.PK }, true);
+	public static final UniqueKey<ScopeAncestorRecord> KEY_SCOPE_ANCESTOR_PRIMARY = Internal.createUniqueKey(ScopeAncestor.SCOPE_ANCESTOR, DSL.name("KEY_scope_ancestor_PRIMARY"), new TableField[] { ScopeAncestor.SCOPE_ANCESTOR.SCOPE_FK, ScopeAncestor.SCOPE_ANCESTOR.ANCESTOR_FK }, true);
 	public static final UniqueKey<ScopeRecord> KEY_SCOPE_U_SCOPE_CODE = Internal.createUniqueKey(Scope.SCOPE, DSL.name("KEY_scope_u_scope_code"), new TableField[] { Scope.SCOPE.CODE }, true);
 	public static final UniqueKey<ScopeRecord> KEY_SCOPE_U_SCOPE_ID = Internal.createUniqueKey(Scope.SCOPE, DSL.name("KEY_scope_u_scope_id"), new TableField[] { Scope.SCOPE.ID }, true);
 	public static final UniqueKey<ScopeAuditRecord> KEY_SCOPE_AUDIT_PRIMARY = Internal.createUniqueKey(ScopeAudit.SCOPE_AUDIT, DSL.name("KEY_scope_audit_PRIMARY"), new TableField[] { ScopeAudit.SCOPE_AUDIT.PK }, true);
@@ -9,8 +9,10 @@ import ch.rodano.core.model.jooq.tables.Chart;
 import ch.rodano.core.model.jooq.tables.ChartCategory;
 import ch.rodano.core.model.jooq.tables.ChartColor;
 import ch.rodano.core.model.jooq.tables.ChartState;
+import ch.rodano.core.model.jooq.tables.CronRun;
 import ch.rodano.core.model.jooq.tables.Dataset;
 import ch.rodano.core.model.jooq.tables.DatasetAudit;
+import ch.rodano.core.model.jooq.tables.EntityCacheInvalidation;
 import ch.rodano.core.model.jooq.tables.Event;
 import ch.rodano.core.model.jooq.tables.EventAudit;
 import ch.rodano.core.model.jooq.tables.Field;
@@ -70,6 +72,11 @@ public class Tables {
 	 */
 	public static final ChartState CHART_STATE = ChartState.CHART_STATE;
 
+	/**
+	 * The table <code>cron_run</code>.
+	 */
+	public static final CronRun CRON_RUN = CronRun.CRON_RUN;
+
 	/**
 	 * The table <code>dataset</code>.
 	 */
@@ -80,6 +87,11 @@ public class Tables {
 	 */
 	public static final DatasetAudit DATASET_AUDIT = DatasetAudit.DATASET_AUDIT;
 
+	/**
+	 * The table <code>entity_cache_invalidation</code>.
+	 */
+	public static final EntityCacheInvalidation ENTITY_CACHE_INVALIDATION = EntityCacheInvalidation.ENTITY_CACHE_INVALIDATION;
+
 	/**
 	 * The table <code>event</code>.
 	 */
@@ -6,6 +6,7 @@ package ch.rodano.core.model.jooq.tables;
 
 import ch.rodano.core.helpers.configuration.DateConverter;
 import ch.rodano.core.model.jooq.DefaultSchema;
+import ch.rodano.core.model.jooq.Indexes;
 import ch.rodano.core.model.jooq.Keys;
 import ch.rodano.core.model.jooq.tables.AuditAction.AuditActionPath;
 import ch.rodano.core.model.jooq.tables.Field.FieldPath;
@@ -23,6 +24,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -190,6 +192,11 @@ public class FieldAudit extends TableImpl<FieldAuditRecord> implements AuditTabl
 		return aliased() ? null : DefaultSchema.DEFAULT_SCHEMA;
 	}
 
+	@Override
+	public List<Index> getIndexes() {
+		return Arrays.asList(Indexes.FIELD_AUDIT_IDX_FIELD_AUDIT_OBJECT_FK_DATETIME);
+	}
+
 	@Override
 	public Identity<FieldAuditRecord, Long> getIdentity() {
 		return (Identity<FieldAuditRecord, Long>) super.getIdentity();
@@ -6,13 +6,18 @@ package ch.rodano.core.model.jooq.tables;
 
 import ch.rodano.core.helpers.configuration.DateConverter;
 import ch.rodano.core.model.jooq.DefaultSchema;
+import ch.rodano.core.model.jooq.Indexes;
+import ch.rodano.core.model.jooq.Keys;
 import ch.rodano.core.model.jooq.tables.records.ScopeAncestorRecord;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.PlainSQL;
 import org.jooq.QueryPart;
@@ -23,6 +28,7 @@ import org.jooq.Stringly;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
 import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 import org.jooq.impl.TableImpl;
@@ -52,12 +58,12 @@ public class ScopeAncestor extends TableImpl<ScopeAncestorRecord> {
 	/**
 	 * The column <code>scope_ancestor.scope_fk</code>.
 	 */
-	public final TableField<ScopeAncestorRecord, Long> SCOPE_FK = createField(DSL.name("scope_fk"), SQLDataType.BIGINT.defaultValue(DSL.field(DSL.raw("NULL"), SQLDataType.BIGINT)), this, "");
+	public final TableField<ScopeAncestorRecord, Long> SCOPE_FK = createField(DSL.name("scope_fk"), SQLDataType.BIGINT.nullable(false), this, "");
 
 	/**
 	 * The column <code>scope_ancestor.ancestor_fk</code>.
 	 */
-	public final TableField<ScopeAncestorRecord, Long> ANCESTOR_FK = createField(DSL.name("ancestor_fk"), SQLDataType.BIGINT.defaultValue(DSL.field(DSL.raw("NULL"), SQLDataType.BIGINT)), this, "");
+	public final TableField<ScopeAncestorRecord, Long> ANCESTOR_FK = createField(DSL.name("ancestor_fk"), SQLDataType.BIGINT.nullable(false), this, "");
 
 	/**
 	 * The column <code>scope_ancestor.start_date</code>.
@@ -94,7 +100,7 @@ public class ScopeAncestor extends TableImpl<ScopeAncestorRecord> {
 	}
 
 	private ScopeAncestor(Name alias, Table<ScopeAncestorRecord> aliased, Field<?>[] parameters, Condition where) {
-		super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.view("create view `scope_ancestor` as with recursive recursive_scope_ancestor(`scope_fk`,`ancestor_fk`,`start_date`,`end_date`,`direct`,`virtual`,`default_relation`,`ancestor_deleted`) as (select `sr`.`scope_fk` AS `scope_fk`,`sr`.`parent_fk` AS `ancestor_fk`,`sr`.`start_date` AS `start_date`,`sr`.`end_date` AS `end_date`,1 AS `direct`,`s`.`virtual` AS `virtual`,`sr`.`default` AS `default_relation`,`s`.`deleted` AS `ancestor_deleted` from (`rodano`.`scope_relation` `sr` join `rodano`.`scope` `s` on(`sr`.`parent_fk` = `s`.`pk`)) union all select `rsa`.`scope_fk` AS `scope_fk`,`sr`.`parent_fk` AS `parent_fk`,case when `sr`.`start_date` is null then `rsa`.`start_date` when `rsa`.`start_date` is null then `sr`.`start_date` else greatest(`sr`.`start_date`,`rsa`.`start_date`) end AS `start_date`,case when `sr`.`end_date` is null then `rsa`.`end_date` when `rsa`.`end_date` is null then `sr`.`end_date` else least(`sr`.`end_date`,`rsa`.`end_date`) end AS `end_date`,0 AS `direct`,`s`.`virtual` <> 0 or `rsa`.`virtual` <> 0 AS `s.virtual or rsa.virtual`,`sr`.`default` <> 0 and `rsa`.`default_relation` <> 0 AS `sr.``default`` && rsa.``default_relation```,`s`.`deleted` <> 0 or `rsa`.`ancestor_deleted` <> 0 AS `ancestor_deleted` from ((`recursive_scope_ancestor` `rsa` join `rodano`.`scope_relation` `sr` on(`sr`.`scope_fk` = `rsa`.`ancestor_fk`)) join `rodano`.`scope` `s` on(`sr`.`parent_fk` = `s`.`pk`)))select `recursive_scope_ancestor`.`scope_fk` AS `scope_fk`,`recursive_scope_ancestor`.`ancestor_fk` AS `ancestor_fk`,min(`recursive_scope_ancestor`.`start_date`) AS `start_date`,case when max(case when `recursive_scope_ancestor`.`end_date` is null then 1 else 0 end) = 0 then max(`recursive_scope_ancestor`.`end_date`) end AS `end_date`,bit_or(`recursive_scope_ancestor`.`direct`) AS `direct`,bit_and(`recursive_scope_ancestor`.`virtual`) AS `virtual`,bit_or(`recursive_scope_ancestor`.`default_relation`) AS `default`,bit_and(`recursive_scope_ancestor`.`ancestor_deleted`) AS `ancestor_deleted` from `recursive_scope_ancestor` group by `recursive_scope_ancestor`.`scope_fk`,`recursive_scope_ancestor`.`ancestor_fk` order by `recursive_scope_ancestor`.`scope_fk`"), where);
+		super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
 	}
 
 	/**
@@ -123,6 +129,16 @@ public class ScopeAncestor extends TableImpl<ScopeAncestorRecord> {
 		return aliased() ? null : DefaultSchema.DEFAULT_SCHEMA;
 	}
 
+	@Override
+	public List<Index> getIndexes() {
+		return Arrays.asList(Indexes.SCOPE_ANCESTOR_IDX_SCOPE_ANCESTOR_ANCESTOR_FK);
+	}
+
+	@Override
+	public UniqueKey<ScopeAncestorRecord> getPrimaryKey() {
+		return Keys.KEY_SCOPE_ANCESTOR_PRIMARY;
+	}
+
 	@Override
 	public ScopeAncestor as(String alias) {
 		return new ScopeAncestor(DSL.name(alias), this);
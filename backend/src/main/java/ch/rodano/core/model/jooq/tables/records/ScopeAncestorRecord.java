@@ -8,14 +8,15 @@ import ch.rodano.core.model.jooq.tables.ScopeAncestor;
 
 import java.time.ZonedDateTime;
 
-import org.jooq.impl.TableRecordImpl;
+import org.jooq.Record2;
+import org.jooq.impl.UpdatableRecordImpl;
 
 
 /**
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
-public class ScopeAncestorRecord extends TableRecordImpl<ScopeAncestorRecord> {
+public class ScopeAncestorRecord extends UpdatableRecordImpl<ScopeAncestorRecord> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -131,6 +132,15 @@ public class ScopeAncestorRecord extends TableRecordImpl<ScopeAncestorRecord> {
 		return (Boolean) get(7);
 	}
 
+	// -------------------------------------------------------------------------
+	// Primary key information
+	// -------------------------------------------------------------------------
+
+	@Override
+	public Record2<Long, Long> key() {
+		return (Record2) super.key();
+	}
+
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
@@ -1,20 +1,30 @@
 package ch.rodano.core.model.layout.builder;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import ch.rodano.configuration.model.dataset.DatasetModel;
 import ch.rodano.configuration.model.field.FieldModelType;
+import ch.rodano.configuration.model.layout.Cell;
 import ch.rodano.configuration.model.layout.Layout;
 import ch.rodano.configuration.model.layout.VisibilityCriterionAction;
+import ch.rodano.core.configuration.jooq.QueryCounter;
 import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.event.Event;
 import ch.rodano.core.model.field.Field;
@@ -28,6 +38,31 @@ import ch.rodano.core.services.bll.field.FieldService;
 
 @Service
 public class PageStateServiceImpl implements PageStateService {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * Datasets and fields of a form, retrieved at once before the page state is built
+	 *
+	 * @param datasets The datasets indexed by dataset model id, including the removed datasets
+	 * @param fields   The fields indexed by dataset pk and field model id
+	 */
+	private record PageData(
+		Map<String, List<Dataset>> datasets,
+		Map<Long, Map<String, Field>> fields
+	) {
+
+		List<Dataset> getDatasets(final String datasetModelId) {
+			return datasets.getOrDefault(datasetModelId, Collections.emptyList());
+		}
+
+		Dataset getDataset(final String datasetModelId) {
+			return getDatasets(datasetModelId).stream().filter(d -> !d.getDeleted()).findFirst().orElseThrow();
+		}
+
+		Optional<Field> getField(final Dataset dataset, final String fieldModelId) {
+			return Optional.ofNullable(fields.getOrDefault(dataset.getPk(), Collections.emptyMap()).get(fieldModelId));
+		}
+	}
 
 	private final DatasetService datasetService;
 	private final FieldService fieldService;
@@ -45,7 +80,11 @@ public class PageStateServiceImpl implements PageStateService {
 
 	@Override
 	public PageState createPageState(final Scope scope, final Optional<Event> event, final Form form) {
+		final var start = System.nanoTime();
+		final var initialQueryCount = QueryCounter.getCount();
+
 		final var pageState = new PageState(scope, event, form.getFormModel());
+		final var pageData = loadPageData(scope, event, form);
 
 		for(final var layout : form.getFormModel().getLayouts()) {
 			var valid = true;
@@ -59,21 +98,25 @@ public class PageStateServiceImpl implements PageStateService {
 			}
 
 			if(valid) {
-				pageState.addLayoutGroupState(createLayoutGroup(scope, event, form, layout, pageState));
+				pageState.addLayoutGroupState(createLayoutGroup(scope, event, form, layout, pageState, pageData));
 			}
 		}
 
+		if(logger.isDebugEnabled()) {
+			final var duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			logger.debug("Page state of form {} built with {} queries in {} ms", form.getFormModel().getId(), QueryCounter.getCount() - initialQueryCount, duration);
+		}
 		return pageState;
 	}
 
-	public LayoutGroupState createLayoutGroup(final Scope scope, final Optional<Event> event, final Form form, final Layout layout, final PageState pageState) {
+	private LayoutGroupState createLayoutGroup(final Scope scope, final Optional<Event> event, final Form form, final Layout layout, final PageState pageState, final PageData pageData) {
 		final var layoutGroupState = new LayoutGroupState(pageState, layout);
 
 		//create layout states
 		//MULTIPLE
 		if(layout.getType().isRepeatable()) {
-			for(final var dataset : getDatasets(scope, event, layout.getDatasetModel())) {
-				layoutGroupState.addLayoutState(createLayout(scope, event, form, layoutGroupState, Collections.singletonMap(dataset.getDatasetModelId(), dataset)));
+			for(final var dataset : pageData.getDatasets(layout.getDatasetModelId())) {
+				layoutGroupState.addLayoutState(createLayout(scope, event, form, layoutGroupState, Collections.singletonMap(dataset.getDatasetModelId(), dataset), pageData));
 			}
 		}
 		//SINGLE
@@ -83,17 +126,17 @@ public class PageStateServiceImpl implements PageStateService {
 				for(final var cell : line.getCells()) {
 					if(cell.hasFieldModel()) {
 						if(!datasets.containsKey(cell.getDatasetModelId())) {
-							datasets.put(cell.getDatasetModelId(), getDataset(scope, event, cell.getDatasetModel()));
+							datasets.put(cell.getDatasetModelId(), pageData.getDataset(cell.getDatasetModelId()));
 						}
 					}
 				}
 			}
-			layoutGroupState.addLayoutState(createLayout(scope, event, form, layoutGroupState, datasets));
+			layoutGroupState.addLayoutState(createLayout(scope, event, form, layoutGroupState, datasets, pageData));
 		}
 		return layoutGroupState;
 	}
 
-	public LayoutState createLayout(final Scope scope, final Optional<Event> event, final Form form, final LayoutGroupState layoutGroupState, final Map<String, Dataset> datasets) {
+	private LayoutState createLayout(final Scope scope, final Optional<Event> event, final Form form, final LayoutGroupState layoutGroupState, final Map<String, Dataset> datasets, final PageData pageData) {
 		final var layoutState = new LayoutState(layoutGroupState, datasets);
 
 		//create cell states
@@ -101,8 +144,9 @@ public class PageStateServiceImpl implements PageStateService {
 			Dataset dataset = null;
 			Field field = null;
 			if(cell.hasFieldModel()) {
-				dataset = datasets.get(cell.getDatasetModelId());
-				field = fieldService.get(dataset, cell.getFieldModel());
+				final var cellDataset = datasets.get(cell.getDatasetModelId());
+				dataset = cellDataset;
+				field = pageData.getField(cellDataset, cell.getFieldModelId()).orElseGet(() -> fieldService.get(cellDataset, cell.getFieldModel()));
 			}
 			//build cell state
 			final var cellState = new CellState(layoutState, cell, dataset, field);
@@ -124,24 +168,53 @@ public class PageStateServiceImpl implements PageStateService {
 		return layoutState;
 	}
 
-	private List<Dataset> getDatasets(final Scope scope, final Optional<Event> event, final DatasetModel datasetModel) {
-		//check if datasets are on the event or the scope
-		if(event.isPresent() && event.get().getEventModel().getDatasetModelIds().contains(datasetModel.getId())) {
-			return datasetService.getAllIncludingRemoved(event.get(), Collections.singleton(datasetModel));
+	/**
+	 * Retrieve all the datasets and fields used by the layouts of a form, with one query for the datasets of the scope, one for the datasets of the event and one for their fields
+	 */
+	private PageData loadPageData(final Scope scope, final Optional<Event> event, final Form form) {
+		final Set<DatasetModel> scopeDatasetModels = new HashSet<>();
+		final Set<DatasetModel> eventDatasetModels = new HashSet<>();
+		for(final var layout : form.getFormModel().getLayouts()) {
+			final var datasetModels = layout.getType().isRepeatable() ? Stream.of(layout.getDatasetModel()) : layout.getCells().stream().filter(Cell::hasFieldModel).map(Cell::getDatasetModel);
+			//check if datasets are on the event or the scope
+			datasetModels.forEach(datasetModel -> {
+				if(event.isPresent() && event.get().getEventModel().getDatasetModelIds().contains(datasetModel.getId())) {
+					eventDatasetModels.add(datasetModel);
+				}
+				else {
+					scopeDatasetModels.add(datasetModel);
+				}
+			});
+		}
+
+		final List<Dataset> datasets = new ArrayList<>();
+		if(!eventDatasetModels.isEmpty()) {
+			datasets.addAll(datasetService.getAllIncludingRemoved(event.get(), eventDatasetModels));
+		}
+		if(!scopeDatasetModels.isEmpty()) {
+			datasets.addAll(datasetService.getAllIncludingRemoved(scope, scopeDatasetModels));
 		}
-		return datasetService.getAllIncludingRemoved(scope, Collections.singleton(datasetModel));
-	}
 
-	private Dataset getDataset(final Scope scope, final Optional<Event> event, final DatasetModel datasetModel) {
-		//check if datasets are on the event or the scope
-		if(event.isPresent() && event.get().getEventModel().getDatasetModelIds().contains(datasetModel.getId())) {
-			return datasetService.get(event.get(), datasetModel);
+		final Map<String, List<Dataset>> datasetsByModelId = new HashMap<>();
+		for(final var dataset : datasets) {
+			datasetsByModelId.computeIfAbsent(dataset.getDatasetModelId(), _ -> new ArrayList<>()).add(dataset);
+		}
+
+		final Map<Long, Map<String, Field>> fieldsByDatasetPk = new HashMap<>();
+		if(!datasets.isEmpty()) {
+			for(final var field : fieldService.getAll(datasets)) {
+				fieldsByDatasetPk.computeIfAbsent(field.getDatasetFk(), _ -> new HashMap<>()).put(field.getFieldModelId(), field);
+			}
 		}
-		return datasetService.get(scope, datasetModel);
+
+		return new PageData(datasetsByModelId, fieldsByDatasetPk);
 	}
 
 	@Override
 	public void initPage(final PageState pageState, final Optional<ZonedDateTime> date, final boolean clean) {
+		//when the page is rendered at a date, the values of all the fields used by visibility criteria are retrieved at once
+		final Map<Long, String> values = date.isPresent() ? fieldService.getLatestValues(getFieldsWithVisibilityCriteria(pageState), date.get()) : Collections.emptyMap();
+
 		for(final var layoutGroupState : pageState.getLayoutGroupStates()) {
 			for(final var layoutState : layoutGroupState.getLayoutStates()) {
 				for(final var cellState : layoutState.getCellStates()) {
@@ -154,8 +227,9 @@ public class PageStateServiceImpl implements PageStateService {
 						for(final var vc : cellState.getCell().getVisibilityCriteria()) {
 							var valid = false;
 							if(FieldModelType.CHECKBOX_GROUP.equals(fieldModel.getType())) {
-								final Collection<String> values = (Collection<String>) fieldService.getValueObject(cellState.getField(), date);
-								for(final var value : values) {
+								final var field = cellState.getField();
+								final var checkedValues = (Collection<String>) field.getFieldModel().stringToObject(getValue(field, date, values));
+								for(final var value : checkedValues) {
 									if(vc.getValues().contains(value)) {
 										valid = true;
 										break;
@@ -165,7 +239,7 @@ public class PageStateServiceImpl implements PageStateService {
 							else {
 								//retrieve value in provided values or get real value
 								//provided map of values may not contains all values (read only values are not submitted by Tapestry and won't be in this map)
-								final var value = fieldService.getLatestValue(cellState.getField(), date);
+								final var value = getValue(cellState.getField(), date, values);
 								valid = vc.getValues().contains(value);
 							}
 							if(valid) {
@@ -227,6 +301,19 @@ public class PageStateServiceImpl implements PageStateService {
 		}
 	}
 
+	private static List<Field> getFieldsWithVisibilityCriteria(final PageState pageState) {
+		return pageState.getLayoutGroupStates().stream()
+			.flatMap(g -> g.getLayoutStates().stream())
+			.flatMap(l -> l.getCellStates().stream())
+			.filter(c -> !c.getCell().getVisibilityCriteria().isEmpty() && c.getField() != null)
+			.map(CellState::getField)
+			.toList();
+	}
+
+	private static String getValue(final Field field, final Optional<ZonedDateTime> date, final Map<Long, String> values) {
+		return date.isPresent() ? values.get(field.getPk()) : field.getValue();
+	}
+
 	public final void setLayoutGroupVisible(final PageState pageState, final LayoutGroupState layoutGroupState, final boolean visible, final boolean clean) {
 		layoutGroupState.setVisible(visible);
 		if(clean && !visible) {
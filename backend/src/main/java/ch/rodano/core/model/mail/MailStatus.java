@@ -1,7 +1,7 @@
 package ch.rodano.core.model.mail;
 
 public enum MailStatus {
-	PENDING("Pending"), SENT("Sent"), SIMULATED("Sent (simulated)"), CANCELED("Canceled"), FAILED("Failed");
+	PENDING("Pending"), SENDING("Sending"), SENT("Sent"), SIMULATED("Sent (simulated)"), CANCELED("Canceled"), FAILED("Failed");
 
 	private final String status;
 
@@ -0,0 +1,98 @@
+package ch.rodano.core.model.rules.data;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import ch.rodano.configuration.model.rules.OperandType;
+import ch.rodano.configuration.model.rules.Operator;
+import ch.rodano.configuration.model.rules.RulableEntity;
+import ch.rodano.configuration.model.rules.RuleCondition;
+import ch.rodano.configuration.model.rules.RuleConditionListEvaluationMode;
+import ch.rodano.core.model.rules.entity.EntityAttribute;
+import ch.rodano.core.model.rules.entity.EntityRelation;
+
+/**
+ * Rule constraint prepared for evaluation
+ * The entity of each condition is known in advance, so attributes and relations are bound once and literal values are parsed with the type of the attribute they are compared to
+ * Errors that would have been raised while preparing a condition are raised when the condition is evaluated, so they do not depend on the moment the constraint is compiled
+ *
+ * @param conditionLists Root conditions, in the order in which they must be evaluated
+ * @param dependencies   Ids of the conditions whose evaluables are dependencies of the evaluation
+ */
+record CompiledConstraint(
+	List<CompiledConditionList> conditionLists,
+	List<String> dependencies
+) {
+	static final CompiledConstraint EMPTY = new CompiledConstraint(Collections.emptyList(), Collections.emptyList());
+
+	/**
+	 * Root conditions of a rulable entity
+	 */
+	record CompiledConditionList(
+		RulableEntity entity,
+		RuleConditionListEvaluationMode mode,
+		List<CompiledCondition> conditions
+	) {
+		//nothing to do here
+	}
+
+	record CompiledCondition(
+		RuleCondition condition,
+		CompiledCriterion criterion,
+		List<CompiledCondition> conditions
+	) {
+		//nothing to do here
+	}
+
+	sealed interface CompiledCriterion {
+		//nothing to do here
+	}
+
+	/**
+	 * Criterion matching the evaluables of the state if they are the same as the ones of another condition
+	 */
+	record ConditionCriterion(
+		String conditionId
+	) implements CompiledCriterion {
+		//nothing to do here
+	}
+
+	/**
+	 * Criterion testing the value of an attribute
+	 *
+	 * @param values        Literal values, already parsed
+	 * @param formulas      Formulas that must be calculated for each evaluation
+	 * @param invalidValues Literal values that can not be parsed with the type of the attribute
+	 */
+	record AttributeCriterion(
+		EntityAttribute attribute,
+		Operator operator,
+		Set<Object> values,
+		List<String> formulas,
+		List<String> invalidValues
+	) implements CompiledCriterion {
+		public OperandType type() {
+			return attribute.getType();
+		}
+	}
+
+	/**
+	 * Criterion replacing the evaluables of the state with their targets in a relation
+	 */
+	record RelationCriterion(
+		EntityRelation relation
+	) implements CompiledCriterion {
+		//nothing to do here
+	}
+
+	/**
+	 * Criterion whose property is neither an attribute nor a relation of the entity
+	 */
+	record UnknownPropertyCriterion(
+		RulableEntity entity,
+		String property
+	) implements CompiledCriterion {
+		//nothing to do here
+	}
+}
@@ -5,10 +5,15 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -16,194 +21,302 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import ch.rodano.configuration.exceptions.RuleBreakException;
+import ch.rodano.configuration.model.rules.OperandType;
 import ch.rodano.configuration.model.rules.Operator;
 import ch.rodano.configuration.model.rules.RulableEntity;
 import ch.rodano.configuration.model.rules.RuleBreakType;
 import ch.rodano.configuration.model.rules.RuleCondition;
+import ch.rodano.configuration.model.rules.RuleConditionCriterion;
 import ch.rodano.configuration.model.rules.RuleConditionListEvaluationMode;
 import ch.rodano.configuration.model.rules.RuleConstraint;
+import ch.rodano.configuration.model.study.Study;
 import ch.rodano.core.model.rules.Evaluable;
+import ch.rodano.core.model.rules.data.CompiledConstraint.AttributeCriterion;
+import ch.rodano.core.model.rules.data.CompiledConstraint.CompiledCondition;
+import ch.rodano.core.model.rules.data.CompiledConstraint.CompiledConditionList;
+import ch.rodano.core.model.rules.data.CompiledConstraint.CompiledCriterion;
+import ch.rodano.core.model.rules.data.CompiledConstraint.ConditionCriterion;
+import ch.rodano.core.model.rules.data.CompiledConstraint.RelationCriterion;
+import ch.rodano.core.model.rules.data.CompiledConstraint.UnknownPropertyCriterion;
 import ch.rodano.core.model.rules.entity.EntityAttribute;
-import ch.rodano.core.model.rules.entity.EntityRelation;
 import ch.rodano.core.model.rules.formula.FormulaParserService;
 import ch.rodano.core.model.rules.formula.exception.UnableToCalculateFormulaException;
+import ch.rodano.core.services.bll.study.StudyService;
+import ch.rodano.core.services.plugin.entity.EntityType;
 import ch.rodano.core.services.rule.RulableEntityBinderService;
+import ch.rodano.core.services.rule.exception.UnknownPluginException;
 
 @Service
 public class ConstraintEvaluationService {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+	private static final ZoneId UTC = ZoneId.of("UTC");
 
+	//compiled constraints of a configuration, discarded when the configuration is reloaded
+	private record StudyConstraints(
+		Study study,
+		Map<RuleConstraint, CompiledConstraint> compiledConstraints
+	) {
+		//nothing to do here
+	}
+
+	private final StudyService studyService;
 	private final RulableEntityBinderService rulableEntityBinderService;
 	private final FormulaParserService formulaParserService;
 
-	public ConstraintEvaluationService(final RulableEntityBinderService rulableEntityBinderService, final FormulaParserService formulaParserService) {
+	private volatile StudyConstraints studyConstraints;
+
+	public ConstraintEvaluationService(
+		final StudyService studyService,
+		final RulableEntityBinderService rulableEntityBinderService,
+		final FormulaParserService formulaParserService
+	) {
+		this.studyService = studyService;
 		this.rulableEntityBinderService = rulableEntityBinderService;
 		this.formulaParserService = formulaParserService;
+
+		final var study = studyService.getStudy();
+		this.studyConstraints = new StudyConstraints(study, compile(study));
 	}
 
 	//TODO improve this
 	//side effect oriented programming
 	public void evaluate(final DataEvaluation dataEvaluation) {
+		final var constraint = getCompiledConstraint(dataEvaluation.getConstraint());
+
 		//store result in the data evaluation
-		dataEvaluation.valid = evaluate(dataEvaluation, dataEvaluation.getConstraint());
+		dataEvaluation.valid = evaluate(dataEvaluation, constraint);
 
 		//store dependencies
-		dataEvaluation.dependencies = dataEvaluation.getDependenciesConditions().stream()
-			.map(RuleCondition::getId)
+		dataEvaluation.dependencies = constraint.dependencies().stream()
 			.map(c -> dataEvaluation.getStates().get(c))
 			.filter(Objects::nonNull)
 			.flatMap(s -> s.getReferenceEvaluables().stream())
 			.toList();
 	}
 
-	private boolean evaluate(final DataEvaluation dataEvaluation, final RuleConstraint constraint) {
-		//evaluate root conditions using [and] operator
-		boolean isValid = true;
+	private CompiledConstraint getCompiledConstraint(final RuleConstraint constraint) {
+		if(constraint == null) {
+			return CompiledConstraint.EMPTY;
+		}
+		final var compiledConstraints = getCompiledConstraints();
+		final var compiledConstraint = compiledConstraints.get(constraint);
+		if(compiledConstraint != null) {
+			return compiledConstraint;
+		}
+		//the compilation is idempotent, so concurrent evaluations can compile the same constraint without holding any lock
+		final var newCompiledConstraint = compile(constraint);
+		final var previousCompiledConstraint = compiledConstraints.putIfAbsent(constraint, newCompiledConstraint);
+		return previousCompiledConstraint != null ? previousCompiledConstraint : newCompiledConstraint;
+	}
 
-		if(constraint != null) {
-			//conditions must be evaluated in a precise order, which is the order of the rulable enum
-			//this is very important because a condition may be referenced by another one and the referenced condition must be evaluated first
-			for(final var entity : RulableEntity.values()) {
-				if(constraint.getConditions().containsKey(entity)) {
-					final var conditionList = constraint.getConditions().get(entity);
-					//no need to check validity of children if there is no children
-					boolean isValidEntity = true;
-					if(!conditionList.getConditions().isEmpty()) {
-						//evaluate entity conditions using [mode] operator
-						isValidEntity = RuleConditionListEvaluationMode.AND.equals(conditionList.getMode());
-
-						for(final RuleCondition condition : conditionList.getConditions()) {
-							final DataState specificState = new DataState(dataEvaluation.getInitialState()).withReference(entity);
-
-							//all conditions must be evaluated to retrieve data state for each condition
-							try {
-								final boolean evaluation = evaluate(dataEvaluation, specificState, condition);
-								//[and] operator
-								if(RuleConditionListEvaluationMode.AND.equals(conditionList.getMode()) && !evaluation) {
-									isValidEntity = false;
-								}
-								//[or] operator
-								if(RuleConditionListEvaluationMode.OR.equals(conditionList.getMode()) && evaluation) {
-									isValidEntity = true;
-								}
-							}
-							catch(final RuleBreakException e) {
-								//rule break stop execution
-								return e.isValid();
-							}
-							catch(final Exception e) {
-								throw new RuntimeException(e);
-							}
-						}
-					}
+	private Map<RuleConstraint, CompiledConstraint> getCompiledConstraints() {
+		final var study = studyService.getStudy();
+		var currentStudyConstraints = studyConstraints;
+		if(currentStudyConstraints.study() != study) {
+			synchronized(this) {
+				currentStudyConstraints = studyConstraints;
+				if(currentStudyConstraints.study() != study) {
+					currentStudyConstraints = new StudyConstraints(study, compile(study));
+					studyConstraints = currentStudyConstraints;
+				}
+			}
+		}
+		return currentStudyConstraints.compiledConstraints();
+	}
 
-					if(!isValidEntity) {
-						isValid = false;
-					}
+	/**
+	 * Compile the constraints of the validators and of the forms of a configuration
+	 * The other constraints are compiled when they are evaluated for the first time
+	 */
+	private Map<RuleConstraint, CompiledConstraint> compile(final Study study) {
+		final var start = System.nanoTime();
+		final List<RuleConstraint> constraints = new ArrayList<>();
+		for(final var validator : study.getValidators()) {
+			if(!validator.isScript()) {
+				constraints.add(validator.getConstraint());
+			}
+		}
+		for(final var formModel : study.getFormModels()) {
+			for(final var layout : formModel.getLayouts()) {
+				constraints.add(layout.getConstraint());
+				layout.getCells().forEach(c -> constraints.add(c.getConstraint()));
+			}
+		}
+
+		//constraints have no equality, so they are identified by their instance
+		final Map<RuleConstraint, CompiledConstraint> compiledConstraints = new ConcurrentHashMap<>();
+		for(final var constraint : constraints) {
+			if(constraint != null) {
+				try {
+					compiledConstraints.putIfAbsent(constraint, compile(constraint));
+				}
+				catch(final RuntimeException e) {
+					//the error will be raised again when the constraint is evaluated
+					logger.error("Unable to compile constraint", e);
 				}
 			}
 		}
+		logger.info("{} constraints compiled in {} ms", compiledConstraints.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return compiledConstraints;
+	}
 
-		return isValid;
+	private CompiledConstraint compile(final RuleConstraint constraint) {
+		final List<CompiledConditionList> conditionLists = new ArrayList<>();
+		//conditions must be evaluated in a precise order, which is the order of the rulable enum
+		//this is very important because a condition may be referenced by another one and the referenced condition must be evaluated first
+		for(final var entity : RulableEntity.values()) {
+			if(constraint.getConditions().containsKey(entity)) {
+				final var conditionList = constraint.getConditions().get(entity);
+				final var conditions = conditionList.getConditions().stream()
+					.map(c -> compile(entity, c))
+					.toList();
+				conditionLists.add(new CompiledConditionList(entity, conditionList.getMode(), conditions));
+			}
+		}
+
+		final var dependencies = constraint.getConditions().values().stream()
+			.flatMap(conditionList -> conditionList.getConditions().stream())
+			.flatMap(condition -> condition.getDependencies().stream())
+			.map(RuleCondition::getId)
+			.toList();
+
+		return new CompiledConstraint(Collections.unmodifiableList(conditionLists), dependencies);
+	}
+
+	private CompiledCondition compile(final RulableEntity entity, final RuleCondition condition) {
+		final var criterion = compile(entity, condition.getCriterion());
+		//children are evaluated against the result of their parent, whose entity changes only when following a relation
+		final var childrenEntity = criterion instanceof final RelationCriterion relationCriterion ? relationCriterion.relation().getTargetEntity() : entity;
+		final var children = condition.getConditions().stream()
+			.map(c -> compile(childrenEntity, c))
+			.toList();
+		return new CompiledCondition(condition, criterion, children);
 	}
 
-	private boolean evaluate(final DataEvaluation dataEvaluation, final DataState state, final RuleCondition condition) throws Exception {
-		final var criterion = condition.getCriterion();
-		final DataState resultState;
+	private CompiledCriterion compile(final RulableEntity entity, final RuleConditionCriterion criterion) {
+		if(criterion == null) {
+			return null;
+		}
 
 		//attribute
-		if(rulableEntityBinderService.attributeExists(state.reference(), condition.getCriterion().getProperty())) {
-
-			//build results list
-			Set<Evaluable> results = new HashSet<>();
+		if(rulableEntityBinderService.attributeExists(entity, criterion.getProperty())) {
 			if(StringUtils.isNotBlank(criterion.getConditionId())) {
-				final boolean valid = state.getReferenceEvaluables().equals(dataEvaluation.getStates().get(criterion.getConditionId()).getReferenceEvaluables());
-				results = valid ? state.getReferenceEvaluables() : Collections.emptySet();
+				return new ConditionCriterion(criterion.getConditionId());
 			}
-			else {
-				//retrieve property
-				final EntityAttribute property = rulableEntityBinderService.getAttribute(state.reference(), criterion.getProperty());
-
-				//transform value in object
-				final Set<Object> values = new HashSet<>();
-				for(final String value : criterion.getValues()) {
-					//formula
-					if(value.startsWith("=")) {
-						try {
-							values.add(formulaParserService.parse(value, dataEvaluation.getStates()));
-						}
-						catch(final UnableToCalculateFormulaException e) {
-							logger.error("Unable to calculate formula", e);
-						}
+
+			//retrieve property
+			final EntityAttribute property = rulableEntityBinderService.getAttribute(entity, criterion.getProperty());
+
+			//transform value in object
+			final Set<Object> values = new HashSet<>();
+			final List<String> formulas = new ArrayList<>();
+			final List<String> invalidValues = new ArrayList<>();
+			for(final String value : criterion.getValues()) {
+				//formula
+				if(value.startsWith("=")) {
+					formulas.add(value);
+				}
+				else {
+					try {
+						values.add(parseValue(property.getType(), value));
 					}
-					else {
-						switch(property.getType()) {
-							case DATE:
-								values.add(ZonedDateTime.of(LocalDate.parse(value, DATE_FORMAT), LocalTime.MIDNIGHT, ZoneId.of("UTC")));
-								break;
-							case NUMBER:
-								values.add(Double.valueOf(value));
-								break;
-							case BOOLEAN:
-								values.add(Boolean.valueOf(value));
-								break;
-							default:
-								values.add(value);
-								break;
-						}
+					catch(final RuntimeException e) {
+						invalidValues.add(value);
 					}
 				}
+			}
+			return new AttributeCriterion(property, criterion.getOperator(), Collections.unmodifiableSet(values), List.copyOf(formulas), List.copyOf(invalidValues));
+		}
 
-				//test each evaluable
-				for(final Evaluable evaluable : state.getReferenceEvaluables()) {
-					final Operator operator = criterion.getOperator();
-					boolean valid = false;//operator.isNegate();
-					final Object evaluableProperty = property.getValue(evaluable);
-
-					if(operator.hasValue()) {
-						for(final Object value : values) {
-							final boolean test = operator.test(property.getType(), evaluableProperty, value);
-							logger.debug("Doing a [{}] operation. Is [{}] [{}] [{}]? Result is [{}]", property.getType(), evaluableProperty, operator.name(), value, test ? "valid" : "invalid");
-							if(test) {
-								valid = true;
-								//no need to continue, one success is enough
-								break;
-							}
-							/*if(operator.isNegate() && !test || !operator.isNegate() && test) {
-								valid = !operator.isNegate();
-								break;
-							}*/
+		//relation
+		if(rulableEntityBinderService.relationExists(entity, criterion.getProperty())) {
+			return new RelationCriterion(rulableEntityBinderService.getRelation(entity, criterion.getProperty()));
+		}
+
+		return new UnknownPropertyCriterion(entity, criterion.getProperty());
+	}
+
+	private static Object parseValue(final OperandType type, final String value) {
+		return switch(type) {
+			case DATE -> ZonedDateTime.of(LocalDate.parse(value, DATE_FORMAT), LocalTime.MIDNIGHT, UTC);
+			case NUMBER -> Double.valueOf(value);
+			case BOOLEAN -> Boolean.valueOf(value);
+			default -> value;
+		};
+	}
+
+	private boolean evaluate(final DataEvaluation dataEvaluation, final CompiledConstraint constraint) {
+		//evaluate root conditions using [and] operator
+		boolean isValid = true;
+
+		for(final var conditionList : constraint.conditionLists()) {
+			//no need to check validity of children if there is no children
+			boolean isValidEntity = true;
+			if(!conditionList.conditions().isEmpty()) {
+				//evaluate entity conditions using [mode] operator
+				isValidEntity = RuleConditionListEvaluationMode.AND.equals(conditionList.mode());
+
+				//conditions never modify the state they receive, so they can share the same one
+				final DataState specificState = dataEvaluation.getInitialState().withReference(conditionList.entity());
+
+				for(final var condition : conditionList.conditions()) {
+					//all conditions must be evaluated to retrieve data state for each condition
+					try {
+						final boolean evaluation = evaluate(dataEvaluation, specificState, condition);
+						//[and] operator
+						if(RuleConditionListEvaluationMode.AND.equals(conditionList.mode()) && !evaluation) {
+							isValidEntity = false;
 						}
-					}
-					else {
-						if(operator.test(property.getType(), evaluableProperty)) {
-							valid = true;
+						//[or] operator
+						if(RuleConditionListEvaluationMode.OR.equals(conditionList.mode()) && evaluation) {
+							isValidEntity = true;
 						}
 					}
-					if(valid) {
-						results.add(evaluable);
+					catch(final RuleBreakException e) {
+						//rule break stop execution
+						return e.isValid();
+					}
+					catch(final Exception e) {
+						throw new RuntimeException(e);
 					}
 				}
 			}
 
-			//reference is not modified, only results
-			resultState = state.withEvaluables(state.reference(), results);
+			if(!isValidEntity) {
+				isValid = false;
+			}
 		}
-		else {
-			//relations
-			final EntityRelation relation = rulableEntityBinderService.getRelation(state.reference(), criterion.getProperty());
 
-			//retrieve results of relation
-			final Set<Evaluable> results = new HashSet<>();
+		return isValid;
+	}
 
-			for(final Evaluable evaluable : state.getReferenceEvaluables()) {
-				results.addAll(relation.getTargetEvaluables(evaluable));
+	private boolean evaluate(final DataEvaluation dataEvaluation, final DataState state, final CompiledCondition compiledCondition) throws Exception {
+		final var condition = compiledCondition.condition();
+		final DataState resultState = switch(compiledCondition.criterion()) {
+			case final ConditionCriterion criterion -> {
+				final var evaluables = state.getReferenceEvaluables();
+				final boolean valid = evaluables.equals(dataEvaluation.getStates().get(criterion.conditionId()).getReferenceEvaluables());
+				//reference is not modified, only results
+				yield state.withEvaluables(state.reference(), valid ? evaluables : Collections.emptySet());
 			}
+			//reference is not modified, only results
+			case final AttributeCriterion criterion -> state.withEvaluables(state.reference(), evaluate(dataEvaluation, state, criterion));
+			case final RelationCriterion criterion -> {
+				final var relation = criterion.relation();
 
-			resultState = state.withReference(relation.getTargetEntity()).withEvaluables(relation.getTargetEntity(), results);
-		}
+				//retrieve results of relation
+				final Set<Evaluable> results = new HashSet<>();
+
+				for(final Evaluable evaluable : state.getReferenceEvaluables()) {
+					results.addAll(relation.getTargetEvaluables(evaluable));
+				}
+
+				yield state.withReference(relation.getTargetEntity()).withEvaluables(relation.getTargetEntity(), results);
+			}
+			case final UnknownPropertyCriterion criterion -> throw new UnknownPluginException(criterion.entity(), EntityType.RELATION, criterion.property());
+		};
 		//save result
 		//TODO fix this
 		dataEvaluation.getStates().put(condition.getId(), resultState);
@@ -220,11 +333,11 @@ public class ConstraintEvaluationService {
 
 		//no need to check validity on children if there is no children
 		boolean areChildrenValid = true;
-		if(!condition.getConditions().isEmpty()) {
+		if(!compiledCondition.conditions().isEmpty()) {
 			//evaluate children conditions
 			//all conditions must be evaluated anyway to build data state for each condition
 			areChildrenValid = RuleConditionListEvaluationMode.AND.equals(condition.getMode());
-			for(final RuleCondition childCondition : condition.getConditions()) {
+			for(final var childCondition : compiledCondition.conditions()) {
 				final boolean evaluation = evaluate(dataEvaluation, resultState, childCondition);
 
 				//[and] operator
@@ -241,4 +354,59 @@ public class ConstraintEvaluationService {
 		//return validity for current and children
 		return isValid && areChildrenValid;
 	}
+
+	private Set<Evaluable> evaluate(final DataEvaluation dataEvaluation, final DataState state, final AttributeCriterion criterion) {
+		final var property = criterion.attribute();
+		final var values = getValues(dataEvaluation, criterion);
+
+		//test each evaluable
+		final Set<Evaluable> results = new HashSet<>();
+		for(final Evaluable evaluable : state.getReferenceEvaluables()) {
+			final Operator operator = criterion.operator();
+			boolean valid = false;
+			final Object evaluableProperty = property.getValue(evaluable);
+
+			if(operator.hasValue()) {
+				for(final Object value : values) {
+					final boolean test = operator.test(criterion.type(), evaluableProperty, value);
+					logger.debug("Doing a [{}] operation. Is [{}] [{}] [{}]? Result is [{}]", criterion.type(), evaluableProperty, operator.name(), value, test ? "valid" : "invalid");
+					if(test) {
+						valid = true;
+						//no need to continue, one success is enough
+						break;
+					}
+				}
+			}
+			else {
+				if(operator.test(criterion.type(), evaluableProperty)) {
+					valid = true;
+				}
+			}
+			if(valid) {
+				results.add(evaluable);
+			}
+		}
+		return results;
+	}
+
+	private Set<Object> getValues(final DataEvaluation dataEvaluation, final AttributeCriterion criterion) {
+		if(!criterion.invalidValues().isEmpty()) {
+			//this raises the parsing error
+			parseValue(criterion.type(), criterion.invalidValues().getFirst());
+		}
+		//literal values can be used directly if there is no formula
+		if(criterion.formulas().isEmpty()) {
+			return criterion.values();
+		}
+		final Set<Object> values = new HashSet<>(criterion.values());
+		for(final var formula : criterion.formulas()) {
+			try {
+				values.add(formulaParserService.parse(formula, dataEvaluation.getStates()));
+			}
+			catch(final UnableToCalculateFormulaException e) {
+				logger.error("Unable to calculate formula", e);
+			}
+		}
+		return values;
+	}
 }
@@ -0,0 +1,112 @@
+package ch.rodano.core.model.rules.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import ch.rodano.core.model.rules.data.DataState;
+import ch.rodano.core.model.rules.formula.exception.FormulaBadSyntaxException;
+import ch.rodano.core.model.rules.formula.exception.FormulaNullConditionException;
+import ch.rodano.core.services.rule.RulableEntityBinderService;
+
+/**
+ * Node of the immutable expression tree of a compiled formula
+ * Nodes are evaluated depth-first from left to right, which is the order in which the formula is read, so errors are raised in the same order as if the formula was evaluated while being parsed
+ */
+sealed interface FormulaExpression {
+
+	Object evaluate(Map<String, DataState> evaluations, RulableEntityBinderService rulableEntityBinderService);
+
+	record Constant(
+		Object value
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			return value;
+		}
+	}
+
+	record ConditionReference(
+		String conditionId,
+		String propertyId
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			//retrieve condition and property
+			final DataState formulaState = evaluations.get(conditionId);
+
+			if(formulaState == null) {
+				throw new FormulaNullConditionException(String.format("No condition with id %s", conditionId));
+			}
+			if(formulaState.getReferenceEvaluables().isEmpty()) {
+				throw new FormulaNullConditionException(String.format("Condition with id %s is empty", conditionId));
+			}
+
+			//take first evaluable
+			try {
+				final var evaluable = formulaState.getReferenceEvaluables().iterator().next();
+				final var formulaProperty = rulableEntityBinderService.getAttribute(formulaState.reference(), propertyId);
+				final var value = formulaProperty.getValue(evaluable);
+				//hack adapt value to type that can be used by the formula parser
+				if(value instanceof Number) {
+					return ((Number) value).doubleValue();
+				}
+				return value;
+			}
+			catch(final Exception e) {
+				throw new FormulaNullConditionException(String.format("Unable to get a value for condition %s", conditionId), e);
+			}
+		}
+	}
+
+	/**
+	 * Operand that looks like a number but that can not be converted to a double
+	 */
+	record UnparsableNumber(
+		String operand
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			//this raises the conversion error
+			return Double.parseDouble(operand);
+		}
+	}
+
+	record InvalidOperand(
+		String operand
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			throw new FormulaBadSyntaxException(String.format("%s is not a valid operand: only conditions, string or number are supported", operand));
+		}
+	}
+
+	record UnknownFunction(
+		String name
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			//this raises the error about the missing function
+			return FormulaFunction.valueOf(name);
+		}
+	}
+
+	record FunctionCall(
+		FormulaFunction function,
+		List<FormulaExpression> parameters,
+		boolean closed
+	) implements FormulaExpression {
+		@Override
+		public Object evaluate(final Map<String, DataState> evaluations, final RulableEntityBinderService rulableEntityBinderService) {
+			//functions receive a new list each time because they are free to modify it
+			final List<Object> values = new ArrayList<>(parameters.size());
+			for(final var parameter : parameters) {
+				values.add(parameter.evaluate(evaluations, rulableEntityBinderService));
+			}
+			if(!closed) {
+				throw new FormulaBadSyntaxException(String.format("Missing closing parenthesis for function %s", function.name()));
+			}
+			return function.getValue(values);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package ch.rodano.core.model.scope;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import ch.rodano.core.model.event.Timeframe;
+
+/**
+ * Relation between a scope and one of its ancestors, as stored in the scope ancestor table
+ *
+ * @param ancestorPk The pk of the ancestor
+ * @param startDate  The start date of the relation, null if the relation has always existed
+ * @param endDate    The end date of the relation, null if the relation still exists
+ * @param virtual    True if the relation goes through a virtual scope
+ */
+public record ScopeAncestorLink(
+	Long ancestorPk,
+	ZonedDateTime startDate,
+	ZonedDateTime endDate,
+	boolean virtual
+) {
+
+	/**
+	 * @return The timeframe during which the roles attached to the ancestor apply to the scope
+	 */
+	public Timeframe getTimeframe() {
+		//a relation through a virtual scope is not limited in time
+		if(virtual) {
+			return Timeframe.INFINITE_TIMEFRAME;
+		}
+		return new Timeframe(Optional.ofNullable(startDate), Optional.ofNullable(endDate));
+	}
+}
@@ -1,5 +1,6 @@
 package ch.rodano.core.model.scope;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -7,8 +8,12 @@ import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import org.apache.commons.lang3.StringUtils;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import ch.rodano.configuration.model.event.EventConfigurationHook;
 import ch.rodano.core.model.enrollment.EnrollmentModel;
@@ -20,6 +25,14 @@ import ch.rodano.core.model.enrollment.SubscriptionRestriction;
 public class ScopeData implements Serializable {
 	private static final long serialVersionUID = -2250927876597655682L;
 
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	static {
+		MAPPER.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+	}
+
+	//JSON of the data as it has been read from the database, parsed only when the data is accessed for the first time
+	private volatile String json;
+
 	private SortedMap<String, String> description;
 
 	//define how enrollment is supposed to happen (star, stop and targets at different time)
@@ -41,59 +54,132 @@ public class ScopeData implements Serializable {
 		eventConfigurationHooks = new ArrayList<>();
 	}
 
+	/**
+	 * Create the data of a scope from its JSON, without parsing it
+	 * Most scopes are loaded without their data being used, so the JSON is parsed only when the data is accessed for the first time
+	 *
+	 * @param json The JSON of the data
+	 * @return The data of the scope
+	 */
+	public static ScopeData fromJson(final String json) {
+		final var data = new ScopeData();
+		if(StringUtils.isNotBlank(json)) {
+			data.json = json;
+		}
+		return data;
+	}
+
+	/**
+	 * Get the JSON of the data
+	 * The JSON from which the data has been created is returned as it is if the data has not been accessed since
+	 *
+	 * @return The JSON of the data
+	 */
+	public String toJson() {
+		final var rawJson = json;
+		if(rawJson != null) {
+			return rawJson;
+		}
+		try {
+			return MAPPER.writeValueAsString(this);
+		}
+		catch(@SuppressWarnings("unused") final IOException e) {
+			return null;
+		}
+	}
+
+	private void parse() {
+		if(json == null) {
+			return;
+		}
+		//the data of a scope may be shared between threads by the entity cache
+		synchronized(this) {
+			if(json != null) {
+				try {
+					final var data = MAPPER.readValue(json, ScopeData.class);
+					description = data.description;
+					enrollmentStart = data.enrollmentStart;
+					enrollmentStop = data.enrollmentStop;
+					enrollmentTargets = data.enrollmentTargets;
+					enrollmentModel = data.enrollmentModel;
+					eventConfigurationHooks = data.eventConfigurationHooks;
+					subscriptionRestrictions = data.subscriptionRestrictions;
+				}
+				catch(@SuppressWarnings("unused") final IOException e) {
+					//let the empty scope data being used
+				}
+				json = null;
+			}
+		}
+	}
+
 	public SortedMap<String, String> getDescription() {
+		parse();
 		return description;
 	}
 
 	public void setDescription(final SortedMap<String, String> description) {
+		parse();
 		this.description = description;
 	}
 
 	public ZonedDateTime getEnrollmentStart() {
+		parse();
 		return enrollmentStart;
 	}
 
 	public void setEnrollmentStart(final ZonedDateTime enrollmentStart) {
+		parse();
 		this.enrollmentStart = enrollmentStart;
 	}
 
 	public ZonedDateTime getEnrollmentStop() {
+		parse();
 		return enrollmentStop;
 	}
 
 	public void setEnrollmentStop(final ZonedDateTime enrollmentStop) {
+		parse();
 		this.enrollmentStop = enrollmentStop;
 	}
 
 	public List<EnrollmentTarget> getEnrollmentTargets() {
+		parse();
 		return enrollmentTargets;
 	}
 
 	public void setEnrollmentTargets(final List<EnrollmentTarget> enrollmentTargets) {
+		parse();
 		this.enrollmentTargets = enrollmentTargets;
 	}
 
 	public List<SubscriptionRestriction> getSubscriptionRestrictions() {
+		parse();
 		return subscriptionRestrictions;
 	}
 
 	public void setSubscriptionRestrictions(final List<SubscriptionRestriction> subscriptionRestrictions) {
+		parse();
 		this.subscriptionRestrictions = subscriptionRestrictions;
 	}
 
 	public List<EventConfigurationHook> getEventConfigurationHooks() {
+		parse();
 		return eventConfigurationHooks;
 	}
 
 	public void setEventConfigurationHooks(final List<EventConfigurationHook> eventConfigurationHooks) {
+		parse();
 		this.eventConfigurationHooks = eventConfigurationHooks;
 	}
 
 	public EnrollmentModel getEnrollmentModel() {
+		parse();
 		return enrollmentModel;
 	}
 
 	public void setEnrollmentModel(final EnrollmentModel enrollmentModel) {
+		parse();
 		this.enrollmentModel = enrollmentModel;
 	}
 }
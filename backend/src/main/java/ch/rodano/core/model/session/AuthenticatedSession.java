@@ -0,0 +1,16 @@
+package ch.rodano.core.model.session;
+
+import java.util.List;
+
+import ch.rodano.core.model.role.Role;
+import ch.rodano.core.model.user.User;
+
+/**
+ * Session used to authenticate a request, with its user and the active roles of the user
+ */
+public record AuthenticatedSession(
+	Session session,
+	User user,
+	List<Role> activeRoles
+) {
+}
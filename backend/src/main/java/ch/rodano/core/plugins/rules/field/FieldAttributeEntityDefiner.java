@@ -11,7 +11,6 @@ import org.springframework.stereotype.Component;
 import ch.rodano.configuration.model.field.PartialDate;
 import ch.rodano.configuration.model.rules.OperandType;
 import ch.rodano.core.model.field.Field;
-import ch.rodano.core.model.field.FieldRecord;
 import ch.rodano.core.model.rules.Evaluable;
 import ch.rodano.core.model.rules.entity.EntityAttribute;
 import ch.rodano.core.model.rules.entity.IdentifiableEntity;
@@ -135,7 +134,7 @@ public class FieldAttributeEntityDefiner extends AbstractFieldEntityDefiner {
 			new EntityAttribute() {
 				@Override
 				public PartialDate getValue(final Evaluable evaluable) {
-					return PartialDate.of(fieldDAOService.getAuditTrailsForProperty((Field) evaluable, Optional.empty(), FieldRecord::getValue).last().getAuditDatetime());
+					return PartialDate.of(fieldDAOService.getValueAuditTrails((Field) evaluable, Optional.empty()).last().getAuditDatetime());
 				}
 
 				@Override
@@ -151,7 +150,7 @@ public class FieldAttributeEntityDefiner extends AbstractFieldEntityDefiner {
 			new EntityAttribute() {
 				@Override
 				public PartialDate getValue(final Evaluable evaluable) {
-					return PartialDate.of(fieldDAOService.getAuditTrailsForProperty((Field) evaluable, Optional.empty(), FieldRecord::getValue).last().getAuditDatetime());
+					return PartialDate.of(fieldDAOService.getValueAuditTrails((Field) evaluable, Optional.empty()).last().getAuditDatetime());
 				}
 
 				@Override
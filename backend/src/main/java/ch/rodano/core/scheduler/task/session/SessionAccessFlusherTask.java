@@ -0,0 +1,49 @@
+package ch.rodano.core.scheduler.task.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ch.rodano.core.scheduler.task.ScheduledTask;
+import ch.rodano.core.services.bll.session.SessionService;
+
+@Component
+@ConditionalOnProperty(value = "rodano.schedule.session-access-flusher", havingValue = "true")
+public class SessionAccessFlusherTask implements ScheduledTask, DisposableBean {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final PlatformTransactionManager transactionManager;
+	private final SessionService sessionService;
+
+	public SessionAccessFlusherTask(
+		final PlatformTransactionManager transactionManager,
+		final SessionService sessionService
+	) {
+		this.transactionManager = transactionManager;
+		this.sessionService = sessionService;
+		logger.info("Session access flusher started");
+	}
+
+	@Scheduled(zone = "UTC", cron = "${rodano.schedule.session-access-flusher.cron}")
+	@Override
+	public void run() {
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+		final var sessions = transactionTemplate.execute(_ -> sessionService.flushLastAccessTimes());
+		if(sessions != null && sessions > 0) {
+			logger.debug("Last access time of {} session(s) saved", sessions);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		//do not lose the last accesses
+		run();
+		logger.info("Session access flusher stopped");
+	}
+}
@@ -1,6 +1,7 @@
 package ch.rodano.core.services.bll.dataset;
 
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -102,18 +103,18 @@ public class DatasetServiceImpl implements DatasetService {
 
 	@Override
 	public List<Dataset> createAll(final Scope scope, final DatabaseActionContext context, final String rationale) {
-		return scope.getScopeModel().getDatasetModels().stream()
+		final var datasetModels = scope.getScopeModel().getDatasetModels().stream()
 			.filter(d -> !d.isMultiple())
-			.map(d -> create(scope, d, context, rationale))
 			.toList();
+		return createAll(scope, Optional.empty(), datasetModels, Optional.empty(), context, rationale);
 	}
 
 	@Override
 	public List<Dataset> createAll(final Scope scope, final Event event, final DatabaseActionContext context, final String rationale) {
-		return event.getEventModel().getDatasetModels().stream()
+		final var datasetModels = event.getEventModel().getDatasetModels().stream()
 			.filter(d -> !d.isMultiple())
-			.map(d -> create(scope, event, d, context, rationale))
 			.toList();
+		return createAll(scope, Optional.of(event), datasetModels, Optional.empty(), context, rationale);
 	}
 
 	@Override
@@ -123,38 +124,7 @@ public class DatasetServiceImpl implements DatasetService {
 
 	@Override
 	public Dataset create(final Scope scope, final DatasetModel datasetModel, final DatabaseActionContext context, final String rationale, final Optional<String> id) {
-		//check that scope is not locked
-		if(scope.getLocked()) {
-			throw new LockedObjectException(scope);
-		}
-
-		//check that the dataset model is allowed for the scope model
-		if(!scope.getScopeModel().getDatasetModelIds().contains(datasetModel.getId())) {
-			throw new NoRespectForConfigurationException(
-				String.format(
-					"Dataset model %s is not allowed for the scope model %s", datasetModel.getId(), scope.getScopeModel().getId()
-				)
-			);
-		}
-
-		//dataset
-		final var dataset = new Dataset();
-		id.ifPresent(dataset::setId);
-		dataset.setDatasetModel(datasetModel);
-		dataset.setScopeFk(scope.getPk());
-
-		final var enhancedRationale = StringUtils.isBlank(rationale) ? "Create dataset" : "Create dataset: " + rationale;
-		datasetDAOService.saveDataset(dataset, context, enhancedRationale);
-		fieldService.createAll(scope, Optional.empty(), dataset, context, enhancedRationale);
-
-		//trigger rules
-		final var rules = studyService.getStudy().getEventActions().get(WorkflowAction.CREATE_DATASET);
-		if(rules != null && !rules.isEmpty()) {
-			final var state = new DataState(scope, Optional.empty(), dataset);
-			ruleService.execute(state, rules, context);
-		}
-
-		return dataset;
+		return createAll(scope, Optional.empty(), Collections.singletonList(datasetModel), id, context, rationale).get(0);
 	}
 
 	@Override
@@ -164,41 +134,76 @@ public class DatasetServiceImpl implements DatasetService {
 
 	@Override
 	public Dataset create(final Scope scope, final Event event, final DatasetModel datasetModel, final DatabaseActionContext context, final String rationale, final Optional<String> id) {
+		return createAll(scope, Optional.of(event), Collections.singletonList(datasetModel), id, context, rationale).get(0);
+	}
+
+	/**
+	 * Create datasets with all their fields, inserting the datasets, the fields and their workflow statuses in batches
+	 * The rules triggered by the creation of the datasets are executed once all datasets have been created
+	 */
+	private List<Dataset> createAll(
+		final Scope scope,
+		final Optional<Event> event,
+		final List<DatasetModel> datasetModels,
+		final Optional<String> id,
+		final DatabaseActionContext context,
+		final String rationale
+	) {
 		//check that scope and event are not locked
 		if(scope.getLocked()) {
 			throw new LockedObjectException(scope);
 		}
-		if(event.getLocked()) {
-			throw new LockedObjectException(event);
+		if(event.isPresent() && event.get().getLocked()) {
+			throw new LockedObjectException(event.get());
 		}
 
-		//check that the dataset model is allowed for the event model
-		if(!event.getEventModel().getDatasetModelIds().contains(datasetModel.getId())) {
-			throw new NoRespectForConfigurationException(
-				String.format(
-					"Dataset model %s is not allowed for the event model %s", datasetModel.getId(), event.getEventModelId()
-				)
-			);
-		}
+		final List<Dataset> datasets = new ArrayList<>();
+		for(final var datasetModel : datasetModels) {
+			//check that the dataset model is allowed for the scope model or the event model
+			if(event.isPresent()) {
+				if(!event.get().getEventModel().getDatasetModelIds().contains(datasetModel.getId())) {
+					throw new NoRespectForConfigurationException(
+						String.format(
+							"Dataset model %s is not allowed for the event model %s", datasetModel.getId(), event.get().getEventModelId()
+						)
+					);
+				}
+			}
+			else if(!scope.getScopeModel().getDatasetModelIds().contains(datasetModel.getId())) {
+				throw new NoRespectForConfigurationException(
+					String.format(
+						"Dataset model %s is not allowed for the scope model %s", datasetModel.getId(), scope.getScopeModel().getId()
+					)
+				);
+			}
 
-		//dataset
-		final var dataset = new Dataset();
-		id.ifPresent(dataset::setId);
-		dataset.setDatasetModel(datasetModel);
-		dataset.setEventFk(event.getPk());
+			//dataset
+			final var dataset = new Dataset();
+			id.ifPresent(dataset::setId);
+			dataset.setDatasetModel(datasetModel);
+			if(event.isPresent()) {
+				dataset.setEventFk(event.get().getPk());
+			}
+			else {
+				dataset.setScopeFk(scope.getPk());
+			}
+			datasets.add(dataset);
+		}
 
 		final var enhancedRationale = StringUtils.isBlank(rationale) ? "Create dataset" : "Create dataset: " + rationale;
-		datasetDAOService.saveDataset(dataset, context, enhancedRationale);
-		fieldService.createAll(scope, Optional.of(event), dataset, context, enhancedRationale);
+		datasetDAOService.insertDatasets(datasets, context, enhancedRationale);
+		fieldService.createAll(scope, event, datasets, context, enhancedRationale);
 
 		//trigger rules
 		final var rules = studyService.getStudy().getEventActions().get(WorkflowAction.CREATE_DATASET);
 		if(rules != null && !rules.isEmpty()) {
-			final var state = new DataState(scope, Optional.of(event), dataset);
-			ruleService.execute(state, rules, context);
+			for(final var dataset : datasets) {
+				final var state = new DataState(scope, event, dataset);
+				ruleService.execute(state, rules, context);
+			}
 		}
 
-		return dataset;
+		return datasets;
 	}
 
 	@Override
@@ -39,6 +39,7 @@ import ch.rodano.core.services.bll.field.ValidationService;
 import ch.rodano.core.services.bll.file.FileService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.dataset.DatasetDAOService;
+import ch.rodano.core.services.dao.field.FieldDAOService;
 import ch.rodano.core.services.plugin.validator.exception.BadlyFormattedValue;
 import ch.rodano.core.services.plugin.validator.exception.InvalidValueException;
 import ch.rodano.core.services.plugin.validator.exception.ValidatorException;
@@ -52,6 +53,7 @@ public class DatasetSubmissionServiceImpl implements DatasetSubmissionService {
 	private final DatasetService datasetService;
 	private final DatasetDAOService datasetDAOService;
 	private final FieldService fieldService;
+	private final FieldDAOService fieldDAOService;
 	private final FileService fileService;
 	private final ValidationService validationService;
 
@@ -60,6 +62,7 @@ public class DatasetSubmissionServiceImpl implements DatasetSubmissionService {
 		final DatasetService datasetService,
 		final DatasetDAOService datasetDAOService,
 		final FieldService fieldService,
+		final FieldDAOService fieldDAOService,
 		final FileService fileService,
 		final ValidationService validationService
 	) {
@@ -67,6 +70,7 @@ public class DatasetSubmissionServiceImpl implements DatasetSubmissionService {
 		this.datasetService = datasetService;
 		this.datasetDAOService = datasetDAOService;
 		this.fieldService = fieldService;
+		this.fieldDAOService = fieldDAOService;
 		this.fileService = fileService;
 		this.validationService = validationService;
 	}
@@ -205,6 +209,8 @@ public class DatasetSubmissionServiceImpl implements DatasetSubmissionService {
 
 		//HERE WE ARE! serious stuff happens from now on
 		//at this point submitted fields are set in the real object graph to make rules work (rules rely on the whole object graph to do the validation)
+		//the fields are written in the database in batches, once all of them have been saved
+		fieldDAOService.deferFieldSaves();
 
 		//first of all reset hidden fields
 		logger.info(
@@ -251,6 +257,13 @@ public class DatasetSubmissionServiceImpl implements DatasetSubmissionService {
 			validationService.validateField(scope, datasetEvent, peer.dataset(), peer.field(), context.toSystemAction(), "Save field");
 		}
 
+		//validate the other fields of the scope whose validators depend on the saved fields
+		logger.info("Validate fields depending on saved fields");
+		final var savedFields = fieldPeers.stream().map(FieldPeer::field).toList();
+		validationService.validateDependentFields(scope, savedFields, context.toSystemAction(), "Save field");
+
+		fieldDAOService.flushFieldSaves();
+
 		return datasets;
 	}
 
@@ -0,0 +1,192 @@
+package ch.rodano.core.services.bll.dictionary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable index of the entries of a dictionary, built once and shared between requests
+ * Entries are sorted by their lower-case form, so the entries starting with a text are found with a binary search
+ * The entries containing a text are found from the list of the entries containing each pair of characters, starting with the least frequent pair of the text
+ */
+public final class DictionaryIndex {
+
+	//approximate sizes in bytes, used to estimate the memory footprint of the index
+	private static final int OBJECT_OVERHEAD = 16;
+	private static final int REFERENCE_SIZE = 4;
+	private static final int STRING_OVERHEAD = 24 + OBJECT_OVERHEAD;
+	private static final int MAP_ENTRY_OVERHEAD = 32 + OBJECT_OVERHEAD;
+
+	private final String[] entries;
+	//lower-case form of the entries, in the same order
+	private final String[] keys;
+	//indexes of the entries containing each pair of characters, in ascending order
+	private final Map<Integer, int[]> pairs;
+	private final long memoryFootprint;
+	private final Duration buildTime;
+
+	private DictionaryIndex(final String[] entries, final String[] keys, final Map<Integer, int[]> pairs, final Duration buildTime) {
+		this.entries = entries;
+		this.keys = keys;
+		this.pairs = pairs;
+		this.buildTime = buildTime;
+		this.memoryFootprint = estimateMemoryFootprint();
+	}
+
+	/**
+	 * Build the index of a dictionary
+	 *
+	 * @param lines The lines of the dictionary, blank lines and duplicates being ignored
+	 * @return The index
+	 */
+	public static DictionaryIndex build(final Collection<String> lines) {
+		final var start = System.nanoTime();
+
+		final var sortedEntries = lines.stream()
+			.filter(line -> !line.isBlank())
+			.distinct()
+			.map(line -> new String[] { line, toKey(line) })
+			.sorted((e1, e2) -> e1[1].compareTo(e2[1]))
+			.toList();
+
+		final var entries = new String[sortedEntries.size()];
+		final var keys = new String[sortedEntries.size()];
+		final Map<Integer, PostingList> postingLists = new HashMap<>();
+		for(var i = 0; i < sortedEntries.size(); i++) {
+			entries[i] = sortedEntries.get(i)[0];
+			keys[i] = sortedEntries.get(i)[1];
+			for(var j = 0; j < keys[i].length() - 1; j++) {
+				postingLists.computeIfAbsent(getPair(keys[i], j), _ -> new PostingList()).add(i);
+			}
+		}
+
+		final Map<Integer, int[]> pairs = HashMap.newHashMap(postingLists.size());
+		postingLists.forEach((pair, postingList) -> pairs.put(pair, postingList.toArray()));
+
+		return new DictionaryIndex(entries, keys, pairs, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	/**
+	 * Search the entries containing a text, ignoring case
+	 * Entries starting with the text come first, followed by the other entries containing the text, each group being sorted alphabetically
+	 *
+	 * @param text  The text
+	 * @param limit The maximum number of entries to return
+	 * @return The matching entries
+	 */
+	public List<String> search(final String text, final int limit) {
+		final List<String> results = new ArrayList<>();
+		if(text.isEmpty() || limit <= 0) {
+			return results;
+		}
+		final var search = toKey(text);
+
+		//entries starting with the text are contiguous
+		var index = Arrays.binarySearch(keys, search);
+		index = index < 0 ? -index - 1 : index;
+		for(; index < keys.length && results.size() < limit && keys[index].startsWith(search); index++) {
+			results.add(entries[index]);
+		}
+
+		//other entries containing the text are only looked for among the entries containing its least frequent pair of characters
+		final var candidates = getCandidates(search);
+		for(var i = 0; i < candidates.length && results.size() < limit; i++) {
+			final var key = keys[candidates[i]];
+			if(!key.startsWith(search) && key.contains(search)) {
+				results.add(entries[candidates[i]]);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * @return The number of distinct entries of the dictionary
+	 */
+	public int getSize() {
+		return entries.length;
+	}
+
+	/**
+	 * @return An estimation of the memory used by the index, in bytes
+	 */
+	public long getMemoryFootprint() {
+		return memoryFootprint;
+	}
+
+	/**
+	 * @return The time it took to build the index
+	 */
+	public Duration getBuildTime() {
+		return buildTime;
+	}
+
+	private int[] getCandidates(final String search) {
+		if(search.length() < 2) {
+			//a single character is not indexed, so all entries must be scanned
+			final var candidates = new int[keys.length];
+			Arrays.setAll(candidates, i -> i);
+			return candidates;
+		}
+		int[] candidates = null;
+		for(var i = 0; i < search.length() - 1; i++) {
+			final var postingList = pairs.get(getPair(search, i));
+			if(postingList == null) {
+				return new int[0];
+			}
+			if(candidates == null || postingList.length < candidates.length) {
+				candidates = postingList;
+			}
+		}
+		return candidates;
+	}
+
+	private long estimateMemoryFootprint() {
+		long size = 2L * (OBJECT_OVERHEAD + (long) REFERENCE_SIZE * entries.length);
+		for(var i = 0; i < entries.length; i++) {
+			size += STRING_OVERHEAD + entries[i].length();
+			//keys that are already in lower-case share the same string as their entry
+			if(keys[i] != entries[i]) {
+				size += STRING_OVERHEAD + keys[i].length();
+			}
+		}
+		size += OBJECT_OVERHEAD + (long) REFERENCE_SIZE * pairs.size();
+		for(final var postingList : pairs.values()) {
+			size += MAP_ENTRY_OVERHEAD + OBJECT_OVERHEAD + (long) Integer.BYTES * postingList.length;
+		}
+		return size;
+	}
+
+	private static String toKey(final String entry) {
+		final var key = entry.toLowerCase(Locale.ROOT);
+		return key.equals(entry) ? entry : key;
+	}
+
+	private static int getPair(final String key, final int index) {
+		return key.charAt(index) << 16 | key.charAt(index + 1);
+	}
+
+	private static final class PostingList {
+		private int[] indexes = new int[4];
+		private int size;
+
+		void add(final int index) {
+			//a pair of characters may appear many times in the same entry
+			if(size > 0 && indexes[size - 1] == index) {
+				return;
+			}
+			if(size == indexes.length) {
+				indexes = Arrays.copyOf(indexes, size * 2);
+			}
+			indexes[size++] = index;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(indexes, size);
+		}
+	}
+}
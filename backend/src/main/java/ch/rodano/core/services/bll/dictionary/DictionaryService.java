@@ -0,0 +1,21 @@
+package ch.rodano.core.services.bll.dictionary;
+
+import java.util.List;
+
+/**
+ * Search in the dictionaries used to suggest values for the fields
+ * Each dictionary is loaded and indexed once, the first time it is used
+ */
+public interface DictionaryService {
+
+	/**
+	 * Search the entries of a dictionary containing a text, ignoring case
+	 * Entries starting with the text come first, followed by the other entries containing the text
+	 *
+	 * @param dictionary The name of the dictionary
+	 * @param text       The text
+	 * @param limit      The maximum number of entries to return
+	 * @return The matching entries
+	 */
+	List<String> search(String dictionary, String text, int limit);
+}
@@ -0,0 +1,55 @@
+package ch.rodano.core.services.bll.dictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.info.Info.Builder;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DictionaryServiceImpl implements DictionaryService, InfoContributor {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Map<String, DictionaryIndex> indexes = new ConcurrentHashMap<>();
+
+	@Override
+	public List<String> search(final String dictionary, final String text, final int limit) {
+		return indexes.computeIfAbsent(dictionary, this::loadDictionary).search(text, limit);
+	}
+
+	@Override
+	public void contribute(final Builder builder) {
+		final Map<String, Object> details = new TreeMap<>();
+		indexes.forEach((dictionary, index) -> details.put(dictionary, Map.of(
+			"entries", index.getSize(),
+			"memory", index.getMemoryFootprint(),
+			"buildTime", index.getBuildTime().toMillis()
+		)));
+		builder.withDetail("dictionaries", details);
+	}
+
+	private DictionaryIndex loadDictionary(final String dictionary) {
+		final var resource = DictionaryServiceImpl.class.getResource(String.format("/dictionaries/%s", dictionary));
+		if(resource == null) {
+			throw new IllegalArgumentException(String.format("No dictionary %s", dictionary));
+		}
+		try(var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+			final var index = DictionaryIndex.build(reader.lines().toList());
+			logger.info("Dictionary {} indexed with {} entries in {}ms", dictionary, index.getSize(), index.getBuildTime().toMillis());
+			return index;
+		}
+		catch(final IOException e) {
+			throw new UncheckedIOException(String.format("Unable to load dictionary %s", dictionary), e);
+		}
+	}
+}
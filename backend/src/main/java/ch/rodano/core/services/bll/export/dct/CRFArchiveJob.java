@@ -0,0 +1,212 @@
+package ch.rodano.core.services.bll.export.dct;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.model.actor.ActorType;
+
+/**
+ * Generation of the CRF archives of the descendants of some scopes, split in one task per archived scope
+ * The job is described by a manifest saved in its folder and each archive is moved to its final location only once it is complete, so an interrupted job can be resumed
+ */
+public final class CRFArchiveJob {
+
+	static final String MANIFEST_FILENAME = "job.json";
+	static final String FILES_FOLDER = "files";
+
+	/**
+	 * Description of a job, saved when the archives to generate are known
+	 *
+	 * @param tasks The archives to generate
+	 */
+	public record Manifest(
+		String id,
+		ActorType actorType,
+		Long actorPk,
+		String scopeModelId,
+		List<Long> scopePks,
+		boolean withAuditTrails,
+		List<String> languages,
+		ZonedDateTime creationTime,
+		List<Task> tasks
+	) {
+		//nothing to do here
+	}
+
+	/**
+	 * Archive of a scope
+	 *
+	 * @param scopePk  The pk of the scope to archive
+	 * @param parentPk The pk of the parent of the scope in the archived hierarchy, or null to use its default parent
+	 * @param date     The date of the end of the relation between the scope and its parent, or null if the relation is still active
+	 * @param path     The path of the archive, relative to the folder containing the files of the job
+	 */
+	public record Task(
+		Long scopePk,
+		Long parentPk,
+		ZonedDateTime date,
+		String path
+	) {
+		//nothing to do here
+	}
+
+	private final String id;
+	private final ActorType actorType;
+	private final Long actorPk;
+	private final ZonedDateTime creationTime;
+	private final File folder;
+
+	//paths of the archives that have been generated or that could not be generated, so a task processed twice is counted once
+	private final Set<String> donePaths = ConcurrentHashMap.newKeySet();
+	private final Set<String> failedPaths = ConcurrentHashMap.newKeySet();
+
+	//the manifest is null as long as the archives to generate have not been listed
+	private volatile Manifest manifest;
+	private volatile CRFDocumentationGenerationStatus status;
+	//used to estimate the end of the job from the archives generated since it has been started or resumed
+	private volatile long runStartTime;
+	private volatile int runStartDone;
+
+	CRFArchiveJob(final String id, final ActorType actorType, final Long actorPk, final ZonedDateTime creationTime, final File folder) {
+		this.id = id;
+		this.actorType = actorType;
+		this.actorPk = actorPk;
+		this.creationTime = creationTime;
+		this.folder = folder;
+		this.status = CRFDocumentationGenerationStatus.IN_PROGRESS;
+	}
+
+	CRFArchiveJob(final Manifest manifest, final File folder) {
+		this(manifest.id(), manifest.actorType(), manifest.actorPk(), manifest.creationTime(), folder);
+		this.manifest = manifest;
+		manifest.tasks().stream().filter(t -> getFile(t).exists()).map(Task::path).forEach(donePaths::add);
+		this.status = donePaths.size() >= manifest.tasks().size() ? CRFDocumentationGenerationStatus.COMPLETED : CRFDocumentationGenerationStatus.INTERRUPTED;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public ZonedDateTime getCreationTime() {
+		return creationTime;
+	}
+
+	public CRFDocumentationGenerationStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return The number of archives to generate, or 0 if they have not been listed yet
+	 */
+	public int getTotal() {
+		final var currentManifest = manifest;
+		return currentManifest == null ? 0 : currentManifest.tasks().size();
+	}
+
+	public int getDone() {
+		return donePaths.size();
+	}
+
+	/**
+	 * @return The number of archives that could not be generated since the job has been started or resumed
+	 */
+	public int getFailed() {
+		return failedPaths.size();
+	}
+
+	/**
+	 * Estimate the end of the job from the pace of the archives generated since the job has been started or resumed
+	 *
+	 * @return The estimated end time or an empty optional if the job is not running or if no archive has been generated yet
+	 */
+	public Optional<ZonedDateTime> getEstimatedEndTime() {
+		final var processed = getDone() + getFailed() - runStartDone;
+		if(!CRFDocumentationGenerationStatus.IN_PROGRESS.equals(status) || processed <= 0) {
+			return Optional.empty();
+		}
+		final var elapsed = System.nanoTime() - runStartTime;
+		final var remaining = getTotal() - getDone() - getFailed();
+		return Optional.of(ZonedDateTime.now().plus(Duration.ofNanos(elapsed / processed * remaining)));
+	}
+
+	public boolean isOwnedBy(final Actor actor) {
+		return actor.getType().equals(actorType) && actor.getPk().equals(actorPk);
+	}
+
+	Manifest getManifest() {
+		return manifest;
+	}
+
+	void setManifest(final Manifest manifest) {
+		this.manifest = manifest;
+	}
+
+	File getFolder() {
+		return folder;
+	}
+
+	File getFilesFolder() {
+		return new File(folder, FILES_FOLDER);
+	}
+
+	File getFile(final Task task) {
+		return new File(getFilesFolder(), task.path());
+	}
+
+	/**
+	 * Start the job once its manifest has been saved
+	 */
+	synchronized void start() {
+		failedPaths.clear();
+		runStartDone = getDone();
+		runStartTime = System.nanoTime();
+		status = CRFDocumentationGenerationStatus.IN_PROGRESS;
+		complete();
+	}
+
+	/**
+	 * Resume the job if it has been interrupted, the check and the change of the status being done at once so a job can not be resumed twice
+	 *
+	 * @return True if the job has been resumed, false if it is not interrupted or if its manifest has not been saved
+	 */
+	synchronized boolean tryResume() {
+		if(!CRFDocumentationGenerationStatus.INTERRUPTED.equals(status) || manifest == null) {
+			return false;
+		}
+		start();
+		return true;
+	}
+
+	void interrupt() {
+		status = CRFDocumentationGenerationStatus.INTERRUPTED;
+	}
+
+	void taskDone(final Task task) {
+		failedPaths.remove(task.path());
+		donePaths.add(task.path());
+		complete();
+	}
+
+	void taskFailed(final Task task) {
+		if(!donePaths.contains(task.path())) {
+			failedPaths.add(task.path());
+		}
+		complete();
+	}
+
+	/**
+	 * Update the status of the job if all its tasks have been processed
+	 */
+	private synchronized void complete() {
+		if(CRFDocumentationGenerationStatus.IN_PROGRESS.equals(status) && getDone() + getFailed() >= getTotal()) {
+			//a job that could not generate all its archives can be resumed
+			status = failedPaths.isEmpty() ? CRFDocumentationGenerationStatus.COMPLETED : CRFDocumentationGenerationStatus.INTERRUPTED;
+		}
+	}
+}
@@ -3,5 +3,6 @@ package ch.rodano.core.services.bll.export.dct;
 public enum CRFDocumentationGenerationStatus {
 	NOT_STARTED,
 	IN_PROGRESS,
+	INTERRUPTED,
 	COMPLETED
 }
@@ -3,6 +3,7 @@ package ch.rodano.core.services.bll.export.dct;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
 
 import ch.rodano.configuration.model.scope.ScopeModel;
 import ch.rodano.configuration.model.study.Study;
@@ -22,15 +23,16 @@ public interface CRFDocumentationService {
 	void generateCRFBlank(Actor actor, ScopeModel scopeModel, boolean annotated, OutputStream outputStream);
 
 	/**
-	 * Generate the CRF archive
+	 * Start a job generating the CRF archives of the descendants of some scopes
+	 * The previous jobs of the actor that are not running are deleted
 	 *
 	 * @param actor           The actor asking for the report
 	 * @param scopeModel      The scope model the descendants scopes must match to be exported
 	 * @param scopes          The root scopes for the export
 	 * @param withAuditTrails Include the audit trails in the archive
-	 * @return An id identifying the task
+	 * @return An id identifying the job, or an empty optional if a job of the actor is already running
 	 */
-	String generateCRFArchive(Actor actor, ScopeModel scopeModel, List<Scope> scopes, boolean withAuditTrails);
+	Optional<String> generateCRFArchive(Actor actor, ScopeModel scopeModel, List<Scope> scopes, boolean withAuditTrails);
 
 	/**
 	 * Generate the CRF archive
@@ -43,24 +45,53 @@ public interface CRFDocumentationService {
 	void generateCRFArchive(Actor actor, Scope scope, boolean withAuditTrails, OutputStream outputStream);
 
 	/**
-	 * Get the status of the archive generation process
+	 * Get a CRF archive job of an actor
+	 *
+	 * @param actor The actor who started the job
+	 * @param id    The id of the job
+	 * @return The job or an empty optional if the actor has no job with the given id
+	 */
+	Optional<CRFArchiveJob> getCRFArchiveJob(Actor actor, String id);
+
+	/**
+	 * Get the CRF archive jobs of an actor
+	 *
+	 * @param actor The actor who started the jobs
+	 * @return The jobs, from the most recent to the oldest
+	 */
+	List<CRFArchiveJob> getCRFArchiveJobs(Actor actor);
+
+	/**
+	 * Resume an interrupted CRF archive job, generating only the archives that have not been generated yet
 	 *
+	 * @param job The job
+	 * @return True if the job has been resumed, false if it is not interrupted
+	 */
+	boolean resumeCRFArchiveJob(CRFArchiveJob job);
+
+	/**
+	 * Get the status of the last archive generation job of an actor
+	 *
+	 * @param actor The actor
 	 * @return Status of the archive generation process
 	 */
-	CRFDocumentationGenerationStatus getCRFArchiveGenerationStatus();
+	CRFDocumentationGenerationStatus getCRFArchiveGenerationStatus(Actor actor);
 
 	/**
-	 * Stream the last generated tree into a zip
+	 * Stream the tree generated by a job into a zip
 	 *
-	 * @param os An output stream
+	 * @param job The job
+	 * @param os  An output stream
 	 * @throws IOException Thrown if an error occurred while creating the zip file
 	 */
-	void streamCRFArchive(OutputStream os) throws IOException;
+	void streamCRFArchive(CRFArchiveJob job, OutputStream os) throws IOException;
 
 	/**
-	 * Get the filename of the archive
+	 * Get the filename of the archive generated by a job
+	 *
+	 * @param job The job
 	 */
-	String getCRFArchiveFilename();
+	String getCRFArchiveFilename(CRFArchiveJob job);
 
 	/**
 	 * Generate the CRF archive filename
@@ -1,26 +1,29 @@
 package ch.rodano.core.services.bll.export.dct;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -30,12 +33,16 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import ch.rodano.configuration.model.common.Entity;
 import ch.rodano.configuration.model.export.DocumentHelper;
 import ch.rodano.configuration.model.export.Selection;
@@ -47,21 +54,15 @@ import ch.rodano.configuration.utils.ExportableUtils;
 import ch.rodano.core.configuration.core.Configurator;
 import ch.rodano.core.model.actor.Actor;
 import ch.rodano.core.model.audit.AuditTrail;
-import ch.rodano.core.model.audit.models.DatasetAuditTrail;
-import ch.rodano.core.model.audit.models.EventAuditTrail;
 import ch.rodano.core.model.audit.models.FieldAuditTrail;
-import ch.rodano.core.model.audit.models.FormAuditTrail;
-import ch.rodano.core.model.audit.models.ScopeAuditTrail;
 import ch.rodano.core.model.audit.models.WorkflowStatusAuditTrail;
 import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.event.Event;
 import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.field.Field;
-import ch.rodano.core.model.field.FieldRecord;
 import ch.rodano.core.model.form.Form;
 import ch.rodano.core.model.layout.builder.PageStateService;
 import ch.rodano.core.model.scope.Scope;
-import ch.rodano.core.model.workflow.WorkflowStatusRecord;
 import ch.rodano.core.services.bll.actor.ActorService;
 import ch.rodano.core.services.bll.event.EventService;
 import ch.rodano.core.services.bll.export.fop.FOPService;
@@ -70,6 +71,7 @@ import ch.rodano.core.services.bll.form.FormService;
 import ch.rodano.core.services.bll.scope.ScopeRelationService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.bll.workflowStatus.WorkflowStatusService;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
 import ch.rodano.core.services.dao.dataset.DatasetDAOService;
 import ch.rodano.core.services.dao.event.EventDAOService;
 import ch.rodano.core.services.dao.field.FieldDAOService;
@@ -79,7 +81,7 @@ import ch.rodano.core.services.dao.workflow.WorkflowStatusDAOService;
 
 @Profile("!migration")
 @Service
-public class CRFDocumentationServiceImpl implements CRFDocumentationService {
+public class CRFDocumentationServiceImpl implements CRFDocumentationService, DisposableBean {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private static final String CRF_BLANK_TEMPLATE = "/documentation/xsl/crf_blank.xsl";
@@ -88,6 +90,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 
 	private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
 	private static final String ZIP_EXTENSION = ".zip";
+	private static final String TEMPORARY_EXTENSION = ".part";
 	private static final Comparator<AuditTrail> TRAIL_COMPARATOR = Comparator.comparing(AuditTrail::getAuditDatetime).reversed();
 
 	private final StudyService studyService;
@@ -106,10 +109,13 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 	private final ActorService actorService;
 	private final PageStateService pageStateService;
 	private final TaskExecutor taskExecutor;
+	private final TransactionCacheDAOService transactionCacheDAOService;
+	private final ObjectMapper objectMapper;
 
-	private final AtomicBoolean generationInProgress;
 	private final File crfArchiveFolder;
-	private String generationId;
+	private final Map<String, CRFArchiveJob> jobs;
+	//workers shared by all jobs, each one generating the archive of one scope at a time
+	private final ExecutorService archiveExecutor;
 
 	public CRFDocumentationServiceImpl(
 		final StudyService studyService,
@@ -128,7 +134,10 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		final ActorService actorService,
 		final PageStateService pageStateService,
 		final TaskExecutor taskExecutor,
-		final Configurator configurator
+		final TransactionCacheDAOService transactionCacheDAOService,
+		final ObjectMapper objectMapper,
+		final Configurator configurator,
+		@Value("${rodano.crf-archive.parallelism:4}") final int parallelism
 	) {
 		this.studyService = studyService;
 		this.fopService = fopService;
@@ -146,9 +155,22 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		this.actorService = actorService;
 		this.pageStateService = pageStateService;
 		this.taskExecutor = taskExecutor;
+		this.transactionCacheDAOService = transactionCacheDAOService;
+		this.objectMapper = objectMapper;
 
 		this.crfArchiveFolder = new File(configurator.getTempFolder(), CRF_TEMPORARY_ARCHIVE_FOLDER);
-		this.generationInProgress = new AtomicBoolean(false);
+		this.jobs = new ConcurrentHashMap<>();
+		this.archiveExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), Thread.ofPlatform().name("crf-archive-", 0).factory());
+		loadCRFArchiveJobs();
+	}
+
+	/**
+	 * Invoked by a BeanFactory on destruction of a singleton.
+	 */
+	@Override
+	public void destroy() {
+		//archives being generated are left as temporary files, so the jobs will be resumable
+		archiveExecutor.shutdownNow();
 	}
 
 	public <T extends AuditTrail> Element generateTrailsElement(final Document doc, final NavigableSet<T> auditTrails) {
@@ -188,7 +210,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		final var trails = new ArrayList<AuditTrail>();
 
 		//merge field and workflow status trails
-		final var auditTrails = fieldDAOService.getAuditTrailsForProperty(field, Optional.empty(), FieldRecord::getValue);
+		final var auditTrails = fieldDAOService.getValueAuditTrails(field, Optional.empty());
 		final var filteredTrails = auditTrails.descendingSet().stream()
 			.filter(t -> date.isEmpty() || t.getAuditDatetime().isBefore(date.get()) || t.getAuditDatetime().equals(date.get()))
 			.toList();
@@ -196,7 +218,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 
 		for(final var ws : workflowStatusDAOService.getWorkflowStatusesByFieldPk(field.getPk())) {
 			workflowIds.put(ws.getPk(), ws.getId());
-			final var wsTrails = workflowStatusDAOService.getAuditTrailsForProperty(ws, Optional.empty(), WorkflowStatusRecord::getStateId);
+			final var wsTrails = workflowStatusDAOService.getStateAuditTrails(ws, Optional.empty());
 			final var filteredWSTrails = wsTrails.descendingSet().stream()
 				.filter(t -> date.isEmpty() || t.getAuditDatetime().isBefore(date.get()) || t.getAuditDatetime().equals(date.get()))
 				.toList();
@@ -268,13 +290,6 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		//build timeframe matching the stop date
 		final var timeframe = new Timeframe(Optional.empty(), date);
 
-		//build the lists of interesting audit trail properties for each entity
-		final List<Function<ScopeAuditTrail, Object>> scopeProperties = Arrays.asList(ScopeAuditTrail::getDeleted, ScopeAuditTrail::getLocked);
-		final List<Function<EventAuditTrail, Object>> visitProperties = Arrays.asList(EventAuditTrail::getDeleted, EventAuditTrail::getLocked);
-		final List<Function<FormAuditTrail, Object>> formProperties = Arrays.asList(FormAuditTrail::getDeleted);
-		final List<Function<DatasetAuditTrail, Object>> datasetProperties = Arrays.asList(DatasetAuditTrail::getDeleted);
-		final List<Function<WorkflowStatusAuditTrail, Object>> workflowStatusProperties = Arrays.asList(WorkflowStatusAuditTrail::getStateId);
-
 		final var studyE = ExportableUtils.getExportForXml(doc, study, languages);
 		doc.appendChild(studyE);
 
@@ -301,7 +316,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		scopeE.setAttribute("parentShortname", parent.getShortname());
 		scopeE.setAttribute("parentLongname", parent.getLongname());
 
-		scopeE.appendChild(generateTrailsElement(doc, scopeDAOService.getAuditTrailsForProperties(scope, Optional.of(timeframe), scopeProperties)));
+		scopeE.appendChild(generateTrailsElement(doc, scopeDAOService.getStatusAuditTrails(scope, Optional.of(timeframe))));
 
 		//retrieve all visits that occur before the date parameter (in case of a patient transfer)
 		final var events = eventService.getAllIncludingRemoved(scope)
@@ -325,7 +340,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 			eventE.setAttribute("label", eventService.getLabel(scope, event, languages));
 			eventE.setAttribute("expected", Boolean.toString(event.isExpected()));
 
-			eventE.appendChild(generateTrailsElement(doc, eventDAOService.getAuditTrailsForProperties(event, Optional.of(timeframe), visitProperties)));
+			eventE.appendChild(generateTrailsElement(doc, eventDAOService.getStatusAuditTrails(event, Optional.of(timeframe))));
 			scopeE.appendChild(eventE);
 
 			final var forms = new ArrayList<Form>(formService.getAllIncludingRemoved(event));
@@ -348,7 +363,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 				formE.setAttribute("formModelId", form.getFormModelId());
 				formE.setAttribute("deleted", Boolean.toString(form.getDeleted()));
 				formE.setAttribute("shortname", form.getFormModel().getLocalizedShortname(languages));
-				formE.appendChild(generateTrailsElement(doc, formDAOService.getAuditTrailsForProperties(form, Optional.of(timeframe), formProperties)));
+				formE.appendChild(generateTrailsElement(doc, formDAOService.getStatusAuditTrails(form, Optional.of(timeframe))));
 				eventE.appendChild(formE);
 
 				for(final var layoutGroupState : pageState.getLayoutGroupStates()) {
@@ -389,7 +404,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 							layoutE.setAttribute("documentId", dataset.getDatasetModelId());
 							layoutE.setAttribute("index", Integer.toString(++index));
 							layoutE.setAttribute("deleted", Boolean.toString(dataset.getDeleted()));
-							layoutE.appendChild(generateTrailsElement(doc, datasetDAOService.getAuditTrailsForProperties(dataset, Optional.of(timeframe), datasetProperties)));
+							layoutE.appendChild(generateTrailsElement(doc, datasetDAOService.getStatusAuditTrails(dataset, Optional.of(timeframe))));
 						}
 						layoutGroupLayoutsE.appendChild(layoutE);
 
@@ -447,7 +462,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 			final var workflowE = doc.createElement("workflow");
 			workflowE.setAttribute("workflowId", workflowId);
 
-			final var workflowAuditTrails = workflowStatusDAOService.getAuditTrailsForProperties(ws.get(), Optional.of(timeframe), workflowStatusProperties).descendingSet();
+			final var workflowAuditTrails = workflowStatusDAOService.getStateAuditTrails(ws.get(), Optional.of(timeframe)).descendingSet();
 			workflowE.appendChild(generateTrailsElement(doc, workflowAuditTrails));
 
 			scopeE.appendChild(workflowE);
@@ -470,13 +485,13 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 
 	@Override
 	public void generateCRFArchive(final Actor actor, final Scope scope, final boolean withAuditTrails, final OutputStream outputStream) {
-		generateCRFArchive(actor, scope, scopeRelationService.getDefaultParent(scope), Optional.empty(), withAuditTrails, outputStream);
+		generateCRFArchive(actorService.getLanguages(actor), scope, scopeRelationService.getDefaultParent(scope), Optional.empty(), withAuditTrails, outputStream);
 	}
 
 	/**
 	 * Generate the CRF archive
 	 *
-	 * @param actor           The actor performing the export
+	 * @param languages       The languages of the actor performing the export
 	 * @param scope           The scope to export
 	 * @param parent          The parent scope of the scope to export
 	 * @param date            An optional containing the stop date of the scope or an empty optional if the stop date is null
@@ -484,71 +499,100 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 	 * @param outputStream    The output stream to write the report in
 	 */
 	private void generateCRFArchive(
-		final Actor actor,
+		final String[] languages,
 		final Scope scope,
 		final Scope parent,
 		final Optional<ZonedDateTime> date,
 		final boolean withAuditTrails,
 		final OutputStream outputStream
 	) {
-		final var archiveData = getExportWithDataForXml(scope, parent, date, actorService.getLanguages(actor));
+		final var archiveData = getExportWithDataForXml(scope, parent, date, languages);
 
 		final var parameters = Map.of(
 			"audit_trail", Boolean.toString(withAuditTrails),
 			"generation_time", DATETIME_FORMATTER.format(ZonedDateTime.now())
 		);
 
-		try(var xslTemplate = getClass().getResourceAsStream(CRF_ARCHIVE_TEMPLATE)) {
-			fopService.writePDF(outputStream, archiveData, xslTemplate, parameters);
-		}
-		catch(final IOException e) {
-			throw new RuntimeException("Unable to find archive CRF template in the JAR file", e);
-		}
+		fopService.writePDF(outputStream, archiveData, CRF_ARCHIVE_TEMPLATE, parameters);
 	}
 
 	/**
-	 * Generate all the CRF archives files for the descendants of the given scope
+	 * List the CRF archives to generate for the descendants of the given scope
 	 *
+	 * @param scopeModel The scope model the descendants scopes must match to be exported
 	 * @param scope      The scope to export
 	 * @param parent     The parent scope of the scope to export
-	 * @param parameters The parameters of the export
-	 * @param folder     The folder where the report should be created
+	 * @param date       The stop date of the relation between the scope and its parent
+	 * @param folder     The path of the folder where the archives should be created
+	 * @param tasks      The archives to generate, by path
 	 */
-	private void generateCRFArchives(
-		final Actor actor,
+	private void listCRFArchives(
 		final ScopeModel scopeModel,
 		final Scope scope,
 		final Optional<Scope> parent,
 		final Optional<ZonedDateTime> date,
-		final boolean withAuditTrails,
-		final File folder
+		final Path folder,
+		final Map<String, CRFArchiveJob.Task> tasks
 	) {
 		//target scope model has not been reached
 		if(!scope.getScopeModel().equals(scopeModel)) {
 			// Go through all descendants
 			for(final var scopeRelation : scopeRelationService.getChildRelations(scope)) {
-				generateCRFArchives(
-					actor,
+				listCRFArchives(
 					scopeModel,
 					scopeRelationService.getChild(scopeRelation),
 					Optional.of(scope),
 					Optional.ofNullable(scopeRelation.getEndDate()),
-					withAuditTrails,
-					new File(folder, scope.getCode())
+					folder.resolve(scope.getCode()),
+					tasks
 				);
 			}
 		}
 		else {
-			// Make sure the directory is created
-			folder.mkdirs();
+			final var path = folder.resolve(generateCRFArchiveFilename(studyService.getStudy(), scope)).toString();
+			//a scope reachable from multiple parents is archived only once, with its last parent
+			tasks.remove(path);
+			tasks.put(path, new CRFArchiveJob.Task(scope.getPk(), parent.map(Scope::getPk).orElse(null), date.orElse(null), path));
+		}
+	}
 
-			final var outputFile = new File(folder, generateCRFArchiveFilename(studyService.getStudy(), scope));
-			try(OutputStream output = new FileOutputStream(outputFile)) {
-				generateCRFArchive(actor, scope, parent.orElse(scopeRelationService.getDefaultParent(scope)), date, withAuditTrails, output);
+	/**
+	 * Generate the CRF archive of a task of a job
+	 * The archive is written in a temporary file, renamed once the archive is complete
+	 *
+	 * @param job  The job
+	 * @param task The task
+	 */
+	private void generateCRFArchive(final CRFArchiveJob job, final CRFArchiveJob.Task task) {
+		final var manifest = job.getManifest();
+		final var file = job.getFile(task).toPath();
+		final var temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_EXTENSION);
+		try {
+			Files.createDirectories(file.getParent());
+			final var scope = scopeDAOService.getScopeByPk(task.scopePk());
+			final var parent = task.parentPk() != null ? scopeDAOService.getScopeByPk(task.parentPk()) : scopeRelationService.getDefaultParent(scope);
+			try(OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+				generateCRFArchive(manifest.languages().toArray(String[]::new), scope, parent, Optional.ofNullable(task.date()), manifest.withAuditTrails(), output);
 			}
-			catch(final IOException e) {
-				logger.error("The CRF archive file for the scope {} cannot be written: {}", scope.getCode(), e.getLocalizedMessage());
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			job.taskDone(task);
+		}
+		catch(final Exception e) {
+			logger.error("The CRF archive file {} of the job {} cannot be written: {}", task.path(), job.getId(), e.getLocalizedMessage(), e);
+			try {
+				Files.deleteIfExists(temporaryFile);
+			}
+			catch(final IOException ioe) {
+				logger.error(ioe.getLocalizedMessage(), ioe);
 			}
+			job.taskFailed(task);
+		}
+		finally {
+			//workers are not bound to a request, so their cache must be freed after each archive
+			transactionCacheDAOService.emptyCache();
+		}
+		if(!CRFDocumentationGenerationStatus.IN_PROGRESS.equals(job.getStatus())) {
+			logger.info("CRF archive job {} ended with status {}: {} archives generated, {} failed", job.getId(), job.getStatus(), job.getDone(), job.getFailed());
 		}
 	}
 
@@ -559,85 +603,189 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 			"scopeModelId", scopeModel.getId(),
 			"annotated", Boolean.toString(annotated)
 		);
-		try(final var xslTemplate = getClass().getResourceAsStream(CRF_BLANK_TEMPLATE)) {
-			fopService.writePDF(outputStream, doc, xslTemplate, parameters);
-		}
-		catch(final IOException e) {
-			throw new RuntimeException("Unable to find blank CRF template in the JAR file", e);
-		}
+		fopService.writePDF(outputStream, doc, CRF_BLANK_TEMPLATE, parameters);
 	}
 
 	@Override
-	public String generateCRFArchive(final Actor actor, final ScopeModel scopeModel, final List<Scope> scopes, final boolean withAuditTrails) {
-		// Queue and return an uid if no report is currently being generated and set generation in progress
-		if(generationInProgress.getAndSet(true)) {
-			logger.info("A CRF archive task is already running");
-			return generationId;
-		}
-
-		try {
-			cleanOldCRFArchives();
-		}
-		catch(final IOException e) {
-			generationInProgress.set(false);
-			throw new RuntimeException("Unable to clean old CRF archives", e);
+	public Optional<String> generateCRFArchive(final Actor actor, final ScopeModel scopeModel, final List<Scope> scopes, final boolean withAuditTrails) {
+		final var claimedJob = claimCRFArchiveJob(actor);
+		if(claimedJob.isEmpty()) {
+			return Optional.empty();
 		}
+		final var job = claimedJob.get();
+		final var id = job.getId();
 
-		// Set the id of the generation
-		generationId = UUID.randomUUID().toString();
+		final var languages = List.of(actorService.getLanguages(actor));
+		final var scopePks = scopes.stream().map(Scope::getPk).toList();
 
 		taskExecutor.execute(() -> {
 			logger.info(
 				"Creating CRF archive for root scope [{}] with id {} into {} ",
 				scopes.stream().map(Scope::getCode).collect(Collectors.joining(", ")),
-				generationId,
-				crfArchiveFolder
+				id,
+				job.getFolder()
 			);
 
 			try {
+				final Map<String, CRFArchiveJob.Task> tasks = new LinkedHashMap<>();
 				for(final var scope : scopes) {
-					generateCRFArchives(actor, scopeModel, scope, Optional.empty(), Optional.empty(), withAuditTrails, crfArchiveFolder);
+					listCRFArchives(scopeModel, scope, Optional.empty(), Optional.empty(), Path.of(""), tasks);
 				}
-				logger.info("CRF archive with id {} created successfully", generationId);
+
+				final var manifest = new CRFArchiveJob.Manifest(
+					id,
+					actor.getType(),
+					actor.getPk(),
+					scopeModel.getId(),
+					scopePks,
+					withAuditTrails,
+					languages,
+					job.getCreationTime(),
+					List.copyOf(tasks.values())
+				);
+				Files.createDirectories(job.getFilesFolder().toPath());
+				objectMapper.writeValue(new File(job.getFolder(), CRFArchiveJob.MANIFEST_FILENAME), manifest);
+				job.setManifest(manifest);
+
+				job.start();
+				dispatchCRFArchiveTasks(job);
 			}
 			catch(final Exception e) {
 				logger.error("Unable to create CRF archive", e);
+				job.interrupt();
 			}
 			finally {
-				generationId = null;
-				generationInProgress.set(false);
+				transactionCacheDAOService.emptyCache();
 			}
 		});
 
-		return generationId;
+		return Optional.of(id);
+	}
+
+	/**
+	 * Create a new job for an actor, unless a job of the actor is already running
+	 * The check and the creation are done at once, so two concurrent requests can not both start a job
+	 *
+	 * @param actor The actor
+	 * @return The new job or an empty optional if a job of the actor is already running
+	 */
+	private synchronized Optional<CRFArchiveJob> claimCRFArchiveJob(final Actor actor) {
+		final var previousJobs = getCRFArchiveJobs(actor);
+		if(previousJobs.stream().anyMatch(j -> CRFDocumentationGenerationStatus.IN_PROGRESS.equals(j.getStatus()))) {
+			return Optional.empty();
+		}
+		//the previous jobs of the actor are replaced by the new one
+		previousJobs.forEach(this::deleteCRFArchiveJob);
+
+		final var id = UUID.randomUUID().toString();
+		final var job = new CRFArchiveJob(id, actor.getType(), actor.getPk(), ZonedDateTime.now(), new File(crfArchiveFolder, id));
+		jobs.put(id, job);
+		return Optional.of(job);
 	}
 
 	@Override
-	public String generateCRFArchiveFilename(final Study study, final Scope scope) {
-		return String.format("%s_%s.pdf", study.getDefaultLocalizedShortname(), scope.getCode());
+	public Optional<CRFArchiveJob> getCRFArchiveJob(final Actor actor, final String id) {
+		return Optional.ofNullable(jobs.get(id)).filter(j -> j.isOwnedBy(actor));
+	}
+
+	@Override
+	public List<CRFArchiveJob> getCRFArchiveJobs(final Actor actor) {
+		return jobs.values().stream()
+			.filter(j -> j.isOwnedBy(actor))
+			.sorted(Comparator.comparing(CRFArchiveJob::getCreationTime).reversed())
+			.toList();
 	}
 
 	@Override
-	public CRFDocumentationGenerationStatus getCRFArchiveGenerationStatus() {
-		if(generationInProgress.get()) {
-			return CRFDocumentationGenerationStatus.IN_PROGRESS;
+	public boolean resumeCRFArchiveJob(final CRFArchiveJob job) {
+		//a job can not be resumed before its manifest has been saved, nor resumed twice
+		if(!job.tryResume()) {
+			return false;
 		}
-		if(crfArchiveFolder.exists()) {
-			return CRFDocumentationGenerationStatus.COMPLETED;
+		logger.info("Resuming CRF archive job {}", job.getId());
+		dispatchCRFArchiveTasks(job);
+		return true;
+	}
+
+	/**
+	 * Give the archives of a started or resumed job that have not been generated yet to the workers
+	 *
+	 * @param job The job
+	 */
+	private void dispatchCRFArchiveTasks(final CRFArchiveJob job) {
+		final var remainingTasks = job.getManifest().tasks().stream()
+			.filter(t -> !job.getFile(t).exists())
+			.toList();
+		for(final var task : remainingTasks) {
+			archiveExecutor.execute(() -> generateCRFArchive(job, task));
+		}
+	}
+
+	/**
+	 * Load the jobs saved in the archive folder, so the jobs that have been interrupted by a restart of the application can be resumed
+	 */
+	private void loadCRFArchiveJobs() {
+		crfArchiveFolder.mkdirs();
+		final var folders = crfArchiveFolder.listFiles();
+		if(folders == null) {
+			return;
+		}
+		for(final var folder : folders) {
+			final var manifestFile = new File(folder, CRFArchiveJob.MANIFEST_FILENAME);
+			try {
+				if(manifestFile.exists()) {
+					final var job = new CRFArchiveJob(objectMapper.readValue(manifestFile, CRFArchiveJob.Manifest.class), folder);
+					jobs.put(job.getId(), job);
+					continue;
+				}
+			}
+			catch(final IOException e) {
+				logger.error("Unable to load CRF archive job from {}: {}", folder, e.getLocalizedMessage());
+			}
+			//jobs without a valid manifest can not be resumed
+			FileUtils.deleteQuietly(folder);
+		}
+	}
+
+	/**
+	 * Delete a job and its files
+	 *
+	 * @param job The job
+	 */
+	private void deleteCRFArchiveJob(final CRFArchiveJob job) {
+		jobs.remove(job.getId());
+		try {
+			FileUtils.deleteDirectory(job.getFolder());
 		}
-		return CRFDocumentationGenerationStatus.NOT_STARTED;
+		catch(final IOException e) {
+			logger.error("Unable to delete CRF archive job {}: {}", job.getId(), e.getLocalizedMessage());
+		}
+	}
+
+	@Override
+	public String generateCRFArchiveFilename(final Study study, final Scope scope) {
+		return String.format("%s_%s.pdf", study.getDefaultLocalizedShortname(), scope.getCode());
+	}
+
+	@Override
+	public CRFDocumentationGenerationStatus getCRFArchiveGenerationStatus(final Actor actor) {
+		return getCRFArchiveJobs(actor).stream()
+			.findFirst()
+			.map(CRFArchiveJob::getStatus)
+			.orElse(CRFDocumentationGenerationStatus.NOT_STARTED);
 	}
 
 	@Override
-	public void streamCRFArchive(final OutputStream os) throws IOException {
+	public void streamCRFArchive(final CRFArchiveJob job, final OutputStream os) throws IOException {
 		// Generation in progress return
-		if(generationInProgress.get()) {
+		if(CRFDocumentationGenerationStatus.IN_PROGRESS.equals(job.getStatus())) {
 			logger.info("A CRF archive task is running");
 			return;
 		}
 
 		// Check that something has been generated
-		if(!crfArchiveFolder.exists()) {
+		final var filesFolder = job.getFilesFolder();
+		if(!filesFolder.exists()) {
 			logger.info("No CRF archive is available");
 			return;
 		}
@@ -648,7 +796,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		final var zip = new ZipOutputStream(os);
 
 		// If more than one we do zip-ception :D
-		final var files = crfArchiveFolder.listFiles();
+		final var files = filesFolder.listFiles();
 		if(files.length > 1) {
 			for(final var file : files) {
 				if(!file.isDirectory()) {
@@ -673,7 +821,7 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 			}
 		}
 		else {
-			addToZipFile(zip, crfArchiveFolder, Optional.empty());
+			addToZipFile(zip, filesFolder, Optional.empty());
 		}
 
 		// Write the zip without closing the sub-output stream
@@ -696,8 +844,8 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 				addToZipFile(zip, subFile, Optional.of(subPath));
 			}
 		}
-		//file
-		else {
+		//archives that have not been completed are skipped
+		else if(!file.getName().endsWith(TEMPORARY_EXTENSION)) {
 			zip.putNextEntry(new ZipEntry(zipPath.get().toString()));
 
 			// Write the file into the zip
@@ -708,32 +856,24 @@ public class CRFDocumentationServiceImpl implements CRFDocumentationService {
 		}
 	}
 
-	/**
-	 * Clean old CRF archives
-	 *
-	 * @throws IOException Thrown if the directory cannot be recursively deleted
-	 */
-	private void cleanOldCRFArchives() throws IOException {
-		// Delete the folder and its subtree if it exists
-		if(crfArchiveFolder.exists()) {
-			FileUtils.deleteDirectory(crfArchiveFolder);
-		}
-		crfArchiveFolder.mkdirs();
-	}
-
 	@Override
-	public String getCRFArchiveFilename() {
+	public String getCRFArchiveFilename(final CRFArchiveJob job) {
 		// Generation in progress return
-		if(generationInProgress.get()) {
+		if(CRFDocumentationGenerationStatus.IN_PROGRESS.equals(job.getStatus())) {
 			throw new UnsupportedOperationException("A CRF archive task is running");
 		}
 
+		final var filesFolder = job.getFilesFolder();
+
 		// Check that something has been generated
-		if(!crfArchiveFolder.exists()) {
+		if(!filesFolder.exists()) {
 			throw new UnsupportedOperationException("No CRF archive is available");
 		}
 
-		final var files = crfArchiveFolder.listFiles();
+		final var files = filesFolder.listFiles();
+		if(files.length == 0) {
+			throw new UnsupportedOperationException("No CRF archive is available");
+		}
 		if(files.length > 1) {
 			return CRF_TEMPORARY_ARCHIVE_FOLDER;
 		}
@@ -17,8 +17,9 @@ public interface ExtractService {
 	 * @param languageId            Language of the export.
 	 * @param scopes                Scopes for which the export will be performed.
 	 * @param withModificationDates Should the modification dates be included ?
+	 * @return The number of rows written
 	 */
-	void getDataExtract(
+	long getDataExtract(
 		final OutputStream out,
 		final DatasetModel datasetModel,
 		final String languageId,
@@ -34,8 +35,9 @@ public interface ExtractService {
 	 * @param languageId            Language of the exports.
 	 * @param scopes                Scopes for which the export will be performed.
 	 * @param withModificationDates Should the modification dates be included ?
+	 * @return The number of rows written in all files
 	 */
-	void zipExtracts(
+	long zipExtracts(
 		OutputStream out,
 		List<DatasetModel> datasetModels,
 		String languageId,
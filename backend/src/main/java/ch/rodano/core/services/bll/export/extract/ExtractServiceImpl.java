@@ -4,6 +4,8 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -11,11 +13,16 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.Condition;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.SelectFieldOrAsterisk;
@@ -23,6 +30,7 @@ import org.jooq.SelectOnConditionStep;
 import org.jooq.impl.DSL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -44,22 +52,29 @@ import static ch.rodano.core.model.jooq.Tables.SCOPE_RELATION;
 @Service
 public class ExtractServiceImpl implements ExtractService {
 	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssX").withZone(ZoneOffset.UTC);
+	private static final Pattern LINE_BREAKS = Pattern.compile("[\r\n]+");
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private final DSLContext create;
 	private final StudyService studyService;
+	private final int fetchSize;
+	private final int parallelism;
 
 	public ExtractServiceImpl(
 		final StudyService studyService,
-		final DSLContext create
+		final DSLContext create,
+		@Value("${rodano.extract.fetch-size:1000}") final int fetchSize,
+		@Value("${rodano.extract.parallelism:4}") final int parallelism
 	) {
 		this.create = create;
 		this.studyService = studyService;
+		this.fetchSize = fetchSize;
+		this.parallelism = parallelism;
 	}
 
 	@Override
-	public void getDataExtract(
+	public long getDataExtract(
 		final OutputStream out,
 		final DatasetModel datasetModel,
 		final String languageId,
@@ -90,6 +105,8 @@ public class ExtractServiceImpl implements ExtractService {
 			)
 		);
 
+		//the field columns follow the static columns, each field model having a value column and a modification date column
+		final var fieldColumnsOffset = fields.size();
 		for(final var fieldModel : datasetModel.getFieldModelsExportables()) {
 			fields.add(DSL.anyValue(FIELD.VALUE).filterWhere(FIELD.FIELD_MODEL_ID.eq(fieldModel.getId())).as(fieldModel.getId()));
 			fields.add(DSL.anyValue(FIELD.LAST_UPDATE_TIME).filterWhere(FIELD.FIELD_MODEL_ID.eq(fieldModel.getId())).as(String.format("%s_MD", fieldModel.getId())));
@@ -198,73 +215,118 @@ public class ExtractServiceImpl implements ExtractService {
 		}
 		writer.writeNext(csvHeader);
 
-		for(final org.jooq.Record row : query.fetch()) {
-			i = 0;
-			final var csvLine = new String[columnNumber];
-
-			//static columns
-			if(parentScopeModel.isPresent()) {
-				csvLine[i++] = row.get(parentTable.PK).toString();
-				csvLine[i++] = row.get(parentTable.CODE);
-			}
+		//stream the rows from the database instead of loading the whole result in memory
+		var rows = 0L;
+		try(final Cursor<Record> cursor = query.fetchSize(fetchSize).fetchLazy()) {
+			for(final Record row : cursor) {
+				i = 0;
+				final var csvLine = new String[columnNumber];
+
+				//static columns
+				if(parentScopeModel.isPresent()) {
+					csvLine[i++] = row.get(parentTable.PK).toString();
+					csvLine[i++] = row.get(parentTable.CODE);
+				}
 
-			csvLine[i++] = row.get(SCOPE.PK).toString();
-			csvLine[i++] = row.get(SCOPE.CODE);
-
-			if(!datasetModel.isScopeDocumentation()) {
-				csvLine[i++] = row.get(EVENT.PK).toString();
-				final var eventModel = study.getScopeModel(row.get(EVENT.SCOPE_MODEL_ID)).getEventModel(row.get(EVENT.EVENT_MODEL_ID));
-				csvLine[i++] = eventModel.getDefaultLocalizedShortname();
-				/*final var date = TimeHelper.asZonedDateTime(results.getTimestamp("event_date"));
-				csvLine[i++] = date != null ? date.format(DATE_FORMATTER) : "";
-				final var endDate = TimeHelper.asZonedDateTime(results.getTimestamp("event_end_date"));
-				csvLine[i++] = endDate != null ? endDate.format(DATE_FORMATTER) : "";*/
-			}
+				csvLine[i++] = row.get(SCOPE.PK).toString();
+				csvLine[i++] = row.get(SCOPE.CODE);
+
+				if(!datasetModel.isScopeDocumentation()) {
+					csvLine[i++] = row.get(EVENT.PK).toString();
+					final var eventModel = study.getScopeModel(row.get(EVENT.SCOPE_MODEL_ID)).getEventModel(row.get(EVENT.EVENT_MODEL_ID));
+					csvLine[i++] = eventModel.getDefaultLocalizedShortname();
+					/*final var date = TimeHelper.asZonedDateTime(results.getTimestamp("event_date"));
+					csvLine[i++] = date != null ? date.format(DATE_FORMATTER) : "";
+					final var endDate = TimeHelper.asZonedDateTime(results.getTimestamp("event_end_date"));
+					csvLine[i++] = endDate != null ? endDate.format(DATE_FORMATTER) : "";*/
+				}
 
-			csvLine[i++] = row.get(DATASET.PK).toString();
+				csvLine[i++] = row.get(DATASET.PK).toString();
 
-			//dynamic columns
-			for(final var fieldModel : fieldModels) {
-				csvLine[i++] = formatField(fieldModel, row);
-				if(withModificationDates) {
-					csvLine[i++] = row.get(String.format("%s_MD", fieldModel.getId()), ZonedDateTime.class).format(DATE_FORMATTER);
+				//dynamic columns, retrieved by index to avoid looking up the columns by name for each row
+				var columnIndex = fieldColumnsOffset;
+				for(var j = 0; j < fieldModels.size(); j++) {
+					csvLine[i++] = formatValue(row.get(columnIndex++, String.class));
+					if(withModificationDates) {
+						csvLine[i++] = row.get(columnIndex, ZonedDateTime.class).format(DATE_FORMATTER);
+					}
+					columnIndex++;
 				}
-			}
 
-			writer.writeNext(csvLine);
+				writer.writeNext(csvLine);
+				rows++;
+			}
 		}
 
 		// Flush the writer to the OutputStream
 		writer.flush();
+		return rows;
 	}
 
 	@Override
-	public void zipExtracts(
+	public long zipExtracts(
 		final OutputStream out,
 		final List<DatasetModel> datasetModels,
 		final String languageId,
 		final Collection<Scope> scopes,
 		final boolean withModificationDates
 	) {
+		//each extract is spooled in a temporary file, so the extracts can be produced concurrently while the zip is written sequentially
+		final List<Path> spools = new ArrayList<>();
+		var rows = 0L;
 		// Open the zip output stream
-		try(var zipStream = new ZipOutputStream(new BufferedOutputStream(out))) {
+		try(
+			final var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, datasetModels.size())));
+			final var zipStream = new ZipOutputStream(new BufferedOutputStream(out))
+		) {
+			final List<Future<Long>> extracts = new ArrayList<>();
 			for(final var document : datasetModels) {
-				// Define the filename
-				final var filename = getCSVDocumentFilename(document);
+				final var spool = Files.createTempFile("extract-", ".csv");
+				spools.add(spool);
+				extracts.add(executor.submit(() -> {
+					try(final var spoolStream = new BufferedOutputStream(Files.newOutputStream(spool))) {
+						return getDataExtract(spoolStream, document, languageId, scopes, withModificationDates);
+					}
+				}));
+			}
+
+			//write the entries in the requested order, each one as soon as it is ready
+			for(var i = 0; i < datasetModels.size(); i++) {
+				rows += extracts.get(i).get();
 
 				// Put the new entry into the zip stream
-				zipStream.putNextEntry(new ZipEntry(filename));
+				zipStream.putNextEntry(new ZipEntry(getCSVDocumentFilename(datasetModels.get(i))));
 
 				// Write to the zip entry
-				getDataExtract(zipStream, document, languageId, scopes, withModificationDates);
+				Files.copy(spools.get(i), zipStream);
 
 				// Close the zip entry
 				zipStream.closeEntry();
+				Files.delete(spools.get(i));
 			}
 		}
 		catch(final IOException e) {
 			logger.error(e.getLocalizedMessage(), e);
 		}
+		catch(final ExecutionException e) {
+			logger.error(e.getCause().getLocalizedMessage(), e.getCause());
+		}
+		catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error(e.getLocalizedMessage(), e);
+		}
+		finally {
+			//the executor has been closed, so no extract is still writing in a spool
+			for(final var spool : spools) {
+				try {
+					Files.deleteIfExists(spool);
+				}
+				catch(final IOException e) {
+					logger.error(e.getLocalizedMessage(), e);
+				}
+			}
+		}
+		return rows;
 	}
 
 	@Override
@@ -272,13 +334,14 @@ public class ExtractServiceImpl implements ExtractService {
 		return String.format("%s.csv", datasetModel.getId());
 	}
 
-	private String formatField(final FieldModel fieldModel, final org.jooq.Record row) {
-		final String value = row.get(fieldModel.getId(), String.class);
-
-		if(StringUtils.isNotBlank(value)) {
-			return value.replaceAll("[\r\n]+", " ");
+	private static String formatValue(final String value) {
+		if(StringUtils.isBlank(value)) {
+			return "";
 		}
-
-		return "";
+		//most values do not contain any line break, return them without allocating anything
+		if(value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+			return value;
+		}
+		return LINE_BREAKS.matcher(value).replaceAll(" ");
 	}
 }
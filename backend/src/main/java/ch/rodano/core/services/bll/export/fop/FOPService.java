@@ -1,12 +1,20 @@
 package ch.rodano.core.services.bll.export.fop;
 
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
 
 import org.w3c.dom.Document;
 
 public interface FOPService {
-	void writePDF(final OutputStream out, final Document doc, final InputStream xsl, final Map<String, String> parameters);
+
+	/**
+	 * Render a document as a PDF using FOP
+	 *
+	 * @param out        The stream where the PDF is written
+	 * @param doc        The document
+	 * @param xsl        The path of the resource containing the stylesheet transforming the document into XSL-FO, or null if the document is already in XSL-FO
+	 * @param parameters The parameters given to the stylesheet
+	 */
+	void writePDF(final OutputStream out, final Document doc, final String xsl, final Map<String, String> parameters);
 
 }
@@ -1,25 +1,21 @@
 package ch.rodano.core.services.bll.export.fop;
 
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
+import java.net.URISyntaxException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXResult;
-import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.fop.apps.FopFactory;
+import org.apache.xmlgraphics.util.MimeConstants;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
@@ -28,15 +24,19 @@ import org.w3c.dom.Document;
 @Service
 public class FOPServiceImpl implements FOPService {
 
-	private Transformer getTransformer() throws TransformerConfigurationException {
-		final var transformer = TransformerFactory.newInstance().newTransformer();
-		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-		transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-		return transformer;
+	private static final String CONFIGURATION = "/documentation/fop.xml";
+
+	//the factory loads the configuration and the fonts, and is thread-safe, so it is shared by all renderings
+	private final FopFactory fopFactory;
+	//compiled stylesheets are thread-safe, contrary to the transformers created from them
+	private final Map<String, Templates> templates = new ConcurrentHashMap<>();
+
+	public FOPServiceImpl() throws URISyntaxException {
+		fopFactory = FopFactory.newInstance(FOPServiceImpl.class.getResource(CONFIGURATION).toURI());
 	}
 
 	@Override
-	public void writePDF(final OutputStream out, final Document doc, final InputStream xsl, final Map<String, String> parameters) {
+	public void writePDF(final OutputStream out, final Document doc, final String xsl, final Map<String, String> parameters) {
 
 		//debug
 		/*try {
@@ -51,24 +51,13 @@ public class FOPServiceImpl implements FOPService {
 		//end of debug
 
 		try {
-			final var b = new ByteArrayOutputStream();
-			final var source = new DOMSource(doc);
-			final var result = new StreamResult(b);
-			getTransformer().transform(source, result);
-
-			final String xml = b.toString(StandardCharsets.UTF_8);
-
-			final var uri = FOPServiceImpl.class.getResource("/documentation/fop.xml").toURI();
-			final FopFactory fopFactory = FopFactory.newInstance(uri);
-			final var fop = fopFactory.newFop(org.apache.xmlgraphics.util.MimeConstants.MIME_PDF, fopFactory.newFOUserAgent(), out);
+			final var fop = fopFactory.newFop(MimeConstants.MIME_PDF, fopFactory.newFOUserAgent(), out);
 
-			// Create transformer
-			final var factory = TransformerFactory.newInstance();
 			final Transformer transformer;
 
 			// Transformer from xsl
 			if(xsl != null) {
-				transformer = factory.newTransformer(new StreamSource(xsl));
+				transformer = getTemplates(xsl).newTransformer();
 
 				// Add xsl parameters
 				if(MapUtils.isNotEmpty(parameters)) {
@@ -77,16 +66,32 @@ public class FOPServiceImpl implements FOPService {
 			}
 			else {
 				// Basic transformer
-				transformer = factory.newTransformer();
+				transformer = TransformerFactory.newInstance().newTransformer();
 			}
 
-			final Source src = new StreamSource(new StringReader(xml));
-			final Result res = new SAXResult(fop.getDefaultHandler());
-
-			transformer.transform(src, res);
+			//the document is given to FOP as SAX events, without being serialized
+			transformer.transform(new DOMSource(doc), new SAXResult(fop.getDefaultHandler()));
 		}
 		catch(final Exception e) {
 			throw new RuntimeException("Unable to produce a PDF from the document using FOP", e);
 		}
 	}
+
+	private Templates getTemplates(final String xsl) {
+		return templates.computeIfAbsent(xsl, FOPServiceImpl::compileTemplates);
+	}
+
+	private static Templates compileTemplates(final String xsl) {
+		final var resource = FOPServiceImpl.class.getResource(xsl);
+		if(resource == null) {
+			throw new IllegalArgumentException(String.format("No stylesheet %s", xsl));
+		}
+		try {
+			//transformer factories are not thread-safe
+			return TransformerFactory.newInstance().newTemplates(new StreamSource(resource.toExternalForm()));
+		}
+		catch(final TransformerConfigurationException e) {
+			throw new RuntimeException(String.format("Unable to compile stylesheet %s", xsl), e);
+		}
+	}
 }
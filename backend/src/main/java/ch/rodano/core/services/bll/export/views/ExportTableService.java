@@ -0,0 +1,65 @@
+package ch.rodano.core.services.bll.export.views;
+
+import java.util.Set;
+
+import ch.rodano.configuration.model.dataset.DatasetModel;
+import ch.rodano.configuration.model.event.EventModel;
+
+import static ch.rodano.core.model.jooq.Tables.EVENT;
+import static ch.rodano.core.model.jooq.Tables.SCOPE;
+
+public interface ExportTableService {
+	/**
+	 * Names of the columns of the scopes that are copied in the export tables
+	 */
+	Set<String> SCOPE_COLUMNS = Set.of(SCOPE.ID.getName(), SCOPE.CODE.getName(), SCOPE.SCOPE_MODEL_ID.getName(), SCOPE.DELETED.getName());
+
+	/**
+	 * Names of the columns of the events that are copied in the export tables or that select the rows of the export tables
+	 */
+	Set<String> EVENT_COLUMNS = Set.of(
+		EVENT.EVENT_MODEL_ID.getName(),
+		EVENT.EVENT_GROUP_NUMBER.getName(),
+		EVENT.BLOCKING.getName(),
+		EVENT.EXPECTED_DATE.getName(),
+		EVENT.DATE.getName(),
+		EVENT.END_DATE.getName(),
+		EVENT.DELETED.getName()
+	);
+
+	/**
+	 * Creates or rebuilds the SQL tables needed for exports from the content of the database.
+	 */
+	void rebuildTables();
+
+	/**
+	 * Refreshes the row of the export table corresponding to a dataset.
+	 * The refresh is done when the current transaction is committed, or immediately if there is no transaction.
+	 *
+	 * @param datasetModel The model of the dataset
+	 * @param datasetPk    The pk of the dataset
+	 */
+	void refreshDataset(DatasetModel datasetModel, Long datasetPk);
+
+	/**
+	 * Refreshes the rows of the export tables corresponding to the datasets of an event.
+	 * The refresh is done when the current transaction is committed, or immediately if there is no transaction.
+	 *
+	 * @param eventModel The model of the event
+	 * @param eventPk    The pk of the event
+	 */
+	void refreshEvent(EventModel eventModel, Long eventPk);
+
+	/**
+	 * Refreshes the rows of the export tables corresponding to the datasets of a scope, including the datasets of its events.
+	 * The refresh is done when the current transaction is committed, or immediately if there is no transaction.
+	 *
+	 * @param scopePk The pk of the scope
+	 */
+	void refreshScope(Long scopePk);
+
+	/**
+	 * Executes the refreshes registered in the current transaction, so the export tables can be queried in the transaction.
+	 */
+	void flush();
+}
@@ -0,0 +1,386 @@
+package ch.rodano.core.services.bll.export.views;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.DataType;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Select;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ch.rodano.configuration.model.dataset.DatasetModel;
+import ch.rodano.configuration.model.event.EventModel;
+import ch.rodano.configuration.model.field.FieldModel;
+import ch.rodano.configuration.model.rules.OperandType;
+import ch.rodano.core.services.bll.study.StudyService;
+import ch.rodano.core.services.dao.field.FieldDAOService;
+
+import static ch.rodano.core.model.jooq.Tables.DATASET;
+import static ch.rodano.core.model.jooq.Tables.EVENT;
+import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static ch.rodano.core.model.jooq.Tables.SCOPE;
+
+/**
+ * Maintains one table per exportable dataset model, containing one row per dataset with one column per exportable field model.
+ * The tables are rebuilt when the application starts and are then refreshed row by row when the data are modified.
+ */
+@Service
+public class ExportTableServiceImpl implements ExportTableService {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	//maximum number of datasets, events or scopes refreshed in one query
+	private static final int REFRESH_BATCH_SIZE = 1000;
+
+	//the size of a row can not exceed 65535 bytes, not counting text columns
+	//a varchar(255) column takes up to 1022 bytes in utf8mb4, keep some room for the base columns and the other field columns
+	private static final int MAX_VARCHAR_COLUMNS = 48;
+
+	//a table can not have more than 64 indexes, including the primary key and the indexes on the scope and the event
+	private static final int MAX_FIELD_INDEXES = 61;
+
+	private static final int MAX_IDENTIFIER_LENGTH = 64;
+
+	//numbers that can be stored in a DECIMAL(18, 9) column, which has 9 digits before the decimal point
+	private static final String NUMBER_PATTERN = "^[+-]?([0-9]{1,9}(\\.[0-9]*)?|\\.[0-9]+)$";
+
+	private static final String SCOPE_FK_COLUMN = "scope_fk";
+	private static final String EVENT_FK_COLUMN = "event_fk";
+	private static final String DATASET_FK_COLUMN = "dataset_fk";
+
+	private final DSLContext create;
+	private final StudyService studyService;
+	private final PlatformTransactionManager transactionManager;
+	private final FieldDAOService fieldDAOService;
+	private final String databaseName;
+
+	//names of the export tables that exist in the database, loaded lazily
+	private Set<String> existingTables;
+
+	public ExportTableServiceImpl(
+		final DSLContext create,
+		final StudyService studyService,
+		final PlatformTransactionManager transactionManager,
+		@Lazy final FieldDAOService fieldDAOService,
+		@Value("${rodano.database.name}") final String databaseName
+	) {
+		this.create = create;
+		this.studyService = studyService;
+		this.transactionManager = transactionManager;
+		this.fieldDAOService = fieldDAOService;
+		this.databaseName = databaseName;
+	}
+
+	private record ExportColumn(String name, DataType<?> type, Field<?> value, boolean indexed) {}
+
+	@Override
+	public void rebuildTables() {
+		final var datasetModels = studyService.getStudy().getDatasetModels().stream()
+			.filter(DatasetModel::isExportable)
+			.toList();
+		logger.info("Rebuilding export tables for datasets {}", datasetModels.stream().map(DatasetModel::getId).sorted().collect(Collectors.joining(",")));
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+		for(final var datasetModel : datasetModels) {
+			final var columns = generateColumns(datasetModel);
+			//the creation of a table commits the current transaction, so the rows are inserted in a dedicated transaction
+			createTable(datasetModel, columns);
+			final var rows = transactionTemplate.execute(_ -> insertRows(datasetModel, columns, DSL.noCondition()));
+			getExistingTables().add(datasetModel.getExportTableName());
+			logger.debug("Export table {} has been rebuilt with {} rows", datasetModel.getExportTableName(), rows);
+		}
+	}
+
+	@Override
+	public void refreshDataset(final DatasetModel datasetModel, final Long datasetPk) {
+		if(isMaintained(datasetModel)) {
+			getPendingRefresh().register(datasetModel, DATASET_FK_COLUMN, datasetPk);
+		}
+	}
+
+	@Override
+	public void refreshEvent(final EventModel eventModel, final Long eventPk) {
+		final var datasetModels = eventModel.getDatasetModels().stream().filter(this::isMaintained).toList();
+		if(!datasetModels.isEmpty()) {
+			final var pendingRefresh = getPendingRefresh();
+			datasetModels.forEach(d -> pendingRefresh.register(d, EVENT_FK_COLUMN, eventPk));
+		}
+	}
+
+	@Override
+	public void refreshScope(final Long scopePk) {
+		final var datasetModels = studyService.getStudy().getDatasetModels().stream().filter(this::isMaintained).toList();
+		if(!datasetModels.isEmpty()) {
+			final var pendingRefresh = getPendingRefresh();
+			datasetModels.forEach(d -> pendingRefresh.register(d, SCOPE_FK_COLUMN, scopePk));
+		}
+	}
+
+	@Override
+	public void flush() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			//the export tables are built from the fields, so the deferred updates of fields must be written first
+			fieldDAOService.writeFieldSaves();
+			for(final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				if(synchronization instanceof final PendingRefresh pendingRefresh) {
+					pendingRefresh.execute();
+				}
+			}
+		}
+	}
+
+	private boolean isMaintained(final DatasetModel datasetModel) {
+		//export tables are created by the api profile, do not try to maintain them before they exist
+		return datasetModel.isExportable() && getExistingTables().contains(datasetModel.getExportTableName());
+	}
+
+	private synchronized Set<String> getExistingTables() {
+		if(existingTables == null) {
+			final var tableName = DSL.field("TABLE_NAME", String.class);
+			existingTables = ConcurrentHashMap.newKeySet();
+			existingTables.addAll(
+				create.select(tableName).from("information_schema.TABLES")
+					.where(
+						DSL.field("TABLE_SCHEMA").eq(databaseName)
+							.and(DSL.field("TABLE_TYPE").eq("BASE TABLE"))
+							.and(tableName.startsWith(DatasetModel.EXPORT_TABLE_PREFIX))
+					)
+					.fetch(tableName)
+			);
+		}
+		return existingTables;
+	}
+
+	/**
+	 * Retrieve the refresh attached to the current transaction, creating it if necessary.
+	 * The refresh is executed just before the transaction is committed, so the export tables are committed with the data they are built from.
+	 * When there is no transaction, the refresh is executed immediately after it has been registered.
+	 */
+	private PendingRefresh getPendingRefresh() {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return new PendingRefresh(true);
+		}
+		//look for the refresh in the synchronizations instead of binding it as a resource, because synchronizations are suspended with the transaction
+		for(final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if(synchronization instanceof final PendingRefresh pendingRefresh) {
+				return pendingRefresh;
+			}
+		}
+		final var pendingRefresh = new PendingRefresh(false);
+		TransactionSynchronizationManager.registerSynchronization(pendingRefresh);
+		return pendingRefresh;
+	}
+
+	private class PendingRefresh implements TransactionSynchronization {
+		private final boolean immediate;
+		//pks to refresh by column, by dataset model id
+		private final Map<String, Map<String, Set<Long>>> pks = new HashMap<>();
+
+		PendingRefresh(final boolean immediate) {
+			this.immediate = immediate;
+		}
+
+		void register(final DatasetModel datasetModel, final String column, final Long pk) {
+			pks.computeIfAbsent(datasetModel.getId(), _ -> new HashMap<>()).computeIfAbsent(column, _ -> new HashSet<>()).add(pk);
+			if(immediate) {
+				execute();
+			}
+		}
+
+		@Override
+		public void beforeCommit(final boolean readOnly) {
+			execute();
+		}
+
+		void execute() {
+			final var study = studyService.getStudy();
+			for(final var entry : pks.entrySet()) {
+				refreshRows(study.getDatasetModel(entry.getKey()), entry.getValue());
+			}
+			pks.clear();
+		}
+	}
+
+	private void refreshRows(final DatasetModel datasetModel, final Map<String, Set<Long>> pksByColumn) {
+		final var columns = generateColumns(datasetModel);
+		final var table = DSL.table(DSL.name(datasetModel.getExportTableName()));
+		final Map<String, Function<Collection<Long>, Condition>> sourceConditions = Map.of(
+			DATASET_FK_COLUMN, DATASET.PK::in,
+			EVENT_FK_COLUMN, EVENT.PK::in,
+			SCOPE_FK_COLUMN, SCOPE.PK::in
+		);
+		for(final var entry : pksByColumn.entrySet()) {
+			final var column = DSL.field(DSL.name(entry.getKey()), Long.class);
+			for(final var batch : ListUtils.partition(List.copyOf(entry.getValue()), REFRESH_BATCH_SIZE)) {
+				create.deleteFrom(table).where(column.in(batch)).execute();
+				insertRows(datasetModel, columns, sourceConditions.get(entry.getKey()).apply(batch));
+			}
+		}
+		logger.debug("Export table {} has been refreshed", datasetModel.getExportTableName());
+	}
+
+	private void createTable(final DatasetModel datasetModel, final List<ExportColumn> columns) {
+		final var table = DSL.table(DSL.name(datasetModel.getExportTableName()));
+		//export tables used to be views
+		create.dropViewIfExists(table).execute();
+		create.dropTableIfExists(table).execute();
+		create.createTable(table)
+			.columns(columns.stream().map(c -> DSL.field(DSL.name(c.name()), c.type())).toList())
+			.constraints(DSL.primaryKey(DATASET_FK_COLUMN))
+			.execute();
+		for(final var column : columns) {
+			if(column.indexed()) {
+				final var indexName = StringUtils.left(String.format("idx_%s", column.name()), MAX_IDENTIFIER_LENGTH);
+				create.createIndex(DSL.name(indexName)).on(table, DSL.field(DSL.name(column.name()))).execute();
+			}
+		}
+	}
+
+	private int insertRows(final DatasetModel datasetModel, final List<ExportColumn> columns, final Condition condition) {
+		final Table<Record> table = DSL.table(DSL.name(datasetModel.getExportTableName()));
+		final List<Field<?>> fields = columns.stream().<Field<?>> map(c -> DSL.field(DSL.name(c.name()))).toList();
+		//malformed values are converted to null by the typed columns themselves, IGNORE is only used to skip the datasets that are already in the table
+		return create.insertInto(table, fields)
+			.select(selectRows(datasetModel, columns, condition))
+			.onDuplicateKeyIgnore()
+			.execute();
+	}
+
+	private Select<Record> selectRows(final DatasetModel datasetModel, final List<ExportColumn> columns, final Condition condition) {
+		final var values = columns.stream().map(ExportColumn::value).toList();
+		if(datasetModel.isScopeDocumentation()) {
+			return DSL.select(values)
+				.from(FIELD)
+				.join(DATASET).on(FIELD.DATASET_FK.eq(DATASET.PK))
+				.join(SCOPE).on(DATASET.SCOPE_FK.eq(SCOPE.PK))
+				.where(
+					DATASET.DATASET_MODEL_ID.eq(datasetModel.getId())
+						.and(DATASET.DELETED.isFalse())
+						.and(SCOPE.DELETED.isFalse())
+						.and(condition)
+				)
+				.groupBy(DATASET.PK);
+		}
+		return DSL.select(values)
+			.from(FIELD)
+			.join(DATASET).on(FIELD.DATASET_FK.eq(DATASET.PK))
+			.join(EVENT).on(DATASET.EVENT_FK.eq(EVENT.PK))
+			.join(SCOPE).on(EVENT.SCOPE_FK.eq(SCOPE.PK))
+			.where(
+				DATASET.DATASET_MODEL_ID.eq(datasetModel.getId())
+					.and(DATASET.DELETED.isFalse())
+					.and(EVENT.DELETED.isFalse())
+					.and(EVENT.DATE.isNotNull())
+					.and(SCOPE.DELETED.isFalse())
+					.and(condition)
+			)
+			.groupBy(DATASET.PK);
+	}
+
+	private List<ExportColumn> generateColumns(final DatasetModel datasetModel) {
+		final var onEvent = !datasetModel.isScopeDocumentation();
+		final List<ExportColumn> columns = new ArrayList<>();
+		columns.add(new ExportColumn(SCOPE_FK_COLUMN, SQLDataType.BIGINT, SCOPE.PK, true));
+		columns.add(new ExportColumn("id", SQLDataType.VARCHAR(200), SCOPE.ID, false));
+		columns.add(new ExportColumn("code", SQLDataType.VARCHAR(200), SCOPE.CODE, false));
+		columns.add(new ExportColumn("scope_model_id", SQLDataType.VARCHAR(64), SCOPE.SCOPE_MODEL_ID, false));
+		columns.add(new ExportColumn(EVENT_FK_COLUMN, SQLDataType.BIGINT, onEvent ? EVENT.PK : DSL.inline(null, SQLDataType.BIGINT), onEvent));
+		columns.add(new ExportColumn("event_model_id", SQLDataType.VARCHAR(100), onEvent ? EVENT.EVENT_MODEL_ID : DSL.inline(null, SQLDataType.VARCHAR), false));
+		columns.add(new ExportColumn("event_group_number", SQLDataType.INTEGER, onEvent ? EVENT.EVENT_GROUP_NUMBER : DSL.inline(null, SQLDataType.INTEGER), false));
+		columns.add(new ExportColumn("event_blocking", SQLDataType.BOOLEAN, onEvent ? EVENT.BLOCKING : DSL.inline(null, SQLDataType.BOOLEAN), false));
+		columns.add(new ExportColumn("event_expected_date", SQLDataType.LOCALDATETIME(3), onEvent ? EVENT.EXPECTED_DATE : DSL.inline(null, SQLDataType.LOCALDATETIME), false));
+		columns.add(new ExportColumn("event_date", SQLDataType.LOCALDATETIME(3), onEvent ? EVENT.DATE : DSL.inline(null, SQLDataType.LOCALDATETIME), false));
+		columns.add(new ExportColumn("event_end_date", SQLDataType.LOCALDATETIME(3), onEvent ? EVENT.END_DATE : DSL.inline(null, SQLDataType.LOCALDATETIME), false));
+		columns.add(new ExportColumn("last_update_time", SQLDataType.LOCALDATETIME(3), DATASET.LAST_UPDATE_TIME, false));
+		columns.add(new ExportColumn(DATASET_FK_COLUMN, SQLDataType.BIGINT.nullable(false), DATASET.PK, false));
+
+		var varcharColumns = 0;
+		var fieldIndexes = 0;
+		for(final var fieldModel : datasetModel.getFieldModelsExportables()) {
+			final var fieldModelColumn = fieldModel.getId().toLowerCase();
+			final var rawValue = DSL.anyValue(FIELD.VALUE).filterWhere(FIELD.FIELD_MODEL_ID.eq(fieldModel.getId()));
+			var typedType = typedColumnType(fieldModel);
+			if(typedType.isString() && !typedType.isLob() && varcharColumns++ >= MAX_VARCHAR_COLUMNS) {
+				typedType = SQLDataType.CLOB;
+			}
+			final var indexed = !typedType.isLob() && fieldIndexes < MAX_FIELD_INDEXES;
+			if(indexed) {
+				fieldIndexes++;
+			}
+			columns.add(new ExportColumn(String.format("%s_raw", fieldModelColumn), SQLDataType.CLOB, rawValue, false));
+			columns.add(new ExportColumn(fieldModelColumn, typedType, typedColumn(fieldModel, rawValue), indexed));
+			columns.add(
+				new ExportColumn(
+					String.format("%s_md", fieldModelColumn),
+					SQLDataType.LOCALDATETIME(3),
+					DSL.anyValue(FIELD.LAST_UPDATE_TIME).filterWhere(FIELD.FIELD_MODEL_ID.eq(fieldModel.getId())),
+					false
+				)
+			);
+		}
+		return columns;
+	}
+
+	private DataType<?> typedColumnType(final FieldModel fieldModel) {
+		return switch(fieldModel.getDataType()) {
+			case NUMBER -> SQLDataType.DECIMAL(18, 9);
+			case DATE -> SQLDataType.LOCALDATETIME;
+			case STRING -> SQLDataType.VARCHAR(255);
+			default -> SQLDataType.CLOB;
+		};
+	}
+
+	private Field<?> typedColumn(final FieldModel fieldModel, final Field<String> rawValue) {
+		if(OperandType.NUMBER.equals(fieldModel.getDataType())) {
+			//only values that fit in the column are converted, MariaDB would otherwise truncate them or convert them to 0 silently
+			return DSL.case_().when(rawValue.likeRegex(NUMBER_PATTERN), rawValue.cast(SQLDataType.DECIMAL(18, 9)));
+		}
+		switch(fieldModel.getDataType()) {
+			case DATE -> {
+				final var datePrefix = new StringBuilder();
+				if(!fieldModel.isWithMonths()) {
+					datePrefix.append("01.");
+				}
+				if(!fieldModel.isWithDays()) {
+					datePrefix.append("01.");
+				}
+				final Field<?> streamlinedValue = datePrefix.isEmpty() ? rawValue : DSL.concat(DSL.inline(datePrefix.toString()), rawValue);
+				final var date = DSL.function("str_to_date", SQLDataType.LOCALDATETIME, streamlinedValue, DSL.inline("%d.%m.%Y"));
+				//str_to_date accepts zero parts, which would give an invalid date instead of null
+				final var valid = DSL.extract(date, DatePart.YEAR).gt(0)
+					.and(DSL.extract(date, DatePart.MONTH).gt(0))
+					.and(DSL.extract(date, DatePart.DAY).gt(0));
+				return DSL.case_().when(valid, date);
+			}
+			case STRING -> {
+				return rawValue.cast(SQLDataType.CHAR(255));
+			}
+			default -> {
+				return rawValue;
+			}
+		}
+	}
+}
@@ -1,8 +0,0 @@
-package ch.rodano.core.services.bll.export.views;
-
-public interface ExportViewService {
-	/**
-	 * Creates or updates the SQL views needed for exports.
-	 */
-	void updateViews();
-}
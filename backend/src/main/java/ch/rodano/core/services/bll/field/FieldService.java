@@ -3,6 +3,7 @@ package ch.rodano.core.services.bll.field;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ch.rodano.configuration.model.field.FieldModel;
@@ -50,6 +51,21 @@ public interface FieldService {
 		String rationale
 	);
 
+	/**
+	 * Create all fields in several datasets at once, inserting the fields and their workflow statuses in batches.
+	 * @param datasets      The datasets
+	 * @param context       Action context
+	 * @param rationale     The rationale for the operation
+	 * @return              New fields
+	 */
+	List<Field> createAll(
+		Scope scope,
+		Optional<Event> event,
+		List<Dataset> datasets,
+		DatabaseActionContext context,
+		String rationale
+	);
+
 	/**
 	 * Get the possible values of the field as defined in the field model, or use the possible value provider, if defined.
 	 * @return A list of possible values for the field
@@ -81,6 +97,12 @@ public interface FieldService {
 	 */
 	String getLatestValue(Field field, Optional<ZonedDateTime> date);
 
+	/**
+	 * Get the values of some fields at the provided point in time, with as few queries as possible.
+	 * @return The values of the fields indexed by field pk, fields that did not exist at this point in time being absent
+	 */
+	Map<Long, String> getLatestValues(Collection<Field> fields, ZonedDateTime date);
+
 	/**
 	 * Create a readable label from the field's value.
 	 * @return A readable label
@@ -156,6 +178,12 @@ public interface FieldService {
 
 	List<Field> getAll(Dataset dataset, Collection<FieldModel> fieldModels);
 
+	/**
+	 * Get the fields of some datasets with as few queries as possible
+	 * @return The fields of the datasets
+	 */
+	List<Field> getAll(Collection<Dataset> datasets);
+
 	Field get(Dataset dataset, FieldModel fieldModel);
 
 	Optional<Field> get(WorkflowStatus workflowStatus);
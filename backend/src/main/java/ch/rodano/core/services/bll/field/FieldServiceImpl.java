@@ -1,9 +1,11 @@
 package ch.rodano.core.services.bll.field;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,9 +24,7 @@ import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.FieldAuditTrail;
 import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.event.Event;
-import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.field.Field;
-import ch.rodano.core.model.field.FieldRecord;
 import ch.rodano.core.model.rules.data.ConstraintEvaluationService;
 import ch.rodano.core.model.rules.data.DataEvaluation;
 import ch.rodano.core.model.rules.data.DataState;
@@ -126,10 +126,36 @@ public class FieldServiceImpl implements FieldService {
 		final DatabaseActionContext context,
 		final String rationale
 	) {
-		return dataset.getDatasetModel().getFieldModels().stream()
-			.sorted()
-			.map(f -> create(scope, event, dataset, f, context, rationale))
-			.toList();
+		return createAll(scope, event, Collections.singletonList(dataset), context, rationale);
+	}
+
+	@Override
+	public List<Field> createAll(
+		final Scope scope,
+		final Optional<Event> event,
+		final List<Dataset> datasets,
+		final DatabaseActionContext context,
+		final String rationale
+	) {
+		final List<Field> fields = new ArrayList<>();
+		final List<DataFamily> families = new ArrayList<>();
+		for(final var dataset : datasets) {
+			final var datasetModel = dataset.getDatasetModel();
+			for(final var fieldModel : datasetModel.getFieldModels().stream().sorted().toList()) {
+				final var field = new Field();
+				field.setDatasetModel(datasetModel);
+				field.setFieldModel(fieldModel);
+				field.setDatasetFk(dataset.getPk());
+				fields.add(field);
+				families.add(new DataFamily(scope, event, dataset, field));
+			}
+		}
+
+		final var enhancedRationale = StringUtils.isBlank(rationale) ? "Create field" : "Create field: " + rationale;
+		fieldDAOService.insertFields(fields, context, enhancedRationale);
+		workflowStatusService.createAll(families, context, enhancedRationale);
+
+		return fields;
 	}
 
 	@Override
@@ -290,16 +316,18 @@ public class FieldServiceImpl implements FieldService {
 	@Override
 	public String getLatestValue(final Field field, final Optional<ZonedDateTime> date) {
 		if(date.isPresent()) {
-			final var timeframe = new Timeframe(Optional.empty(), date);
 			//date parameter could be before this field even exists
-			//in this case, there will no field versions
 			//in this case return null, because it does not make any sense to ask for the value of a field at a time when the field didnt exist
-			final var fieldVersions = fieldDAOService.getAuditTrailsForProperty(field, Optional.of(timeframe), FieldRecord::getValue);
-			return !fieldVersions.isEmpty() ? fieldVersions.last().getValue() : null;
+			return fieldDAOService.getValueAt(field, date.get());
 		}
 		return field.getValue();
 	}
 
+	@Override
+	public Map<Long, String> getLatestValues(final Collection<Field> fields, final ZonedDateTime date) {
+		return fieldDAOService.getValuesAt(fields, date);
+	}
+
 	@Override
 	public String getValueLabel(
 		final Scope scope,
@@ -367,6 +395,11 @@ public class FieldServiceImpl implements FieldService {
 		return fieldDAOService.getFieldsByDatasetPkHavingFieldModelIds(dataset.getPk(), fieldModelIds);
 	}
 
+	@Override
+	public List<Field> getAll(final Collection<Dataset> datasets) {
+		return fieldDAOService.getFieldsByDatasetPks(datasets.stream().map(Dataset::getPk).toList());
+	}
+
 	@Override
 	public Field get(final Dataset dataset, final FieldModel fieldModel) {
 		return fieldDAOService.getFieldsByDatasetPkHavingFieldModelIds(dataset.getPk(), Collections.singleton(fieldModel.getId())).stream()
@@ -1,5 +1,7 @@
 package ch.rodano.core.services.bll.field;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import ch.rodano.configuration.model.validator.Validator;
@@ -28,4 +30,15 @@ public interface ValidationService {
 	 * @param context The rationale for the validation
 	 */
 	void validateField(Scope scope, Optional<Event> event, Dataset dataset, Field field, DatabaseActionContext context, String rationale);
+
+	/**
+	 * Validate the fields of a scope and of its events whose validators depend on some modified fields, according to the index of the dependencies of the validators
+	 *
+	 * @param scope          The scope that contains the modified fields
+	 * @param modifiedFields The modified fields, which are not validated again
+	 * @param context        The context of the update
+	 * @param rationale      The rationale for the validation
+	 * @return The fields that have been validated
+	 */
+	List<Field> validateDependentFields(Scope scope, Collection<Field> modifiedFields, DatabaseActionContext context, String rationale);
 }
@@ -1,13 +1,20 @@
 package ch.rodano.core.services.bll.field;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import ch.rodano.configuration.model.field.FieldModel;
 import ch.rodano.configuration.model.validator.Validator;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.dataset.Dataset;
@@ -20,6 +27,9 @@ import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.bll.workflowStatus.DataFamily;
 import ch.rodano.core.services.bll.workflowStatus.WorkflowStatusService;
+import ch.rodano.core.services.dao.dataset.DatasetDAOService;
+import ch.rodano.core.services.dao.event.EventDAOService;
+import ch.rodano.core.services.dao.field.FieldDAOService;
 import ch.rodano.core.services.plugin.validator.ValidatorPluginService;
 import ch.rodano.core.services.plugin.validator.exception.ValidatorException;
 
@@ -31,17 +41,29 @@ public class ValidationServiceImpl implements ValidationService {
 	private final ValidatorPluginService validatorPluginService;
 	private final WorkflowStatusService workflowStatusService;
 	private final ConstraintEvaluationService constraintEvaluationService;
+	private final ValidatorDependencyService validatorDependencyService;
+	private final FieldDAOService fieldDAOService;
+	private final DatasetDAOService datasetDAOService;
+	private final EventDAOService eventDAOService;
 
 	public ValidationServiceImpl(
 		final StudyService studyService,
 		final ValidatorPluginService validatorPluginService,
 		final WorkflowStatusService workflowStatusService,
-		final ConstraintEvaluationService constraintEvaluationService
+		final ConstraintEvaluationService constraintEvaluationService,
+		final ValidatorDependencyService validatorDependencyService,
+		final FieldDAOService fieldDAOService,
+		final DatasetDAOService datasetDAOService,
+		final EventDAOService eventDAOService
 	) {
 		this.studyService = studyService;
 		this.validatorPluginService = validatorPluginService;
 		this.workflowStatusService = workflowStatusService;
 		this.constraintEvaluationService = constraintEvaluationService;
+		this.validatorDependencyService = validatorDependencyService;
+		this.fieldDAOService = fieldDAOService;
+		this.datasetDAOService = datasetDAOService;
+		this.eventDAOService = eventDAOService;
 	}
 
 	@Override
@@ -262,4 +284,48 @@ public class ValidationServiceImpl implements ValidationService {
 		}
 	}
 
+	@Override
+	public List<Field> validateDependentFields(
+		final Scope scope,
+		final Collection<Field> modifiedFields,
+		final DatabaseActionContext context,
+		final String rationale
+	) {
+		final var fieldModelIds = modifiedFields.stream().map(Field::getFieldModelId).toList();
+		final var dependentFieldModels = validatorDependencyService.getIndex().getDependentFieldModels(fieldModelIds);
+		if(dependentFieldModels.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		final var modifiedFieldPks = modifiedFields.stream().map(Field::getPk).collect(Collectors.toSet());
+		final var fields = fieldDAOService.getFieldsByScopePkHavingModelIds(
+				scope.getPk(),
+				dependentFieldModels.stream().map(f -> f.getDatasetModel().getId()).collect(Collectors.toSet()),
+				dependentFieldModels.stream().map(FieldModel::getId).collect(Collectors.toSet())
+			).stream()
+			//field model ids are only unique in their dataset model
+			.filter(f -> dependentFieldModels.contains(f.getFieldModel()))
+			.filter(f -> !modifiedFieldPks.contains(f.getPk()))
+			.toList();
+		if(fields.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		//retrieve the datasets and the events containing the fields at once
+		final Map<Long, Dataset> datasets = datasetDAOService.getDatasetByPks(fields.stream().map(Field::getDatasetFk).distinct().toList()).stream()
+			.collect(Collectors.toMap(Dataset::getPk, Function.identity()));
+		final Map<Long, Event> events = datasets.values().stream()
+			.map(Dataset::getEventFk)
+			.filter(Objects::nonNull)
+			.distinct()
+			.collect(Collectors.toMap(Function.identity(), eventDAOService::getEventByPk));
+
+		logger.info("Validating {} fields depending on the modified fields", fields.size());
+		for(final var field : fields) {
+			final var dataset = datasets.get(field.getDatasetFk());
+			final var event = Optional.ofNullable(dataset.getEventFk()).map(events::get);
+			validateField(scope, event, dataset, field, context, rationale);
+		}
+		return fields;
+	}
 }
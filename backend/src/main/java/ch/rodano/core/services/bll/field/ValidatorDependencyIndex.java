@@ -0,0 +1,61 @@
+package ch.rodano.core.services.bll.field;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import ch.rodano.configuration.model.field.FieldModel;
+
+/**
+ * Immutable index of the field models whose validators depend on the value of other field models, built once for each configuration
+ * A validator depends on a field model when its constraint selects the fields of this field model explicitly
+ */
+public final class ValidatorDependencyIndex {
+
+	//field models whose validators depend on each field model, by id of the field model they depend on
+	private final Map<String, Set<FieldModel>> dependentFieldModels;
+	private final Duration buildTime;
+
+	ValidatorDependencyIndex(final Map<String, Set<FieldModel>> dependentFieldModels, final Duration buildTime) {
+		this.dependentFieldModels = dependentFieldModels;
+		this.buildTime = buildTime;
+	}
+
+	/**
+	 * Get the field models whose validators depend on some field models
+	 *
+	 * @param fieldModelIds The ids of the field models
+	 * @return The dependent field models
+	 */
+	public Set<FieldModel> getDependentFieldModels(final Collection<String> fieldModelIds) {
+		return fieldModelIds.stream()
+			.distinct()
+			.flatMap(id -> dependentFieldModels.getOrDefault(id, Collections.emptySet()).stream())
+			.collect(Collectors.toSet());
+	}
+
+	/**
+	 * @return The dependencies of the index, the ids of the dependent field models prefixed with the id of their dataset model being listed by id of the field model they depend on
+	 */
+	public Map<String, Set<String>> getDependencies() {
+		return dependentFieldModels.entrySet().stream()
+			.collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream().map(f -> f.getDatasetModel().getId() + "." + f.getId()).collect(Collectors.toSet())));
+	}
+
+	/**
+	 * @return The number of field models on which at least one validator depends
+	 */
+	public int getSize() {
+		return dependentFieldModels.size();
+	}
+
+	/**
+	 * @return The time it took to build the index
+	 */
+	public Duration getBuildTime() {
+		return buildTime;
+	}
+}
@@ -0,0 +1,11 @@
+package ch.rodano.core.services.bll.field;
+
+public interface ValidatorDependencyService {
+
+	/**
+	 * Get the index of the dependencies of the validators of the current configuration
+	 *
+	 * @return The index, rebuilt when the configuration has been reloaded
+	 */
+	ValidatorDependencyIndex getIndex();
+}
@@ -0,0 +1,130 @@
+package ch.rodano.core.services.bll.field;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.info.Info.Builder;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Service;
+
+import ch.rodano.configuration.model.field.FieldModel;
+import ch.rodano.configuration.model.rules.Operator;
+import ch.rodano.configuration.model.rules.RulableEntity;
+import ch.rodano.configuration.model.rules.RuleCondition;
+import ch.rodano.configuration.model.rules.RuleConstraint;
+import ch.rodano.configuration.model.study.Study;
+import ch.rodano.core.services.bll.study.StudyService;
+import ch.rodano.core.services.rule.RulableEntityBinderService;
+
+@Service
+public class ValidatorDependencyServiceImpl implements ValidatorDependencyService, InfoContributor {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private static final String FIELD_MODEL_PROPERTY = "ID";
+
+	private record StudyIndex(
+		Study study,
+		ValidatorDependencyIndex index
+	) {
+		//nothing to do here
+	}
+
+	private final StudyService studyService;
+	private final RulableEntityBinderService rulableEntityBinderService;
+
+	private volatile StudyIndex studyIndex;
+
+	public ValidatorDependencyServiceImpl(
+		final StudyService studyService,
+		final RulableEntityBinderService rulableEntityBinderService
+	) {
+		this.studyService = studyService;
+		this.rulableEntityBinderService = rulableEntityBinderService;
+
+		final var study = studyService.getStudy();
+		this.studyIndex = new StudyIndex(study, build(study));
+	}
+
+	@Override
+	public ValidatorDependencyIndex getIndex() {
+		final var study = studyService.getStudy();
+		var currentStudyIndex = studyIndex;
+		if(currentStudyIndex.study() != study) {
+			synchronized(this) {
+				currentStudyIndex = studyIndex;
+				if(currentStudyIndex.study() != study) {
+					currentStudyIndex = new StudyIndex(study, build(study));
+					studyIndex = currentStudyIndex;
+				}
+			}
+		}
+		return currentStudyIndex.index();
+	}
+
+	@Override
+	public void contribute(final Builder builder) {
+		final var index = getIndex();
+		builder.withDetail("validatorDependencies", Map.of(
+			"fieldModels", index.getSize(),
+			"buildTime", index.getBuildTime().toMillis(),
+			"dependencies", index.getDependencies()
+		));
+	}
+
+	private ValidatorDependencyIndex build(final Study study) {
+		final var start = System.nanoTime();
+
+		final Map<String, Set<FieldModel>> dependentFieldModels = new HashMap<>();
+		for(final var fieldModel : study.getFieldModels()) {
+			for(final var validator : fieldModel.getValidators()) {
+				//the dependencies of script validators are not known
+				if(!validator.isScript() && validator.getConstraint() != null) {
+					for(final var fieldModelId : getReferencedFieldModelIds(validator.getConstraint())) {
+						dependentFieldModels.computeIfAbsent(fieldModelId, _ -> new HashSet<>()).add(fieldModel);
+					}
+				}
+			}
+		}
+		//the index is shared between requests, so it must not be modified
+		dependentFieldModels.replaceAll((_, fieldModels) -> Set.copyOf(fieldModels));
+
+		final var index = new ValidatorDependencyIndex(Map.copyOf(dependentFieldModels), Duration.ofNanos(System.nanoTime() - start));
+		logger.info("Validator dependencies indexed for {} field models in {} ms", index.getSize(), index.getBuildTime().toMillis());
+		return index;
+	}
+
+	private Set<String> getReferencedFieldModelIds(final RuleConstraint constraint) {
+		final Set<String> fieldModelIds = new HashSet<>();
+		constraint.getConditions().forEach((entity, conditionList) -> {
+			for(final var condition : conditionList.getConditions()) {
+				addReferencedFieldModelIds(entity, condition, fieldModelIds);
+			}
+		});
+		return fieldModelIds;
+	}
+
+	private void addReferencedFieldModelIds(final RulableEntity entity, final RuleCondition condition, final Set<String> fieldModelIds) {
+		final var criterion = condition.getCriterion();
+		//children are evaluated against the result of their parent, whose entity changes only when following a relation
+		var childrenEntity = entity;
+		if(criterion != null) {
+			if(rulableEntityBinderService.relationExists(entity, criterion.getProperty())) {
+				childrenEntity = rulableEntityBinderService.getRelation(entity, criterion.getProperty()).getTargetEntity();
+			}
+			else if(RulableEntity.FIELD.equals(entity) && FIELD_MODEL_PROPERTY.equals(criterion.getProperty()) && Operator.EQUALS.equals(criterion.getOperator())) {
+				//values calculated from a formula are only known when the constraint is evaluated
+				criterion.getValues().stream()
+					.filter(v -> !v.startsWith("="))
+					.forEach(fieldModelIds::add);
+			}
+		}
+		for(final var child : condition.getConditions()) {
+			addReferencedFieldModelIds(childrenEntity, child, fieldModelIds);
+		}
+	}
+}
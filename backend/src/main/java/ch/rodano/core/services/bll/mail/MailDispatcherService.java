@@ -0,0 +1,17 @@
+package ch.rodano.core.services.bll.mail;
+
+public interface MailDispatcherService {
+
+	/**
+	 * Claim the mails that must be sent and send them in the background
+	 * Pending mails are sent first, followed by the failed mails whose retry delay has expired
+	 *
+	 * @return The number of mails that have been claimed
+	 */
+	int dispatch();
+
+	/**
+	 * @return The number of mails that are being sent
+	 */
+	int getInFlightCount();
+}
@@ -0,0 +1,203 @@
+package ch.rodano.core.services.bll.mail;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import ch.rodano.core.configuration.core.Configurator;
+import ch.rodano.core.configuration.core.Environment;
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.model.audit.DatabaseActionContext;
+import ch.rodano.core.model.mail.Mail;
+import ch.rodano.core.model.mail.MailStatus;
+import ch.rodano.core.services.dao.audit.AuditActionService;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
+import ch.rodano.core.services.dao.mail.MailDAOService;
+
+@Service
+public class MailDispatcherServiceImpl implements MailDispatcherService, DisposableBean {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private record Claim(
+		List<Long> mailPks,
+		DatabaseActionContext context
+	) {
+		//nothing to do here
+	}
+
+	private final PlatformTransactionManager transactionManager;
+	private final MailService mailService;
+	private final MailDAOService mailDAOService;
+	private final AuditActionService auditActionService;
+	private final TransactionCacheDAOService transactionCacheDAOService;
+	private final Configurator configurator;
+	private final MeterRegistry meterRegistry;
+
+	private final int maxBatchSize;
+	private final int maxAttempts;
+	private final Duration retryDelay;
+	private final Duration claimTimeout;
+
+	private final ExecutorService executor;
+	//each worker borrows a connection to the mail server, so connections are reused from one mail to the next
+	private final BlockingQueue<MailTransport> transports;
+	//mails that have been claimed by this node and whose status has not been saved yet
+	private final Set<Long> inFlightMailPks = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger queueSize = new AtomicInteger();
+	private final Timer deliveryTimer;
+
+	public MailDispatcherServiceImpl(
+		final PlatformTransactionManager transactionManager,
+		final MailService mailService,
+		final MailDAOService mailDAOService,
+		final AuditActionService auditActionService,
+		final TransactionCacheDAOService transactionCacheDAOService,
+		final Configurator configurator,
+		final MeterRegistry meterRegistry,
+		@Value("${rodano.schedule.mail-sender.max-batch-size:100}") final int maxBatchSize,
+		@Value("${rodano.schedule.mail-sender.max-attempts:5}") final int maxAttempts,
+		@Value("${rodano.schedule.mail-sender.retry-delay:60}") final int retryDelay,
+		@Value("${rodano.schedule.mail-sender.claim-timeout:600}") final int claimTimeout,
+		@Value("${rodano.schedule.mail-sender.parallelism:4}") final int parallelism
+	) {
+		this.transactionManager = transactionManager;
+		this.mailService = mailService;
+		this.mailDAOService = mailDAOService;
+		this.auditActionService = auditActionService;
+		this.transactionCacheDAOService = transactionCacheDAOService;
+		this.configurator = configurator;
+		this.meterRegistry = meterRegistry;
+		this.maxBatchSize = maxBatchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryDelay = Duration.ofSeconds(retryDelay);
+		this.claimTimeout = Duration.ofSeconds(claimTimeout);
+
+		final var workers = Math.max(1, parallelism);
+		this.executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("mail-sender-", 0).factory());
+		this.transports = new ArrayBlockingQueue<>(workers);
+		for(var i = 0; i < workers; i++) {
+			transports.add(mailService.createTransport());
+		}
+
+		Gauge.builder("rodano.mails.queue", queueSize, AtomicInteger::get)
+			.description("Number of mails waiting to be sent")
+			.register(meterRegistry);
+		Gauge.builder("rodano.mails.in-flight", inFlightMailPks, Set::size)
+			.description("Number of mails being sent")
+			.register(meterRegistry);
+		this.deliveryTimer = Timer.builder("rodano.mails.delivery")
+			.description("Time taken to send a mail to the mail server")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public int dispatch() {
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+		//mails are claimed in a short transaction, so no database connection is held while they are sent
+		final var claim = transactionTemplate.execute(_ -> {
+			queueSize.set(mailDAOService.countMailsToSend(maxAttempts, retryDelay, claimTimeout));
+			//mails that are still being sent by a previous dispatch limit the number of mails that can be claimed
+			final var capacity = maxBatchSize - inFlightMailPks.size();
+			if(capacity <= 0) {
+				return null;
+			}
+			final var candidatePks = mailDAOService.getMailsToSend(maxAttempts, retryDelay, claimTimeout, capacity).stream()
+				.map(Mail::getPk)
+				.toList();
+			if(candidatePks.isEmpty()) {
+				return null;
+			}
+			//mails are claimed in the database, so a mail is sent by only one node, the mails claimed in the meantime by another node being skipped
+			final var context = auditActionService.createAuditActionAndGenerateContext(Actor.SYSTEM, "Running mail sender task");
+			final var mailPks = mailDAOService.claimMailsToSend(candidatePks, maxAttempts, retryDelay, claimTimeout, context, "Mail claimed by the sender task");
+			return mailPks.isEmpty() ? null : new Claim(mailPks, context);
+		});
+
+		if(claim == null) {
+			return 0;
+		}
+
+		//the mails are in flight only once their claim has been committed, otherwise they would never be released
+		inFlightMailPks.addAll(claim.mailPks());
+
+		logger.debug("Dispatching {} mails", claim.mailPks().size());
+		final var simulate = !Environment.PROD.equals(configurator.getEnvironment());
+		for(final var mailPk : claim.mailPks()) {
+			executor.execute(() -> send(mailPk, claim.context(), simulate, transactionTemplate));
+		}
+		return claim.mailPks().size();
+	}
+
+	@Override
+	public int getInFlightCount() {
+		return inFlightMailPks.size();
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+		transports.forEach(MailTransport::close);
+	}
+
+	private void send(final Long mailPk, final DatabaseActionContext context, final boolean simulate, final TransactionTemplate transactionTemplate) {
+		MailTransport transport = null;
+		try {
+			transport = transports.take();
+			final var mail = mailDAOService.getMailByPk(mailPk);
+			//the mail may have been modified since it has been claimed
+			if(!MailStatus.SENDING.equals(mail.getStatus())) {
+				return;
+			}
+
+			final var sample = Timer.start(meterRegistry);
+			try {
+				mailService.deliverMail(mail, transport, simulate);
+			}
+			catch(final RuntimeException e) {
+				//the attempt must be saved, otherwise a mail that can not be sent would be tried again forever
+				logger.error("Unable to send mail [pk={}]", mailPk, e);
+				mail.setStatus(MailStatus.FAILED);
+				mail.setError(e.getLocalizedMessage());
+			}
+			sample.stop(deliveryTimer);
+
+			//the status of each mail is saved in its own transaction, as soon as the mail has been sent
+			final var rationale = MailStatus.CANCELED.equals(mail.getStatus()) ? "Mail cancelled" : "Mail sent by the sender task";
+			transactionTemplate.executeWithoutResult(_ -> mailService.saveMail(mail, context, rationale));
+			meterRegistry.counter("rodano.mails", "status", mail.getStatus().name()).increment();
+		}
+		catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch(final RuntimeException e) {
+			logger.error("Unable to send mail [pk={}]", mailPk, e);
+		}
+		finally {
+			if(transport != null) {
+				transports.add(transport);
+			}
+			inFlightMailPks.remove(mailPk);
+			//worker threads are reused, so the data loaded for this mail must not be kept
+			transactionCacheDAOService.emptyCache();
+		}
+	}
+}
@@ -63,6 +63,17 @@ public interface MailService {
 	 */
 	Mail createMail(DefinedTemplatedMail definedTemplatedMail, DatabaseActionContext context, String rationale);
 
+	/**
+	 * Create several mails from templates of the classpath
+	 * Each template is compiled once and the mails are inserted in batches
+	 *
+	 * @param definedTemplatedMails The templated mails
+	 * @param context               The context of the action
+	 * @param rationale             The rationale for the operation
+	 * @return The created mails
+	 */
+	List<Mail> createMails(List<DefinedTemplatedMail> definedTemplatedMails, DatabaseActionContext context, String rationale);
+
 	/**
 	 * Create a mail
 	 *
@@ -81,6 +92,22 @@ public interface MailService {
 	 */
 	Mail sendMail(Mail mail, DatabaseActionContext context, boolean simulate);
 
+	/**
+	 * Create a connection to the mail server that can be used to send several mails
+	 *
+	 * @return The connection, which must be closed once it is no longer needed
+	 */
+	MailTransport createTransport();
+
+	/**
+	 * Send a mail with the given connection and update its status and its number of attempts, without saving it
+	 *
+	 * @param mail      The mail
+	 * @param transport The connection to the mail server
+	 * @param simulate  True to only simulate the sending of the mail
+	 */
+	void deliverMail(Mail mail, MailTransport transport, boolean simulate);
+
 	MimeMessage createMimeMessage(Mail mail) throws MessagingException;
 
 	/**
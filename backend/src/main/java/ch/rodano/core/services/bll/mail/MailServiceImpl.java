@@ -6,6 +6,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,10 +33,8 @@ import org.springframework.ui.freemarker.SpringTemplateLoader;
 
 import com.opencsv.CSVWriter;
 
-import freemarker.cache.MultiTemplateLoader;
-import freemarker.cache.StringTemplateLoader;
-import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
+import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 
@@ -66,6 +65,9 @@ import ch.rodano.core.utils.UtilsService;
 public class MailServiceImpl implements MailService {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	//maximum number of compiled customized templates kept in memory
+	private static final int STRING_TEMPLATE_CACHE_SIZE = 1000;
+
 	private final JavaMailSender sender;
 	private final ResourceLoader resourceLoader;
 	private final Configuration freemarkerConfiguration;
@@ -75,6 +77,11 @@ public class MailServiceImpl implements MailService {
 	private final ScopeDAOService scopeDAOService;
 	private final UserDAOService userDAOService;
 
+	//configuration dedicated to mails, whose template cache keeps the compiled templates of the classpath
+	private final Configuration mailConfiguration;
+	//compiled customized templates indexed by their content, sorted by access order so the least recently used template is removed when the cache is full
+	private final Map<String, Template> stringTemplates;
+
 	public MailServiceImpl(
 		final JavaMailSender sender,
 		final ResourceLoader resourceLoader,
@@ -95,6 +102,21 @@ public class MailServiceImpl implements MailService {
 		this.userDAOService = userDAOService;
 
 		freemarkerConfiguration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+
+		//the shared configuration has no template loader, it is set temporarily by other services that use it
+		mailConfiguration = (Configuration) freemarkerConfiguration.clone();
+		mailConfiguration.setTemplateLoader(new SpringTemplateLoader(resourceLoader, "classpath:emails/"));
+		//templates packaged with the application never change
+		mailConfiguration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+
+		stringTemplates = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = -6243598726435021867L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Template> eldest) {
+				return size() > STRING_TEMPLATE_CACHE_SIZE;
+			}
+		};
 	}
 
 	@Override
@@ -136,69 +158,65 @@ public class MailServiceImpl implements MailService {
 
 	@Override
 	public Mail createMail(final CustomizedTemplatedMail customizedTemplatedMail, final DatabaseActionContext context, final String rationale) {
-		// prepare loader
-		final var loader = new StringTemplateLoader();
-		loader.putTemplate("subject", customizedTemplatedMail.getSubject());
-		loader.putTemplate("text", StringUtils.defaultString(customizedTemplatedMail.getTextBody()));
-		loader.putTemplate("html", StringUtils.defaultString(customizedTemplatedMail.getHtmlBody()));
-
 		final var templateParameters = customizedTemplatedMail.getTemplateParameters();
 
 		final var mail = new Mail(customizedTemplatedMail);
-		mail.setSubject(readTemplate("subject", templateParameters, loader));
-		mail.setTextBody(readTemplate("text", templateParameters, loader));
-		mail.setHtmlBody(readTemplate("html", templateParameters, loader));
+		mail.setSubject(readTemplate(getStringTemplate(customizedTemplatedMail.getSubject()), templateParameters));
+		mail.setTextBody(readTemplate(getStringTemplate(StringUtils.defaultString(customizedTemplatedMail.getTextBody())), templateParameters));
+		mail.setHtmlBody(readTemplate(getStringTemplate(StringUtils.defaultString(customizedTemplatedMail.getHtmlBody())), templateParameters));
 
 		return createMail(mail, context, rationale);
 	}
 
 	@Override
 	public Mail createMail(final DefinedTemplatedMail definedTemplatedMail, final DatabaseActionContext context, final String rationale) {
-		final var mail = new Mail(definedTemplatedMail);
-
-		final var template = definedTemplatedMail.getTemplate();
-		final var templateParameters = definedTemplatedMail.getTemplateParameters();
-
-		//prepare loader
-		final var stl = new SpringTemplateLoader(resourceLoader, "classpath:emails/");
-		final var sl = new StringTemplateLoader();
-		sl.putTemplate("subject", template.getSubject());
-
-		final var loader = new MultiTemplateLoader(new TemplateLoader[] { stl, sl });
-
-		// Set the subject
-		// Create a specific template loader as the subject is a string and not a folder
-		// Put the custom template into the loader
-
-		// Process the template
-		mail.setSubject(readTemplate("subject", templateParameters, loader));
-		// Set the mail body
-		mail.setTextBody(readTemplate(template.getBodyTextFilename(), templateParameters, loader));
-		mail.setHtmlBody(readTemplate(template.getBodyHTMLFilename(), templateParameters, loader));
+		return createMail(renderMail(definedTemplatedMail), context, rationale);
+	}
 
-		return createMail(mail, context, rationale);
+	@Override
+	public List<Mail> createMails(final List<DefinedTemplatedMail> definedTemplatedMails, final DatabaseActionContext context, final String rationale) {
+		final var mails = definedTemplatedMails.stream().map(this::renderMail).toList();
+		mails.forEach(this::prepareMailCreation);
+		mailDAOService.insertMails(mails, context, rationale);
+		return mails;
 	}
 
 	@Override
 	public Mail createMail(final Mail mail, final DatabaseActionContext context, final String rationale) {
+		prepareMailCreation(mail);
+		return mailDAOService.saveMail(mail, context, rationale);
+	}
+
+	private void prepareMailCreation(final Mail mail) {
 		mail.setStatus(MailStatus.PENDING);
 
 		// The sender and replyTo are always defined by the study configuration
 		final var study = studyService.getStudy();
 		mail.setSender(study.getEmail());
 		mail.setReplyTo(study.getEmail());
-
-		return mailDAOService.saveMail(mail, context, rationale);
 	}
 
 	@Override
 	public Mail sendMail(final Mail mail, final DatabaseActionContext context, final boolean simulate) {
+		try(var transport = createTransport()) {
+			deliverMail(mail, transport, simulate);
+		}
+		saveMail(mail, context, MailStatus.CANCELED.equals(mail.getStatus()) ? "Mail cancelled" : "Mail sent by the sender task");
+		return mail;
+	}
+
+	@Override
+	public MailTransport createTransport() {
+		return new MailTransport(sender);
+	}
+
+	@Override
+	public void deliverMail(final Mail mail, final MailTransport transport, final boolean simulate) {
 		if(mail.getRecipients().isEmpty()) {
 			logger.warn("Discarding e-mail [pk={}, suject={}] without recipient", mail.getPk(), mail.getSubject());
 			mail.setStatus(MailStatus.CANCELED);
 			mail.setError("E-mail has no recipients");
-			saveMail(mail, context, "Mail cancelled");
-			return mail;
+			return;
 		}
 
 		mail.increaseAttempts();
@@ -213,20 +231,17 @@ public class MailServiceImpl implements MailService {
 		else {
 			try {
 				final var mailMessage = createMimeMessage(mail);
-				sender.send(mailMessage);
+				transport.send(mailMessage);
 				mail.setStatus(MailStatus.SENT);
 				mail.setSentTime(ZonedDateTime.now());
 				logger.info("Sent e-mail [pk={}, recipients={}, subject={}]", mail.getPk(), mail.getRecipients(), mail.getSubject());
 			}
 			catch(MailException | MessagingException e) {
-				e.printStackTrace();
-				logger.error("Fail to send e-mail [pk={}, recipients={}, subject={}]", mail.getPk(), mail.getRecipients(), mail.getSubject());
+				logger.error("Fail to send e-mail [pk={}, recipients={}, subject={}]", mail.getPk(), mail.getRecipients(), mail.getSubject(), e);
 				mail.setStatus(MailStatus.FAILED);
 				mail.setError(e.getLocalizedMessage());
 			}
 		}
-		saveMail(mail, context, "Mail sent by the sender task");
-		return mail;
 	}
 
 	/**
@@ -272,27 +287,69 @@ public class MailServiceImpl implements MailService {
 	}
 
 	/**
-	 * Read a template and render it to a string
+	 * Render a mail from one of the templates of the classpath
 	 *
-	 * @param name       The template name
+	 * @param definedTemplatedMail The templated mail
+	 * @return The rendered mail
+	 */
+	private Mail renderMail(final DefinedTemplatedMail definedTemplatedMail) {
+		final var mail = new Mail(definedTemplatedMail);
+
+		final var template = definedTemplatedMail.getTemplate();
+		final var templateParameters = definedTemplatedMail.getTemplateParameters();
+
+		try {
+			mail.setSubject(readTemplate(getStringTemplate(template.getSubject()), templateParameters));
+			mail.setTextBody(readTemplate(mailConfiguration.getTemplate(template.getBodyTextFilename()), templateParameters));
+			mail.setHtmlBody(readTemplate(mailConfiguration.getTemplate(template.getBodyHTMLFilename()), templateParameters));
+		}
+		catch(final IOException e) {
+			throw new MailPreparationException(e);
+		}
+
+		return mail;
+	}
+
+	/**
+	 * Get the compiled template of a text, compiling it only if the same text has not been compiled recently
+	 *
+	 * @param source The text of the template
+	 * @return The compiled template
+	 */
+	private Template getStringTemplate(final String source) {
+		synchronized(stringTemplates) {
+			final var template = stringTemplates.get(source);
+			if(template != null) {
+				return template;
+			}
+		}
+		try {
+			final var template = new Template(null, source, mailConfiguration);
+			synchronized(stringTemplates) {
+				stringTemplates.put(source, template);
+			}
+			return template;
+		}
+		catch(final IOException e) {
+			throw new MailPreparationException(e);
+		}
+	}
+
+	/**
+	 * Render a template to a string
+	 * Compiled templates are thread-safe and can be rendered concurrently
+	 *
+	 * @param template   The template
 	 * @param parameters The template parameters
-	 * @param loader     The template loader which will be set and unset automatically
 	 * @return The rendered template with the given parameters
 	 */
-	private String readTemplate(final String name, final Map<String, Object> parameters, final TemplateLoader loader) {
-		// Set the template loader
-		freemarkerConfiguration.setTemplateLoader(loader);
-
+	private String readTemplate(final Template template, final Map<String, Object> parameters) {
 		try {
-			return FreeMarkerTemplateUtils.processTemplateIntoString(freemarkerConfiguration.getTemplate(name), parameters);
+			return FreeMarkerTemplateUtils.processTemplateIntoString(template, parameters);
 		}
 		catch(IOException | TemplateException e) {
 			throw new MailPreparationException(e);
 		}
-		finally {
-			// Unset the template loader
-			freemarkerConfiguration.unsetTemplateLoader();
-		}
 	}
 
 	@Override
@@ -535,26 +592,29 @@ public class MailServiceImpl implements MailService {
 			.enforceExtension(ScopeExtension.ANCESTORS)
 			.enforceFeatureId(featureId);
 		final var users = userDAOService.search(predicate).getObjects();
-		final var recipients = users.stream().map(User::getEmail).filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+		final var recipients = users.stream().map(User::getEmail).filter(StringUtils::isNotBlank).distinct().toList();
 
 		if(!recipients.isEmpty()) {
-			final var mail = new DefinedTemplatedMail(
-				MailTemplate.DOCUMENT_PUBLISHED, Map.ofEntries(
-					Map.entry("study", study),
-					Map.entry("user", user),
-					Map.entry("resource", resource),
-					Map.entry("resource_category_name", study.getResourceCategory(resource.getCategoryId()).getDefaultLocalizedShortname()),
-					Map.entry("scope", scope)
-				)
+			final Map<String, Object> templateVars = Map.ofEntries(
+				Map.entry("study", study),
+				Map.entry("user", user),
+				Map.entry("resource", resource),
+				Map.entry("resource_category_name", study.getResourceCategory(resource.getCategoryId()).getDefaultLocalizedShortname()),
+				Map.entry("scope", scope)
 			);
 
-			mail.setSender(study.getEmail());
-			mail.setReplyTo(study.getEmail());
-			mail.setRecipients(recipients);
-			mail.setOrigin(MailOrigin.SYSTEM);
-			mail.setIntent("Notify users of resource file update");
-
-			createMail(mail, context, "Notify users of resource file publication");
+			//each user receives its own mail, all mails being rendered from the same compiled template and inserted in batches
+			final var mails = recipients.stream().map(recipient -> {
+				final var mail = new DefinedTemplatedMail(MailTemplate.DOCUMENT_PUBLISHED, templateVars);
+				mail.setSender(study.getEmail());
+				mail.setReplyTo(study.getEmail());
+				mail.setRecipients(Collections.singleton(recipient));
+				mail.setOrigin(MailOrigin.SYSTEM);
+				mail.setIntent("Notify users of resource file update");
+				return mail;
+			}).toList();
+
+			createMails(mails, context, "Notify users of resource file publication");
 		}
 	}
 
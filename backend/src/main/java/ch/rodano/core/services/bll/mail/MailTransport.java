@@ -0,0 +1,71 @@
+package ch.rodano.core.services.bll.mail;
+
+import java.util.Date;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Connection to the mail server, kept open to send several messages
+ * The connection is opened when the first message is sent and opened again if it has been lost
+ * A connection must not be used by several threads at the same time
+ */
+public final class MailTransport implements AutoCloseable {
+
+	private final JavaMailSender sender;
+	private Transport transport;
+
+	MailTransport(final JavaMailSender sender) {
+		this.sender = sender;
+	}
+
+	/**
+	 * Send a message
+	 *
+	 * @param message The message
+	 * @throws MessagingException Thrown if the message could not be sent
+	 */
+	public void send(final MimeMessage message) throws MessagingException {
+		//other senders manage their own connections
+		if(!(sender instanceof final JavaMailSenderImpl senderImpl)) {
+			sender.send(message);
+			return;
+		}
+
+		try {
+			if(transport == null || !transport.isConnected()) {
+				close();
+				transport = senderImpl.getSession().getTransport(senderImpl.getProtocol());
+				transport.connect(senderImpl.getHost(), senderImpl.getPort(), senderImpl.getUsername(), senderImpl.getPassword());
+			}
+			//same preparation as the one done by the sender
+			if(message.getSentDate() == null) {
+				message.setSentDate(new Date());
+			}
+			message.saveChanges();
+			transport.sendMessage(message, message.getAllRecipients());
+		}
+		catch(final MessagingException e) {
+			//the connection may be in an inconsistent state
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		if(transport != null) {
+			try {
+				transport.close();
+			}
+			catch(final MessagingException e) {
+				//the connection is discarded anyway
+			}
+			transport = null;
+		}
+	}
+}
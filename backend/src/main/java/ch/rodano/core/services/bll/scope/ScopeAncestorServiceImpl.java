@@ -21,8 +21,9 @@ public class ScopeAncestorServiceImpl {
 	}
 
 	public void updateView() {
+		//the view is not used by the application, it contains the reference logic that is used to check the scope ancestor table
 		logger.info("Updating scope ancestor view");
-		final var scopeAncestorScript = new ClassPathResource(IS_STRUCTURE_PATH + "scope_ancestor.sql");
+		final var scopeAncestorScript = new ClassPathResource(IS_STRUCTURE_PATH + "scope_ancestor_view.sql");
 		final var databasePopulator = new ResourceDatabasePopulator();
 		databasePopulator.addScript(scopeAncestorScript);
 		databasePopulator.execute(dataSource);
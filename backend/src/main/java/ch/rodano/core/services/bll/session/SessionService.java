@@ -2,6 +2,7 @@ package ch.rodano.core.services.bll.session;
 
 import java.util.List;
 
+import ch.rodano.core.model.session.AuthenticatedSession;
 import ch.rodano.core.model.session.Session;
 import ch.rodano.core.model.user.User;
 
@@ -18,13 +19,21 @@ public interface SessionService {
 	Session createSession(User user);
 
 	/**
-	 * Update a session
+	 * Update the last access time of a session
+	 * The last access time is saved in the database the next time the access times are flushed
 	 *
 	 * @param session The session to update
 	 * @return The updated session
 	 */
 	Session refreshSession(Session session);
 
+	/**
+	 * Save the last access times of the sessions that have been refreshed since the last flush
+	 *
+	 * @return The number of sessions that have been updated
+	 */
+	int flushLastAccessTimes();
+
 	/**
 	 * Delete a session by its token
 	 *
@@ -40,6 +49,15 @@ public interface SessionService {
 	 */
 	Session getSessionByToken(String token);
 
+	/**
+	 * Get a session by its token, with its user and the active roles of the user
+	 * The session is retrieved from a cache shared between requests when possible
+	 *
+	 * @param token The token
+	 * @return The authenticated session or null if there is no session with the given token
+	 */
+	AuthenticatedSession getAuthenticatedSession(String token);
+
 	/**
 	 * Get a session by its pk
 	 *
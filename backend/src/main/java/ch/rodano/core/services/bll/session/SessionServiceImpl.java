@@ -3,21 +3,32 @@ package ch.rodano.core.services.bll.session;
 import java.security.SecureRandom;
 import java.time.ZonedDateTime;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Service;
 
+import ch.rodano.core.model.session.AuthenticatedSession;
 import ch.rodano.core.model.session.Session;
 import ch.rodano.core.model.user.User;
+import ch.rodano.core.services.dao.session.SessionCacheDAOService;
 import ch.rodano.core.services.dao.session.SessionDAOService;
 
 @Service
 public class SessionServiceImpl implements SessionService {
 
 	private final SessionDAOService sessionDAOService;
+	private final SessionCacheDAOService sessionCacheDAOService;
 
-	public SessionServiceImpl(final SessionDAOService sessionDAOService) {
+	//last access times waiting to be saved, indexed by session pk
+	//a session accessed several times between two flushes is updated only once
+	private final Map<Long, ZonedDateTime> pendingLastAccessTimes = new ConcurrentHashMap<>();
+
+	public SessionServiceImpl(final SessionDAOService sessionDAOService, final SessionCacheDAOService sessionCacheDAOService) {
 		this.sessionDAOService = sessionDAOService;
+		this.sessionCacheDAOService = sessionCacheDAOService;
 	}
 
 	@Override
@@ -36,12 +47,36 @@ public class SessionServiceImpl implements SessionService {
 
 	@Override
 	public Session refreshSession(final Session session) {
-		session.setLastAccessTime(ZonedDateTime.now());
-		return sessionDAOService.updateSession(session);
+		final var now = ZonedDateTime.now();
+		session.setLastAccessTime(now);
+		pendingLastAccessTimes.put(session.getPk(), now);
+		return session;
+	}
+
+	@Override
+	public int flushLastAccessTimes() {
+		final Map<Long, ZonedDateTime> lastAccessTimes = new HashMap<>();
+		for(final var sessionPk : pendingLastAccessTimes.keySet()) {
+			//a session refreshed after its removal will be saved with the next flush
+			final var lastAccessTime = pendingLastAccessTimes.remove(sessionPk);
+			if(lastAccessTime != null) {
+				lastAccessTimes.put(sessionPk, lastAccessTime);
+			}
+		}
+		try {
+			sessionDAOService.updateLastAccessTimes(lastAccessTimes);
+		}
+		catch(final RuntimeException e) {
+			//put the access times back, so they are saved with the next flush and the sessions are not considered as old
+			lastAccessTimes.forEach((sessionPk, lastAccessTime) -> pendingLastAccessTimes.merge(sessionPk, lastAccessTime, (a, b) -> a.isAfter(b) ? a : b));
+			throw e;
+		}
+		return lastAccessTimes.size();
 	}
 
 	@Override
 	public void deleteSession(final Session session) {
+		pendingLastAccessTimes.remove(session.getPk());
 		sessionDAOService.deleteSession(session);
 	}
 
@@ -50,6 +85,11 @@ public class SessionServiceImpl implements SessionService {
 		return sessionDAOService.getSessionByToken(token);
 	}
 
+	@Override
+	public AuthenticatedSession getAuthenticatedSession(final String token) {
+		return sessionCacheDAOService.getAuthenticatedSession(token);
+	}
+
 	@Override
 	public Session getSessionByPk(final Long pk) {
 		return sessionDAOService.getSessionByPk(pk);
@@ -57,6 +97,8 @@ public class SessionServiceImpl implements SessionService {
 
 	@Override
 	public void deleteOldSessions(final Integer ageInMinutes) {
+		//sessions that have been accessed recently must not be considered as old
+		flushLastAccessTimes();
 		final var expiryDate = ZonedDateTime.now().minusMinutes(ageInMinutes);
 		sessionDAOService.deleteOlderSession(expiryDate);
 	}
@@ -138,6 +138,18 @@ public interface WorkflowStatusService {
 		String rationale
 	);
 
+	/**
+	 * Initialize the mandatory workflows of the deepest entity of each family, inserting the workflow statuses in batches.
+	 * The rules triggered by the creation of the workflow statuses are executed once all workflow statuses have been created.
+	 * @param families  The families
+	 * @return          All the workflow statuses created
+	 */
+	List<WorkflowStatus> createAll(
+		List<DataFamily> families,
+		DatabaseActionContext context,
+		String rationale
+	);
+
 	/**
 	 * Reset all mandatory workflows on a workflowable and delete the rest of the workflows.
 	 */
@@ -1,5 +1,6 @@
 package ch.rodano.core.services.bll.workflowStatus;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -186,14 +187,7 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
 			}
 		}
 
-		final var ws = new WorkflowStatus();
-		ws.setScopeFk(family.scope().getPk());
-		family.event().map(Event::getPk).ifPresent(ws::setEventFk);
-		family.form().map(Form::getPk).ifPresent(ws::setFormFk);
-		family.field().map(Field::getPk).ifPresent(ws::setFieldFk);
-
-		ws.setWorkflow(workflow);
-		ws.setTriggerMessage(rationale);
+		final var ws = newWorkflowStatus(family, workflow, rationale);
 		//use orElseGet to retrieve the workflow initial state only if the state is not provided
 		//retrieving the initial state will fail if the workflow has none
 		ws.setState(state.orElseGet(() -> workflow.getInitialState()));
@@ -307,6 +301,64 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
 			.toList();
 	}
 
+	@Override
+	public List<WorkflowStatus> createAll(
+		final List<DataFamily> families,
+		final DatabaseActionContext context,
+		final String rationale
+	) {
+		final List<WorkflowStatus> workflowStatuses = new ArrayList<>();
+		//the pks of the new workflow statuses are not known yet, so they can not be used as keys
+		final List<WorkflowStatus> newWorkflowStatuses = new ArrayList<>();
+		final List<DataFamily> newWorkflowStatusFamilies = new ArrayList<>();
+		for(final var family : families) {
+			final var workflowable = family.getDeepestEntity();
+			final var workflows = workflowable.getWorkflowableModel().getWorkflows().stream()
+				.filter(w -> !w.isAggregator() && w.isMandatory())
+				.toList();
+			if(workflows.isEmpty()) {
+				continue;
+			}
+
+			family.checkNotLocked();
+			family.checkNotDeleted();
+
+			for(final var workflow : workflows) {
+				//same safeguard as when workflows are created one by one
+				if(workflow.isUnique()) {
+					final var existingWorkflowStatus = getMostRecent(workflowable, workflow);
+					if(existingWorkflowStatus.isPresent()) {
+						logger.info(
+							"Initializing the unique workflow [{}] on [{}] but one instance of that workflow already exists: return existing instance", workflow.getId(), workflowable.getWorkflowableModel()
+								.getId()
+						);
+						workflowStatuses.add(existingWorkflowStatus.get());
+						continue;
+					}
+				}
+
+				final var ws = newWorkflowStatus(family, workflow, rationale);
+				ws.setState(workflow.getInitialState());
+				workflowStatuses.add(ws);
+				newWorkflowStatuses.add(ws);
+				newWorkflowStatusFamilies.add(family);
+			}
+		}
+
+		workflowStatusDAOService.insertWorkflowStatuses(newWorkflowStatuses, context, rationale);
+
+		//execute trigger rules once all workflow statuses have been created
+		final var triggerRules = studyService.getStudy().getEventActions().get(WorkflowAction.CREATE_WORKFLOW_STATUS);
+		if(CollectionUtils.isNotEmpty(triggerRules)) {
+			for(var i = 0; i < newWorkflowStatuses.size(); i++) {
+				final var statusDataStates = new DataState(newWorkflowStatusFamilies.get(i)).withWorkflows(Collections.singleton(newWorkflowStatuses.get(i)));
+				ruleService.execute(statusDataStates, triggerRules, context);
+			}
+		}
+
+		return workflowStatuses;
+	}
+
 	@Override
 	public void resetMandatoryAndDeleteTheRest(
 		final DataFamily family,
@@ -324,6 +376,18 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
 		}
 	}
 
+	private WorkflowStatus newWorkflowStatus(final DataFamily family, final Workflow workflow, final String rationale) {
+		final var ws = new WorkflowStatus();
+		ws.setScopeFk(family.scope().getPk());
+		family.event().map(Event::getPk).ifPresent(ws::setEventFk);
+		family.form().map(Form::getPk).ifPresent(ws::setFormFk);
+		family.field().map(Field::getPk).ifPresent(ws::setFieldFk);
+
+		ws.setWorkflow(workflow);
+		ws.setTriggerMessage(rationale);
+		return ws;
+	}
+
 	@Override
 	public Workflowable getWorkflowable(final WorkflowStatus workflowStatus) {
 		return switch(workflowStatus.getWorkflowableType()) {
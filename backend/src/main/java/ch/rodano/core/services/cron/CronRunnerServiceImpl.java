@@ -1,12 +1,20 @@
 package ch.rodano.core.services.cron;
 
 import java.time.ZonedDateTime;
-import java.util.Map;
-import java.util.TreeMap;
-
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,9 +22,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import ch.rodano.configuration.model.cron.Cron;
+import ch.rodano.configuration.model.rules.Operator;
+import ch.rodano.configuration.model.rules.RulableEntity;
+import ch.rodano.configuration.model.rules.RuleBreakType;
+import ch.rodano.configuration.model.rules.RuleCondition;
+import ch.rodano.configuration.model.rules.RuleConditionListEvaluationMode;
+import ch.rodano.configuration.model.rules.RuleConstraint;
+import ch.rodano.configuration.model.scope.ScopeModel;
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.model.audit.DatabaseActionContext;
+import ch.rodano.core.model.cron.CronRun;
 import ch.rodano.core.model.rules.data.DataState;
-import ch.rodano.core.services.bll.scope.ScopeService;
 import ch.rodano.core.services.bll.study.StudyService;
+import ch.rodano.core.services.dao.audit.AuditActionService;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
+import ch.rodano.core.services.dao.cron.CronRunDAOService;
+import ch.rodano.core.services.dao.scope.ScopeDAOService;
 import ch.rodano.core.services.rule.RuleService;
 
 @Profile("!test & !migration & !database")
@@ -25,25 +50,42 @@ import ch.rodano.core.services.rule.RuleService;
 public class CronRunnerServiceImpl implements CronRunnerService, DisposableBean {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
-	private final Map<String, ZonedDateTime> cronLastRun;
+	//number of scopes retrieved at once, the progress of a pass being saved after each batch
+	private static final int BATCH_SIZE = 500;
+	private static final String SCOPE_MODEL_PROPERTY = "MODEL";
 
 	private final PlatformTransactionManager transactionManager;
 	private final RuleService ruleService;
 	private final StudyService studyService;
-	private final ScopeService scopeService;
+	private final ScopeDAOService scopeDAOService;
+	private final CronRunDAOService cronRunDAOService;
+	private final AuditActionService auditActionService;
+	private final TransactionCacheDAOService transactionCacheDAOService;
+	private final MeterRegistry meterRegistry;
+
+	private final ExecutorService executor;
 
 	public CronRunnerServiceImpl(
 		final PlatformTransactionManager transactionManager,
 		final RuleService ruleService,
 		final StudyService studyService,
-		final ScopeService scopeService
+		final ScopeDAOService scopeDAOService,
+		final CronRunDAOService cronRunDAOService,
+		final AuditActionService auditActionService,
+		final TransactionCacheDAOService transactionCacheDAOService,
+		final MeterRegistry meterRegistry,
+		@Value("${rodano.schedule.cron-runner.parallelism:4}") final int parallelism
 	) {
-		this.cronLastRun = new TreeMap<>();
-
 		this.transactionManager = transactionManager;
 		this.ruleService = ruleService;
 		this.studyService = studyService;
-		this.scopeService = scopeService;
+		this.scopeDAOService = scopeDAOService;
+		this.cronRunDAOService = cronRunDAOService;
+		this.auditActionService = auditActionService;
+		this.transactionCacheDAOService = transactionCacheDAOService;
+		this.meterRegistry = meterRegistry;
+
+		this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), Thread.ofPlatform().name("cron-runner-", 0).factory());
 
 		logger.info("Cron runner started");
 	}
@@ -53,6 +95,7 @@ public class CronRunnerServiceImpl implements CronRunnerService, DisposableBean
 	 */
 	@Override
 	public void destroy() {
+		executor.shutdownNow();
 		logger.info("Cron runner stopped");
 	}
 
@@ -64,31 +107,148 @@ public class CronRunnerServiceImpl implements CronRunnerService, DisposableBean
 	public void run() {
 		final var now = ZonedDateTime.now();
 
-		final var transactionTemplate = new TransactionTemplate(transactionManager);
-
 		// Manage periodic cron
 		for(final var cron : studyService.getStudy().getCrons()) {
 			if(cron.getInterval() != null && cron.getIntervalUnit() != null) {
-				final var cronId = cron.getId();
-				final var lastRun = cronLastRun.get(cronId);
-				if(lastRun == null || lastRun.plusSeconds((int) (cron.getInterval() * cron.getIntervalUnit().getDuration().toMillis() / 1000)).isAfter(now)) {
-					logger.info(String.format("Executing cron %s", cronId));
+				final var lastRun = cronRunDAOService.getCronRun(cron.getId());
+				//an interrupted pass is resumed as soon as possible, a completed pass is repeated once the interval has elapsed
+				if(lastRun.isPresent() && lastRun.get().isCompleted() && lastRun.get().startTime().plus(cron.getInterval(), cron.getIntervalUnit()).isAfter(now)) {
+					continue;
+				}
+				try {
+					run(cron, lastRun.filter(r -> !r.isCompleted()), now);
+				}
+				catch(final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
 
-					cronLastRun.put(cronId, now);
+	private void run(final Cron cron, final Optional<CronRun> interruptedRun, final ZonedDateTime now) throws InterruptedException {
+		final var cronId = cron.getId();
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+
+		var run = interruptedRun.orElseGet(() -> new CronRun(cronId, now, null, null, 0, 0));
+		if(interruptedRun.isPresent()) {
+			logger.info("Resuming cron {} after scope {}", cronId, run.lastScopePk());
+		}
+		else {
+			logger.info("Executing cron {}", cronId);
+			cronRunDAOService.saveCronRun(run);
+		}
 
-					// Cron Service
-					for(final var scope : scopeService.getAllIncludingRemoved()) {
-						if(!scope.getDeleted()) {
+		final var scopeModelIds = getScopeModelIds(cron);
+		final var context = transactionTemplate.execute(_ -> auditActionService.createAuditActionAndGenerateContext(Actor.SYSTEM, String.format("Running cron %s", cronId)));
+		final var sample = Timer.start(meterRegistry);
+
+		//scopes are processed in the order of their pk, so the pass can be resumed after the last batch that has been processed
+		List<Long> scopePks;
+		while(!(scopePks = scopeDAOService.getScopePks(scopeModelIds, Optional.ofNullable(run.lastScopePk()), BATCH_SIZE)).isEmpty()) {
+			final var tasks = scopePks.stream()
+				.<Callable<Boolean>> map(pk -> () -> execute(cron, pk, context, transactionTemplate))
+				.toList();
+			var failed = 0;
+			for(final var future : executor.invokeAll(tasks)) {
+				if(!future.resultNow()) {
+					failed++;
+				}
+			}
+			run = new CronRun(cronId, run.startTime(), null, scopePks.getLast(), run.processed() + scopePks.size(), run.failed() + failed);
+			cronRunDAOService.saveCronRun(run);
+		}
 
-							transactionTemplate.execute(_ -> {
-								ruleService.execute(new DataState(scope), cron.getRules(), null);
-								return true;
-							});
+		run = new CronRun(cronId, run.startTime(), ZonedDateTime.now(), run.lastScopePk(), run.processed(), run.failed());
+		cronRunDAOService.saveCronRun(run);
+		sample.stop(Timer.builder("rodano.crons.duration").description("Time taken to execute a cron on all its scopes").tag("cron", cronId).register(meterRegistry));
+		logger.info("Cron {} executed on {} scopes, {} failures", cronId, run.processed(), run.failed());
+	}
 
-						}
-					}
+	private boolean execute(final Cron cron, final Long scopePk, final DatabaseActionContext context, final TransactionTemplate transactionTemplate) {
+		try {
+			//each scope is processed in its own transaction, so a failure on one scope does not roll back the others
+			transactionTemplate.executeWithoutResult(_ -> {
+				final var scope = scopeDAOService.getScopeByPk(scopePk);
+				//the scope may have been removed since the batch has been retrieved
+				if(!scope.getDeleted()) {
+					ruleService.execute(new DataState(scope), cron.getRules(), context);
 				}
+			});
+			meterRegistry.counter("rodano.crons.scopes", "cron", cron.getId(), "status", "success").increment();
+			return true;
+		}
+		catch(final RuntimeException e) {
+			logger.error("Unable to execute cron {} on scope [pk={}]", cron.getId(), scopePk, e);
+			meterRegistry.counter("rodano.crons.scopes", "cron", cron.getId(), "status", "failure").increment();
+			return false;
+		}
+		finally {
+			//worker threads are reused, so the data loaded for this scope must not be kept
+			transactionCacheDAOService.emptyCache();
+		}
+	}
+
+	/**
+	 * Get the scope models of the scopes on which the rules of a cron may be executed
+	 * A rule is only restricted to some scope models if its constraint checks the model of the scope, otherwise all scope models are used
+	 *
+	 * @param cron The cron
+	 * @return The ids of the scope models
+	 */
+	private Set<String> getScopeModelIds(final Cron cron) {
+		final Set<String> scopeModelIds = new HashSet<>();
+		for(final var rule : cron.getRules()) {
+			final var ruleScopeModelIds = getScopeModelIds(rule.getConstraint());
+			if(ruleScopeModelIds.isEmpty()) {
+				return studyService.getStudy().getScopeModels().stream()
+					.map(ScopeModel::getId)
+					.collect(Collectors.toSet());
 			}
+			scopeModelIds.addAll(ruleScopeModelIds.get());
+		}
+		return scopeModelIds;
+	}
+
+	private static Optional<Set<String>> getScopeModelIds(final RuleConstraint constraint) {
+		if(constraint == null) {
+			return Optional.empty();
 		}
+		//a break can validate the constraint whatever the scope is
+		final var hasBreak = constraint.getConditions().values().stream()
+			.flatMap(l -> l.getConditions().stream())
+			.anyMatch(CronRunnerServiceImpl::hasBreak);
+		final var conditionList = constraint.getConditions().get(RulableEntity.SCOPE);
+		if(hasBreak || conditionList == null || conditionList.getConditions().isEmpty()) {
+			return Optional.empty();
+		}
+		final var restrictions = conditionList.getConditions().stream()
+			.map(CronRunnerServiceImpl::getScopeModelIds)
+			.toList();
+		//with the [and] operator, one condition on the model of the scope is enough
+		if(RuleConditionListEvaluationMode.AND.equals(conditionList.getMode())) {
+			return restrictions.stream().flatMap(Optional::stream).findFirst();
+		}
+		//with the [or] operator, all conditions must be on the model of the scope
+		if(restrictions.stream().anyMatch(Optional::isEmpty)) {
+			return Optional.empty();
+		}
+		return Optional.of(restrictions.stream().flatMap(r -> r.get().stream()).collect(Collectors.toSet()));
+	}
+
+	private static Optional<Set<String>> getScopeModelIds(final RuleCondition condition) {
+		final var criterion = condition.getCriterion();
+		if(condition.isInverse() || criterion == null || !SCOPE_MODEL_PROPERTY.equals(criterion.getProperty()) || !Operator.EQUALS.equals(criterion.getOperator())) {
+			return Optional.empty();
+		}
+		//values calculated from a formula or from another condition are only known when the rule is evaluated
+		if(StringUtils.isNotBlank(criterion.getConditionId()) || criterion.getValues().stream().anyMatch(v -> v.startsWith("="))) {
+			return Optional.empty();
+		}
+		return Optional.of(criterion.getValues());
+	}
+
+	private static boolean hasBreak(final RuleCondition condition) {
+		return !RuleBreakType.NONE.equals(condition.getBreakType()) || condition.getConditions().stream().anyMatch(CronRunnerServiceImpl::hasBreak);
 	}
 }
@@ -1,5 +1,6 @@
 package ch.rodano.core.services.dao.commons;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.jooq.DSLContext;
@@ -70,32 +71,21 @@ public abstract class AbstractDAOService<U extends IdentifiableObject, V extends
 
 		//do not update the object if it has not changed
 		if(!isInsert) {
-			final var newRecord = create.newRecord(table, o);
-			final var existingRecord = strategy.retrieveCachedRecord(table, o.getPk());
-			if(existingRecord.equals(newRecord)) {
+			if(!strategy.isModified(o, getLastSavedRecord(o))) {
 				logger.debug("Redundant save of {} with rationale: {}", o.getClass().getSimpleName(), rationale);
 				return false;
 			}
 		}
 
 		//set creation date and last update time
-		if(o instanceof final TimestampableObject to) {
-			if(isInsert && to.getCreationTime() == null) {
-				to.setCreationTime(context.auditAction().getDate());
-			}
-			final var lastUpdateTime = to.getLastUpdateTime();
-			if(context.auditAction().getDate().isBefore(to.getCreationTime()) || lastUpdateTime != null && context.auditAction().getDate().isBefore(lastUpdateTime)) {
-				throw new UnsupportedOperationException("An object cannot be updated with a context operation date that is before the creation time or the last update time of the object");
-			}
-			to.setLastUpdateTime(context.auditAction().getDate());
-		}
+		updateTimestamps(o, isInsert, context);
 
 		//save or insert
 		if(isInsert) {
 			strategy.insert(table, o);
 		}
 		else {
-			strategy.save(table, o);
+			update(o);
 		}
 
 		//warning, in a very few cases, the context could be null (for example, in interceptors)
@@ -112,6 +102,77 @@ public abstract class AbstractDAOService<U extends IdentifiableObject, V extends
 		return true;
 	}
 
+	/**
+	 * Update an existing object in database
+	 * This is the last step of the save of an object, once it has been checked that the object has been modified
+	 *
+	 * @param o The object to update
+	 */
+	protected void update(final U o) {
+		strategy.save(getTable(), o);
+	}
+
+	/**
+	 * Retrieve the record of an object as it has been saved for the last time, to check if the object has been modified since
+	 *
+	 * @param o The object
+	 * @return The last saved record of the object
+	 */
+	protected Record getLastSavedRecord(final U o) {
+		return strategy.retrieveCachedRecord(getTable(), o.getPk());
+	}
+
+	/**
+	 * Insert new objects in database with as few queries as possible
+	 * This is equivalent to saving each object, but the objects are inserted and audited in batches
+	 *
+	 * @param objects   The objects to insert, none of them must have a pk
+	 * @param context   The context in which this action takes place
+	 * @param rationale The rationale for the operation
+	 */
+	protected void insertAll(final List<U> objects, final DatabaseActionContext context, final String rationale) {
+		if(objects.isEmpty()) {
+			return;
+		}
+
+		for(final var o : objects) {
+			if(o.getPk() != null) {
+				throw new UnsupportedOperationException("Only objects that do not exist in database can be inserted");
+			}
+			if(o instanceof final PersistentObject po) {
+				po.onPreUpdate();
+			}
+			updateTimestamps(o, true, context);
+		}
+
+		strategy.insertAll(getTable(), objects);
+
+		logger.debug("Actor {} is inserting {} {} with rationale: {}", context.getActorName(), objects.size(), getDAOClass().getSimpleName(), rationale);
+
+		for(final var o : objects) {
+			if(o instanceof final PersistentObject po) {
+				po.onPostUpdate(studyService.getStudy());
+			}
+		}
+
+		if(AuditableObject.class.isAssignableFrom(getDAOClass())) {
+			auditAll(objects, context, rationale);
+		}
+	}
+
+	/**
+	 * Audit objects that have been modified in the same context
+	 *
+	 * @param objects   The objects to audit
+	 * @param context   The context in which this action takes place
+	 * @param rationale The rationale for the operation
+	 */
+	protected void auditAll(final List<U> objects, final DatabaseActionContext context, final String rationale) {
+		for(final var o : objects) {
+			audit(o, context, rationale);
+		}
+	}
+
 	/**
 	 * Hard delete an object
 	 *
@@ -215,6 +276,19 @@ public abstract class AbstractDAOService<U extends IdentifiableObject, V extends
 		}
 	}
 
+	private void updateTimestamps(final U o, final boolean isInsert, final DatabaseActionContext context) {
+		if(o instanceof final TimestampableObject to) {
+			if(isInsert && to.getCreationTime() == null) {
+				to.setCreationTime(context.auditAction().getDate());
+			}
+			final var lastUpdateTime = to.getLastUpdateTime();
+			if(context.auditAction().getDate().isBefore(to.getCreationTime()) || lastUpdateTime != null && context.auditAction().getDate().isBefore(lastUpdateTime)) {
+				throw new UnsupportedOperationException("An object cannot be updated with a context operation date that is before the creation time or the last update time of the object");
+			}
+			to.setLastUpdateTime(context.auditAction().getDate());
+		}
+	}
+
 	/**
 	 * Find all result for the given query
 	 *
@@ -242,4 +316,29 @@ public abstract class AbstractDAOService<U extends IdentifiableObject, V extends
 		}
 		return results.get(0);
 	}
+
+	/**
+	 * Find an object by pk, the object being retrieved from the entity cache if its table is cached
+	 *
+	 * @param pk The pk of the object
+	 * @return The object or null if no object has been found
+	 */
+	protected U findByPk(final Long pk) {
+		if(pk == null) {
+			return null;
+		}
+		final var results = findByPks(List.of(pk));
+		return results.isEmpty() ? null : results.get(0);
+	}
+
+	/**
+	 * Find objects by pk, the objects being retrieved from the entity cache if their table is cached
+	 *
+	 * @param pks The pks of the objects
+	 * @return A list of found objects
+	 */
+	protected List<U> findByPks(final Collection<Long> pks) {
+		logger.debug("Search database for {} using their pks", getDAOClass().getSimpleName());
+		return strategy.findByPks(getTable(), pks, getDAOClass());
+	}
 }
@@ -1,15 +1,18 @@
 package ch.rodano.core.services.dao.commons;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.ResultQuery;
 import org.jooq.Table;
@@ -17,6 +20,8 @@ import org.jooq.UpdatableRecord;
 import org.jooq.impl.DSL;
 
 import ch.rodano.core.model.audit.AuditTrail;
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.common.AuditableObject;
 import ch.rodano.core.model.event.Timeframe;
@@ -28,6 +33,13 @@ import ch.rodano.core.services.dao.strategy.DAOStrategy;
 
 public abstract class AuditableDAOService<U extends AuditableObject, V extends AuditTrail, R extends Record, S extends UpdatableRecord<S> & AuditRecord> extends AbstractDAOService<U, R> {
 
+	//number of rows retrieved from the database at once when audit trails are streamed
+	private static final int STREAM_FETCH_SIZE = 500;
+
+	private static final String AUDIT_TRAILS_ALIAS = "audit_trails";
+	private static final String RANK_ALIAS = "audit_rank";
+	private static final String PREVIOUS_VALUE_ALIAS = "previous_value_";
+
 	public AuditableDAOService(
 		final DSLContext create,
 		final DAOStrategy strategy,
@@ -42,29 +54,73 @@ public abstract class AuditableDAOService<U extends AuditableObject, V extends A
 
 	public NavigableSet<V> getAuditTrails(final U o, final Optional<Timeframe> timeframe, final Optional<Long> actorPk) {
 		final var table = getAuditTable();
+		final var conditions = getAuditConditions(table, o, timeframe, actorPk);
 
-		final List<Condition> conditions = new ArrayList<>();
-		//add trailed object condition
-		conditions.add(table.AUDIT_OBJECT_FK().eq(o.getPk()));
+		final ResultQuery<S> query = create.selectFrom(table).where(conditions).orderBy(table.AUDIT_DATETIME(), table.PK());
+		final var auditTrails = strategy.find(table, query, getEntityAuditClass());
+		return new TreeSet<V>(auditTrails);
+	}
 
-		//add user/robot condition
-		actorPk.ifPresent(actorFk -> {
-			conditions.add(table.AUDIT_USER_FK().eq(actorFk).or(table.AUDIT_ROBOT_FK().eq(actorFk)));
-		});
+	/**
+	 * Get a page of the audit trails of an object, sorted by date and pk
+	 * The page starts after the cursor instead of skipping the audit trails of the previous pages, so retrieving a page does not depend on its position
+	 *
+	 * @param o         The object
+	 * @param timeframe The timeframe of the audit trails
+	 * @param actorPk   The pk of the actor who performed the actions
+	 * @param cursor    The position of the last audit trail of the previous page, or an empty optional to get the first page
+	 * @param size      The maximum number of audit trails in the page
+	 * @return The page
+	 */
+	public AuditTrailPage<V> getAuditTrailPage(
+		final U o,
+		final Optional<Timeframe> timeframe,
+		final Optional<Long> actorPk,
+		final Optional<AuditTrailCursor> cursor,
+		final int size
+	) {
+		final var table = getAuditTable();
+		final var datetime = table.field(table.AUDIT_DATETIME());
+		final var pk = table.field(table.PK());
+		final var conditions = getAuditConditions(table, o, timeframe, actorPk);
 
-		//add timeframe condition
-		timeframe.ifPresent(tf -> {
-			tf.startDate().ifPresent(startDate -> {
-				conditions.add(table.AUDIT_DATETIME().greaterThan(startDate));
-			});
-			tf.stopDate().ifPresent(stopDate -> {
-				conditions.add(table.AUDIT_DATETIME().lessThan(stopDate));
-			});
+		cursor.ifPresent(c -> {
+			conditions.add(datetime.greaterThan(c.auditDatetime()).or(datetime.eq(c.auditDatetime()).and(pk.greaterThan(c.pk()))));
 		});
 
-		final ResultQuery<S> query = create.selectFrom(table).where(conditions).orderBy(table.AUDIT_DATETIME(), table.PK());
+		//retrieve one more audit trail to know if there is a next page
+		final ResultQuery<S> query = create.selectFrom(table).where(conditions).orderBy(datetime, pk).limit(size + 1);
 		final var auditTrails = strategy.find(table, query, getEntityAuditClass());
-		return new TreeSet<V>(auditTrails);
+		if(auditTrails.size() > size) {
+			final var page = List.copyOf(auditTrails.subList(0, size));
+			return new AuditTrailPage<>(page, Optional.of(AuditTrailCursor.of(page.getLast())));
+		}
+		return new AuditTrailPage<>(auditTrails, Optional.empty());
+	}
+
+	/**
+	 * Give the audit trails of an object to a consumer one by one, sorted by date and pk
+	 * Audit trails are read from the database while they are consumed and are not stored in the transaction cache, so the memory used does not depend on the number of audit trails
+	 *
+	 * @param o         The object
+	 * @param timeframe The timeframe of the audit trails
+	 * @param actorPk   The pk of the actor who performed the actions
+	 * @param consumer  The consumer of the audit trails
+	 */
+	public void streamAuditTrails(final U o, final Optional<Timeframe> timeframe, final Optional<Long> actorPk, final Consumer<? super V> consumer) {
+		final var table = getAuditTable();
+		final var conditions = getAuditConditions(table, o, timeframe, actorPk);
+
+		final var query = create.selectFrom(table)
+			.where(conditions)
+			.orderBy(table.field(table.AUDIT_DATETIME()), table.field(table.PK()))
+			.fetchSize(STREAM_FETCH_SIZE);
+
+		try(final var cursor = query.fetchLazy()) {
+			for(final var record : cursor) {
+				consumer.accept(record.into(getEntityAuditClass()));
+			}
+		}
 	}
 
 	public NavigableSet<V> getAuditTrailsForProperties(
@@ -91,11 +147,107 @@ public abstract class AuditableDAOService<U extends AuditableObject, V extends A
 		return getAuditTrailsForProperties(o, timeframe, Collections.singletonList(property));
 	}
 
+	/**
+	 * Get the audit trails of an object in which the value of some columns has changed, the first audit trail being always included
+	 * This gives the same audit trails as {@link #getAuditTrailsForProperties(AuditableObject, Optional, List)} but the comparison with the previous audit trail is done by the database
+	 *
+	 * @param o         The object
+	 * @param timeframe The timeframe of the audit trails
+	 * @param columns   The columns of the audit table
+	 * @return The audit trails in which the value of at least one of the columns has changed
+	 */
+	protected NavigableSet<V> getAuditTrailsForColumns(final U o, final Optional<Timeframe> timeframe, final List<? extends Field<?>> columns) {
+		final var table = getAuditTable();
+		final var datetime = table.field(table.AUDIT_DATETIME());
+		final var pk = table.field(table.PK());
+		final var conditions = getAuditConditions(table, o, timeframe, Optional.empty());
+
+		//each audit trail is selected with its rank and the values of the columns in the previous audit trail
+		final var order = DSL.orderBy(datetime, pk);
+		final List<Field<?>> fields = new ArrayList<>(Arrays.asList(table.fields()));
+		fields.add(DSL.rowNumber().over(order).as(RANK_ALIAS));
+		for(var i = 0; i < columns.size(); i++) {
+			fields.add(DSL.lag(columns.get(i)).over(order).as(PREVIOUS_VALUE_ALIAS + i));
+		}
+		final var auditTrails = create.select(fields).from(table).where(conditions).asTable(AUDIT_TRAILS_ALIAS);
+
+		var changed = auditTrails.field(RANK_ALIAS, Integer.class).eq(1);
+		for(var i = 0; i < columns.size(); i++) {
+			changed = changed.or(isDistinctFromPrevious(auditTrails, columns.get(i), PREVIOUS_VALUE_ALIAS + i));
+		}
+
+		final ResultQuery<S> query = create.select(auditTrails.fields(table.fields()))
+			.from(auditTrails)
+			.where(changed)
+			.orderBy(auditTrails.field(datetime), auditTrails.field(pk))
+			.coerce(table);
+		return new TreeSet<V>(strategy.find(table, query, getEntityAuditClass()));
+	}
+
+	private <T extends Table<S> & AuditTable> List<Condition> getAuditConditions(
+		final T table,
+		final U o,
+		final Optional<Timeframe> timeframe,
+		final Optional<Long> actorPk
+	) {
+		final List<Condition> conditions = new ArrayList<>();
+		//add trailed object condition
+		conditions.add(table.AUDIT_OBJECT_FK().eq(o.getPk()));
+
+		//add user/robot condition
+		actorPk.ifPresent(actorFk -> {
+			conditions.add(table.AUDIT_USER_FK().eq(actorFk).or(table.AUDIT_ROBOT_FK().eq(actorFk)));
+		});
+
+		//add timeframe condition
+		timeframe.ifPresent(tf -> {
+			tf.startDate().ifPresent(startDate -> {
+				conditions.add(table.AUDIT_DATETIME().greaterThan(startDate));
+			});
+			tf.stopDate().ifPresent(stopDate -> {
+				conditions.add(table.AUDIT_DATETIME().lessThan(stopDate));
+			});
+		});
+		return conditions;
+	}
+
+	private static <T> Condition isDistinctFromPrevious(final Table<?> auditTrails, final Field<T> column, final String previousValueAlias) {
+		//null values are considered equal, like in the comparison of the properties
+		return auditTrails.field(column).isDistinctFrom(auditTrails.field(previousValueAlias, column.getDataType()));
+	}
+
 	@Override
 	protected void audit(
 		final U o,
 		final DatabaseActionContext context,
 		final String rationale
+	) {
+		//store the record
+		//no need to use the strategy here, because we don't care about the cache
+		createAuditRecord(o, context, rationale).store();
+
+		// Log
+		logger.trace("{} has been audited", o.getClass().getSimpleName());
+	}
+
+	@Override
+	protected void auditAll(
+		final List<U> objects,
+		final DatabaseActionContext context,
+		final String rationale
+	) {
+		final var auditTrails = objects.stream().map(o -> createAuditRecord(o, context, rationale)).toList();
+		//all records have the same columns, so they are inserted with a single batch statement
+		create.batchInsert(auditTrails).execute();
+
+		// Log
+		logger.trace("{} {} have been audited", objects.size(), getDAOClass().getSimpleName());
+	}
+
+	protected S createAuditRecord(
+		final U o,
+		final DatabaseActionContext context,
+		final String rationale
 	) {
 		//this is a hack, we create the audit trail record directly from the object
 		//this works because almost all fields are the same
@@ -117,12 +269,6 @@ public abstract class AuditableDAOService<U extends AuditableObject, V extends A
 				auditTrail.setAuditRobotFk(a.getPk());
 			}
 		});
-
-		//store the record
-		//no need to use the strategy here, because we don't care about the cache
-		auditTrail.store();
-
-		// Log
-		logger.trace("{} has been audited", o.getClass().getSimpleName());
+		return auditTrail;
 	}
 }
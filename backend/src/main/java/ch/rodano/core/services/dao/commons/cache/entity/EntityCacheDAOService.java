@@ -0,0 +1,79 @@
+package ch.rodano.core.services.dao.commons.cache.entity;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jooq.Record;
+import org.jooq.Table;
+
+/**
+ * Cache of the records of some tables shared between transactions, used to retrieve objects by pk without querying the database
+ * Only the tables listed in the configuration are cached, and records are kept a limited time, so the cache stays safe when the application runs on several nodes
+ */
+public interface EntityCacheDAOService {
+
+	/**
+	 * @param table The table
+	 * @return True if the records of the table are cached
+	 */
+	boolean isCached(Table<?> table);
+
+	/**
+	 * Get the current generation of the cache, which must be retrieved before querying the records that will be added to the cache
+	 *
+	 * @return The current generation of the cache
+	 */
+	long getGeneration();
+
+	/**
+	 * Get the cached records of a table
+	 *
+	 * @param table The table
+	 * @param pks   The pks of the records
+	 * @return Copies of the records that are in the cache, the missing records being omitted
+	 */
+	<R extends Record> List<R> getRecords(Table<R> table, Collection<Long> pks);
+
+	/**
+	 * Add records retrieved from the database to the cache
+	 * In a transaction, the records may have been read from a snapshot older than the last eviction, so they are read again and cached once the transaction is completed
+	 *
+	 * @param table      The table of the records
+	 * @param records    The records
+	 * @param generation The generation of the cache retrieved before querying the records, the records being discarded if the cache has been evicted since
+	 */
+	<R extends Record> void putRecords(Table<R> table, List<R> records, long generation);
+
+	/**
+	 * Remove records modified by the current transaction from the cache of all nodes
+	 *
+	 * @param table The table of the records
+	 * @param pks   The pks of the records
+	 */
+	void evict(Table<?> table, Collection<Long> pks);
+
+	/**
+	 * Notify the other nodes that records have been modified, with the commit of the current transaction
+	 * This is used by the other caches of the application, that keep data derived from these records
+	 *
+	 * @param tableName The name of the table of the records
+	 * @param pks       The pks of the records
+	 */
+	void broadcast(String tableName, Collection<Long> pks);
+
+	/**
+	 * Register a listener notified of the records of a table modified by the nodes, when the notifications are polled
+	 *
+	 * @param tableName  The name of the table of the records
+	 * @param timeToLive The time during which the listener keeps data derived from a record
+	 * @param listener   The listener, called with the pks of the modified records
+	 */
+	void addInvalidationListener(String tableName, Duration timeToLive, Consumer<Collection<Long>> listener);
+
+	/**
+	 * Process the records modified by the other nodes, if the poll interval has elapsed since the last time
+	 */
+	void poll();
+}
@@ -0,0 +1,412 @@
+package ch.rodano.core.services.dao.commons.cache.entity;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.commons.collections4.ListUtils;
+import org.jooq.Converter;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static ch.rodano.core.model.jooq.Tables.ENTITY_CACHE_INVALIDATION;
+
+@Service
+public class EntityCacheDAOServiceImpl implements EntityCacheDAOService {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	//invalidations are kept much longer than the time during which they are read, so a node that is busy does not miss any of them
+	private static final Duration INVALIDATION_RETENTION = Duration.ofHours(1);
+	//maximum number of records read at once when the records read by a transaction are cached
+	private static final int LOAD_BATCH_SIZE = 1000;
+	private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(ZonedDateTime.class);
+
+	private record CachedRecord(
+		Record record,
+		long expirationTime
+	) {
+		//nothing to do here
+	}
+
+	private record InvalidationListener(
+		String tableName,
+		Consumer<Collection<Long>> listener
+	) {
+		//nothing to do here
+	}
+
+	private final DSLContext create;
+	private final MeterRegistry meterRegistry;
+	private final long timeToLive;
+	private final long pollInterval;
+	//invalidations are read again as long as a record cached before they have been committed may be in a cache
+	private Duration invalidationWindow;
+	private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+	//caches are sorted by access order, so the least recently used record is removed when a cache is full
+	private final Map<String, Map<Long, CachedRecord>> caches = new HashMap<>();
+	//key used to bind the tables modified by the current transaction to the transaction
+	private final Object transactionKey = new Object();
+
+	//incremented each time the cache is modified by an eviction, to avoid caching data read before the eviction
+	private long generation;
+	private long nextPollTime;
+	private long nextPruneTime;
+	//pks of the invalidations that have already been processed, with their date
+	private final Map<Long, ZonedDateTime> processedInvalidations = new HashMap<>();
+
+	public EntityCacheDAOServiceImpl(
+		final DSLContext create,
+		final MeterRegistry meterRegistry,
+		@Value("${rodano.dao.cache.tables:}") final Set<String> tables,
+		@Value("${rodano.dao.cache.max-size:10000}") final int maxSize,
+		@Value("${rodano.dao.cache.time-to-live:60}") final int timeToLive,
+		@Value("${rodano.dao.cache.poll-interval:5}") final int pollInterval
+	) {
+		this.create = create;
+		this.meterRegistry = meterRegistry;
+		this.timeToLive = TimeUnit.SECONDS.toNanos(timeToLive);
+		this.pollInterval = TimeUnit.SECONDS.toNanos(pollInterval);
+		this.invalidationWindow = Duration.ofSeconds(timeToLive + pollInterval);
+		this.nextPollTime = System.nanoTime();
+		this.nextPruneTime = nextPollTime;
+
+		for(final var table : tables) {
+			final var name = table.trim().toLowerCase();
+			caches.put(name, createLRUMap(maxSize));
+			Gauge.builder("rodano.entity-cache.size", this, s -> s.getSize(name))
+				.description("Number of records in the entity cache")
+				.tag("table", name)
+				.register(meterRegistry);
+		}
+
+		if(!caches.isEmpty()) {
+			logger.info("Entity cache enabled for tables {}", caches.keySet());
+		}
+	}
+
+	@Override
+	public boolean isCached(final Table<?> table) {
+		return caches.containsKey(table.getName());
+	}
+
+	@Override
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public <R extends Record> List<R> getRecords(final Table<R> table, final Collection<Long> pks) {
+		//the records modified by the current transaction must be retrieved from the database
+		if(!isCached(table) || isModified(table)) {
+			return List.of();
+		}
+		poll();
+
+		final var requestedPks = new HashSet<>(pks);
+		final List<R> records = new ArrayList<>();
+		synchronized(this) {
+			final var cache = caches.get(table.getName());
+			final var now = System.nanoTime();
+			for(final var pk : requestedPks) {
+				final var cachedRecord = cache.get(pk);
+				if(cachedRecord == null) {
+					continue;
+				}
+				if(cachedRecord.expirationTime() - now < 0) {
+					cache.remove(pk);
+					continue;
+				}
+				//cached records are shared between transactions, so they must not be modified
+				records.add(copy(table, cachedRecord.record()));
+			}
+		}
+
+		meterRegistry.counter("rodano.entity-cache.requests", "table", table.getName(), "result", "hit").increment(records.size());
+		meterRegistry.counter("rodano.entity-cache.requests", "table", table.getName(), "result", "miss").increment(requestedPks.size() - records.size());
+		return records;
+	}
+
+	@Override
+	public <R extends Record> void putRecords(final Table<R> table, final List<R> records, final long generation) {
+		if(!isCached(table) || isModified(table) || records.isEmpty()) {
+			return;
+		}
+		//the snapshot of a transaction may be older than the last eviction, so only the pks are kept and the records are read again once the transaction is completed
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			final var pkField = table.field("pk", Long.class);
+			getOrCreatePendingLoads().add(table, records.stream().map(pkField::getValue).toList());
+			return;
+		}
+		cache(table, records, generation);
+	}
+
+	private <R extends Record> void cache(final Table<R> table, final List<R> records, final long generation) {
+		final var pkField = table.field("pk", Long.class);
+		synchronized(this) {
+			//the records may be outdated if something has been evicted in the meantime
+			if(this.generation != generation) {
+				return;
+			}
+			final var cache = caches.get(table.getName());
+			final var expirationTime = System.nanoTime() + timeToLive;
+			for(final var record : records) {
+				cache.put(pkField.getValue(record), new CachedRecord(copy(table, record), expirationTime));
+			}
+		}
+	}
+
+	/**
+	 * Copy a record so that it does not share any mutable value with the original record
+	 * Values converted to mutable objects, such as the data of the scopes, are copied through their converter
+	 */
+	private static <R extends Record> R copy(final Table<R> table, final Record record) {
+		final var copy = record.into(table);
+		for(final var field : table.fields()) {
+			if(!IMMUTABLE_TYPES.contains(field.getType()) && field.getConverter().fromType() != field.getType()) {
+				copyValue(copy, field);
+			}
+		}
+		return copy;
+	}
+
+	private static <T> void copyValue(final Record record, final Field<T> field) {
+		final var value = record.get(field);
+		if(value != null) {
+			record.set(field, copyValue(field.getConverter(), value));
+			record.changed(field, false);
+		}
+	}
+
+	private static <F, T> T copyValue(final Converter<F, T> converter, final T value) {
+		return converter.from(converter.to(value));
+	}
+
+	@Override
+	public void evict(final Table<?> table, final Collection<Long> pks) {
+		if(!isCached(table) || pks.isEmpty()) {
+			return;
+		}
+		final var tableName = table.getName();
+		final var evictedPks = List.copyOf(pks);
+
+		remove(tableName, evictedPks);
+		meterRegistry.counter("rodano.entity-cache.evictions", "table", tableName).increment(evictedPks.size());
+
+		//a concurrent request could cache the records that are being modified before the current transaction is committed
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			markModified(tableName);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					remove(tableName, evictedPks);
+				}
+			});
+		}
+
+		//the other nodes are notified with the commit of the current transaction
+		insertInvalidations(tableName, evictedPks);
+	}
+
+	@Override
+	public void broadcast(final String tableName, final Collection<Long> pks) {
+		if(!pks.isEmpty()) {
+			insertInvalidations(tableName, pks);
+		}
+	}
+
+	@Override
+	public void addInvalidationListener(final String tableName, final Duration timeToLive, final Consumer<Collection<Long>> listener) {
+		listeners.add(new InvalidationListener(tableName, listener));
+		synchronized(this) {
+			final var window = timeToLive.plusNanos(pollInterval);
+			if(window.compareTo(invalidationWindow) > 0) {
+				invalidationWindow = window;
+			}
+		}
+	}
+
+	private void insertInvalidations(final String tableName, final Collection<Long> pks) {
+		final var now = ZonedDateTime.now();
+		final var query = create.insertInto(ENTITY_CACHE_INVALIDATION, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE);
+		pks.forEach(pk -> query.values(tableName, pk, now));
+		query.execute();
+
+		if(isPruneDue()) {
+			create.deleteFrom(ENTITY_CACHE_INVALIDATION)
+				.where(ENTITY_CACHE_INVALIDATION.DATE.lt(now.minus(INVALIDATION_RETENTION)))
+				.execute();
+		}
+	}
+
+	/**
+	 * Remove the records modified by the other nodes from the cache and notify the listeners
+	 * Invalidations are read by date instead of pk, because a transaction that started first may be committed last
+	 */
+	@Override
+	public void poll() {
+		final Duration window;
+		synchronized(this) {
+			final var now = System.nanoTime();
+			if(now - nextPollTime < 0 || caches.isEmpty() && listeners.isEmpty()) {
+				return;
+			}
+			nextPollTime = now + pollInterval;
+			window = invalidationWindow;
+		}
+
+		final var windowStart = ZonedDateTime.now().minus(window);
+		final var invalidations = create.select(ENTITY_CACHE_INVALIDATION.PK, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE)
+			.from(ENTITY_CACHE_INVALIDATION)
+			.where(ENTITY_CACHE_INVALIDATION.DATE.ge(windowStart))
+			.fetch();
+
+		//pks of the new invalidations, by table
+		final Map<String, List<Long>> invalidatedPks = new HashMap<>();
+		synchronized(this) {
+			processedInvalidations.values().removeIf(d -> d.isBefore(windowStart));
+			var evictions = 0;
+			for(final var invalidation : invalidations) {
+				if(processedInvalidations.putIfAbsent(invalidation.value1(), invalidation.value4()) == null) {
+					invalidatedPks.computeIfAbsent(invalidation.value2(), _ -> new ArrayList<>()).add(invalidation.value3());
+					final var cache = caches.get(invalidation.value2());
+					if(cache != null && cache.remove(invalidation.value3()) != null) {
+						evictions++;
+					}
+				}
+			}
+			if(evictions > 0) {
+				generation++;
+				logger.debug("{} records modified by other nodes evicted from the entity cache", evictions);
+			}
+		}
+
+		//listeners are notified outside the lock, as they use their own locks
+		for(final var listener : listeners) {
+			final var pks = invalidatedPks.get(listener.tableName());
+			if(pks != null) {
+				listener.listener().accept(pks);
+			}
+		}
+	}
+
+	private synchronized boolean isPruneDue() {
+		final var now = System.nanoTime();
+		if(now - nextPruneTime < 0) {
+			return false;
+		}
+		nextPruneTime = now + INVALIDATION_RETENTION.toNanos();
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isModified(final Table<?> table) {
+		final var modifiedTables = (Set<String>) TransactionSynchronizationManager.getResource(transactionKey);
+		return modifiedTables != null && modifiedTables.contains(table.getName());
+	}
+
+	@SuppressWarnings("unchecked")
+	private void markModified(final String tableName) {
+		var modifiedTables = (Set<String>) TransactionSynchronizationManager.getResource(transactionKey);
+		if(modifiedTables == null) {
+			modifiedTables = new HashSet<>();
+			TransactionSynchronizationManager.bindResource(transactionKey, modifiedTables);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+				}
+			});
+		}
+		modifiedTables.add(tableName);
+	}
+
+	/**
+	 * Read records that have been read by a transaction again and add them to the cache
+	 * The transaction is completed, so the records are the latest committed ones
+	 *
+	 * @param table The table of the records
+	 * @param pks   The pks of the records
+	 */
+	private <R extends Record> void load(final Table<R> table, final Collection<Long> pks) {
+		final var generation = getGeneration();
+		final var pkField = table.field("pk", Long.class);
+		try {
+			for(final var batch : ListUtils.partition(List.copyOf(pks), LOAD_BATCH_SIZE)) {
+				cache(table, create.selectFrom(table).where(pkField.in(batch)).fetch(), generation);
+			}
+		}
+		catch(final RuntimeException e) {
+			//the records will be cached the next time they are read
+			logger.warn("Unable to cache records of table {}: {}", table.getName(), e.getLocalizedMessage());
+		}
+	}
+
+	private PendingLoads getOrCreatePendingLoads() {
+		for(final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if(synchronization instanceof final PendingLoads pendingLoads) {
+				return pendingLoads;
+			}
+		}
+		final var pendingLoads = new PendingLoads();
+		TransactionSynchronizationManager.registerSynchronization(pendingLoads);
+		return pendingLoads;
+	}
+
+	/**
+	 * Records read by a transaction that will be cached once the transaction is completed
+	 */
+	private class PendingLoads implements TransactionSynchronization {
+		private final Map<Table<?>, Set<Long>> pks = new HashMap<>();
+
+		void add(final Table<?> table, final Collection<Long> recordPks) {
+			pks.computeIfAbsent(table, _ -> new HashSet<>()).addAll(recordPks);
+		}
+
+		@Override
+		public void afterCompletion(final int status) {
+			pks.forEach(EntityCacheDAOServiceImpl.this::load);
+		}
+	}
+
+	private synchronized void remove(final String tableName, final List<Long> pks) {
+		generation++;
+		caches.get(tableName).keySet().removeAll(pks);
+	}
+
+	private synchronized int getSize(final String tableName) {
+		return caches.get(tableName).size();
+	}
+
+	private static <K, V> Map<K, V> createLRUMap(final int maxSize) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 4619387751532804861L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+}
@@ -58,6 +58,10 @@ public class TransactionCacheDAO {
 		recordCache.remove(recordPk);
 	}
 
+	public <R extends Record> boolean containsRecord(final Table<R> table, final Long recordPk) {
+		return getRecordCache(table.getName()).containsKey(recordPk);
+	}
+
 	public <R extends Record> Record retrieveRecord(final Table<R> table, final Long recordPk) {
 		final var recordCache = getRecordCache(table.getName());
 		final var record = recordCache.get(recordPk);
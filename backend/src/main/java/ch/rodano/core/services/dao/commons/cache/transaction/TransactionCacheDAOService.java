@@ -12,4 +12,22 @@ public interface TransactionCacheDAOService {
 	 * Empty the transaction cache used by the current thread
 	 */
 	void emptyCache();
+
+	/**
+	 * Hand the transaction cache of the current thread over to a task that continues the work of the current thread, whatever the thread that executes the task
+	 * The current thread uses a new transaction cache from now on, and the handed over cache is emptied once the task is done
+	 *
+	 * @param task The task
+	 * @return The task bound to the transaction cache of the current thread
+	 */
+	Runnable handOver(Runnable task);
+
+	/**
+	 * Isolate a task that is independent of the work of the current thread, such as a background job, so it uses its own transaction cache
+	 * The current thread keeps its transaction cache, and the cache of the task is emptied once the task is done
+	 *
+	 * @param task The task
+	 * @return The task bound to a new transaction cache
+	 */
+	Runnable isolate(Runnable task);
 }
@@ -1,44 +1,28 @@
 package ch.rodano.core.services.dao.commons.cache.transaction;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
 @Service
-public class TransactionCacheDAOServiceImpl implements TransactionCacheDAOService, DisposableBean {
+public class TransactionCacheDAOServiceImpl implements TransactionCacheDAOService {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
-	private final ConcurrentMap<Thread, TransactionCacheDAO> cacheByThread;
-
-	public TransactionCacheDAOServiceImpl() {
-		this.cacheByThread = new ConcurrentHashMap<>();
-	}
-
-	/**
-	 * Invoked by a BeanFactory on destruction of a singleton.
-	 */
-	@Override
-	public void destroy() {
-		cacheByThread.clear();
-	}
+	//the cache is bound to the unit of work executed by the current thread, and not to the thread itself
+	//there is nothing left behind when a thread ends, which matters when each request is executed by its own virtual thread
+	private final ThreadLocal<TransactionCacheDAO> currentCache = new ThreadLocal<>();
 
 	@Override
 	public TransactionCacheDAO getCache() {
-		final var currentThread = Thread.currentThread();
-
-		var transactionCache = cacheByThread.get(currentThread);
+		var transactionCache = currentCache.get();
 		if(transactionCache != null) {
 			return transactionCache;
 		}
 
 		transactionCache = new TransactionCacheDAO();
-		cacheByThread.put(currentThread, transactionCache);
+		currentCache.set(transactionCache);
 
-		logger.trace("Assign transaction cache {} to thread {}", transactionCache.hashCode(), currentThread.getId());
+		logger.trace("Assign transaction cache {} to thread {}", transactionCache.hashCode(), Thread.currentThread().threadId());
 
 		return transactionCache;
 	}
@@ -48,15 +32,50 @@ public class TransactionCacheDAOServiceImpl implements TransactionCacheDAOServic
 	 */
 	@Override
 	public void emptyCache() {
-		final var currentThread = Thread.currentThread();
-		final var transactionCache = cacheByThread.remove(currentThread);
-
+		final var transactionCache = currentCache.get();
 		if(transactionCache == null) {
 			return;
 		}
 
-		logger.trace("Free transaction cache {} from thread {}", transactionCache.hashCode(), currentThread.getId());
+		currentCache.remove();
+		logger.trace("Free transaction cache {} from thread {}", transactionCache.hashCode(), Thread.currentThread().threadId());
 
 		transactionCache.clear();
 	}
+
+	@Override
+	public Runnable handOver(final Runnable task) {
+		//the cache is detached from the current thread now, so the current thread can not use it concurrently with the task
+		final var transactionCache = currentCache.get();
+		currentCache.remove();
+
+		return () -> run(transactionCache, task);
+	}
+
+	@Override
+	public Runnable isolate(final Runnable task) {
+		//the cache is created by the task itself when it is needed
+		return () -> run(null, task);
+	}
+
+	private void run(final TransactionCacheDAO transactionCache, final Runnable task) {
+		final var previousCache = currentCache.get();
+		bind(transactionCache);
+		try {
+			task.run();
+		}
+		finally {
+			emptyCache();
+			bind(previousCache);
+		}
+	}
+
+	private void bind(final TransactionCacheDAO transactionCache) {
+		if(transactionCache != null) {
+			currentCache.set(transactionCache);
+		}
+		else {
+			currentCache.remove();
+		}
+	}
 }
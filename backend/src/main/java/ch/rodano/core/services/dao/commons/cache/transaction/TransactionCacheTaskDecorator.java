@@ -0,0 +1,23 @@
+package ch.rodano.core.services.dao.commons.cache.transaction;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decorator of the tasks submitted to the task executor of the application (background jobs)
+ * Each task uses its own transaction cache, freed once the task is done, so it does not take the cache of the submitting thread nor keep the cache of a previous task of the same thread
+ * The asynchronous requests, that continue the work of the submitting thread, are handed the cache of the request instead (see WebConfigurer)
+ */
+@Component
+public class TransactionCacheTaskDecorator implements TaskDecorator {
+	private final TransactionCacheDAOService transactionCacheDAOService;
+
+	public TransactionCacheTaskDecorator(final TransactionCacheDAOService transactionCacheDAOService) {
+		this.transactionCacheDAOService = transactionCacheDAOService;
+	}
+
+	@Override
+	public Runnable decorate(final Runnable runnable) {
+		return transactionCacheDAOService.isolate(runnable);
+	}
+}
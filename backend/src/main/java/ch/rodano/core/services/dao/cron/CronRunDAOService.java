@@ -0,0 +1,23 @@
+package ch.rodano.core.services.dao.cron;
+
+import java.util.Optional;
+
+import ch.rodano.core.model.cron.CronRun;
+
+public interface CronRunDAOService {
+
+	/**
+	 * Get the state of the last pass of a cron
+	 *
+	 * @param cronId The id of the cron
+	 * @return The state of the last pass or an empty optional if the cron has never been run
+	 */
+	Optional<CronRun> getCronRun(String cronId);
+
+	/**
+	 * Save the state of the pass of a cron, replacing the state of its previous pass
+	 *
+	 * @param cronRun The state of the pass
+	 */
+	void saveCronRun(CronRun cronRun);
+}
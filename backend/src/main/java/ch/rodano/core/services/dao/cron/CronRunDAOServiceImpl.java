@@ -0,0 +1,43 @@
+package ch.rodano.core.services.dao.cron;
+
+import java.util.Optional;
+
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Service;
+
+import ch.rodano.core.model.cron.CronRun;
+import ch.rodano.core.model.jooq.tables.records.CronRunRecord;
+
+import static ch.rodano.core.model.jooq.Tables.CRON_RUN;
+
+@Service
+public class CronRunDAOServiceImpl implements CronRunDAOService {
+
+	private final DSLContext create;
+
+	public CronRunDAOServiceImpl(
+		final DSLContext create
+	) {
+		this.create = create;
+	}
+
+	@Override
+	public Optional<CronRun> getCronRun(final String cronId) {
+		return create.selectFrom(CRON_RUN)
+			.where(CRON_RUN.CRON_ID.eq(cronId))
+			.fetchOptional()
+			.map(r -> new CronRun(r.getCronId(), r.getStartTime(), r.getEndTime(), r.getLastScopeFk(), r.getProcessed(), r.getFailed()));
+	}
+
+	@Override
+	public void saveCronRun(final CronRun cronRun) {
+		final var record = new CronRunRecord(cronRun.cronId(), cronRun.startTime(), cronRun.endTime(), cronRun.lastScopePk(), cronRun.processed(), cronRun.failed());
+		//all values are set, so the ones of the end of the previous pass are reset
+		record.changed(true);
+		create.insertInto(CRON_RUN)
+			.set(record)
+			.onDuplicateKeyUpdate()
+			.set(record)
+			.execute();
+	}
+}
@@ -4,8 +4,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.DatasetAuditTrail;
 import ch.rodano.core.model.dataset.Dataset;
@@ -104,10 +107,33 @@ public interface DatasetDAOService {
 	 */
 	void saveDataset(Dataset dataset, DatabaseActionContext context, String rationale);
 
+	/**
+	 * Create new datasets in the database in batches
+	 *
+	 * @param datasets The datasets to create
+	 * @param context The context of the action
+	 * @param rationale The rationale for the operation
+	 */
+	void insertDatasets(List<Dataset> datasets, DatabaseActionContext context, String rationale);
+
 	NavigableSet<DatasetAuditTrail> getAuditTrails(Dataset dataset, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<DatasetAuditTrail> getAuditTrailPage(Dataset dataset, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(Dataset dataset, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super DatasetAuditTrail> consumer);
+
 	NavigableSet<DatasetAuditTrail> getAuditTrailsForProperty(Dataset dataset, Optional<Timeframe> timeframe, Function<DatasetAuditTrail, Object> property);
 
 	NavigableSet<DatasetAuditTrail> getAuditTrailsForProperties(Dataset dataset, Optional<Timeframe> timeframe, List<Function<DatasetAuditTrail, Object>> properties);
 
+	/**
+	 * Get the audit trails of a dataset in which it has been deleted or restored
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param dataset   The dataset
+	 * @param timeframe The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<DatasetAuditTrail> getStatusAuditTrails(Dataset dataset, Optional<Timeframe> timeframe);
+
 }
@@ -2,6 +2,8 @@ package ch.rodano.core.services.dao.dataset;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.jooq.DSLContext;
@@ -11,9 +13,11 @@ import org.springframework.stereotype.Service;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.DatasetAuditTrail;
 import ch.rodano.core.model.dataset.Dataset;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.DatasetAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.DatasetRecord;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
@@ -23,12 +27,16 @@ import static ch.rodano.core.model.jooq.Tables.DATASET;
 @Service
 public class DatasetDAOServiceImpl extends AuditableDAOService<Dataset, DatasetAuditTrail, DatasetRecord, DatasetAuditRecord> implements DatasetDAOService {
 
+	private final ExportTableService exportTableService;
+
 	public DatasetDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final ExportTableService exportTableService
 	) {
 		super(create, strategy, studyService);
+		this.exportTableService = exportTableService;
 	}
 
 	@Override
@@ -121,11 +129,13 @@ public class DatasetDAOServiceImpl extends AuditableDAOService<Dataset, DatasetA
 	@Override
 	public void deleteDataset(final Dataset dataset, final DatabaseActionContext context, final String rationale) {
 		delete(dataset, context, rationale);
+		exportTableService.refreshDataset(dataset.getDatasetModel(), dataset.getPk());
 	}
 
 	@Override
 	public void restoreDataset(final Dataset dataset, final DatabaseActionContext context, final String rationale) {
 		restore(dataset, context, rationale);
+		exportTableService.refreshDataset(dataset.getDatasetModel(), dataset.getPk());
 	}
 
 	@Override
@@ -133,7 +143,26 @@ public class DatasetDAOServiceImpl extends AuditableDAOService<Dataset, DatasetA
 		if(dataset.getId() == null) {
 			dataset.setId(UUID.randomUUID().toString());
 		}
-		save(dataset, context, rationale);
+		final var isNew = dataset.getPk() == null;
+		//a new dataset does not have any field yet, its row is created when its fields are saved
+		if(save(dataset, context, rationale) && !isNew) {
+			exportTableService.refreshDataset(dataset.getDatasetModel(), dataset.getPk());
+		}
+	}
+
+	@Override
+	public void insertDatasets(final List<Dataset> datasets, final DatabaseActionContext context, final String rationale) {
+		for(final var dataset : datasets) {
+			if(dataset.getId() == null) {
+				dataset.setId(UUID.randomUUID().toString());
+			}
+		}
+		//new datasets do not have any field yet
+		insertAll(datasets, context, rationale);
 	}
 
+	@Override
+	public NavigableSet<DatasetAuditTrail> getStatusAuditTrails(final Dataset dataset, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(dataset, timeframe, List.of(Tables.DATASET_AUDIT.DELETED));
+	}
 }
@@ -3,8 +3,11 @@ package ch.rodano.core.services.dao.event;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.EventAuditTrail;
 import ch.rodano.core.model.event.Event;
@@ -53,8 +56,22 @@ public interface EventDAOService {
 
 	NavigableSet<EventAuditTrail> getAuditTrails(Event event, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<EventAuditTrail> getAuditTrailPage(Event event, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(Event event, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super EventAuditTrail> consumer);
+
 	NavigableSet<EventAuditTrail> getAuditTrailsForProperty(Event event, Optional<Timeframe> timeframe, Function<EventAuditTrail, Object> property);
 
 	NavigableSet<EventAuditTrail> getAuditTrailsForProperties(Event event, Optional<Timeframe> timeframe, List<Function<EventAuditTrail, Object>> properties);
 
+	/**
+	 * Get the audit trails of an event in which it has been deleted, restored, locked or unlocked
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param event     The event
+	 * @param timeframe The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<EventAuditTrail> getStatusAuditTrails(Event event, Optional<Timeframe> timeframe);
+
 }
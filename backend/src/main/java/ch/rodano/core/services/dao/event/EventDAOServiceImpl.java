@@ -1,6 +1,9 @@
 package ch.rodano.core.services.dao.event;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.jooq.DSLContext;
@@ -10,9 +13,11 @@ import org.springframework.stereotype.Service;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.EventAuditTrail;
 import ch.rodano.core.model.event.Event;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.EventAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.EventRecord;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
@@ -22,12 +27,16 @@ import static ch.rodano.core.model.jooq.Tables.EVENT;
 @Service
 public class EventDAOServiceImpl extends AuditableDAOService<Event, EventAuditTrail, EventRecord, EventAuditRecord> implements EventDAOService {
 
+	private final ExportTableService exportTableService;
+
 	public EventDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final ExportTableService exportTableService
 	) {
 		super(create, strategy, studyService);
+		this.exportTableService = exportTableService;
 	}
 
 	@Override
@@ -68,17 +77,23 @@ public class EventDAOServiceImpl extends AuditableDAOService<Event, EventAuditTr
 		if(event.getId() == null) {
 			event.setId(UUID.randomUUID().toString());
 		}
-		save(event, context, rationale);
+		//a new event does not have any dataset yet, and the export tables depend only on some columns of the event
+		final var impactsExports = event.getPk() != null && !Collections.disjoint(strategy.getModifiedColumns(event, getLastSavedRecord(event)), ExportTableService.EVENT_COLUMNS);
+		if(save(event, context, rationale) && impactsExports) {
+			exportTableService.refreshEvent(event.getEventModel(), event.getPk());
+		}
 	}
 
 	@Override
 	public void deleteEvent(final Event event, final DatabaseActionContext context, final String rationale) {
 		delete(event, context, rationale);
+		exportTableService.refreshEvent(event.getEventModel(), event.getPk());
 	}
 
 	@Override
 	public void restoreEvent(final Event event, final DatabaseActionContext context, final String rationale) {
 		restore(event, context, rationale);
+		exportTableService.refreshEvent(event.getEventModel(), event.getPk());
 	}
 
 	@Override
@@ -123,4 +138,8 @@ public class EventDAOServiceImpl extends AuditableDAOService<Event, EventAuditTr
 		return findUnique(query);
 	}
 
+	@Override
+	public NavigableSet<EventAuditTrail> getStatusAuditTrails(final Event event, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(event, timeframe, List.of(Tables.EVENT_AUDIT.DELETED, Tables.EVENT_AUDIT.LOCKED));
+	}
 }
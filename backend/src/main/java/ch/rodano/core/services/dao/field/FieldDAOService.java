@@ -1,11 +1,16 @@
 package ch.rodano.core.services.dao.field;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.FieldAuditTrail;
 import ch.rodano.core.model.event.Timeframe;
@@ -24,6 +29,14 @@ public interface FieldDAOService {
 	 */
 	List<Field> getFieldsByDatasetPkHavingFieldModelIds(Long datasetPk, Collection<String> fieldModelIds);
 
+	/**
+	 * Get the fields of some datasets, with one query for each batch of datasets
+	 *
+	 * @param datasetPks The pks of the datasets
+	 * @return The fields of the datasets
+	 */
+	List<Field> getFieldsByDatasetPks(Collection<Long> datasetPks);
+
 	List<Field> getFieldsFromDatasetWithAValue(Long datasetPk);
 
 	/**
@@ -35,8 +48,45 @@ public interface FieldDAOService {
 	 */
 	void saveField(Field field, DatabaseActionContext context, String rationale);
 
+	/**
+	 * Creates new fields in the database in batches
+	 *
+	 * @param fields  The fields to create
+	 * @param context The context of the action
+	 * @param rationale The rationale for the operation
+	 */
+	void insertFields(List<Field> fields, DatabaseActionContext context, String rationale);
+
+	/**
+	 * Defer the updates of fields and the creation of their audit trails in the current transaction, so they can be written in batches
+	 * Deferred updates are written when {@link #flushFieldSaves()} is called, before the transaction is committed, or before a query depending on the values or on the audit trails of fields is executed
+	 * Fields keep their values in memory, so the rules and the plugins see the same values as if the fields were saved immediately
+	 * This does nothing if there is no transaction
+	 */
+	void deferFieldSaves();
+
+	/**
+	 * Write the deferred updates of fields with one batch of updates and one batch of audit trails, and stop deferring the updates of fields
+	 */
+	void flushFieldSaves();
+
+	/**
+	 * Write the deferred updates of fields without stopping deferring the updates of fields, so a query can see the latest values of fields
+	 */
+	void writeFieldSaves();
+
 	List<Field> getFieldsByScopePk(Long scopePk);
 
+	/**
+	 * Get the fields of the datasets of a scope and of its events that have not been removed, restricted to some models
+	 *
+	 * @param scopePk         The scope pk
+	 * @param datasetModelIds The ids of the dataset models of the datasets
+	 * @param fieldModelIds   The ids of the field models of the fields
+	 * @return The fields of the scope
+	 */
+	List<Field> getFieldsByScopePkHavingModelIds(Long scopePk, Collection<String> datasetModelIds, Collection<String> fieldModelIds);
+
 	List<Field> getFieldsFromScopeWithAValue(Long scopePk);
 
 	boolean doesScopeHaveFieldsWithAValue(Long scopePk);
@@ -51,7 +101,39 @@ public interface FieldDAOService {
 
 	NavigableSet<FieldAuditTrail> getAuditTrails(Field field, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<FieldAuditTrail> getAuditTrailPage(Field field, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(Field field, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super FieldAuditTrail> consumer);
+
 	NavigableSet<FieldAuditTrail> getAuditTrailsForProperty(Field field, Optional<Timeframe> timeframe, Function<FieldAuditTrail, Object> property);
 
+	/**
+	 * Get the audit trails of a field in which its value has changed
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param field     The field
+	 * @param timeframe The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<FieldAuditTrail> getValueAuditTrails(Field field, Optional<Timeframe> timeframe);
+
+	/**
+	 * Get the value of a field at a date, from its latest audit trail saved before the date
+	 *
+	 * @param field The field
+	 * @param date  The date
+	 * @return The value of the field at the date, or null if the field did not exist at the date
+	 */
+	String getValueAt(Field field, ZonedDateTime date);
+
+	/**
+	 * Get the values of some fields at a date, with one query for each batch of fields
+	 *
+	 * @param fields The fields, for example all the fields of a dataset or of a form
+	 * @param date   The date
+	 * @return The values of the fields at the date indexed by field pk, fields that did not exist at the date being absent
+	 */
+	Map<Long, String> getValuesAt(Collection<Field> fields, ZonedDateTime date);
+
 	List<Field> getSearchableFields(Collection<Long> scopePks, Collection<String> searchableFieldModel);
 }
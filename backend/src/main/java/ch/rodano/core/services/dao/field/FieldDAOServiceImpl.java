@@ -1,39 +1,67 @@
 package ch.rodano.core.services.dao.field;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.apache.commons.collections4.ListUtils;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Operator;
+import org.jooq.Record;
 import org.jooq.Table;
 import org.jooq.impl.DSL;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import ch.rodano.configuration.model.dataset.DatasetModel;
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.FieldAuditTrail;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.field.Field;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.FieldAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.FieldRecord;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
 
 import static ch.rodano.core.model.jooq.Tables.DATASET;
+import static ch.rodano.core.model.jooq.Tables.EVENT;
 import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static ch.rodano.core.model.jooq.Tables.FIELD_AUDIT;
 
 @Service
 public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTrail, FieldRecord, FieldAuditRecord> implements FieldDAOService {
 
+	private record DatasetReference(DatasetModel datasetModel, Long datasetPk) {}
+
+	//maximum number of fields or datasets used in the condition of one query
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final ExportTableService exportTableService;
+
 	public FieldDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final ExportTableService exportTableService
 	) {
 		super(create, strategy, studyService);
+		this.exportTableService = exportTableService;
 	}
 
 	@Override
@@ -65,7 +93,83 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 
 	@Override
 	public void saveField(final Field field, final DatabaseActionContext context, final String rationale) {
-		save(field, context, rationale);
+		if(save(field, context, rationale) && field.getFieldModel().isExportable()) {
+			exportTableService.refreshDataset(field.getDatasetModel(), field.getDatasetFk());
+		}
+	}
+
+	@Override
+	public void insertFields(final List<Field> fields, final DatabaseActionContext context, final String rationale) {
+		insertAll(fields, context, rationale);
+		fields.stream()
+			.filter(f -> f.getFieldModel().isExportable())
+			.map(f -> new DatasetReference(f.getDatasetModel(), f.getDatasetFk()))
+			.distinct()
+			.forEach(d -> exportTableService.refreshDataset(d.datasetModel(), d.datasetPk()));
+	}
+
+	@Override
+	public void deferFieldSaves() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			getOrCreatePendingSaves().active = true;
+		}
+	}
+
+	@Override
+	public void flushFieldSaves() {
+		final var pendingSaves = getPendingSaves();
+		if(pendingSaves != null) {
+			pendingSaves.execute();
+			pendingSaves.active = false;
+		}
+	}
+
+	@Override
+	public void writeFieldSaves() {
+		final var pendingSaves = getPendingSaves();
+		if(pendingSaves != null) {
+			pendingSaves.execute();
+		}
+	}
+
+	@Override
+	protected void update(final Field field) {
+		final var pendingSaves = getPendingSaves();
+		if(pendingSaves != null && pendingSaves.active) {
+			pendingSaves.fields.putIfAbsent(field.getPk(), field);
+			pendingSaves.lastSavedRecords.put(field.getPk(), create.newRecord(FIELD, field));
+		}
+		else {
+			super.update(field);
+		}
+	}
+
+	@Override
+	protected Record getLastSavedRecord(final Field field) {
+		//compare with the deferred update of the field if there is one, as if it was already in database
+		final var pendingSaves = getPendingSaves();
+		if(pendingSaves != null && pendingSaves.lastSavedRecords.containsKey(field.getPk())) {
+			return pendingSaves.lastSavedRecords.get(field.getPk());
+		}
+		return super.getLastSavedRecord(field);
+	}
+
+	@Override
+	protected void audit(final Field field, final DatabaseActionContext context, final String rationale) {
+		final var pendingSaves = getPendingSaves();
+		if(pendingSaves != null && pendingSaves.active) {
+			//the audit trail must be created now, to capture the current state of the field
+			pendingSaves.auditRecords.add(createAuditRecord(field, context, rationale));
+		}
+		else {
+			super.audit(field, context, rationale);
+		}
+	}
+
+	@Override
+	public NavigableSet<FieldAuditTrail> getAuditTrails(final Field field, final Optional<Timeframe> timeframe, final Optional<Long> actorPk) {
+		writeFieldSaves();
+		return super.getAuditTrails(field, timeframe, actorPk);
 	}
 
 	@Override
@@ -74,21 +178,50 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 		return find(query);
 	}
 
+	@Override
+	public List<Field> getFieldsByDatasetPks(final Collection<Long> datasetPks) {
+		writeFieldSaves();
+		final List<Field> fields = new ArrayList<>();
+		for(final var batch : ListUtils.partition(List.copyOf(datasetPks), LOAD_BATCH_SIZE)) {
+			fields.addAll(find(create.selectFrom(FIELD).where(FIELD.DATASET_FK.in(batch))));
+		}
+		return fields;
+	}
+
 	@Override
 	public List<Field> getFieldsFromDatasetWithAValue(final Long datasetPk) {
+		writeFieldSaves();
 		final var query = create.selectFrom(FIELD).where(FIELD.DATASET_FK.eq(datasetPk).and(FIELD.VALUE.isNotNull()));
 		return find(query);
 	}
 
 	@Override
 	public List<Field> getFieldsByScopePk(final Long scopePk) {
+		writeFieldSaves();
 		final var query = create.selectFrom(FIELD)
 			.where(FIELD.dataset().SCOPE_FK.eq(scopePk));
 		return find(query);
 	}
 
+	@Override
+	public List<Field> getFieldsByScopePkHavingModelIds(final Long scopePk, final Collection<String> datasetModelIds, final Collection<String> fieldModelIds) {
+		writeFieldSaves();
+		//the datasets of the events are not linked to the scope directly
+		final var datasetPks = DSL.select(DATASET.PK)
+			.from(DATASET)
+			.leftJoin(EVENT).on(DATASET.EVENT_FK.eq(EVENT.PK))
+			.where(DATASET.SCOPE_FK.eq(scopePk).or(EVENT.SCOPE_FK.eq(scopePk)))
+			.and(DATASET.DELETED.isFalse())
+			.and(DATASET.DATASET_MODEL_ID.in(datasetModelIds));
+		final var query = create.selectFrom(FIELD)
+			.where(FIELD.DATASET_FK.in(datasetPks))
+			.and(FIELD.FIELD_MODEL_ID.in(fieldModelIds));
+		return find(query);
+	}
+
 	@Override
 	public List<Field> getFieldsFromScopeWithAValue(final Long scopePk) {
+		writeFieldSaves();
 		final var query = create.selectFrom(FIELD)
 			.where(FIELD.dataset().SCOPE_FK.eq(scopePk).and(FIELD.VALUE.isNotNull()));
 		return find(query);
@@ -96,6 +229,7 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 
 	@Override
 	public boolean doesScopeHaveFieldsWithAValue(final Long scopePk) {
+		writeFieldSaves();
 		return create.select(DSL.countDistinct(FIELD.PK))
 			.from(FIELD)
 			.innerJoin(DATASET).on(DATASET.PK.eq(FIELD.DATASET_FK))
@@ -113,6 +247,7 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 
 	@Override
 	public List<Field> getFieldsFromEventWithAValue(final Long eventPk) {
+		writeFieldSaves();
 		final var query = create.selectFrom(FIELD)
 			.where(FIELD.dataset().EVENT_FK.eq(eventPk).and(FIELD.VALUE.isNotNull()));
 		return find(query);
@@ -120,6 +255,7 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 
 	@Override
 	public boolean doesEventHaveFieldsWithAValue(final Long eventPk) {
+		writeFieldSaves();
 		return create.select(DSL.countDistinct(FIELD.PK))
 			.from(FIELD)
 			.innerJoin(DATASET).on(DATASET.PK.eq(FIELD.DATASET_FK))
@@ -130,6 +266,7 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 
 	@Override
 	public List<Field> getFieldsRelatedToEvent(final Long scopePk, final Optional<Long> eventPk) {
+		writeFieldSaves();
 		final var conditions = new ArrayList<Condition>();
 		conditions.add(FIELD.dataset().SCOPE_FK.eq(scopePk));
 		eventPk.ifPresent(p -> conditions.add(FIELD.dataset().EVENT_FK.eq(p)));
@@ -139,8 +276,135 @@ public class FieldDAOServiceImpl extends AuditableDAOService<Field, FieldAuditTr
 	}
 
 	public List<Field> getSearchableFields(final Collection<Long> scopePk, final Collection<String> fieldModelIds){
+		writeFieldSaves();
 		final var query = create.selectFrom(FIELD).where(FIELD.FIELD_MODEL_ID.in(fieldModelIds).and(FIELD.dataset().SCOPE_FK.in(scopePk)));
 		return find(query);
 	}
 
+	@Override
+	public String getValueAt(final Field field, final ZonedDateTime date) {
+		//a field that has never been saved has no history
+		if(field.getPk() == null) {
+			return null;
+		}
+		writeFieldSaves();
+		//only the latest audit trail is retrieved, using the index on the object and the date of the audit trails
+		return create.select(FIELD_AUDIT.VALUE)
+			.from(FIELD_AUDIT)
+			.where(FIELD_AUDIT.AUDIT_OBJECT_FK.eq(field.getPk()))
+			.and(FIELD_AUDIT.AUDIT_DATETIME.lessThan(date))
+			.orderBy(FIELD_AUDIT.AUDIT_DATETIME.desc(), FIELD_AUDIT.PK.desc())
+			.limit(1)
+			.fetchOptional(FIELD_AUDIT.VALUE)
+			.orElse(null);
+	}
+
+	@Override
+	public Map<Long, String> getValuesAt(final Collection<Field> fields, final ZonedDateTime date) {
+		writeFieldSaves();
+		final var fieldPks = fields.stream().map(Field::getPk).filter(Objects::nonNull).distinct().toList();
+		//values may be null, so the map must accept null values
+		final Map<Long, String> values = HashMap.newHashMap(fieldPks.size());
+		for(final var batch : ListUtils.partition(fieldPks, LOAD_BATCH_SIZE)) {
+			//the audit trails of each field are numbered from the latest to the oldest, to keep only the latest one
+			final var rowNumber = DSL.rowNumber()
+				.over(DSL.partitionBy(FIELD_AUDIT.AUDIT_OBJECT_FK).orderBy(FIELD_AUDIT.AUDIT_DATETIME.desc(), FIELD_AUDIT.PK.desc()))
+				.as("row_number");
+			final var versions = create.select(FIELD_AUDIT.AUDIT_OBJECT_FK, FIELD_AUDIT.VALUE, rowNumber)
+				.from(FIELD_AUDIT)
+				.where(FIELD_AUDIT.AUDIT_OBJECT_FK.in(batch))
+				.and(FIELD_AUDIT.AUDIT_DATETIME.lessThan(date))
+				.asTable("versions");
+			final var query = create.select(versions.field(FIELD_AUDIT.AUDIT_OBJECT_FK), versions.field(FIELD_AUDIT.VALUE))
+				.from(versions)
+				.where(versions.field(rowNumber).eq(1));
+			for(final var result : query.fetch()) {
+				values.put(result.value1(), result.value2());
+			}
+		}
+		return values;
+	}
+
+	private PendingSaves getPendingSaves() {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		//look for the pending saves in the synchronizations instead of binding them as a resource, because synchronizations are suspended with the transaction
+		for(final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if(synchronization instanceof final PendingSaves pendingSaves) {
+				return pendingSaves;
+			}
+		}
+		return null;
+	}
+
+	private PendingSaves getOrCreatePendingSaves() {
+		var pendingSaves = getPendingSaves();
+		if(pendingSaves == null) {
+			pendingSaves = new PendingSaves();
+			TransactionSynchronizationManager.registerSynchronization(pendingSaves);
+		}
+		return pendingSaves;
+	}
+
+	private class PendingSaves implements TransactionSynchronization {
+		private boolean active;
+		//fields to update, in the order in which they have been saved for the first time
+		private final Map<Long, Field> fields = new LinkedHashMap<>();
+		private final Map<Long, FieldRecord> lastSavedRecords = new HashMap<>();
+		private final List<FieldAuditRecord> auditRecords = new ArrayList<>();
+
+		//fields must be written before the other synchronizations are executed, for example the refresh of the export tables
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+		@Override
+		public void beforeCommit(final boolean readOnly) {
+			execute();
+		}
+
+		void execute() {
+			if(!fields.isEmpty()) {
+				logger.debug("Writing {} deferred field update(s)", fields.size());
+				strategy.saveAll(FIELD, List.copyOf(fields.values()));
+				fields.clear();
+				lastSavedRecords.clear();
+			}
+			if(!auditRecords.isEmpty()) {
+				create.batchInsert(auditRecords).execute();
+				auditRecords.clear();
+			}
+		}
+	}
+
+	@Override
+	public AuditTrailPage<FieldAuditTrail> getAuditTrailPage(
+		final Field field,
+		final Optional<Timeframe> timeframe,
+		final Optional<Long> actorPk,
+		final Optional<AuditTrailCursor> cursor,
+		final int size
+	) {
+		writeFieldSaves();
+		return super.getAuditTrailPage(field, timeframe, actorPk, cursor, size);
+	}
+
+	@Override
+	public void streamAuditTrails(final Field field, final Optional<Timeframe> timeframe, final Optional<Long> actorPk, final Consumer<? super FieldAuditTrail> consumer) {
+		writeFieldSaves();
+		super.streamAuditTrails(field, timeframe, actorPk, consumer);
+	}
+
+	@Override
+	protected NavigableSet<FieldAuditTrail> getAuditTrailsForColumns(final Field field, final Optional<Timeframe> timeframe, final List<? extends org.jooq.Field<?>> columns) {
+		writeFieldSaves();
+		return super.getAuditTrailsForColumns(field, timeframe, columns);
+	}
+
+	@Override
+	public NavigableSet<FieldAuditTrail> getValueAuditTrails(final Field field, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(field, timeframe, List.of(Tables.FIELD_AUDIT.VALUE));
+	}
 }
@@ -3,8 +3,11 @@ package ch.rodano.core.services.dao.form;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.FormAuditTrail;
 import ch.rodano.core.model.event.Timeframe;
@@ -54,7 +57,21 @@ public interface FormDAOService {
 
 	NavigableSet<FormAuditTrail> getAuditTrails(Form form, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<FormAuditTrail> getAuditTrailPage(Form form, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(Form form, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super FormAuditTrail> consumer);
+
 	NavigableSet<FormAuditTrail> getAuditTrailsForProperty(Form form, Optional<Timeframe> timeframe, Function<FormAuditTrail, Object> property);
 
 	NavigableSet<FormAuditTrail> getAuditTrailsForProperties(Form form, Optional<Timeframe> timeframe, List<Function<FormAuditTrail, Object>> properties);
+
+	/**
+	 * Get the audit trails of a form in which it has been deleted or restored
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param form      The form
+	 * @param timeframe The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<FormAuditTrail> getStatusAuditTrails(Form form, Optional<Timeframe> timeframe);
 }
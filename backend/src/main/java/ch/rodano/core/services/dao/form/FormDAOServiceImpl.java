@@ -1,6 +1,8 @@
 package ch.rodano.core.services.dao.form;
 
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 
 import org.jooq.DSLContext;
 import org.jooq.Table;
@@ -8,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.FormAuditTrail;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.form.Form;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.FormAuditRecord;
@@ -106,4 +109,9 @@ public class FormDAOServiceImpl extends AuditableDAOService<Form, FormAuditTrail
 	public void saveForm(final Form form, final DatabaseActionContext context, final String rationale) {
 		save(form, context, rationale);
 	}
+
+	@Override
+	public NavigableSet<FormAuditTrail> getStatusAuditTrails(final Form form, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(form, timeframe, List.of(Tables.FORM_AUDIT.DELETED));
+	}
 }
@@ -1,5 +1,7 @@
 package ch.rodano.core.services.dao.mail;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 import ch.rodano.api.dto.paging.PagedResult;
@@ -24,6 +26,50 @@ public interface MailDAOService {
 	 */
 	List<Mail> getMailsByStatus(MailStatus status, Integer limit);
 
+	/**
+	 * Get the mails waiting to be sent, which are the pending mails, the failed mails whose next attempt is due and the mails whose sending has been abandoned
+	 * The delay before the next attempt of a failed mail doubles with each attempt
+	 *
+	 * @param maxAttempts  The maximum number of attempts to send a mail
+	 * @param retryDelay   The delay before the second attempt to send a mail
+	 * @param claimTimeout The delay after which a mail that is still being sent is considered abandoned
+	 * @param limit        The limit of mails to retrieve
+	 * @return The mails, the pending ones first
+	 */
+	List<Mail> getMailsToSend(int maxAttempts, Duration retryDelay, Duration claimTimeout, Integer limit);
+
+	/**
+	 * Count the mails waiting to be sent
+	 *
+	 * @param maxAttempts  The maximum number of attempts to send a mail
+	 * @param retryDelay   The delay before the second attempt to send a mail
+	 * @param claimTimeout The delay after which a mail that is still being sent is considered abandoned
+	 * @return The number of mails
+	 */
+	int countMailsToSend(int maxAttempts, Duration retryDelay, Duration claimTimeout);
+
+	/**
+	 * Claim mails waiting to be sent by changing their status to sending, so they are not claimed by another node
+	 *
+	 * @param pks          The pks of the mails to claim
+	 * @param maxAttempts  The maximum number of attempts to send a mail
+	 * @param retryDelay   The delay before the second attempt to send a mail
+	 * @param claimTimeout The delay after which a mail that is still being sent is considered abandoned
+	 * @param context      The context
+	 * @param rationale    The rationale
+	 * @return The pks of the mails that have been claimed, without the mails that are not waiting to be sent anymore
+	 */
+	List<Long> claimMailsToSend(Collection<Long> pks, int maxAttempts, Duration retryDelay, Duration claimTimeout, DatabaseActionContext context, String rationale);
+
+	/**
+	 * Insert new mails in batches
+	 *
+	 * @param mails     The mails to insert
+	 * @param context   The context of the action
+	 * @param rationale The rationale for the operation
+	 */
+	void insertMails(List<Mail> mails, DatabaseActionContext context, String rationale);
+
 	Mail saveMail(Mail mail, DatabaseActionContext context, String rationale);
 
 	Mail saveMail(Mail mail, List<MailAttachment> mailAttachments, DatabaseActionContext context, String rationale);
@@ -1,6 +1,9 @@
 package ch.rodano.core.services.dao.mail;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -86,6 +89,65 @@ public class MailDAOServiceImpl extends AbstractDAOService<Mail, MailRecord> imp
 		return find(query);
 	}
 
+	/**
+	 * Get the mails waiting to be sent
+	 *
+	 * @param maxAttempts  The maximum number of attempts to send a mail
+	 * @param retryDelay   The delay before the second attempt to send a mail
+	 * @param claimTimeout The delay after which a mail that is still being sent is considered abandoned
+	 * @param limit        The limit of mails to retrieve
+	 * @return The mails, the pending ones first
+	 */
+	@Override
+	public List<Mail> getMailsToSend(final int maxAttempts, final Duration retryDelay, final Duration claimTimeout, final Integer limit) {
+		final var query = create.selectFrom(MAIL)
+			.where(getMailsToSendCondition(maxAttempts, retryDelay, claimTimeout))
+			.orderBy(DSL.when(MAIL.STATUS.eq(MailStatus.PENDING), 0).otherwise(1), MAIL.LAST_UPDATE_TIME)
+			.limit(limit);
+		return find(query);
+	}
+
+	@Override
+	public int countMailsToSend(final int maxAttempts, final Duration retryDelay, final Duration claimTimeout) {
+		return create.fetchCount(MAIL, getMailsToSendCondition(maxAttempts, retryDelay, claimTimeout));
+	}
+
+	@Override
+	public List<Long> claimMailsToSend(final Collection<Long> pks, final int maxAttempts, final Duration retryDelay, final Duration claimTimeout, final DatabaseActionContext context, final String rationale) {
+		if(pks.isEmpty()) {
+			return Collections.emptyList();
+		}
+		//the mails are locked until the end of the transaction, so a mail being claimed by another node is read once this claim has been committed, and does not match the condition anymore
+		final var query = create.selectFrom(MAIL)
+			.where(MAIL.PK.in(pks))
+			.and(getMailsToSendCondition(maxAttempts, retryDelay, claimTimeout))
+			.forUpdate();
+		final var mails = find(query);
+		for(final var mail : mails) {
+			//a mail abandoned while it was being sent keeps its status, so it is the update time that renews its claim
+			if(MailStatus.SENDING.equals(mail.getStatus())) {
+				mail.setLastUpdateTime(context.auditAction().getDate());
+			}
+			mail.setStatus(MailStatus.SENDING);
+			save(mail, context, rationale);
+		}
+		return mails.stream().map(Mail::getPk).toList();
+	}
+
+	private Condition getMailsToSendCondition(final int maxAttempts, final Duration retryDelay, final Duration claimTimeout) {
+		final var now = ZonedDateTime.now();
+		//the number of attempts is bounded, so the delay of each number of attempts can be computed in advance
+		final List<Condition> dueConditions = new ArrayList<>();
+		for(var attempts = 1; attempts < maxAttempts; attempts++) {
+			final var delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 30));
+			dueConditions.add(MAIL.ATTEMPTS.eq(attempts).and(MAIL.LAST_UPDATE_TIME.le(now.minus(delay))));
+		}
+		//a mail still being sent after the timeout has been abandoned, for example because its node has been stopped
+		final var pending = MAIL.STATUS.eq(MailStatus.PENDING)
+			.or(MAIL.STATUS.eq(MailStatus.SENDING).and(MAIL.LAST_UPDATE_TIME.le(now.minus(claimTimeout))));
+		return dueConditions.isEmpty() ? pending : pending.or(MAIL.STATUS.eq(MailStatus.FAILED).and(DSL.or(dueConditions)));
+	}
+
 	/**
 	 * Create or update a mail
 	 *
@@ -100,6 +162,11 @@ public class MailDAOServiceImpl extends AbstractDAOService<Mail, MailRecord> imp
 		return mail;
 	}
 
+	@Override
+	public void insertMails(final List<Mail> mails, final DatabaseActionContext context, final String rationale) {
+		insertAll(mails, context, rationale);
+	}
+
 	//alternative method, allows to add/update mailAttachments from the Java and save to DB
 	@Override
 	public Mail saveMail(final Mail mail, final List<MailAttachment> mailAttachments, final DatabaseActionContext context, final String rationale) {
@@ -0,0 +1,58 @@
+package ch.rodano.core.services.dao.rights;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.model.scope.ScopeAncestorLink;
+
+/**
+ * Cache of the data required to compute the access control lists of actors
+ * The enabled roles of an actor are indexed by scope and the ancestors of each scope are cached separately, so the ACL of an actor on any scope can be computed in memory
+ */
+public interface RightsCacheDAOService {
+
+	/**
+	 * Get the profiles of the enabled roles of an actor, indexed by the scope of the roles
+	 *
+	 * @param actor The actor
+	 * @return The ids of the profiles of the enabled roles of the actor, by scope pk
+	 */
+	Map<Long, Set<String>> getActiveProfileIdsByScopePk(Actor actor);
+
+	/**
+	 * Get the ancestors of the given scopes
+	 *
+	 * @param scopePks The pks of the scopes
+	 * @return The ancestors of each scope, by scope pk, including the scopes that do not have any ancestor
+	 */
+	Map<Long, List<ScopeAncestorLink>> getScopeAncestors(Collection<Long> scopePks);
+
+	/**
+	 * Remove the roles of a user from the cache
+	 *
+	 * @param userPk The pk of the user
+	 */
+	void evictUser(Long userPk);
+
+	/**
+	 * Remove the roles of a robot from the cache
+	 *
+	 * @param robotPk The pk of the robot
+	 */
+	void evictRobot(Long robotPk);
+
+	/**
+	 * Remove the ancestors of the given scopes from the cache
+	 *
+	 * @param scopePks The pks of the scopes
+	 */
+	void evictScopes(Collection<Long> scopePks);
+
+	/**
+	 * Remove everything from the cache
+	 */
+	void evictAll();
+}
@@ -0,0 +1,246 @@
+package ch.rodano.core.services.dao.rights;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.ListUtils;
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.model.role.RoleStatus;
+import ch.rodano.core.model.scope.ScopeAncestorLink;
+import ch.rodano.core.model.user.User;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOService;
+
+import static ch.rodano.core.model.jooq.Tables.ROLE;
+import static ch.rodano.core.model.jooq.Tables.SCOPE_ANCESTOR;
+
+@Service
+public class RightsCacheDAOServiceImpl implements RightsCacheDAOService {
+
+	//maximum number of scopes retrieved in one query
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	//names under which the evictions are shared with the other nodes
+	private static final String USER_EVICTIONS = "rights_user";
+	private static final String ROBOT_EVICTIONS = "rights_robot";
+	private static final String SCOPE_EVICTIONS = "rights_scope";
+	private static final String ALL_EVICTIONS = "rights_all";
+
+	private record ActorKey(
+		boolean user,
+		Long pk
+	) {
+		//nothing to do here
+	}
+
+	private record CachedValue<T>(
+		T value,
+		long expirationTime
+	) {
+		//nothing to do here
+	}
+
+	private final DSLContext create;
+	private final EntityCacheDAOService entityCacheDAOService;
+	private final long timeToLive;
+
+	//both caches are sorted by access order, so the least recently used entry is removed when a cache is full
+	private final Map<ActorKey, CachedValue<Map<Long, Set<String>>>> actorProfiles;
+	private final Map<Long, CachedValue<List<ScopeAncestorLink>>> scopeAncestors;
+
+	//incremented each time the cache is modified by an eviction, to avoid caching data read before the eviction
+	private long generation;
+
+	public RightsCacheDAOServiceImpl(
+		final DSLContext create,
+		final EntityCacheDAOService entityCacheDAOService,
+		@Value("${rodano.rights.cache.actor-max-size:1000}") final int actorMaxSize,
+		@Value("${rodano.rights.cache.scope-max-size:100000}") final int scopeMaxSize,
+		@Value("${rodano.rights.cache.time-to-live:60}") final int timeToLive
+	) {
+		this.create = create;
+		this.entityCacheDAOService = entityCacheDAOService;
+		this.timeToLive = TimeUnit.SECONDS.toNanos(timeToLive);
+		this.actorProfiles = createLRUMap(actorMaxSize);
+		this.scopeAncestors = createLRUMap(scopeMaxSize);
+
+		//evictions made by the other nodes
+		final var duration = Duration.ofSeconds(timeToLive);
+		entityCacheDAOService.addInvalidationListener(USER_EVICTIONS, duration, pks -> remove(() -> pks.forEach(pk -> actorProfiles.remove(new ActorKey(true, pk)))));
+		entityCacheDAOService.addInvalidationListener(ROBOT_EVICTIONS, duration, pks -> remove(() -> pks.forEach(pk -> actorProfiles.remove(new ActorKey(false, pk)))));
+		entityCacheDAOService.addInvalidationListener(SCOPE_EVICTIONS, duration, pks -> remove(() -> scopeAncestors.keySet().removeAll(pks)));
+		entityCacheDAOService.addInvalidationListener(ALL_EVICTIONS, duration, _ -> remove(this::clear));
+	}
+
+	@Override
+	public Map<Long, Set<String>> getActiveProfileIdsByScopePk(final Actor actor) {
+		final var key = new ActorKey(actor instanceof User, actor.getPk());
+		//roles modified by another node must not be used
+		entityCacheDAOService.poll();
+		final long initialGeneration;
+		synchronized(this) {
+			final var cachedValue = getValidValue(actorProfiles, key);
+			if(cachedValue != null) {
+				return cachedValue;
+			}
+			initialGeneration = generation;
+		}
+
+		final var query = create.select(ROLE.SCOPE_FK, ROLE.PROFILE_ID)
+			.from(ROLE)
+			.where(key.user() ? ROLE.USER_FK.eq(key.pk()) : ROLE.ROBOT_FK.eq(key.pk()))
+			.and(ROLE.STATUS.eq(RoleStatus.ENABLED))
+			.orderBy(ROLE.PK);
+
+		final Map<Long, Set<String>> profileIds = new HashMap<>();
+		for(final var result : query.fetch()) {
+			profileIds.computeIfAbsent(result.value1(), _ -> new LinkedHashSet<>()).add(result.value2());
+		}
+		//the index is shared between requests, so it must not be modified
+		profileIds.replaceAll((_, ids) -> Collections.unmodifiableSet(ids));
+		final var index = Collections.unmodifiableMap(profileIds);
+
+		synchronized(this) {
+			//the data may be outdated if something has been evicted in the meantime
+			if(generation == initialGeneration) {
+				actorProfiles.put(key, new CachedValue<>(index, System.nanoTime() + timeToLive));
+			}
+		}
+		return index;
+	}
+
+	@Override
+	public Map<Long, List<ScopeAncestorLink>> getScopeAncestors(final Collection<Long> scopePks) {
+		final Map<Long, List<ScopeAncestorLink>> ancestors = new HashMap<>();
+		final List<Long> missingScopePks = new ArrayList<>();
+		entityCacheDAOService.poll();
+		final long initialGeneration;
+		synchronized(this) {
+			for(final var scopePk : scopePks) {
+				final var cachedValue = getValidValue(scopeAncestors, scopePk);
+				if(cachedValue != null) {
+					ancestors.put(scopePk, cachedValue);
+				}
+				else if(!ancestors.containsKey(scopePk)) {
+					missingScopePks.add(scopePk);
+				}
+			}
+			initialGeneration = generation;
+		}
+
+		if(missingScopePks.isEmpty()) {
+			return ancestors;
+		}
+
+		final Map<Long, List<ScopeAncestorLink>> loadedAncestors = new HashMap<>();
+		//scopes without any ancestor are cached too
+		missingScopePks.forEach(pk -> loadedAncestors.put(pk, new ArrayList<>()));
+		for(final var batch : ListUtils.partition(missingScopePks.stream().distinct().toList(), LOAD_BATCH_SIZE)) {
+			final var query = create.select(SCOPE_ANCESTOR.SCOPE_FK, SCOPE_ANCESTOR.ANCESTOR_FK, SCOPE_ANCESTOR.START_DATE, SCOPE_ANCESTOR.END_DATE, SCOPE_ANCESTOR.VIRTUAL)
+				.from(SCOPE_ANCESTOR)
+				.where(SCOPE_ANCESTOR.SCOPE_FK.in(batch));
+			for(final var result : query.fetch()) {
+				final var link = new ScopeAncestorLink(result.value2(), result.value3(), result.value4(), Boolean.TRUE.equals(result.value5()));
+				loadedAncestors.get(result.value1()).add(link);
+			}
+		}
+		loadedAncestors.replaceAll((_, links) -> List.copyOf(links));
+		ancestors.putAll(loadedAncestors);
+
+		synchronized(this) {
+			if(generation == initialGeneration) {
+				final var expirationTime = System.nanoTime() + timeToLive;
+				loadedAncestors.forEach((pk, links) -> scopeAncestors.put(pk, new CachedValue<>(links, expirationTime)));
+			}
+		}
+		return ancestors;
+	}
+
+	@Override
+	public void evictUser(final Long userPk) {
+		final var key = new ActorKey(true, userPk);
+		evict(() -> actorProfiles.remove(key));
+		entityCacheDAOService.broadcast(USER_EVICTIONS, List.of(userPk));
+	}
+
+	@Override
+	public void evictRobot(final Long robotPk) {
+		final var key = new ActorKey(false, robotPk);
+		evict(() -> actorProfiles.remove(key));
+		entityCacheDAOService.broadcast(ROBOT_EVICTIONS, List.of(robotPk));
+	}
+
+	@Override
+	public void evictScopes(final Collection<Long> scopePks) {
+		final var pks = List.copyOf(scopePks);
+		evict(() -> scopeAncestors.keySet().removeAll(pks));
+		entityCacheDAOService.broadcast(SCOPE_EVICTIONS, pks);
+	}
+
+	@Override
+	public void evictAll() {
+		evict(this::clear);
+		//an invalidation is always related to a record, any pk will do
+		entityCacheDAOService.broadcast(ALL_EVICTIONS, List.of(0L));
+	}
+
+	private void clear() {
+		actorProfiles.clear();
+		scopeAncestors.clear();
+	}
+
+	private void evict(final Runnable eviction) {
+		remove(eviction);
+		//a concurrent request could cache the data that is being modified before the current transaction is committed
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					remove(eviction);
+				}
+			});
+		}
+	}
+
+	private synchronized void remove(final Runnable eviction) {
+		generation++;
+		eviction.run();
+	}
+
+	private <K, V> V getValidValue(final Map<K, CachedValue<V>> cache, final K key) {
+		final var cachedValue = cache.get(key);
+		if(cachedValue == null) {
+			return null;
+		}
+		if(cachedValue.expirationTime() - System.nanoTime() < 0) {
+			cache.remove(key);
+			return null;
+		}
+		return cachedValue.value();
+	}
+
+	private static <K, V> Map<K, V> createLRUMap(final int maxSize) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = -2870426733613924390L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+}
@@ -73,8 +73,7 @@ public class RobotDAOServiceImpl extends AuditableDAOService<Robot, RobotAuditTr
 
 	@Override
 	public Robot getRobotByPk(final Long pk) {
-		final var query = create.selectFrom(ROBOT).where(ROBOT.PK.eq(pk));
-		return findUnique(query);
+		return findByPk(pk);
 	}
 
 	@Override
@@ -16,6 +16,8 @@ import ch.rodano.core.model.role.Role;
 import ch.rodano.core.model.role.RoleStatus;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
+import ch.rodano.core.services.dao.rights.RightsCacheDAOService;
+import ch.rodano.core.services.dao.session.SessionCacheDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
 
 import static ch.rodano.core.model.jooq.Tables.ROLE;
@@ -23,13 +25,19 @@ import static ch.rodano.core.model.jooq.Tables.SCOPE_ANCESTOR;
 
 @Service
 public class RoleDAOServiceImpl extends AuditableDAOService<Role, RoleAuditTrail, RoleRecord, RoleAuditRecord> implements RoleDAOService {
+	private final SessionCacheDAOService sessionCacheDAOService;
+	private final RightsCacheDAOService rightsCacheDAOService;
 
 	public RoleDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final SessionCacheDAOService sessionCacheDAOService,
+		final RightsCacheDAOService rightsCacheDAOService
 	) {
 		super(create, strategy, studyService);
+		this.sessionCacheDAOService = sessionCacheDAOService;
+		this.rightsCacheDAOService = rightsCacheDAOService;
 	}
 
 	@Override
@@ -55,8 +63,7 @@ public class RoleDAOServiceImpl extends AuditableDAOService<Role, RoleAuditTrail
 
 	@Override
 	public Role getRoleByPk(final Long pk) {
-		final var query = create.selectFrom(ROLE).where(ROLE.PK.eq(pk));
-		return findUnique(query);
+		return findByPk(pk);
 	}
 
 	@Override
@@ -126,5 +133,14 @@ public class RoleDAOServiceImpl extends AuditableDAOService<Role, RoleAuditTrail
 	@Override
 	public void saveRole(final Role role, final DatabaseActionContext context, final String rationale) {
 		save(role, context, rationale);
+		//the active roles of a user are cached with their sessions
+		//so are the enabled roles of an actor, to compute its access control lists
+		if(role.getUserFk() != null) {
+			sessionCacheDAOService.evictUser(role.getUserFk());
+			rightsCacheDAOService.evictUser(role.getUserFk());
+		}
+		if(role.getRobotFk() != null) {
+			rightsCacheDAOService.evictRobot(role.getRobotFk());
+		}
 	}
 }
@@ -0,0 +1,34 @@
+package ch.rodano.core.services.dao.scope;
+
+import java.util.Collection;
+
+public interface ScopeAncestorDAOService {
+
+	/**
+	 * Recompute the ancestors of the given scope and of all its descendants
+	 * This must be called each time a relation of the scope is modified or when the scope itself is deleted, restored or made virtual
+	 *
+	 * @param scopePk The pk of the scope that has been modified
+	 */
+	void refreshScopeAncestors(Long scopePk);
+
+	/**
+	 * Recompute the ancestors of the given scopes
+	 * Scopes are processed as is, their descendants are not included
+	 *
+	 * @param scopePks The pks of the scopes to refresh
+	 */
+	void refreshScopeAncestors(Collection<Long> scopePks);
+
+	/**
+	 * Empty the scope ancestor table and recompute it completely from the scope relations
+	 */
+	void rebuild();
+
+	/**
+	 * Count the rows of the scope ancestor table that differ from the reference view
+	 *
+	 * @return The number of rows that are missing, extra or different in the scope ancestor table
+	 */
+	int countInconsistencies();
+}
@@ -0,0 +1,170 @@
+package ch.rodano.core.services.dao.scope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.collections4.ListUtils;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import ch.rodano.core.model.jooq.tables.ScopeAncestor;
+import ch.rodano.core.services.dao.rights.RightsCacheDAOService;
+
+import static ch.rodano.core.model.jooq.Tables.SCOPE_ANCESTOR;
+
+@Service
+public class ScopeAncestorDAOServiceImpl implements ScopeAncestorDAOService {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	//this is the name of the view containing the reference logic (see scope_ancestor_view.sql)
+	private static final String SCOPE_ANCESTOR_VIEW = "scope_ancestor_view";
+
+	//maximum number of scopes refreshed in one query
+	private static final int REFRESH_BATCH_SIZE = 1000;
+
+	//this query computes the ancestors of the scopes matching the condition {0}
+	//the recursion starts from the relations of these scopes only and walks up the hierarchy
+	//it must be kept in sync with the logic of the reference view (see scope_ancestor_view.sql)
+	private static final String INSERT_SCOPE_ANCESTORS = """
+		insert into scope_ancestor (scope_fk, ancestor_fk, start_date, end_date, direct, `virtual`, `default`, ancestor_deleted)
+		select * from (
+			with recursive recursive_scope_ancestor (scope_fk, ancestor_fk, start_date, end_date, direct, `virtual`, default_relation, ancestor_deleted) as (
+				select
+					sr.scope_fk,
+					sr.parent_fk,
+					sr.start_date,
+					sr.end_date,
+					1 as direct,
+					s.`virtual`,
+					sr.`default`,
+					s.deleted as ancestor_deleted
+				from scope_relation sr inner join scope s on sr.parent_fk = s.pk
+				where {0}
+				union all
+				select
+					rsa.scope_fk,
+					sr.parent_fk,
+					case
+						when sr.start_date is null then rsa.start_date
+						when rsa.start_date is null then sr.start_date
+						else greatest(sr.start_date, rsa.start_date)
+					end as start_date,
+					case
+						when sr.end_date is null then rsa.end_date
+						when rsa.end_date is null then sr.end_date
+						else least(sr.end_date, rsa.end_date)
+					end as end_date,
+					0 as direct,
+					s.`virtual` or rsa.`virtual`,
+					sr.`default` && rsa.default_relation,
+					s.deleted or rsa.ancestor_deleted as ancestor_deleted
+				from recursive_scope_ancestor rsa
+				inner join scope_relation sr on sr.scope_fk = rsa.ancestor_fk
+				inner join scope s on sr.parent_fk = s.pk
+			)
+			select
+				scope_fk,
+				ancestor_fk,
+				min(start_date) as start_date,
+				case when max(case when end_date is null then 1 else 0 end) = 0 then max(end_date) end as end_date,
+				bit_or(direct) as direct,
+				bit_and(`virtual`) as `virtual`,
+				bit_or(default_relation) as `default`,
+				bit_and(ancestor_deleted) as ancestor_deleted
+			from recursive_scope_ancestor
+			group by scope_fk, ancestor_fk
+		) as closure
+		""";
+
+	private final DSLContext create;
+	private final RightsCacheDAOService rightsCacheDAOService;
+
+	public ScopeAncestorDAOServiceImpl(
+		final DSLContext create,
+		final RightsCacheDAOService rightsCacheDAOService
+	) {
+		this.create = create;
+		this.rightsCacheDAOService = rightsCacheDAOService;
+	}
+
+	@Override
+	public void refreshScopeAncestors(final Long scopePk) {
+		//the descendants of a scope do not depend on the relations of the scope itself
+		//they can be retrieved from the table before it is updated
+		final var scopePks = new ArrayList<Long>();
+		scopePks.add(scopePk);
+		scopePks.addAll(
+			create.select(SCOPE_ANCESTOR.SCOPE_FK)
+				.from(SCOPE_ANCESTOR)
+				.where(SCOPE_ANCESTOR.ANCESTOR_FK.eq(scopePk))
+				.fetch(SCOPE_ANCESTOR.SCOPE_FK)
+		);
+		refreshScopeAncestors(scopePks);
+	}
+
+	@Override
+	public void refreshScopeAncestors(final Collection<Long> scopePks) {
+		if(scopePks.isEmpty()) {
+			return;
+		}
+		logger.debug("Refreshing ancestors of {} scope(s)", scopePks.size());
+		//the ancestors of a scope are computed from the relations directly, so the scopes can be processed in any order
+		for(final var batch : ListUtils.partition(List.copyOf(scopePks), REFRESH_BATCH_SIZE)) {
+			create.deleteFrom(SCOPE_ANCESTOR).where(SCOPE_ANCESTOR.SCOPE_FK.in(batch)).execute();
+			create.execute(INSERT_SCOPE_ANCESTORS, DSL.field(DSL.name("sr", "scope_fk"), Long.class).in(batch));
+		}
+		//the ancestors of these scopes are used to compute access control lists
+		rightsCacheDAOService.evictScopes(scopePks);
+	}
+
+	@Override
+	public void rebuild() {
+		logger.info("Rebuilding scope ancestor table");
+		//do not truncate the table because it would commit the current transaction
+		create.deleteFrom(SCOPE_ANCESTOR).execute();
+		final var rows = create.execute(INSERT_SCOPE_ANCESTORS, DSL.noCondition());
+		rightsCacheDAOService.evictAll();
+		logger.info("Scope ancestor table has been rebuilt with {} rows", rows);
+	}
+
+	@Override
+	public int countInconsistencies() {
+		final var table = SCOPE_ANCESTOR.as("sa");
+		final var view = SCOPE_ANCESTOR.rename(SCOPE_ANCESTOR_VIEW).as("sav");
+
+		final var extraRows = create.selectCount()
+			.from(table)
+			.leftJoin(view).on(isSameRow(table, view))
+			.where(view.SCOPE_FK.isNull())
+			.fetchSingle()
+			.value1();
+
+		final var missingRows = create.selectCount()
+			.from(view)
+			.leftJoin(table).on(isSameRow(table, view))
+			.where(table.SCOPE_FK.isNull())
+			.fetchSingle()
+			.value1();
+
+		if(extraRows > 0 || missingRows > 0) {
+			logger.warn("Scope ancestor table contains {} row(s) that do not match the reference view and lacks {} row(s)", extraRows, missingRows);
+		}
+		return extraRows + missingRows;
+	}
+
+	private static Condition isSameRow(final ScopeAncestor table, final ScopeAncestor view) {
+		return table.SCOPE_FK.eq(view.SCOPE_FK)
+			.and(table.ANCESTOR_FK.eq(view.ANCESTOR_FK))
+			.and(table.START_DATE.isNotDistinctFrom(view.START_DATE))
+			.and(table.END_DATE.isNotDistinctFrom(view.END_DATE))
+			.and(table.DIRECT.eq(view.DIRECT))
+			.and(table.VIRTUAL.eq(view.VIRTUAL))
+			.and(table.DEFAULT.eq(view.DEFAULT))
+			.and(table.ANCESTOR_DELETED.eq(view.ANCESTOR_DELETED));
+	}
+}
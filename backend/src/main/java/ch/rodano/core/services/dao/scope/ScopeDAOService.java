@@ -5,9 +5,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import ch.rodano.api.dto.paging.PagedResult;
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.ScopeAuditTrail;
 import ch.rodano.core.model.event.Timeframe;
@@ -62,6 +65,16 @@ public interface ScopeDAOService {
 
 	Integer getScopesByScopeModelIdCount(String scopeModelId);
 
+	/**
+	 * Get the pks of the scopes that have not been removed, in ascending order, one batch at a time
+	 *
+	 * @param scopeModelIds The ids of the scope models of the scopes
+	 * @param afterPk       The pk after which the scopes must be retrieved, or an empty optional to start with the first scope
+	 * @param limit         The maximum number of pks to retrieve
+	 * @return The pks of the scopes
+	 */
+	List<Long> getScopePks(Collection<String> scopeModelIds, Optional<Long> afterPk, int limit);
+
 	List<Scope> getScopesByScopeModelIdHavingAncestor(Collection<String> scopeModelIds, Collection<Long> ancestorPks);
 
 	List<Scope> getDescendants(Long scopePk);
@@ -102,10 +115,24 @@ public interface ScopeDAOService {
 
 	NavigableSet<ScopeAuditTrail> getAuditTrails(Scope scope, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<ScopeAuditTrail> getAuditTrailPage(Scope scope, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(Scope scope, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super ScopeAuditTrail> consumer);
+
 	NavigableSet<ScopeAuditTrail> getAuditTrailsForProperty(Scope scope, Optional<Timeframe> timeframe, Function<ScopeAuditTrail, Object> property);
 
 	NavigableSet<ScopeAuditTrail> getAuditTrailsForProperties(Scope scope, Optional<Timeframe> timeframe, List<Function<ScopeAuditTrail, Object>> properties);
 
+	/**
+	 * Get the audit trails of a scope in which it has been deleted, restored, locked or unlocked
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param scope     The scope
+	 * @param timeframe The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<ScopeAuditTrail> getStatusAuditTrails(Scope scope, Optional<Timeframe> timeframe);
+
 	PagedResult<Scope> search(ScopeSearch search);
 
 }
@@ -6,6 +6,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -20,6 +23,7 @@ import org.springframework.stereotype.Service;
 import ch.rodano.api.dto.paging.PagedResult;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.ScopeAuditTrail;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.ScopeAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.ScopeRecord;
@@ -27,6 +31,7 @@ import ch.rodano.core.model.jooqutils.JOOQTranslator;
 import ch.rodano.core.model.scope.FieldModelCriterion;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.model.scope.ScopeSearch;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
@@ -41,12 +46,19 @@ import static org.jooq.impl.DSL.table;
 @Service
 public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTrail, ScopeRecord, ScopeAuditRecord> implements ScopeDAOService {
 
+	private final ScopeAncestorDAOService scopeAncestorDAOService;
+	private final ExportTableService exportTableService;
+
 	public ScopeDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final ScopeAncestorDAOService scopeAncestorDAOService,
+		final ExportTableService exportTableService
 	) {
 		super(create, strategy, studyService);
+		this.scopeAncestorDAOService = scopeAncestorDAOService;
+		this.exportTableService = exportTableService;
 	}
 
 	@Override
@@ -110,6 +122,21 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 			.value1();
 	}
 
+	@Override
+	public List<Long> getScopePks(final Collection<String> scopeModelIds, final Optional<Long> afterPk, final int limit) {
+		if(scopeModelIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return create.select(SCOPE.PK)
+			.from(SCOPE)
+			.where(SCOPE.SCOPE_MODEL_ID.in(scopeModelIds))
+			.and(SCOPE.DELETED.isFalse())
+			.and(afterPk.map(SCOPE.PK::gt).orElse(DSL.noCondition()))
+			.orderBy(SCOPE.PK)
+			.limit(limit)
+			.fetch(SCOPE.PK);
+	}
+
 	@Override
 	public List<Scope> getScopesByScopeModelIdHavingAncestor(final Collection<String> scopeModelIds, final Collection<Long> ancestorPks) {
 		if(scopeModelIds.isEmpty() || ancestorPks.isEmpty()) {
@@ -360,8 +387,7 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 
 	@Override
 	public Scope getScopeByPk(final Long pk) {
-		final var query = create.selectFrom(SCOPE).where(SCOPE.PK.eq(pk));
-		return findUnique(query);
+		return findByPk(pk);
 	}
 
 	@Override
@@ -369,8 +395,7 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 		if(CollectionUtils.isEmpty(pks)) {
 			return Collections.emptyList();
 		}
-		final var query = create.selectFrom(SCOPE).where(SCOPE.PK.in(pks));
-		return find(query);
+		return findByPks(pks);
 	}
 
 	@Override
@@ -408,17 +433,39 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 		if(scope.getId() == null) {
 			scope.setId(UUID.randomUUID().toString());
 		}
-		save(scope, context, rationale);
+		//the ancestors of the descendants of the scope depend on its deleted and virtual flags
+		final var isNew = scope.getPk() == null;
+		final var impactsAncestors = !isNew && hasHierarchyFlagsChanged(scope);
+		//a new scope does not have any dataset yet, and the export tables contain only some columns of the scope
+		final var impactsExports = !isNew && !Collections.disjoint(strategy.getModifiedColumns(scope, getLastSavedRecord(scope)), ExportTableService.SCOPE_COLUMNS);
+		if(!save(scope, context, rationale)) {
+			return;
+		}
+		if(impactsAncestors) {
+			scopeAncestorDAOService.refreshScopeAncestors(scope.getPk());
+		}
+		if(impactsExports) {
+			exportTableService.refreshScope(scope.getPk());
+		}
 	}
 
 	@Override
 	public void deleteScope(final Scope scope, final DatabaseActionContext context, final String rationale) {
 		delete(scope, context, rationale);
+		scopeAncestorDAOService.refreshScopeAncestors(scope.getPk());
+		exportTableService.refreshScope(scope.getPk());
 	}
 
 	@Override
 	public void restoreScope(final Scope scope, final DatabaseActionContext context, final String rationale) {
 		restore(scope, context, rationale);
+		scopeAncestorDAOService.refreshScopeAncestors(scope.getPk());
+		exportTableService.refreshScope(scope.getPk());
+	}
+
+	private boolean hasHierarchyFlagsChanged(final Scope scope) {
+		final var record = strategy.retrieveCachedRecord(SCOPE, scope.getPk());
+		return !Objects.equals(scope.getDeleted(), record.get(SCOPE.DELETED)) || !Objects.equals(scope.getVirtual(), record.get(SCOPE.VIRTUAL));
 	}
 
 	@Override
@@ -466,6 +513,9 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 		}
 
 		search.getFieldModelCriteria().ifPresent(criteria -> {
+			//the export tables must contain the modifications done in the current transaction
+			exportTableService.flush();
+
 			final var criteriaByDocument = criteria.stream()
 				.collect(Collectors.groupingBy(FieldModelCriterion::datasetModelId));
 
@@ -572,4 +622,9 @@ public class ScopeDAOServiceImpl extends AuditableDAOService<Scope, ScopeAuditTr
 		scopes.forEach(s -> s.onPostLoad(studyService.getStudy()));
 		return new PagedResult<>(scopes, search.getPageSize(), search.getPageIndex(), total);
 	}
+
+	@Override
+	public NavigableSet<ScopeAuditTrail> getStatusAuditTrails(final Scope scope, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(scope, timeframe, List.of(Tables.SCOPE_AUDIT.DELETED, Tables.SCOPE_AUDIT.LOCKED));
+	}
 }
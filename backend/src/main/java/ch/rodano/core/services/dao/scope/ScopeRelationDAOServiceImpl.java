@@ -20,12 +20,16 @@ import static ch.rodano.core.model.jooq.Tables.SCOPE_RELATION;
 @Service
 public class ScopeRelationDAOServiceImpl extends AbstractDAOService<ScopeRelation, ScopeRelationRecord> implements ScopeRelationDAOService {
 
+	private final ScopeAncestorDAOService scopeAncestorDAOService;
+
 	public ScopeRelationDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final ScopeAncestorDAOService scopeAncestorDAOService
 	) {
 		super(create, strategy, studyService);
+		this.scopeAncestorDAOService = scopeAncestorDAOService;
 	}
 
 	@Override
@@ -40,8 +44,7 @@ public class ScopeRelationDAOServiceImpl extends AbstractDAOService<ScopeRelatio
 
 	@Override
 	public ScopeRelation getScopeRelationByPk(final Long pk) {
-		final var query = create.selectFrom(SCOPE_RELATION).where(SCOPE_RELATION.PK.eq(pk));
-		return findUnique(query);
+		return findByPk(pk);
 	}
 
 	@Override
@@ -71,12 +74,15 @@ public class ScopeRelationDAOServiceImpl extends AbstractDAOService<ScopeRelatio
 
 	@Override
 	public void saveScopeRelation(final ScopeRelation relation, final DatabaseActionContext context, final String rationale) {
-		save(relation, context, rationale);
+		if(save(relation, context, rationale)) {
+			scopeAncestorDAOService.refreshScopeAncestors(relation.getScopeFk());
+		}
 	}
 
 	@Override
 	public void deleteScopeRelation(final ScopeRelation relation) {
 		delete(relation);
+		scopeAncestorDAOService.refreshScopeAncestors(relation.getScopeFk());
 	}
 
 	@Override
@@ -0,0 +1,37 @@
+package ch.rodano.core.services.dao.session;
+
+import java.util.Collection;
+
+import ch.rodano.core.model.session.AuthenticatedSession;
+
+/**
+ * Cache of the sessions used to authenticate requests, with their user and the roles of the user
+ * The cache is shared between requests, so it stores records and each request receives its own objects
+ * Evictions are shared with the other nodes through the invalidations of the entity cache
+ */
+public interface SessionCacheDAOService {
+
+	/**
+	 * Get the session with the given token, with its user and the active roles of the user
+	 *
+	 * @param token The token
+	 * @return The authenticated session or null if there is no session with the given token
+	 */
+	AuthenticatedSession getAuthenticatedSession(String token);
+
+	/**
+	 * Remove sessions from the cache of all nodes
+	 * The other nodes remove the sessions from their cache when they poll the modifications of the nodes
+	 *
+	 * @param sessionPks The pks of the sessions
+	 */
+	void evictSessions(Collection<Long> sessionPks);
+
+	/**
+	 * Remove the sessions of a user from the cache of all nodes
+	 * The other nodes remove the sessions from their cache when they poll the modifications of the nodes
+	 *
+	 * @param userPk The pk of the user
+	 */
+	void evictUser(Long userPk);
+}
@@ -0,0 +1,174 @@
+package ch.rodano.core.services.dao.session;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ch.rodano.core.model.jooq.tables.records.RoleRecord;
+import ch.rodano.core.model.jooq.tables.records.UserRecord;
+import ch.rodano.core.model.jooq.tables.records.UserSessionRecord;
+import ch.rodano.core.model.role.Role;
+import ch.rodano.core.model.session.AuthenticatedSession;
+import ch.rodano.core.model.session.Session;
+import ch.rodano.core.model.user.User;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOService;
+import ch.rodano.core.services.dao.strategy.DAOStrategy;
+
+import static ch.rodano.core.model.jooq.Tables.ROLE;
+import static ch.rodano.core.model.jooq.Tables.USER;
+import static ch.rodano.core.model.jooq.Tables.USER_SESSION;
+
+@Service
+public class SessionCacheDAOServiceImpl implements SessionCacheDAOService {
+
+	private record CachedSession(
+		UserSessionRecord session,
+		UserRecord user,
+		List<RoleRecord> roles,
+		long expirationTime
+	) {
+		//nothing to do here
+	}
+
+	private final DSLContext create;
+	private final DAOStrategy strategy;
+	private final EntityCacheDAOService entityCacheDAOService;
+	private final long timeToLive;
+
+	//sessions are sorted by access order, so the least recently used session is removed when the cache is full
+	private final Map<String, CachedSession> sessions;
+
+	//incremented each time the cache is modified by an eviction, to avoid caching data read before the eviction
+	private long generation;
+
+	public SessionCacheDAOServiceImpl(
+		final DSLContext create,
+		final DAOStrategy strategy,
+		final EntityCacheDAOService entityCacheDAOService,
+		@Value("${rodano.session.cache.max-size:10000}") final int maxSize,
+		@Value("${rodano.session.cache.time-to-live:60}") final int timeToLive
+	) {
+		this.create = create;
+		this.strategy = strategy;
+		this.entityCacheDAOService = entityCacheDAOService;
+		this.timeToLive = TimeUnit.SECONDS.toNanos(timeToLive);
+		this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 4021655346744405286L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, CachedSession> eldest) {
+				return size() > maxSize;
+			}
+		};
+
+		//sessions revoked and users modified by the other nodes
+		final var duration = Duration.ofSeconds(timeToLive);
+		entityCacheDAOService.addInvalidationListener(USER_SESSION.getName(), duration, pks -> removeSessions(sessionPredicate(pks)));
+		entityCacheDAOService.addInvalidationListener(USER.getName(), duration, pks -> removeSessions(userPredicate(pks)));
+	}
+
+	@Override
+	public AuthenticatedSession getAuthenticatedSession(final String token) {
+		//a session revoked by another node must not be used
+		entityCacheDAOService.poll();
+		var cachedSession = getCachedSession(token);
+		if(cachedSession == null) {
+			cachedSession = loadSession(token);
+			if(cachedSession == null) {
+				return null;
+			}
+		}
+
+		//cached records are never given to the request, because they are stored in the transaction cache and could be modified
+		final var session = cachedSession.session().into(Session.class);
+		final var user = strategy.load(USER, List.of(cachedSession.user().into(USER)), User.class).getFirst();
+		final var roles = strategy.load(ROLE, cachedSession.roles().stream().map(r -> r.into(ROLE)).toList(), Role.class);
+		return new AuthenticatedSession(session, user, roles.stream().filter(Role::isEnabled).toList());
+	}
+
+	@Override
+	public void evictSessions(final Collection<Long> sessionPks) {
+		evict(sessionPredicate(sessionPks));
+		entityCacheDAOService.broadcast(USER_SESSION.getName(), sessionPks);
+	}
+
+	@Override
+	public void evictUser(final Long userPk) {
+		evict(userPredicate(List.of(userPk)));
+		entityCacheDAOService.broadcast(USER.getName(), List.of(userPk));
+	}
+
+	private static Predicate<Map.Entry<String, CachedSession>> sessionPredicate(final Collection<Long> sessionPks) {
+		final var pks = new HashSet<>(sessionPks);
+		return e -> pks.contains(e.getValue().session().getPk());
+	}
+
+	private static Predicate<Map.Entry<String, CachedSession>> userPredicate(final Collection<Long> userPks) {
+		final var pks = new HashSet<>(userPks);
+		return e -> pks.contains(e.getValue().user().getPk());
+	}
+
+	private synchronized CachedSession getCachedSession(final String token) {
+		final var cachedSession = sessions.get(token);
+		if(cachedSession != null && cachedSession.expirationTime() - System.nanoTime() < 0) {
+			sessions.remove(token);
+			return null;
+		}
+		return cachedSession;
+	}
+
+	private CachedSession loadSession(final String token) {
+		final long initialGeneration;
+		synchronized(this) {
+			initialGeneration = generation;
+		}
+
+		final var session = create.selectFrom(USER_SESSION).where(USER_SESSION.TOKEN.eq(token)).fetchOne();
+		if(session == null) {
+			return null;
+		}
+		final var user = create.selectFrom(USER).where(USER.PK.eq(session.getUserFk())).fetchOne();
+		if(user == null) {
+			return null;
+		}
+		final var roles = create.selectFrom(ROLE).where(ROLE.USER_FK.eq(user.getPk())).fetch();
+
+		final var cachedSession = new CachedSession(session, user, List.copyOf(roles), System.nanoTime() + timeToLive);
+		synchronized(this) {
+			//the data may be outdated if something has been evicted in the meantime
+			if(generation == initialGeneration) {
+				sessions.put(token, cachedSession);
+			}
+		}
+		return cachedSession;
+	}
+
+	private void evict(final Predicate<Map.Entry<String, CachedSession>> predicate) {
+		removeSessions(predicate);
+		//a concurrent request could cache the data that is being modified before the current transaction is committed
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					removeSessions(predicate);
+				}
+			});
+		}
+	}
+
+	private synchronized void removeSessions(final Predicate<Map.Entry<String, CachedSession>> predicate) {
+		generation++;
+		sessions.entrySet().removeIf(predicate);
+	}
+}
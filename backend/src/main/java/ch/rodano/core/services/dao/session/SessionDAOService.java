@@ -2,6 +2,7 @@ package ch.rodano.core.services.dao.session;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 import ch.rodano.core.model.session.Session;
 
@@ -23,6 +24,13 @@ public interface SessionDAOService {
 	 */
 	Session updateSession(Session session);
 
+	/**
+	 * Update the last access time of several sessions at once
+	 *
+	 * @param lastAccessTimes The last access times indexed by session pk
+	 */
+	void updateLastAccessTimes(Map<Long, ZonedDateTime> lastAccessTimes);
+
 	/**
 	 * Delete a session
 	 *
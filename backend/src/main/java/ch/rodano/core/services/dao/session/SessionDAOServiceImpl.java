@@ -2,7 +2,9 @@ package ch.rodano.core.services.dao.session;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.collections4.ListUtils;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
 
@@ -13,12 +15,18 @@ import static ch.rodano.core.model.jooq.Tables.USER_SESSION;
 @Service
 public class SessionDAOServiceImpl implements SessionDAOService {
 
+	//maximum number of sessions deleted with one query
+	private static final int DELETE_BATCH_SIZE = 1000;
+
 	private final DSLContext create;
+	private final SessionCacheDAOService sessionCacheDAOService;
 
 	public SessionDAOServiceImpl(
-		final DSLContext create
+		final DSLContext create,
+		final SessionCacheDAOService sessionCacheDAOService
 	) {
 		this.create = create;
+		this.sessionCacheDAOService = sessionCacheDAOService;
 	}
 
 	@Override
@@ -36,9 +44,21 @@ public class SessionDAOServiceImpl implements SessionDAOService {
 		return session;
 	}
 
+	@Override
+	public void updateLastAccessTimes(final Map<Long, ZonedDateTime> lastAccessTimes) {
+		if(lastAccessTimes.isEmpty()) {
+			return;
+		}
+		final var queries = lastAccessTimes.entrySet().stream()
+			.map(e -> create.update(USER_SESSION).set(USER_SESSION.LAST_ACCESS_TIME, e.getValue()).where(USER_SESSION.PK.eq(e.getKey())))
+			.toList();
+		create.batch(queries).execute();
+	}
+
 	@Override
 	public void deleteSession(final Session session) {
 		create.deleteFrom(USER_SESSION).where(USER_SESSION.PK.eq(session.getPk())).execute();
+		sessionCacheDAOService.evictSessions(List.of(session.getPk()));
 	}
 
 	@Override
@@ -58,6 +78,11 @@ public class SessionDAOServiceImpl implements SessionDAOService {
 
 	@Override
 	public void deleteOlderSession(final ZonedDateTime expiryDate) {
-		create.deleteFrom(USER_SESSION).where(USER_SESSION.LAST_ACCESS_TIME.le(expiryDate)).execute();
+		//the pks of the deleted sessions are required to remove them from the cache of all nodes
+		final var sessionPks = create.select(USER_SESSION.PK).from(USER_SESSION).where(USER_SESSION.LAST_ACCESS_TIME.le(expiryDate)).fetch(USER_SESSION.PK);
+		for(final var batch : ListUtils.partition(sessionPks, DELETE_BATCH_SIZE)) {
+			create.deleteFrom(USER_SESSION).where(USER_SESSION.PK.in(batch)).execute();
+			sessionCacheDAOService.evictSessions(batch);
+		}
 	}
 }
@@ -1,6 +1,8 @@
 package ch.rodano.core.services.dao.strategy;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.jooq.Query;
 import org.jooq.Record;
@@ -44,6 +46,28 @@ public interface DAOStrategy {
 	 */
 	<R extends org.jooq.Record, T extends IdentifiableObject> List<T> find(Table<R> table, ResultQuery<R> query, Class<T> clazz);
 
+	/**
+	 * Retrieve objects by pk, with use of the cache
+	 * If the table is cached between transactions, the records that are in this cache are not queried from the database
+	 *
+	 * @param table The table
+	 * @param pks   The pks of the objects
+	 * @param clazz The class to transform the records into
+	 * @return A list of the objects that have been found, in no particular order
+	 */
+	<R extends org.jooq.Record, T extends IdentifiableObject> List<T> findByPks(Table<R> table, Collection<Long> pks, Class<T> clazz);
+
+	/**
+	 * Transform records that have already been fetched into objects, with use of the cache, exactly as if they were returned by a query
+	 * Records are added to the cache as they are, so they must not be shared with other transactions
+	 *
+	 * @param table   The table
+	 * @param records The records to transform
+	 * @param clazz   The class to transform the records into
+	 * @return A list of result
+	 */
+	<R extends org.jooq.Record, T extends IdentifiableObject> List<T> load(Table<R> table, List<R> records, Class<T> clazz);
+
 	/**
 	 * Execute the given query
 	 *
@@ -60,6 +84,16 @@ public interface DAOStrategy {
 	 */
 	<R extends Record, T extends IdentifiableObject> T insert(Table<R> table, T o);
 
+	/**
+	 * Insert new objects into the database using multi-row inserts, and set their pks
+	 * Objects are added to the cache as if they were inserted one by one
+	 *
+	 * @param table   The table where the objects must be inserted into
+	 * @param objects The objects to insert
+	 * @return The inserted objects
+	 */
+	<R extends Record, T extends IdentifiableObject> List<T> insertAll(Table<R> table, List<T> objects);
+
 	/**
 	 * Insert a jOOQ record into the database
 	 *
@@ -75,6 +109,33 @@ public interface DAOStrategy {
 	 */
 	<R extends Record, T extends IdentifiableObject> T save(Table<R> table, T o);
 
+	/**
+	 * Save objects to the database in a single batch, updating only the columns that differ from the cached records
+	 * Cached records are replaced with the saved ones, so they reflect the content of the database
+	 *
+	 * @param table   The table of the objects
+	 * @param objects The objects to save, which must have been retrieved from the cache
+	 */
+	<R extends Record, T extends IdentifiableObject> void saveAll(Table<R> table, List<T> objects);
+
+	/**
+	 * Check if an object differs from a record of its table, comparing the columns one by one without creating a record for the object
+	 *
+	 * @param o      The object
+	 * @param record The record, typically the record of the object as it has been saved for the last time
+	 * @return True if the value of at least one column differs
+	 */
+	<T extends IdentifiableObject> boolean isModified(T o, Record record);
+
+	/**
+	 * Get the columns of an object that differ from a record of its table
+	 *
+	 * @param o      The object
+	 * @param record The record, typically the record of the object as it has been saved for the last time
+	 * @return The names of the columns whose value differs
+	 */
+	<T extends IdentifiableObject> Set<String> getModifiedColumns(T o, Record record);
+
 	/**
 	 * Delete the object o from the database
 	 *
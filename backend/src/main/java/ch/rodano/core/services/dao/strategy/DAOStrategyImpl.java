@@ -1,11 +1,20 @@
 package ch.rodano.core.services.dao.strategy;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.ListUtils;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Query;
 import org.jooq.Record;
+import org.jooq.Result;
 import org.jooq.ResultQuery;
 import org.jooq.Table;
 import org.jooq.UpdatableRecord;
@@ -16,10 +25,12 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
 
+import ch.rodano.core.configuration.jooq.RecordMappingProvider;
 import ch.rodano.core.model.common.HardDeletableObject;
 import ch.rodano.core.model.common.IdentifiableObject;
 import ch.rodano.core.model.common.PersistentObject;
 import ch.rodano.core.services.bll.study.StudyService;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOService;
 import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
 
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -27,18 +38,27 @@ import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAO
 public class DAOStrategyImpl implements DAOStrategy {
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	//maximum number of rows inserted with one query
+	private static final int INSERT_BATCH_SIZE = 500;
+
 	private final DSLContext create;
 	private final StudyService studyService;
 	private final TransactionCacheDAOService transactionCacheDAOService;
+	private final EntityCacheDAOService entityCacheDAOService;
+	private final RecordMappingProvider recordMappingProvider;
 
 	public DAOStrategyImpl(
 		final DSLContext create,
 		final StudyService studyService,
-		final TransactionCacheDAOService transactionCacheDAOService
+		final TransactionCacheDAOService transactionCacheDAOService,
+		final EntityCacheDAOService entityCacheDAOService,
+		final RecordMappingProvider recordMappingProvider
 	) {
 		this.create = create;
 		this.studyService = studyService;
 		this.transactionCacheDAOService = transactionCacheDAOService;
+		this.entityCacheDAOService = entityCacheDAOService;
+		this.recordMappingProvider = recordMappingProvider;
 	}
 
 	@Override
@@ -56,10 +76,38 @@ public class DAOStrategyImpl implements DAOStrategy {
 	@Override
 	public <R extends org.jooq.Record, T extends IdentifiableObject> List<T> find(final Table<R> table, final ResultQuery<R> query, final Class<T> clazz) {
 		logger.trace("Executing untyped query: {}", query.toString());
+		return load(table, query.fetch(), clazz);
+	}
+
+	@Override
+	public <R extends org.jooq.Record, T extends IdentifiableObject> List<T> findByPks(final Table<R> table, final Collection<Long> pks, final Class<T> clazz) {
+		final var pkField = table.field("pk", Long.class);
+		if(!entityCacheDAOService.isCached(table)) {
+			return find(table, create.selectFrom(table).where(pkField.in(pks)), clazz);
+		}
+
+		//the generation must be retrieved before the query, so records modified in the meantime are not cached
+		final var generation = entityCacheDAOService.getGeneration();
+		final List<R> records = new ArrayList<>(entityCacheDAOService.getRecords(table, pks));
+		final var missingPks = new HashSet<>(pks);
+		records.forEach(r -> missingPks.remove(pkField.getValue(r)));
+
+		if(!missingPks.isEmpty()) {
+			final var query = create.selectFrom(table).where(pkField.in(missingPks));
+			logger.trace("Executing query for records missing from the entity cache: {}", query);
+			final var missingRecords = query.fetch();
+			entityCacheDAOService.putRecords(table, missingRecords, generation);
+			records.addAll(missingRecords);
+		}
+		return load(table, records, clazz);
+	}
+
+	@Override
+	public <R extends org.jooq.Record, T extends IdentifiableObject> List<T> load(final Table<R> table, final List<R> records, final Class<T> clazz) {
 		final var cache = transactionCacheDAOService.getCache();
-		final var result = query.fetch();
-		cache.storeRecords(table, result);
-		final var objects = result.into(clazz);
+		cache.storeRecords(table, records);
+		//a result maps all its records with the same mapper
+		final var objects = records instanceof final Result<R> result ? result.into(clazz) : records.stream().map(r -> r.into(clazz)).toList();
 		if(PersistentObject.class.isAssignableFrom(clazz)) {
 			for(final var o : objects) {
 				((PersistentObject) o).onPostLoad(studyService.getStudy());
@@ -84,12 +132,47 @@ public class DAOStrategyImpl implements DAOStrategy {
 
 		final Long generatedPk = (Long) result.value1();
 		o.setPk(generatedPk);
+		//the record of the object is completed instead of being created again
+		record.set(table.field("pk", Long.class), generatedPk);
 
 		final var cache = transactionCacheDAOService.getCache();
-		cache.storeRecord(table, create.newRecord(table, o));
+		cache.storeRecord(table, record);
 		return cache.getOrAddObject(o);
 	}
 
+	@Override
+	public <R extends Record, T extends IdentifiableObject> List<T> insertAll(final Table<R> table, final List<T> objects) {
+		final var pkField = table.field("pk", Long.class);
+		final var fields = Arrays.stream(table.fields()).filter(f -> !f.getName().equals("pk")).toList();
+		final var cache = transactionCacheDAOService.getCache();
+		final List<T> insertedObjects = new ArrayList<>(objects.size());
+
+		for(final var batch : ListUtils.partition(objects, INSERT_BATCH_SIZE)) {
+			final var query = create.insertInto(table, fields);
+			final List<R> records = new ArrayList<>(batch.size());
+			for(final var o : batch) {
+				final var record = create.newRecord(table, o);
+				query.values(fields.stream().map(f -> f.getValue(record)).toList());
+				records.add(record);
+			}
+			final var insertQuery = query.returningResult(DSL.field("pk"));
+
+			logger.trace("Executing insert query for {} rows: {}", batch.size(), insertQuery);
+
+			//generated pks are returned in the order in which the rows have been inserted
+			final var result = insertQuery.fetch();
+			for(var i = 0; i < batch.size(); i++) {
+				final var o = batch.get(i);
+				final var record = records.get(i);
+				o.setPk((Long) result.get(i).value1());
+				record.set(pkField, o.getPk());
+				cache.storeRecord(table, record);
+				insertedObjects.add(cache.getOrAddObject(o));
+			}
+		}
+		return insertedObjects;
+	}
+
 	@Override
 	public <R extends UpdatableRecord<R>> void insert(final Table<R> table, final R record) {
 		final var fields = Arrays.asList(record.fields()).stream().filter(f -> !f.getName().equals("pk")).toList();
@@ -102,20 +185,85 @@ public class DAOStrategyImpl implements DAOStrategy {
 
 	@Override
 	public <R extends Record, T extends IdentifiableObject> T save(final Table<R> table, final T o) {
-		final var record = create.newRecord(table, o);
-		final var query = create.update(table).set(record).where("pk = " + o.getPk());
-		//fields.forEach(f -> query.set(f, f.getValue(record)));
+		final var cache = transactionCacheDAOService.getCache();
+		final var pkField = table.field("pk", Long.class);
+		final Query query;
+		final R record;
+		if(cache.containsRecord(table, o.getPk())) {
+			//only the columns that differ from the last saved record are updated
+			final var cachedRecord = cache.retrieveRecord(table, o.getPk());
+			final var changedValues = recordMappingProvider.getChangedValues(o, cachedRecord);
+			if(changedValues.isEmpty()) {
+				return o;
+			}
+			query = create.update(table).set(changedValues).where(pkField.eq(o.getPk()));
+			record = applyChangedValues(table, cachedRecord, changedValues);
+		}
+		else {
+			//the object has not been loaded in this transaction, so all its columns are updated
+			record = create.newRecord(table, o);
+			record.changed(pkField, false);
+			query = create.update(table).set(record).where(pkField.eq(o.getPk()));
+		}
 
 		logger.trace("Executing update query: {}", query);
 
 		query.execute();
+		cache.storeRecord(table, record);
+		entityCacheDAOService.evict(table, List.of(o.getPk()));
 
 		//only a single instance of a single object should be present at any time during one HTTP request
-		//in theory, there is no need to update the cache here
+		//there is no need to update the object cache here
 		return o;
+	}
+
+	@Override
+	public <R extends Record, T extends IdentifiableObject> void saveAll(final Table<R> table, final List<T> objects) {
+		final var cache = transactionCacheDAOService.getCache();
+		final var pkField = table.field("pk", Long.class);
+		final List<Query> queries = new ArrayList<>();
+		final List<R> records = new ArrayList<>();
+		for(final var o : objects) {
+			if(cache.containsRecord(table, o.getPk())) {
+				final var cachedRecord = cache.retrieveRecord(table, o.getPk());
+				//the object is compared column by column with its cached record, so no record is created for an object that has not been modified
+				final var changedValues = recordMappingProvider.getChangedValues(o, cachedRecord);
+				//the object may have been saved back to its original state
+				if(!changedValues.isEmpty()) {
+					queries.add(create.update(table).set(changedValues).where(pkField.eq(o.getPk())));
+					records.add(applyChangedValues(table, cachedRecord, changedValues));
+				}
+			}
+			else {
+				//the object has not been loaded in this transaction, so all its columns are updated
+				final var record = create.newRecord(table, o);
+				record.changed(pkField, false);
+				queries.add(create.update(table).set(record).where(pkField.eq(o.getPk())));
+				records.add(record);
+			}
+		}
+
+		if(queries.isEmpty()) {
+			return;
+		}
 
-		//final var transactionCache = transactionCacheDAOService.getCache();
-		//return transactionCache.updateObject(o);
+		logger.trace("Executing batch of {} update queries on table {}", queries.size(), table.getName());
+
+		create.batch(queries).execute();
+		cache.storeRecords(table, records);
+		entityCacheDAOService.evict(table, records.stream().map(pkField::getValue).toList());
+	}
+
+	@Override
+	public <T extends IdentifiableObject> boolean isModified(final T o, final Record record) {
+		return !recordMappingProvider.getChangedValues(o, record).isEmpty();
+	}
+
+	@Override
+	public <T extends IdentifiableObject> Set<String> getModifiedColumns(final T o, final Record record) {
+		return recordMappingProvider.getChangedValues(o, record).keySet().stream()
+			.map(Field::getName)
+			.collect(Collectors.toSet());
 	}
 
 	@Override
@@ -126,8 +274,9 @@ public class DAOStrategyImpl implements DAOStrategy {
 
 	@Override
 	public <R extends Record, T extends HardDeletableObject> void delete(final Table<R> table, final T o) {
-		final var query = create.deleteFrom(table).where("pk = " + o.getPk());
+		final var query = create.deleteFrom(table).where(table.field("pk", Long.class).eq(o.getPk()));
 		query.execute();
+		entityCacheDAOService.evict(table, List.of(o.getPk()));
 
 		final var cache = transactionCacheDAOService.getCache();
 		cache.removeRecord(table, o.getPk());
@@ -138,4 +287,19 @@ public class DAOStrategyImpl implements DAOStrategy {
 	public <R extends Record> Record retrieveCachedRecord(final Table<R> table, final Long recordPk) {
 		return transactionCacheDAOService.getCache().retrieveRecord(table, recordPk);
 	}
+
+	/**
+	 * Create the record of an object as it is saved, from its last saved record and the values that have been changed
+	 * The last saved record is not modified, as it may be shared with the entity cache
+	 */
+	private static <R extends Record> R applyChangedValues(final Table<R> table, final Record cachedRecord, final Map<Field<?>, Object> changedValues) {
+		final var record = cachedRecord.into(table);
+		changedValues.forEach((field, value) -> setValue(record, field, value));
+		return record;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void setValue(final Record record, final Field<T> field, final Object value) {
+		record.set(field, (T) value);
+	}
 }
@@ -20,6 +20,7 @@ import ch.rodano.core.model.user.User;
 import ch.rodano.core.model.user.UserSearch;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.commons.AuditableDAOService;
+import ch.rodano.core.services.dao.session.SessionCacheDAOService;
 import ch.rodano.core.services.dao.strategy.DAOStrategy;
 
 import static ch.rodano.core.model.jooq.Tables.ROLE;
@@ -28,12 +29,16 @@ import static ch.rodano.core.model.jooq.Tables.USER;
 
 @Service
 public class UserDAOServiceImpl extends AuditableDAOService<User, UserAuditTrail, UserRecord, UserAuditRecord> implements UserDAOService {
+	private final SessionCacheDAOService sessionCacheDAOService;
+
 	public UserDAOServiceImpl(
 		final DSLContext create,
 		final DAOStrategy strategy,
-		final StudyService studyService
+		final StudyService studyService,
+		final SessionCacheDAOService sessionCacheDAOService
 	) {
 		super(create, strategy, studyService);
+		this.sessionCacheDAOService = sessionCacheDAOService;
 	}
 
 	@Override
@@ -60,16 +65,19 @@ public class UserDAOServiceImpl extends AuditableDAOService<User, UserAuditTrail
 	@Override
 	public void saveUser(final User user, final DatabaseActionContext context, final String rationale) {
 		save(user, context, rationale);
+		sessionCacheDAOService.evictUser(user.getPk());
 	}
 
 	@Override
 	public void deleteUser(final User user, final DatabaseActionContext context, final String rationale) {
 		delete(user, context, rationale);
+		sessionCacheDAOService.evictUser(user.getPk());
 	}
 
 	@Override
 	public void restoreUser(final User user, final DatabaseActionContext context, final String rationale) {
 		restore(user, context, rationale);
+		sessionCacheDAOService.evictUser(user.getPk());
 	}
 
 	@Override
@@ -110,8 +118,7 @@ public class UserDAOServiceImpl extends AuditableDAOService<User, UserAuditTrail
 
 	@Override
 	public User getUserByPk(final Long pk) {
-		final var query = create.selectFrom(USER).where(USER.PK.eq(pk));
-		return findUnique(query);
+		return findByPk(pk);
 	}
 
 	@Override
@@ -4,10 +4,13 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import ch.rodano.api.dto.paging.PagedResult;
 import ch.rodano.api.workflow.WorkflowStatusSearch;
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.AuditTrailPage;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.WorkflowStatusAuditTrail;
 import ch.rodano.core.model.event.Timeframe;
@@ -43,13 +46,29 @@ public interface WorkflowStatusDAOService {
 
 	void saveWorkflowStatus(WorkflowStatus ws, DatabaseActionContext context, String rationale);
 
+	void insertWorkflowStatuses(List<WorkflowStatus> workflowStatuses, DatabaseActionContext context, String rationale);
+
 	void deleteWorkflowStatus(WorkflowStatus ws, DatabaseActionContext context, String rationale);
 
 	NavigableSet<WorkflowStatusAuditTrail> getAuditTrails(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe, Optional<Long> actorPk);
 
+	AuditTrailPage<WorkflowStatusAuditTrail> getAuditTrailPage(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe, Optional<Long> actorPk, Optional<AuditTrailCursor> cursor, int size);
+
+	void streamAuditTrails(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe, Optional<Long> actorPk, Consumer<? super WorkflowStatusAuditTrail> consumer);
+
 	NavigableSet<WorkflowStatusAuditTrail> getAuditTrailsForProperty(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe, Function<WorkflowStatusAuditTrail, Object> property);
 
 	NavigableSet<WorkflowStatusAuditTrail> getAuditTrailsForProperties(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe, List<Function<WorkflowStatusAuditTrail, Object>> properties);
 
+	/**
+	 * Get the audit trails of a workflow status in which its state has changed
+	 * The comparison with the previous audit trail is done by the database
+	 *
+	 * @param workflowStatus The workflow status
+	 * @param timeframe      The timeframe of the audit trails
+	 * @return The audit trails
+	 */
+	NavigableSet<WorkflowStatusAuditTrail> getStateAuditTrails(WorkflowStatus workflowStatus, Optional<Timeframe> timeframe);
+
 	PagedResult<WorkflowStatus> search(WorkflowStatusSearch search);
 }
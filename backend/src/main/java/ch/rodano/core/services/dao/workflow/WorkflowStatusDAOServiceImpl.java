@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
 
 import org.jooq.Condition;
@@ -17,6 +18,7 @@ import ch.rodano.api.dto.paging.PagedResult;
 import ch.rodano.api.workflow.WorkflowStatusSearch;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.model.audit.models.WorkflowStatusAuditTrail;
+import ch.rodano.core.model.event.Timeframe;
 import ch.rodano.core.model.jooq.Tables;
 import ch.rodano.core.model.jooq.tables.records.WorkflowStatusAuditRecord;
 import ch.rodano.core.model.jooq.tables.records.WorkflowStatusRecord;
@@ -193,6 +195,11 @@ public class WorkflowStatusDAOServiceImpl extends AuditableDAOService<WorkflowSt
 		save(ws, context, rationale);
 	}
 
+	@Override
+	public void insertWorkflowStatuses(final List<WorkflowStatus> workflowStatuses, final DatabaseActionContext context, final String rationale) {
+		insertAll(workflowStatuses, context, rationale);
+	}
+
 	@Override
 	public void deleteWorkflowStatus(final WorkflowStatus ws, final DatabaseActionContext context, final String rationale) {
 		delete(ws, context, rationale);
@@ -268,4 +275,9 @@ public class WorkflowStatusDAOServiceImpl extends AuditableDAOService<WorkflowSt
 		workflowStatuses.forEach(s -> s.onPostLoad(studyService.getStudy()));
 		return new PagedResult<>(workflowStatuses, search.getPageSize(), search.getPageIndex(), total);
 	}
+
+	@Override
+	public NavigableSet<WorkflowStatusAuditTrail> getStateAuditTrails(final WorkflowStatus workflowStatus, final Optional<Timeframe> timeframe) {
+		return getAuditTrailsForColumns(workflowStatus, timeframe, List.of(Tables.WORKFLOW_STATUS_AUDIT.STATE_ID));
+	}
 }
@@ -1,5 +1,7 @@
 package ch.rodano.core.services.migration;
 
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Profile;
@@ -10,6 +12,9 @@ import ch.rodano.core.database.migrations.AbstractDatabaseMigration;
 @Service
 @Profile("migration")
 public class MigrationServiceImpl implements MigrationService {
+	//scripts that can be run any number of times and that are not recorded in the internal patch table
+	private static final Set<String> CHECK_SCRIPTS = Set.of("DBConsistencyCheck", "DBScopeAncestorCheck");
+
 	private final ApplicationContext context;
 
 	private final String script;
@@ -29,7 +34,7 @@ public class MigrationServiceImpl implements MigrationService {
 	 */
 	@Override
 	public Boolean run() {
-		if("DBConsistencyCheck".equals(script)) {
+		if(CHECK_SCRIPTS.contains(script)) {
 			final var dbConsistencyCheck = (AbstractDatabaseMigration) context.getBean(script);
 			return dbConsistencyCheck.runConsistencyCheck();
 		}
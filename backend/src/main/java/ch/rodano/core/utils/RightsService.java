@@ -2,6 +2,7 @@ package ch.rodano.core.utils;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ch.rodano.configuration.model.common.Entity;
@@ -34,6 +35,13 @@ public interface RightsService {
 	 */
 	ACL getACL(Actor actor, Scope scope);
 
+	/**
+	 * @param actor
+	 * @param scopes
+	 * @return The ACLs for the provided user over each of the specified scopes, in the order of the scopes
+	 */
+	Map<Scope, ACL> getACLs(Actor actor, Collection<Scope> scopes);
+
 	List<Role> filterEnabledRoles(Collection<Role> roles);
 
 	List<Role> filterRoles(Collection<Role> roles, Scope scope);
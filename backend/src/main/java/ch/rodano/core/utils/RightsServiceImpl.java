@@ -2,12 +2,14 @@ package ch.rodano.core.utils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
-import org.jooq.Condition;
-import org.jooq.DSLContext;
-import org.jooq.impl.DSL;
 import org.springframework.stereotype.Service;
 
 import ch.rodano.configuration.model.common.Entity;
@@ -30,25 +32,23 @@ import ch.rodano.core.model.user.User;
 import ch.rodano.core.services.bll.role.RoleService;
 import ch.rodano.core.services.bll.scope.ScopeRelationService;
 import ch.rodano.core.services.bll.study.StudyService;
-
-import static ch.rodano.core.model.jooq.Tables.ROLE;
-import static ch.rodano.core.model.jooq.Tables.SCOPE_ANCESTOR;
+import ch.rodano.core.services.dao.rights.RightsCacheDAOService;
 
 @Service
 public class RightsServiceImpl implements RightsService {
 
-	private final DSLContext create;
 	private final StudyService studyService;
 	private final ScopeRelationService scopeRelationService;
 	private final RoleService roleService;
+	private final RightsCacheDAOService rightsCacheDAOService;
 
 	public RightsServiceImpl(
 		final StudyService studyService,
 		final ScopeRelationService scopeRelationService,
 		final RoleService roleService,
-		final DSLContext create
+		final RightsCacheDAOService rightsCacheDAOService
 	) {
-		this.create = create;
+		this.rightsCacheDAOService = rightsCacheDAOService;
 		this.studyService = studyService;
 		this.scopeRelationService = scopeRelationService;
 		this.roleService = roleService;
@@ -56,21 +56,13 @@ public class RightsServiceImpl implements RightsService {
 
 	@Override
 	public ACL getACL(final Actor actor) {
-		final var conditions = new ArrayList<Condition>();
-		if(actor instanceof User) {
-			conditions.add(ROLE.USER_FK.eq(actor.getPk()));
-		}
-		else {
-			conditions.add(ROLE.ROBOT_FK.eq(actor.getPk()));
-		}
-		conditions.add(ROLE.STATUS.eq(RoleStatus.ENABLED));
-
-		final var query = create.selectDistinct(ROLE.PROFILE_ID)
-			.from(ROLE)
-			.where(DSL.and(conditions));
+		final var profileIds = rightsCacheDAOService.getActiveProfileIdsByScopePk(actor).values().stream()
+			.flatMap(Set::stream)
+			.distinct()
+			.toList();
 		final List<Permission> permissions = new ArrayList<>();
-		for(final var result : query.fetch()) {
-			final var profile = studyService.getStudy().getProfile(result.get(ROLE.PROFILE_ID));
+		for(final var profileId : profileIds) {
+			final var profile = studyService.getStudy().getProfile(profileId);
 			permissions.add(new Permission(profile, Timeframe.INFINITE_TIMEFRAME));
 		}
 		return new ACL(actor, Optional.empty(), permissions);
@@ -78,37 +70,32 @@ public class RightsServiceImpl implements RightsService {
 
 	@Override
 	public ACL getACL(final Actor actor, final Scope scope) {
-		final var conditions = new ArrayList<Condition>();
-		if(actor instanceof User) {
-			conditions.add(ROLE.USER_FK.eq(actor.getPk()));
-		}
-		else {
-			conditions.add(ROLE.ROBOT_FK.eq(actor.getPk()));
-		}
-		conditions.add(ROLE.STATUS.eq(RoleStatus.ENABLED));
+		return getACLs(actor, List.of(scope)).get(scope);
+	}
 
-		final List<Permission> permissions = new ArrayList<>();
+	@Override
+	public Map<Scope, ACL> getACLs(final Actor actor, final Collection<Scope> scopes) {
+		final var profileIdsByScopePk = rightsCacheDAOService.getActiveProfileIdsByScopePk(actor);
+		final var ancestorsByScopePk = rightsCacheDAOService.getScopeAncestors(scopes.stream().map(Scope::getPk).toList());
 
-		final var query = create.selectDistinct(ROLE.PROFILE_ID, SCOPE_ANCESTOR.START_DATE, SCOPE_ANCESTOR.END_DATE, SCOPE_ANCESTOR.VIRTUAL)
-			.from(ROLE)
-			.leftJoin(SCOPE_ANCESTOR).on(ROLE.SCOPE_FK.eq(SCOPE_ANCESTOR.ANCESTOR_FK))
-			.where(DSL.and(ROLE.SCOPE_FK.eq(scope.getPk()).or(SCOPE_ANCESTOR.SCOPE_FK.eq(scope.getPk())), DSL.and(conditions)));
-		for(final var result : query.fetch()) {
-			final var profile = studyService.getStudy().getProfile(result.get(ROLE.PROFILE_ID));
-			final Timeframe timeframe;
-			//for the roles directly attached to the scope, SCOPE_ANCESTOR.START_DATE, SCOPE_ANCESTOR.END_DATE and SCOPE_ANCESTOR.VIRTUAL are null
-			final var virtual = Optional.ofNullable(result.get(SCOPE_ANCESTOR.VIRTUAL)).orElse(false);
-			if(virtual) {
-				timeframe = Timeframe.INFINITE_TIMEFRAME;
+		final Map<Scope, ACL> acls = new LinkedHashMap<>();
+		for(final var scope : scopes) {
+			//a permission is granted for each profile of the roles attached to the scope or to one of its ancestors
+			final Set<Permission> permissions = new LinkedHashSet<>();
+			for(final var profileId : profileIdsByScopePk.getOrDefault(scope.getPk(), Collections.emptySet())) {
+				final var profile = studyService.getStudy().getProfile(profileId);
+				permissions.add(new Permission(profile, Timeframe.INFINITE_TIMEFRAME));
 			}
-			else {
-				final var startDate = result.get(SCOPE_ANCESTOR.START_DATE);
-				final var stopDate = result.get(SCOPE_ANCESTOR.END_DATE);
-				timeframe = new Timeframe(Optional.ofNullable(startDate), Optional.ofNullable(stopDate));
+			for(final var ancestor : ancestorsByScopePk.get(scope.getPk())) {
+				for(final var profileId : profileIdsByScopePk.getOrDefault(ancestor.ancestorPk(), Collections.emptySet())) {
+					final var profile = studyService.getStudy().getProfile(profileId);
+					//roles on an ancestor only apply while the scope is related to the ancestor
+					permissions.add(new Permission(profile, ancestor.getTimeframe()));
+				}
 			}
-			permissions.add(new Permission(profile, timeframe));
+			acls.put(scope, new ACL(actor, Optional.of(scope), new ArrayList<>(permissions)));
 		}
-		return new ACL(actor, Optional.of(scope), permissions);
+		return acls;
 	}
 
 	@Override
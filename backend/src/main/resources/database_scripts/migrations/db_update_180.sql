@@ -0,0 +1,65 @@
+insert into internal_patch (script, date, context, name) values (180, now(3), 'Materialize scope ancestors', 'db_update_180.sql');
+
+DROP VIEW IF EXISTS scope_ancestor;
+
+CREATE TABLE scope_ancestor (
+	scope_fk bigint(20) not null,
+	ancestor_fk bigint(20) not null,
+	start_date datetime(3) default null,
+	end_date datetime(3) default null,
+	direct boolean not null default false,
+	`virtual` boolean not null default false,
+	`default` boolean not null default false,
+	ancestor_deleted boolean not null default false,
+	constraint pk_scope_ancestor primary key (scope_fk, ancestor_fk)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
+
+ALTER TABLE scope_ancestor ADD INDEX idx_scope_ancestor_ancestor_fk (ancestor_fk, scope_fk);
+
+INSERT INTO scope_ancestor (scope_fk, ancestor_fk, start_date, end_date, direct, `virtual`, `default`, ancestor_deleted)
+SELECT * FROM (
+WITH RECURSIVE recursive_scope_ancestor (scope_fk, ancestor_fk, start_date, end_date, direct, `virtual`, default_relation, ancestor_deleted) AS (
+	SELECT
+		scope_fk,
+		parent_fk,
+		sr.start_date,
+		sr.end_date,
+		1 AS direct,
+		s.`virtual`,
+		sr.`default`,
+		deleted AS ancestor_deleted
+	FROM scope_relation sr INNER JOIN scope s ON sr.parent_fk = s.pk
+	UNION ALL
+	SELECT
+		rsa.scope_fk,
+		sr.parent_fk,
+		CASE
+			WHEN sr.start_date IS NULL THEN rsa.start_date
+			WHEN rsa.start_date IS NULL THEN sr.start_date
+			ELSE greatest(sr.start_date, rsa.start_date)
+		END AS start_date,
+		CASE
+			WHEN sr.end_date IS NULL THEN rsa.end_date
+			WHEN rsa.end_date IS NULL THEN sr.end_date
+			ELSE least(sr.end_date, rsa.end_date)
+		END AS end_date,
+		0 AS direct,
+		s.`virtual` OR rsa.`virtual`,
+		sr.`default` && rsa.default_relation,
+		s.deleted OR rsa.ancestor_deleted AS ancestor_deleted
+	FROM recursive_scope_ancestor rsa
+	INNER JOIN scope_relation sr ON sr.scope_fk = rsa.ancestor_fk
+	INNER JOIN scope s ON sr.parent_fk = s.pk
+)
+SELECT
+	scope_fk,
+	ancestor_fk,
+	min(start_date),
+	CASE WHEN max(CASE WHEN end_date IS NULL THEN 1 ELSE 0 END) = 0 THEN max(end_date) END,
+	bit_or(direct),
+	bit_and(`virtual`),
+	bit_or(default_relation),
+	bit_and(ancestor_deleted)
+FROM recursive_scope_ancestor
+GROUP BY scope_fk, ancestor_fk
+) AS closure;
@@ -0,0 +1,3 @@
+insert into internal_patch (script, date, context, name) values (181, now(3), 'Index field audit trails by date', 'db_update_181.sql');
+
+ALTER TABLE field_audit ADD INDEX IF NOT EXISTS idx_field_audit_object_fk_datetime (audit_object_fk, audit_datetime);
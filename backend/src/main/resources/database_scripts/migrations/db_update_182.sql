@@ -0,0 +1,11 @@
+insert into internal_patch (script, date, context, name) values (182, now(3), 'Persist the state of the crons', 'db_update_182.sql');
+
+CREATE TABLE cron_run (
+	cron_id varchar(64) not null,
+	start_time datetime(3) not null,
+	end_time datetime(3) default null,
+	last_scope_fk bigint(20) default null,
+	processed int(11) not null default '0',
+	failed int(11) not null default '0',
+	constraint pk_cron_run primary key (cron_id)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
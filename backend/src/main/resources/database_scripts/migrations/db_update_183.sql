@@ -0,0 +1,9 @@
+insert into internal_patch (script, date, context, name) values (183, now(3), 'Share the invalidations of the entity cache between nodes', 'db_update_183.sql');
+
+CREATE TABLE entity_cache_invalidation (
+	pk bigint(20) not null auto_increment,
+	table_name varchar(64) not null,
+	record_pk bigint(20) not null,
+	date datetime(3) not null,
+	constraint pk_entity_cache_invalidation primary key (pk)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
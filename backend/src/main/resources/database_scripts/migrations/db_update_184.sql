@@ -0,0 +1,3 @@
+insert into internal_patch (script, date, context, name) values (184, now(3), 'Index the invalidations of the entity cache by date', 'db_update_184.sql');
+
+CREATE INDEX IF NOT EXISTS idx_entity_cache_invalidation_date ON entity_cache_invalidation (date);
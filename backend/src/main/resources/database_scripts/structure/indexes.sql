@@ -1,8 +1,17 @@
+/* scope ancestor */
+alter table scope_ancestor add index idx_scope_ancestor_ancestor_fk (ancestor_fk, scope_fk);
+
 /* event */
 alter table event add index idx_event_date (date);
 alter table event add index idx_event_event_model_id (event_model_id);
 alter table event add index idx_event_blocking (blocking);
 
+/* field audit */
+alter table field_audit add index idx_field_audit_object_fk_datetime (audit_object_fk, audit_datetime);
+
+/* entity cache invalidation */
+alter table entity_cache_invalidation add index idx_entity_cache_invalidation_date (date);
+
 /* workflow status */
 alter table workflow_status add index idx_workflow_status_workflow_id (workflow_id);
 alter table workflow_status add index idx_workflow_status_state_id (state_id);
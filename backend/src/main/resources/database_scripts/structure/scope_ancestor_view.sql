@@ -1,4 +1,4 @@
-create or replace view scope_ancestor
+create or replace view scope_ancestor_view
 as with recursive recursive_scope_ancestor (scope_fk, ancestor_fk, start_date, end_date, direct, `virtual`, default_relation, ancestor_deleted) as (
 	select
 		scope_fk,
@@ -11,7 +11,7 @@ create table internal_patch (
 	constraint pk_internal_patch primary key (script)
 ) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
 
-insert into internal_patch (script, date, context, name) values (179, now(3), 'Remove country from user', 'db_update_179.sql');
+insert into internal_patch (script, date, context, name) values (184, now(3), 'Index the invalidations of the entity cache by date', 'db_update_184.sql');
 
 /***********************************
 *                                  *
@@ -85,6 +85,22 @@ create table scope_relation (
 	constraint pk_scope_relation primary key (pk)
 ) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
 
+/* scope ancestor */
+/* closure of the scope relations, maintained by the application each time a relation or a scope changes */
+drop view if exists scope_ancestor;
+drop table if exists scope_ancestor;
+create table scope_ancestor (
+	scope_fk bigint(20) not null,
+	ancestor_fk bigint(20) not null,
+	start_date datetime(3) default null,
+	end_date datetime(3) default null,
+	direct boolean not null default false,
+	`virtual` boolean not null default false,
+	`default` boolean not null default false,
+	ancestor_deleted boolean not null default false,
+	constraint pk_scope_ancestor primary key (scope_fk, ancestor_fk)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
+
 /* event */
 drop table if exists event;
 create table event (
@@ -611,5 +627,29 @@ create table chart_category (
 	constraint pk_chart_category primary key (pk)
 ) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
 
+/* cron run */
+/* state of the last pass of each cron, used to resume a pass interrupted by a restart */
+drop table if exists cron_run;
+create table cron_run (
+	cron_id varchar(64) not null,
+	start_time datetime(3) not null,
+	end_time datetime(3) default null,
+	last_scope_fk bigint(20) default null,
+	processed int(11) not null default '0',
+	failed int(11) not null default '0',
+	constraint pk_cron_run primary key (cron_id)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
+
+/* entity cache invalidation */
+/* rows modified by each node, used by the other nodes to evict them from their entity cache */
+drop table if exists entity_cache_invalidation;
+create table entity_cache_invalidation (
+	pk bigint(20) not null auto_increment,
+	table_name varchar(64) not null,
+	record_pk bigint(20) not null,
+	date datetime(3) not null,
+	constraint pk_entity_cache_invalidation primary key (pk)
+) engine = InnoDB default charset = utf8mb4 collate = utf8mb4_unicode_ci;
+
 /* never forget to re-enable foreign key checks */
 set FOREIGN_KEY_CHECKS=1;
@@ -0,0 +1,41 @@
+package ch.rodano.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+
+import ch.rodano.api.documentation.ArchiveRequestDTO;
+import ch.rodano.core.services.bll.scope.ScopeService;
+import ch.rodano.test.ControllerTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringTestConfiguration
+public class DocumentationControllerTest extends ControllerTest {
+
+	@Autowired
+	private ScopeService scopeService;
+
+	@Test
+	@DisplayName("CRF archive jobs report missing archives and jobs that can not be resumed")
+	public void testCRFArchiveJobErrors() {
+		authenticate(adminOnStudyEmail);
+
+		//no archive has been requested yet
+		assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/documentation/crf-archive/download", String.class).getStatusCode());
+
+		//there is no cohort, so the job has nothing to generate
+		final var request = new ArchiveRequestDTO("COHORT", List.of(scopeService.getRootScope().getPk()), false);
+		final var response = executePost("/documentation/crf-archive/request", request, Map.class);
+		assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+
+		//a job that is running or completed can not be resumed
+		final var jobId = response.getBody().get("id");
+		assertEquals(HttpStatus.CONFLICT, restTemplate.postForEntity("/documentation/crf-archive/jobs/{jobId}/resume", null, String.class, jobId).getStatusCode());
+	}
+}
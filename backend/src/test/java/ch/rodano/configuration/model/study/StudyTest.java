@@ -10,12 +10,14 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Collections;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import ch.rodano.configuration.builder.StudyBuilder;
+import ch.rodano.configuration.exceptions.NoNodeException;
 import ch.rodano.configuration.model.common.Entity;
 import ch.rodano.configuration.model.feature.Feature;
 import ch.rodano.configuration.model.language.Language;
@@ -24,6 +26,7 @@ import ch.rodano.configuration.model.payment.PaymentDistribution;
 import ch.rodano.configuration.model.payment.PaymentPlan;
 import ch.rodano.configuration.model.payment.PaymentStep;
 import ch.rodano.configuration.model.profile.Profile;
+import ch.rodano.configuration.model.scope.ScopeModel;
 import ch.rodano.configuration.model.validator.Validator;
 import ch.rodano.configuration.utils.DisplayableUtils;
 
@@ -318,5 +321,65 @@ public class StudyTest {
 
 		plan.getStepFromId("STEP1").getDistributions().add(distribution);
 	}
-}
 
+	@Test
+	@DisplayName("Retrieve nodes by id")
+	public void retrieveNodesById() {
+		final var study = StudyBuilder.buildStudy().getStudy();
+		study.init();
+
+		//lookups ignore the case
+		assertAll("Lookups ignore the case",
+			() -> assertEquals(StudyBuilder.SCOPE_MODEL_COUNTRY_ID, study.getScopeModel("country").getId()),
+			() -> assertEquals(StudyBuilder.EVENT_MODEL_ID, study.getScopeModel(StudyBuilder.SCOPE_MODEL_PATIENT_ID).getEventModel(StudyBuilder.EVENT_MODEL_ID.toLowerCase()).getId()),
+			() -> assertEquals(StudyBuilder.FIELD_MODEL_ID, study.getDatasetModel(StudyBuilder.DATASET_MODEL_ID).getFieldModel(StudyBuilder.FIELD_MODEL_ID.toLowerCase()).getId()),
+			() -> assertTrue(study.getDatasetModel(StudyBuilder.DATASET_MODEL_ID).hasFieldModel(StudyBuilder.FIELD_MODEL_ID)),
+			() -> assertFalse(study.getDatasetModel(StudyBuilder.DATASET_MODEL_ID).hasFieldModel("UNKNOWN")),
+			() -> assertThrows(NoNodeException.class, () -> study.getScopeModel("UNKNOWN"))
+		);
+
+		//lookups follow the modifications of the configuration
+		final var scopeModel = new ScopeModel();
+		scopeModel.setId("GROUP");
+		scopeModel.setStudy(study);
+		study.getScopeModels().add(scopeModel);
+		assertEquals(scopeModel, study.getScopeModel("GROUP"));
+
+		study.getScopeModels().remove(scopeModel);
+		assertThrows(NoNodeException.class, () -> study.getScopeModel("GROUP"));
+
+		final var scopeModels = new TreeSet<>(study.getScopeModels());
+		scopeModels.add(scopeModel);
+		study.setScopeModels(scopeModels);
+		assertEquals(scopeModel, study.getScopeModel("GROUP"));
+
+		//replace a scope model without changing the size of the collection
+		final var otherScopeModel = new ScopeModel();
+		otherScopeModel.setId("OTHER_GROUP");
+		otherScopeModel.setStudy(study);
+		final var otherScopeModels = new TreeSet<>(study.getScopeModels());
+		otherScopeModels.remove(scopeModel);
+		otherScopeModels.add(otherScopeModel);
+		study.setScopeModels(otherScopeModels);
+		assertEquals(otherScopeModel, study.getScopeModel("OTHER_GROUP"));
+		assertThrows(NoNodeException.class, () -> study.getScopeModel("GROUP"));
+
+		//replace a scope model in place without changing the size of the collection
+		study.getScopeModels().remove(otherScopeModel);
+		study.getScopeModels().add(scopeModel);
+		assertEquals(scopeModel, study.getScopeModel("GROUP"));
+		assertThrows(NoNodeException.class, () -> study.getScopeModel("OTHER_GROUP"));
+
+		//a renamed scope model is found with its new id, and not with its previous id
+		scopeModel.setId("RENAMED_GROUP");
+		assertEquals(scopeModel, study.getScopeModel("RENAMED_GROUP"));
+		assertThrows(NoNodeException.class, () -> study.getScopeModel("GROUP"));
+
+		//a renamed field model is found with its new id
+		final var datasetModel = study.getDatasetModel(StudyBuilder.DATASET_MODEL_ID);
+		final var fieldModel = datasetModel.getFieldModel(StudyBuilder.FIELD_MODEL_ID);
+		fieldModel.setId("RENAMED_FIELD");
+		assertEquals(fieldModel, datasetModel.getFieldModel("RENAMED_FIELD"));
+		assertFalse(datasetModel.hasFieldModel(StudyBuilder.FIELD_MODEL_ID));
+	}
+}
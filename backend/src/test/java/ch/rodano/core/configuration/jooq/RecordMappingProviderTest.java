@@ -0,0 +1,97 @@
+package ch.rodano.core.configuration.jooq;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.jooq.DSLContext;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordUnmapperProvider;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.rodano.core.model.field.Field;
+import ch.rodano.core.model.jooq.tables.records.FieldRecord;
+
+import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecordMappingProviderTest {
+
+	private final RecordMappingProvider provider = new RecordMappingProvider();
+	//the default mapping of jOOQ is the reference
+	private final DSLContext defaultContext = DSL.using(SQLDialect.MARIADB);
+	private final DSLContext context = DSL.using(
+		new DefaultConfiguration()
+			.set(SQLDialect.MARIADB)
+			.set((RecordMapperProvider) provider)
+			.set((RecordUnmapperProvider) provider)
+	);
+
+	@Test
+	@DisplayName("Records are mapped to objects as jOOQ does")
+	public void recordsAreMappedAsByJOOQ() {
+		final var record = createRecord();
+		final var field = provider.provide(FIELD.recordType(), Field.class).map(record);
+		final var expectedField = record.into(Field.class);
+
+		assertAll(
+			() -> assertEquals(expectedField.getPk(), field.getPk()),
+			() -> assertEquals(expectedField.getCreationTime(), field.getCreationTime()),
+			() -> assertEquals(expectedField.getLastUpdateTime(), field.getLastUpdateTime()),
+			() -> assertEquals(expectedField.getDatasetFk(), field.getDatasetFk()),
+			() -> assertEquals(expectedField.getDatasetModelId(), field.getDatasetModelId()),
+			() -> assertEquals(expectedField.getFieldModelId(), field.getFieldModelId()),
+			() -> assertEquals(expectedField.getValue(), field.getValue())
+		);
+	}
+
+	@Test
+	@DisplayName("Objects are unmapped to records as jOOQ does")
+	public void objectsAreUnmappedAsByJOOQ() {
+		final var field = createRecord().into(Field.class);
+		//the object does not have a pk yet, as when it is inserted
+		field.setPk(null);
+
+		final var record = context.newRecord(FIELD, field);
+		final var expectedRecord = defaultContext.newRecord(FIELD, field);
+
+		assertEquals(expectedRecord, record);
+		for(final var column : FIELD.fields()) {
+			assertEquals(expectedRecord.changed(column), record.changed(column), column.getName());
+		}
+	}
+
+	@Test
+	@DisplayName("Only the values that differ from a record are reported as changed")
+	public void changedValuesAreReported() {
+		final var record = createRecord();
+		final var field = record.into(Field.class);
+		assertTrue(provider.getChangedValues(field, record).isEmpty());
+
+		field.setValue("2");
+		final var changedValues = provider.getChangedValues(field, record);
+		assertEquals(List.of(FIELD.VALUE), List.copyOf(changedValues.keySet()));
+		assertEquals("2", changedValues.get(FIELD.VALUE));
+	}
+
+	@Test
+	@DisplayName("Classes that can not be compiled are mapped by jOOQ")
+	public void otherClassesAreMappedByJOOQ() {
+		final var record = context.newRecord(FIELD.PK);
+		record.set(FIELD.PK, 42L);
+		assertEquals(42L, record.into(Long.class));
+	}
+
+	private FieldRecord createRecord() {
+		final var date = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+		final var record = new FieldRecord(1L, date, date.plusDays(1), 2L, "VISIT_DOCUMENTATION", "WEIGHT", "1");
+		record.attach(defaultContext.configuration());
+		return record;
+	}
+}
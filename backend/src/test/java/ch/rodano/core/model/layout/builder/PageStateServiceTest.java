@@ -0,0 +1,62 @@
+package ch.rodano.core.model.layout.builder;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import ch.rodano.core.services.bll.field.FieldService;
+import ch.rodano.core.services.bll.form.FormService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+import ch.rodano.test.TestHelperService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Page state service")
+@SpringTestConfiguration
+@Transactional
+public class PageStateServiceTest extends DatabaseTest {
+
+	@Autowired
+	private PageStateService pageStateService;
+
+	@Autowired
+	private FormService formService;
+
+	@Autowired
+	private FieldService fieldService;
+
+	@Autowired
+	private TestHelperService testHelperService;
+
+	@Test
+	@DisplayName("Cells of a page state are linked to the fields of their datasets")
+	public void testCellFields() {
+		final var center = testHelperService.createCenter(context);
+		final var patient = testHelperService.createPatient(center, context);
+
+		final var forms = formService.getAll(patient);
+		assertFalse(forms.isEmpty());
+		for(final var form : forms) {
+			final var pageState = pageStateService.createPageState(patient, Optional.empty(), form);
+			for(final var layoutGroupState : pageState.getLayoutGroupStates()) {
+				for(final var layoutState : layoutGroupState.getLayoutStates()) {
+					for(final var cellState : layoutState.getCellStates()) {
+						if(cellState.getCell().hasFieldModel()) {
+							final var field = cellState.getField();
+							assertEquals(cellState.getDataset().getPk(), field.getDatasetFk());
+							assertEquals(cellState.getCell().getFieldModelId(), field.getFieldModelId());
+							//prefetched fields are the same instances as the ones retrieved one by one
+							assertSame(fieldService.get(cellState.getDataset(), cellState.getCell().getFieldModel()), field);
+						}
+					}
+				}
+			}
+		}
+	}
+}
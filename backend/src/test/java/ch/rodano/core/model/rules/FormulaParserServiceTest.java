@@ -71,7 +71,9 @@ public class FormulaParserServiceTest {
 		assertAll(
 			"Check function parsing when formula is not well formated",
 			() -> assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=TODAY(")),
-			() -> assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=ADD_YEARS(TODAY(), 5"))
+			() -> assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=ADD_YEARS(TODAY(), 5")),
+			() -> assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=UNKNOWN_FUNCTION(5)")),
+			() -> assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=ABS(5) 3"))
 		);
 
 		assertAll(
@@ -196,6 +198,11 @@ public class FormulaParserServiceTest {
 		assertEquals(3.0d, formulaParserService.parse("=AN:VALUE_NUMBER", evaluations));
 		assertEquals(6.0d, formulaParserService.parse("=SUM(AN:VALUE_NUMBER, 3)", evaluations));
 
+		//compiled formulas must be evaluated again with the new values
+		field.setValue("5");
+		assertEquals(8.0d, formulaParserService.parse("=SUM(AN:VALUE_NUMBER, 3)", evaluations));
+		assertThrows(UnableToCalculateFormulaException.class, () -> formulaParserService.parse("=SUM(AN:VALUE_NUMBER, 3)"));
+
 		//create attribute
 		final var anyDate = new FieldModel();
 		anyDate.setId("ANY_DATE");
@@ -0,0 +1,52 @@
+package ch.rodano.core.model.scope;
+
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScopeDataTest {
+
+	//the JSON is not formatted as it would be by Jackson, to check that it is not written again
+	private static final String JSON = "{ \"description\" : { \"en\" : \"Center\" } }";
+
+	@Test
+	@DisplayName("The JSON of data that has not been accessed is written back as it is")
+	public void jsonIsKeptWhenNotAccessed() {
+		final var data = ScopeData.fromJson(JSON);
+		assertEquals(JSON, data.toJson());
+	}
+
+	@Test
+	@DisplayName("The JSON is parsed when the data is accessed")
+	public void jsonIsParsedWhenAccessed() {
+		final var data = ScopeData.fromJson(JSON);
+		assertEquals("Center", data.getDescription().get("en"));
+		assertNull(data.getEnrollmentModel());
+		assertTrue(data.getEnrollmentTargets().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Modified data is written as JSON")
+	public void modifiedDataIsWritten() {
+		final var data = ScopeData.fromJson(JSON);
+		final var description = new TreeMap<String, String>();
+		description.put("en", "Site");
+		data.setDescription(description);
+
+		final var copy = ScopeData.fromJson(data.toJson());
+		assertEquals("Site", copy.getDescription().get("en"));
+	}
+
+	@Test
+	@DisplayName("Invalid JSON gives empty data")
+	public void invalidJsonGivesEmptyData() {
+		final var data = ScopeData.fromJson("{ invalid");
+		assertTrue(data.getDescription().isEmpty());
+		assertTrue(ScopeData.fromJson(" ").getDescription().isEmpty());
+	}
+}
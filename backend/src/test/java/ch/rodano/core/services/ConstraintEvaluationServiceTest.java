@@ -1,6 +1,10 @@
 package ch.rodano.core.services;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -65,4 +69,37 @@ public class ConstraintEvaluationServiceTest extends DatabaseTest {
 		assertTrue(evaluable.isPresent());
 		assertTrue(evaluable.get() instanceof Field);
 	}
+
+	@Test
+	@DisplayName("Evaluations of the compiled constraints of the study are repeatable")
+	public void testEvaluationRepeatable() {
+		final var study = studyService.getStudy();
+		final var patient = scopeDAOService.getScopeByCode("FR-01-03");
+		final var dmtDataset = datasetService.create(patient, study.getDatasetModel("DMT_GRID"), context, "Rule test");
+		final var beginDateField = fieldService.get(dmtDataset, dmtDataset.getDatasetModel().getFieldModel("DMT_BEGIN_DATE"));
+		final var dataState = new DataState(patient, Optional.empty(), dmtDataset, beginDateField);
+
+		final Map<String, Boolean> results = new HashMap<>();
+		final Map<String, Set<String>> dependencies = new HashMap<>();
+		for(final var validator : study.getValidators()) {
+			final var dataEvaluation = new DataEvaluation(dataState, validator.getConstraint());
+			constraintEvaluationService.evaluate(dataEvaluation);
+			results.put(validator.getId(), dataEvaluation.isValid());
+			dependencies.put(validator.getId(), getDependencyIds(dataEvaluation));
+		}
+
+		//the compiled constraints are reused, and do not keep anything from the previous evaluations
+		for(var i = 0; i < 3; i++) {
+			for(final var validator : study.getValidators()) {
+				final var dataEvaluation = new DataEvaluation(dataState, validator.getConstraint());
+				constraintEvaluationService.evaluate(dataEvaluation);
+				assertEquals(results.get(validator.getId()), dataEvaluation.isValid(), String.format("Validity of validator %s", validator.getId()));
+				assertEquals(dependencies.get(validator.getId()), getDependencyIds(dataEvaluation), String.format("Dependencies of validator %s", validator.getId()));
+			}
+		}
+	}
+
+	private static Set<String> getDependencyIds(final DataEvaluation dataEvaluation) {
+		return dataEvaluation.getDependencies().stream().map(d -> d.getId()).collect(Collectors.toSet());
+	}
 }
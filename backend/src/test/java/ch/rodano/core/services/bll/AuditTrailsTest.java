@@ -1,6 +1,8 @@
 package ch.rodano.core.services.bll;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
+import ch.rodano.core.model.audit.AuditTrailCursor;
+import ch.rodano.core.model.audit.models.ScopeAuditTrail;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.services.bll.scope.ScopeService;
 import ch.rodano.core.services.dao.scope.ScopeDAOService;
@@ -83,6 +87,54 @@ public class AuditTrailsTest extends DatabaseTest {
 		);
 	}
 
+	@Test
+	@DisplayName("Audit trails can be paginated and streamed")
+	public void auditTrailsCanBePaginated() {
+		final var newScope = createScope();
+		for(final var id : List.of("secondId", "thirdId")) {
+			newScope.setId(id);
+			scopeService.save(newScope, context, "Update ID");
+		}
+
+		final var scopeVersions = scopeDAOService.getAuditTrails(newScope, Optional.empty(), Optional.empty());
+
+		final var firstPage = scopeDAOService.getAuditTrailPage(newScope, Optional.empty(), Optional.empty(), Optional.empty(), 2);
+		assertEquals(2, firstPage.auditTrails().size());
+		assertTrue(firstPage.nextCursor().isPresent());
+
+		//the cursor is given to the clients as a token
+		final var cursor = AuditTrailCursor.fromToken(firstPage.nextCursor().get().toToken());
+		final var secondPage = scopeDAOService.getAuditTrailPage(newScope, Optional.empty(), Optional.empty(), Optional.of(cursor), 2);
+		assertEquals(1, secondPage.auditTrails().size());
+		assertTrue(secondPage.nextCursor().isEmpty());
+
+		final List<ScopeAuditTrail> pagedVersions = new ArrayList<>(firstPage.auditTrails());
+		pagedVersions.addAll(secondPage.auditTrails());
+		assertEquals(scopeVersions.stream().map(ScopeAuditTrail::getPk).toList(), pagedVersions.stream().map(ScopeAuditTrail::getPk).toList());
+
+		final List<ScopeAuditTrail> streamedVersions = new ArrayList<>();
+		scopeDAOService.streamAuditTrails(newScope, Optional.empty(), Optional.empty(), streamedVersions::add);
+		assertEquals(scopeVersions.stream().map(ScopeAuditTrail::getPk).toList(), streamedVersions.stream().map(ScopeAuditTrail::getPk).toList());
+	}
+
+	@Test
+	@DisplayName("Audit trails can be filtered on the change of a column by the database")
+	public void auditTrailsCanBeFilteredOnColumns() {
+		final var newScope = createScope();
+
+		newScope.setId("secondId");
+		scopeService.save(newScope, context, "Update ID");
+		newScope.setId("thirdId");
+		scopeService.save(newScope, context, "Update ID again");
+		scopeService.lock(newScope, context);
+
+		final var statusVersions = scopeDAOService.getStatusAuditTrails(newScope, Optional.empty());
+		final var propertiesVersions = scopeDAOService.getAuditTrailsForProperties(newScope, Optional.empty(), List.of(ScopeAuditTrail::getDeleted, ScopeAuditTrail::getLocked));
+
+		assertEquals(2, statusVersions.size());
+		assertEquals(propertiesVersions.stream().map(ScopeAuditTrail::getPk).toList(), statusVersions.stream().map(ScopeAuditTrail::getPk).toList());
+	}
+
 	private Scope createScope() {
 		final var centerScopeModel = studyService.getStudy().getScopeModel("CENTER");
 		final var centerParent = scopeService.getAll(centerScopeModel).stream().findFirst().get();
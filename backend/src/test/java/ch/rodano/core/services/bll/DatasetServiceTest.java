@@ -13,13 +13,17 @@ import ch.rodano.configuration.model.dataset.DatasetModel;
 import ch.rodano.core.model.actor.Actor;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.services.bll.dataset.DatasetService;
+import ch.rodano.core.services.bll.field.FieldService;
 import ch.rodano.core.services.dao.dataset.DatasetDAOService;
+import ch.rodano.core.services.dao.field.FieldDAOService;
 import ch.rodano.test.DatabaseTest;
 import ch.rodano.test.SpringTestConfiguration;
 import ch.rodano.test.TestHelperService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringTestConfiguration
@@ -32,6 +36,12 @@ public class DatasetServiceTest extends DatabaseTest {
 	@Autowired
 	private DatasetService datasetService;
 
+	@Autowired
+	private FieldDAOService fieldDAOService;
+
+	@Autowired
+	private FieldService fieldService;
+
 	@Autowired
 	private TestHelperService testHelperService;
 
@@ -57,6 +67,28 @@ public class DatasetServiceTest extends DatabaseTest {
 		assertEquals(1, datasetDAOService.getAuditTrails(dmtDataset, Optional.empty(), Optional.empty()).size());
 	}
 
+	@Test
+	@DisplayName("All datasets of a scope are created with their fields")
+	public void testDatasetsCreation() {
+		final var datasetModels = patient.getScopeModel().getDatasetModels().stream()
+			.filter(d -> !d.isMultiple())
+			.toList();
+		final var datasets = datasetService.getAll(patient);
+		assertEquals(datasetModels.size(), datasets.size());
+
+		for(final var dataset : datasets) {
+			final var fields = fieldService.getAll(dataset);
+			assertEquals(dataset.getDatasetModel().getFieldModels().size(), fields.size());
+			assertEquals(1, datasetDAOService.getAuditTrails(dataset, Optional.empty(), Optional.empty()).size());
+			for(final var field : fields) {
+				assertNotNull(field.getPk());
+				assertEquals(1, fieldDAOService.getAuditTrails(field, Optional.empty(), Optional.empty()).size());
+				//inserted fields must be the instances of the transaction cache
+				assertSame(field, fieldDAOService.getFieldByPk(field.getPk()));
+			}
+		}
+	}
+
 	@Test
 	@DisplayName("Dataset deletion works")
 	public void testDeleteDataset() {
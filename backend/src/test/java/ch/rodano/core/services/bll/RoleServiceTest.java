@@ -1,5 +1,6 @@
 package ch.rodano.core.services.bll;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -333,6 +334,49 @@ public class RoleServiceTest extends DatabaseTest {
 		);
 	}
 
+	@Test
+	@DisplayName("Check that the ACLs follow the roles of the user")
+	public void testACLs() {
+		final var studyScope = scopeDAOService.getScopeByCode("Test");
+		final var center = scopeDAOService.getScopeByCode("FR-01");
+		final var role = roleService.createRole(
+			user,
+			investigatorProfile,
+			center,
+			context
+		);
+		roleService.enableRole(
+			user,
+			role,
+			context
+		);
+
+		final var acls = rightsService.getACLs(user, List.of(studyScope, center));
+		assertAll(
+			"Check ACLs with the investigator role",
+			() -> assertTrue(acls.get(studyScope).getProfiles().isEmpty()),
+			() -> assertEquals(List.of(investigatorProfile), acls.get(center).getProfiles()),
+			() -> assertEquals(List.of(investigatorProfile), rightsService.getACL(user, center).getProfiles()),
+			() -> assertEquals(List.of(investigatorProfile), rightsService.getACL(user).getProfiles())
+		);
+
+		//the ACLs must be updated as soon as the roles of the user are modified
+		final var adminRole = addAdminRole(user);
+		assertAll(
+			"Check ACLs with the extra admin role",
+			() -> assertEquals(List.of(adminProfile), rightsService.getACL(user, studyScope).getProfiles()),
+			() -> assertEquals(2, rightsService.getACL(user, center).getProfiles().size()),
+			() -> assertEquals(2, rightsService.getACL(user).getProfiles().size())
+		);
+
+		roleService.disableRole(user, adminRole, context);
+		assertAll(
+			"Check ACLs once the admin role has been disabled",
+			() -> assertTrue(rightsService.getACL(user, studyScope).getProfiles().isEmpty()),
+			() -> assertEquals(List.of(investigatorProfile), rightsService.getACL(user, center).getProfiles())
+		);
+	}
+
 	private User createUser() {
 		final var user = new User();
 		user.setName("Luke Skywalker");
@@ -0,0 +1,55 @@
+package ch.rodano.core.services.bll.dictionary;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Dictionary index")
+public class DictionaryIndexTest {
+
+	private static final List<String> LINES = List.of(
+		"Ventilation pneumonitis",
+		"Pneumonia",
+		"Pneumonia aspiration",
+		"",
+		"Atypical pneumonia",
+		"pneumonia",
+		"Headache",
+		"Pneumonia"
+	);
+
+	@Test
+	@DisplayName("Blank lines and duplicates are ignored")
+	public void testSize() {
+		final var index = DictionaryIndex.build(LINES);
+		assertEquals(6, index.getSize());
+		assertTrue(index.getMemoryFootprint() > 0);
+	}
+
+	@Test
+	@DisplayName("Entries starting with the text come first")
+	public void testSearch() {
+		final var index = DictionaryIndex.build(LINES);
+		assertEquals(
+			List.of("Pneumonia", "pneumonia", "Pneumonia aspiration", "Atypical pneumonia", "Ventilation pneumonitis"),
+			index.search("PNEUMON", 100)
+		);
+		assertEquals(List.of("Atypical pneumonia"), index.search("l pneumonia", 100));
+		assertEquals(List.of("Headache"), index.search("ach", 100));
+		assertEquals(List.of("Headache"), index.search("h", 100));
+		assertEquals(List.of(), index.search("fever", 100));
+	}
+
+	@Test
+	@DisplayName("The number of entries is limited")
+	public void testLimit() {
+		final var index = DictionaryIndex.build(LINES);
+		assertEquals(List.of("Pneumonia", "pneumonia"), index.search("pneumonia", 2));
+		assertEquals(4, index.search("monia", 4).size());
+		assertEquals(List.of(), index.search("monia", 0));
+	}
+}
@@ -0,0 +1,64 @@
+package ch.rodano.core.services.bll.export;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import ch.rodano.configuration.model.scope.ScopeModel;
+import ch.rodano.core.database.initializer.DatabaseInitializer;
+import ch.rodano.core.model.actor.Actor;
+import ch.rodano.core.services.bll.export.dct.CRFDocumentationService;
+import ch.rodano.core.services.dao.user.UserDAOService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringTestConfiguration
+public class CRFDocumentationServiceTest extends DatabaseTest {
+	private static final Pattern PAGE_PATTERN = Pattern.compile("/Type /Page\\b(?!s)");
+
+	@Autowired
+	private CRFDocumentationService crfDocumentationService;
+
+	@Autowired
+	private UserDAOService userDAOService;
+
+	@Test
+	@DisplayName("Blank CRFs generated with the shared factory and stylesheets have the same pages as the first ones")
+	public void testCRFBlankRepeatable() {
+		final var user = userDAOService.getUserByEmail(DatabaseInitializer.TEST_USER_EMAIL);
+		final var scopeModel = studyService.getStudy().getScopeModel("PATIENT");
+
+		//the first generation loads the fonts and compiles the stylesheet
+		final var annotatedPages = countPages(generate(user, scopeModel, true));
+		final var blankPages = countPages(generate(user, scopeModel, false));
+		assertTrue(annotatedPages > 0);
+		assertTrue(blankPages > 0);
+
+		//the following generations reuse them, alternating the stylesheet parameters
+		for(var i = 0; i < 10; i++) {
+			final var annotated = i % 2 == 0;
+			final var pdf = generate(user, scopeModel, annotated);
+			assertEquals(annotated ? annotatedPages : blankPages, countPages(pdf), String.format("Number of pages of generation %d", i));
+		}
+	}
+
+	private String generate(final Actor user, final ScopeModel scopeModel, final boolean annotated) {
+		final var output = new ByteArrayOutputStream();
+		crfDocumentationService.generateCRFBlank(user, scopeModel, annotated, output);
+		final var pdf = output.toString(StandardCharsets.ISO_8859_1);
+		assertTrue(pdf.startsWith("%PDF"));
+		assertTrue(pdf.stripTrailing().endsWith("%%EOF"));
+		return pdf;
+	}
+
+	private static long countPages(final String pdf) {
+		return PAGE_PATTERN.matcher(pdf).results().count();
+	}
+}
@@ -0,0 +1,133 @@
+package ch.rodano.core.services.bll.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import ch.rodano.configuration.model.field.FieldModel;
+import ch.rodano.core.model.field.Field;
+import ch.rodano.core.services.bll.export.extract.ExtractService;
+import ch.rodano.core.services.bll.scope.ScopeService;
+import ch.rodano.core.services.dao.field.FieldDAOService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringTestConfiguration
+public class ExtractServiceTest extends DatabaseTest {
+
+	@Autowired
+	private ExtractService extractService;
+
+	@Autowired
+	private ScopeService scopeService;
+
+	@Autowired
+	private FieldDAOService fieldDAOService;
+
+	@Test
+	@DisplayName("Extracts of several datasets contain the values of each dataset in the matching columns")
+	public void testExtractSeveralDatasets() throws IOException, CsvException {
+		final var study = studyService.getStudy();
+		final var datasetModels = List.of(
+			study.getDatasetModel("PATIENT_DOCUMENTATION"),
+			study.getDatasetModel("VISIT_DOCUMENTATION")
+		);
+		final var spools = listSpools();
+
+		final var out = new ByteArrayOutputStream();
+		extractService.zipExtracts(out, datasetModels, study.getDefaultLanguageId(), List.of(scopeService.getRootScope()), false);
+
+		final var extracts = unzip(out.toByteArray());
+		assertEquals(Set.of("PATIENT_DOCUMENTATION.csv", "VISIT_DOCUMENTATION.csv"), extracts.keySet());
+
+		for(final var datasetModel : datasetModels) {
+			final var lines = extracts.get(extractService.getCSVDocumentFilename(datasetModel));
+			final var header = Arrays.asList(lines.get(0));
+			final var datasetIdIndex = header.indexOf("DATASET_ID");
+			final var fieldModels = datasetModel.getFieldModelsExportables();
+
+			//the field columns follow the dataset id column, in the order of the exportable field models
+			assertEquals(
+				fieldModels.stream().map(f -> f.getExportColumnLabel().toUpperCase()).toList(),
+				header.subList(datasetIdIndex + 1, header.size())
+			);
+
+			final var rows = lines.subList(1, lines.size());
+			assertFalse(rows.isEmpty(), String.format("Extract of %s contains data", datasetModel.getId()));
+			for(final var row : rows) {
+				assertEquals(header.size(), row.length);
+				final var datasetPk = Long.valueOf(row[datasetIdIndex]);
+				final var fields = fieldDAOService.getFieldsByDatasetPks(List.of(datasetPk)).stream()
+					.collect(Collectors.toMap(Field::getFieldModelId, Function.identity()));
+				for(var i = 0; i < fieldModels.size(); i++) {
+					final FieldModel fieldModel = fieldModels.get(i);
+					final var field = fields.get(fieldModel.getId());
+					final var expected = field == null || StringUtils.isBlank(field.getValue()) ? "" : field.getValue().replaceAll("[\r\n]+", " ");
+					assertEquals(expected, row[datasetIdIndex + 1 + i], String.format("Value of %s in dataset %d", fieldModel.getId(), datasetPk));
+				}
+			}
+		}
+
+		assertEquals(spools, listSpools(), "Temporary files have been deleted after the extraction");
+	}
+
+	@Test
+	@DisplayName("Temporary files are deleted when the extraction fails")
+	public void testExtractFailureDeletesSpools() throws IOException {
+		final var study = studyService.getStudy();
+		final var datasetModels = List.of(
+			study.getDatasetModel("PATIENT_DOCUMENTATION"),
+			study.getDatasetModel("VISIT_DOCUMENTATION")
+		);
+		final var spools = listSpools();
+
+		//an extract without any scope is rejected
+		final var out = new ByteArrayOutputStream();
+		final var rows = extractService.zipExtracts(out, datasetModels, study.getDefaultLanguageId(), List.of(), false);
+
+		assertEquals(0, rows);
+		assertEquals(spools, listSpools(), "Temporary files have been deleted after the failure");
+	}
+
+	private static Set<Path> listSpools() throws IOException {
+		try(final var files = Files.newDirectoryStream(Path.of(System.getProperty("java.io.tmpdir")), "extract-*.csv")) {
+			final Set<Path> spools = new HashSet<>();
+			files.forEach(spools::add);
+			return spools;
+		}
+	}
+
+	private static Map<String, List<String[]>> unzip(final byte[] zip) throws IOException, CsvException {
+		final Map<String, List<String[]>> extracts = new HashMap<>();
+		try(final var zipStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			for(var entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+				final var content = new CSVReader(new InputStreamReader(new ByteArrayInputStream(zipStream.readAllBytes()))).readAll();
+				extracts.put(entry.getName(), content);
+			}
+		}
+		return extracts;
+	}
+}
@@ -0,0 +1,74 @@
+package ch.rodano.core.services.bll.export.dct;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.rodano.core.model.actor.ActorType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CRF archive job")
+public class CRFArchiveJobTest {
+
+	@TempDir
+	private Path folder;
+
+	@Test
+	@DisplayName("A job loaded from its manifest resumes from the archives already generated")
+	public void testLoadedJob() throws IOException {
+		final var tasks = List.of(
+			new CRFArchiveJob.Task(1L, null, null, "CENTER-1/STUDY_PATIENT-1.pdf"),
+			new CRFArchiveJob.Task(2L, null, null, "CENTER-1/STUDY_PATIENT-2.pdf"),
+			new CRFArchiveJob.Task(3L, null, null, "CENTER-2/STUDY_PATIENT-3.pdf")
+		);
+		final var manifest = new CRFArchiveJob.Manifest("job", ActorType.USER, 1L, "PATIENT", List.of(1L), false, List.of("en"), ZonedDateTime.now(), tasks);
+
+		//only the first archive has been completed
+		final var filesFolder = folder.resolve("files").resolve("CENTER-1");
+		Files.createDirectories(filesFolder);
+		Files.writeString(filesFolder.resolve("STUDY_PATIENT-1.pdf"), "%PDF");
+		Files.writeString(filesFolder.resolve("STUDY_PATIENT-2.pdf.part"), "%PDF");
+
+		final var job = new CRFArchiveJob(manifest, folder.toFile());
+		assertEquals(CRFDocumentationGenerationStatus.INTERRUPTED, job.getStatus());
+		assertEquals(3, job.getTotal());
+		assertEquals(1, job.getDone());
+		assertEquals(0, job.getFailed());
+		assertTrue(job.getEstimatedEndTime().isEmpty());
+	}
+
+	@Test
+	@DisplayName("An interrupted job is resumed once and its tasks are counted once")
+	public void testResumedJob() {
+		final var tasks = List.of(
+			new CRFArchiveJob.Task(1L, null, null, "CENTER-1/STUDY_PATIENT-1.pdf"),
+			new CRFArchiveJob.Task(2L, null, null, "CENTER-1/STUDY_PATIENT-2.pdf")
+		);
+		final var manifest = new CRFArchiveJob.Manifest("job", ActorType.USER, 1L, "PATIENT", List.of(1L), false, List.of("en"), ZonedDateTime.now(), tasks);
+
+		final var job = new CRFArchiveJob(manifest, folder.toFile());
+		assertTrue(job.tryResume());
+		assertFalse(job.tryResume());
+
+		//the same task processed twice does not complete the job
+		job.taskFailed(tasks.get(0));
+		job.taskDone(tasks.get(0));
+		job.taskDone(tasks.get(0));
+		assertEquals(CRFDocumentationGenerationStatus.IN_PROGRESS, job.getStatus());
+		assertEquals(1, job.getDone());
+		assertEquals(0, job.getFailed());
+
+		job.taskDone(tasks.get(1));
+		assertEquals(CRFDocumentationGenerationStatus.COMPLETED, job.getStatus());
+		assertFalse(job.tryResume());
+	}
+}
@@ -2,8 +2,11 @@ package ch.rodano.core.services.bll.field;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,7 +22,9 @@ import ch.rodano.core.model.event.Event;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.services.bll.dataset.DatasetService;
 import ch.rodano.core.services.bll.event.EventService;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.workflowStatus.WorkflowStatusService;
+import ch.rodano.core.services.dao.dataset.DatasetDAOService;
 import ch.rodano.core.services.dao.field.FieldDAOService;
 import ch.rodano.core.services.plugin.validator.exception.BadlyFormattedValue;
 import ch.rodano.core.services.plugin.validator.exception.InvalidValueException;
@@ -27,9 +32,11 @@ import ch.rodano.test.DatabaseTest;
 import ch.rodano.test.SpringTestConfiguration;
 import ch.rodano.test.TestHelperService;
 
+import static ch.rodano.core.model.jooq.Tables.FIELD;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Field service")
 @SpringTestConfiguration
@@ -54,6 +61,15 @@ public class FieldServiceTest extends DatabaseTest {
 	@Autowired
 	private TestHelperService testHelperService;
 
+	@Autowired
+	private DatasetDAOService datasetDAOService;
+
+	@Autowired
+	private ExportTableService exportTableService;
+
+	@Autowired
+	private DSLContext create;
+
 	private DatasetModel addressDatasetModel;
 	private DatasetModel telephoneDatasetModel;
 	private DatasetModel patientDatasetModel;
@@ -368,6 +384,32 @@ public class FieldServiceTest extends DatabaseTest {
 		assertEquals("3", thirdTrail.getAuditContext());
 	}
 
+	@Test
+	@DisplayName("Deferred field saves are written in batch")
+	public void testDeferredFieldSaves() throws InvalidValueException, BadlyFormattedValue {
+		final var dataset = datasetService.get(patient, patientDatasetModel);
+		final var field = fieldService.get(dataset, educationFieldModel);
+
+		fieldDAOService.deferFieldSaves();
+		fieldService.updateValue(patient, Optional.empty(), dataset, field, "COLLEGE", context, "2");
+		fieldService.updateValue(patient, Optional.empty(), dataset, field, "UNIVERSITY", context, "3");
+
+		//the value is not written in the database until the saves are flushed
+		final var valueQuery = create.select(FIELD.VALUE).from(FIELD).where(FIELD.PK.eq(field.getPk()));
+		assertNull(valueQuery.fetchSingle().value1());
+		assertEquals("UNIVERSITY", field.getValue());
+
+		fieldDAOService.flushFieldSaves();
+		assertEquals("UNIVERSITY", valueQuery.fetchSingle().value1());
+
+		//each modification has its own audit trail
+		final var auditTrails = fieldDAOService.getAuditTrails(field, Optional.empty(), Optional.empty());
+		assertEquals(3, auditTrails.size());
+		auditTrails.pollFirst();
+		assertEquals("COLLEGE", auditTrails.pollFirst().getValue());
+		assertEquals("UNIVERSITY", auditTrails.pollFirst().getValue());
+	}
+
 	@Test
 	@DisplayName("Past field value function works")
 	public void testPastFieldValueFunction() throws InvalidValueException, BadlyFormattedValue, InterruptedException {
@@ -389,6 +431,31 @@ public class FieldServiceTest extends DatabaseTest {
 		assertEquals(oldPastValue, newPastValue);
 	}
 
+	@Test
+	@DisplayName("Past field values are retrieved at once")
+	public void testPastFieldValuesFunction() throws InvalidValueException, BadlyFormattedValue, InterruptedException {
+		final var dataset = datasetService.get(patient, patientDatasetModel);
+		final var educationField = fieldService.get(dataset, educationFieldModel);
+		final var genderField = fieldService.get(dataset, genderFieldModel);
+
+		fieldService.updateValue(patient, Optional.empty(), dataset, educationField, "COLLEGE", createDatabaseActionContext(), TEST_RATIONALE);
+		fieldService.updateValue(patient, Optional.empty(), dataset, genderField, "MALE", createDatabaseActionContext(), TEST_RATIONALE);
+		final var timestamp = ZonedDateTime.now();
+
+		// wait a bit, otherwise the save just goes too fast
+		Thread.sleep(100);
+		fieldService.updateValue(patient, Optional.empty(), dataset, educationField, "UNIVERSITY", createDatabaseActionContext(), TEST_RATIONALE);
+		fieldService.updateValue(patient, Optional.empty(), dataset, genderField, "FEMALE", createDatabaseActionContext(), TEST_RATIONALE);
+
+		final var pastValues = fieldService.getLatestValues(List.of(educationField, genderField), timestamp);
+		assertEquals("COLLEGE", pastValues.get(educationField.getPk()));
+		assertEquals("MALE", pastValues.get(genderField.getPk()));
+		assertEquals("COLLEGE", fieldService.getLatestValue(educationField, Optional.of(timestamp)));
+
+		//fields did not exist before the creation of the patient
+		assertTrue(fieldService.getLatestValues(List.of(educationField, genderField), patient.getCreationTime().minusDays(1)).isEmpty());
+	}
+
 	@Test
 	@DisplayName("Field value change triggers rule execution")
 	public void testFieldRuleExecution() throws InvalidValueException, BadlyFormattedValue {
@@ -410,6 +477,29 @@ public class FieldServiceTest extends DatabaseTest {
 		assertEquals("ONGOING", patientStatus.getStateId());
 	}
 
+	@Test
+	@DisplayName("Export table is refreshed when a field value changes")
+	public void testExportTableRefresh() throws InvalidValueException, BadlyFormattedValue {
+		final var dataset = datasetService.get(patient, patientDatasetModel);
+		final var field = fieldService.get(dataset, genderFieldModel);
+		final var exportTable = DSL.table(DSL.name(patientDatasetModel.getExportTableName()));
+		final var genderColumn = DSL.field(DSL.name(genderFieldModel.getId().toLowerCase()), String.class);
+		final var datasetColumn = DSL.field(DSL.name("dataset_fk"), Long.class);
+
+		fieldService.updateValue(patient, Optional.empty(), dataset, field, "MALE", context, TEST_RATIONALE);
+		exportTableService.flush();
+		assertEquals("MALE", create.select(genderColumn).from(exportTable).where(datasetColumn.eq(dataset.getPk())).fetchSingle().value1());
+
+		fieldService.updateValue(patient, Optional.empty(), dataset, field, "FEMALE", context, TEST_RATIONALE);
+		exportTableService.flush();
+		assertEquals("FEMALE", create.select(genderColumn).from(exportTable).where(datasetColumn.eq(dataset.getPk())).fetchSingle().value1());
+
+		//the row of a deleted dataset is removed
+		datasetDAOService.deleteDataset(dataset, context, TEST_RATIONALE);
+		exportTableService.flush();
+		assertEquals(0, create.fetchCount(exportTable, datasetColumn.eq(dataset.getPk())));
+	}
+
 	private Event createTelephoneVisit(final Scope patient) {
 		final var event = patient.getScopeModel().getEventModel("TELEPHONE_VISIT");
 		return eventService.create(patient, event, context, "Test");
@@ -3,6 +3,7 @@ package ch.rodano.core.services.bll.field;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import ch.rodano.core.model.dataset.Dataset;
 import ch.rodano.core.model.field.Field;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.services.bll.dataset.DatasetService;
+import ch.rodano.core.services.bll.event.EventService;
 import ch.rodano.core.services.bll.workflowStatus.WorkflowStatusService;
 import ch.rodano.core.services.dao.workflow.WorkflowStatusDAOService;
 import ch.rodano.core.services.plugin.validator.exception.BadlyFormattedValue;
@@ -30,6 +32,7 @@ import ch.rodano.test.TestHelperService;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Field validation service")
 @SpringTestConfiguration
@@ -51,6 +54,12 @@ public class FieldValidationServiceTest extends DatabaseTest {
 	@Autowired
 	private WorkflowStatusDAOService workflowStatusDAOService;
 
+	@Autowired
+	private ValidatorDependencyService validatorDependencyService;
+
+	@Autowired
+	private EventService eventService;
+
 	@Autowired
 	private TestHelperService testHelperService;
 
@@ -257,6 +266,58 @@ public class FieldValidationServiceTest extends DatabaseTest {
 		);
 	}
 
+	@Test
+	@DisplayName("Dependencies of validators are indexed from their constraints")
+	public void testValidatorDependencies() {
+		final var index = validatorDependencyService.getIndex();
+
+		//validator AFTER_BIRTH depends on the birth date
+		final var dependentFieldModels = index.getDependentFieldModels(List.of("BIRTH_DATE"));
+		assertAll(
+			() -> assertTrue(dependentFieldModels.contains(dateFirstDrugFieldModel)),
+			() -> assertTrue(dependentFieldModels.contains(patientDocumentation.getDatasetModel().getFieldModel("DATE_OF_FIRST_SYMPTOMS"))),
+			() -> assertTrue(dependentFieldModels.stream().allMatch(f -> f.getValidatorIds().contains("AFTER_BIRTH")))
+		);
+		assertTrue(index.getDependentFieldModels(List.of("EMPLOYMENT")).isEmpty());
+		assertTrue(index.getDependencies().get("GENDER").contains("PATIENT_DOCUMENTATION.EMPLOYMENT"));
+	}
+
+	@Test
+	@DisplayName("Fields depending on a modified field are validated again")
+	public void testDependentFieldsValidation() throws InvalidValueException, BadlyFormattedValue {
+		final var dateOfBirth = fieldService.get(patientDocumentation, birthDateFieldModel);
+		final var dateOfFirstStudyDrug = fieldService.get(patientDocumentation, dateFirstDrugFieldModel);
+
+		fieldService.updateValue(patient, Optional.empty(), patientDocumentation, dateOfBirth, "01.01.1990", context, TEST_RATIONALE);
+		final var validatedFields = validationService.validateDependentFields(patient, List.of(dateOfBirth), context, TEST_RATIONALE);
+
+		//the modified field itself is not validated again
+		assertAll(
+			() -> assertTrue(validatedFields.stream().anyMatch(f -> f.getPk().equals(dateOfFirstStudyDrug.getPk()))),
+			() -> assertTrue(validatedFields.stream().noneMatch(f -> f.getPk().equals(dateOfBirth.getPk()))),
+			() -> assertTrue(validatedFields.stream().allMatch(f -> f.getFieldModel().getValidatorIds().contains("AFTER_BIRTH")))
+		);
+
+		//no field depends on the employment
+		final var employment = fieldService.get(patientDocumentation, employmentFieldModel);
+		assertTrue(validationService.validateDependentFields(patient, List.of(employment), context, TEST_RATIONALE).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Fields of events depending on a modified field of the scope are validated again")
+	public void testDependentEventFieldsValidation() throws InvalidValueException, BadlyFormattedValue {
+		final var baseline = eventService.get(patient, testHelperService.getBaselineEventModel(), 0);
+		final var studyEntry = datasetService.get(baseline, studyService.getStudy().getDatasetModel("STUDY_ENTRY"));
+		final var dateOfEnrollment = fieldService.get(studyEntry, studyEntry.getDatasetModel().getFieldModel("DATE_OF_ENROLLMENT"));
+		final var dateOfFirstSymptoms = fieldService.get(patientDocumentation, patientDocumentation.getDatasetModel().getFieldModel("DATE_OF_FIRST_SYMPTOMS"));
+
+		//validator AFTER_FIRST_SYMPTOMS of the date of enrollment depends on the date of first symptoms
+		fieldService.updateValue(patient, Optional.empty(), patientDocumentation, dateOfFirstSymptoms, "01.01.2000", context, TEST_RATIONALE);
+		final var validatedFields = validationService.validateDependentFields(patient, List.of(dateOfFirstSymptoms), context, TEST_RATIONALE);
+
+		assertTrue(validatedFields.stream().anyMatch(f -> f.getPk().equals(dateOfEnrollment.getPk())));
+	}
+
 	private void closeValueWorkflows(final Field field) {
 		final var context = createDatabaseActionContext();
 		for(final var ws : workflowStatusService.getAll(field, queryWorkflow)) {
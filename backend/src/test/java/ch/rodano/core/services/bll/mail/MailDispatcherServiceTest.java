@@ -0,0 +1,90 @@
+package ch.rodano.core.services.bll.mail;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ch.rodano.core.model.mail.Mail;
+import ch.rodano.core.model.mail.MailOrigin;
+import ch.rodano.core.model.mail.MailStatus;
+import ch.rodano.core.services.dao.mail.MailDAOService;
+import ch.rodano.test.SpringTestConfiguration;
+import ch.rodano.test.StatelessDatabaseTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//mails are claimed and saved in their own transactions, so the test cannot run in a transaction
+@SpringTestConfiguration
+public class MailDispatcherServiceTest extends StatelessDatabaseTest {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MailService mailService;
+
+	@Autowired
+	private MailDispatcherService mailDispatcherService;
+
+	@Autowired
+	private MailDAOService mailDAOService;
+
+	@Test
+	@DisplayName("Mails are dispatched and their status is saved")
+	public void mailsAreDispatched() throws InterruptedException {
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+		final var mailPk = transactionTemplate.execute(_ -> mailService.createMail(createTestMail(), context, TEST_RATIONALE).getPk());
+
+		assertTrue(mailDispatcherService.dispatch() > 0);
+		for(var i = 0; i < 100 && mailDispatcherService.getInFlightCount() > 0; i++) {
+			Thread.sleep(100);
+		}
+		assertEquals(0, mailDispatcherService.getInFlightCount());
+
+		transactionCacheDAOService.emptyCache();
+		final var mail = mailService.getMailByPk(mailPk);
+		//mails are only simulated outside of production
+		assertEquals(MailStatus.SIMULATED, mail.getStatus());
+		assertEquals(1, mail.getAttempts());
+	}
+
+	@Test
+	@DisplayName("A mail is claimed only once")
+	public void mailsAreClaimedOnce() {
+		final var transactionTemplate = new TransactionTemplate(transactionManager);
+		final var mailPk = transactionTemplate.execute(_ -> mailService.createMail(createTestMail(), context, TEST_RATIONALE).getPk());
+
+		final var maxAttempts = 5;
+		final var retryDelay = Duration.ofMinutes(1);
+		final var claimTimeout = Duration.ofMinutes(10);
+		final var claimContext = createDatabaseActionContext();
+		assertEquals(List.of(mailPk), transactionTemplate.execute(_ -> mailDAOService.claimMailsToSend(List.of(mailPk), maxAttempts, retryDelay, claimTimeout, claimContext, TEST_RATIONALE)));
+		//another node trying to claim the same mail gets nothing
+		assertTrue(transactionTemplate.execute(_ -> mailDAOService.claimMailsToSend(List.of(mailPk), maxAttempts, retryDelay, claimTimeout, createDatabaseActionContext(), TEST_RATIONALE)).isEmpty());
+
+		transactionCacheDAOService.emptyCache();
+		final var mail = mailService.getMailByPk(mailPk);
+		assertEquals(MailStatus.SENDING, mail.getStatus());
+		//the claim is saved with the audit action of the claim
+		assertTrue(mail.getLastUpdateTime().truncatedTo(ChronoUnit.SECONDS).isEqual(claimContext.auditAction().getDate().truncatedTo(ChronoUnit.SECONDS)));
+	}
+
+	private Mail createTestMail() {
+		final var mail = new Mail();
+		mail.setSender("spok@enterprise.com");
+		mail.setRecipients(Collections.singleton("marf@enterprise.com"));
+		mail.setSubject("About Interferometron");
+		mail.setTextBody("Live long and prosper (tonight).");
+		mail.setOrigin(MailOrigin.SYSTEM);
+		mail.setIntent("WishLuck");
+		return mail;
+	}
+}
@@ -1,6 +1,9 @@
 package ch.rodano.core.services.bll.mail;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import jakarta.mail.MessagingException;
 
@@ -17,9 +20,12 @@ import com.icegreen.greenmail.configuration.GreenMailConfiguration;
 import com.icegreen.greenmail.junit5.GreenMailExtension;
 import com.icegreen.greenmail.util.ServerSetupTest;
 
+import ch.rodano.core.model.mail.DefinedTemplatedMail;
 import ch.rodano.core.model.mail.Mail;
 import ch.rodano.core.model.mail.MailOrigin;
 import ch.rodano.core.model.mail.MailStatus;
+import ch.rodano.core.model.mail.MailTemplate;
+import ch.rodano.core.model.user.User;
 import ch.rodano.core.scheduler.task.mail.MailSenderTask;
 import ch.rodano.test.SpringTestConfiguration;
 import ch.rodano.test.StatelessDatabaseTest;
@@ -57,6 +63,50 @@ public class MailTest extends StatelessDatabaseTest {
 		assertEquals("spok@enterprise.com", receivedMessage.getFrom()[0].toString());
 	}
 
+	@Test
+	@DisplayName("A mail transport sends several mails with the same connection")
+	public void mailTransportWorks() throws MessagingException {
+		try(var transport = mailService.createTransport()) {
+			transport.send(mailService.createMimeMessage(createTestMail()));
+			transport.send(mailService.createMimeMessage(createTestMail()));
+		}
+
+		Assertions.assertTrue(greenMail.waitForIncomingEmail(10000, 2));
+		assertEquals(2, greenMail.getReceivedMessages().length);
+	}
+
+	@Test
+	@DisplayName("Several mails are created from the same template")
+	public void createMailsWorks() {
+		final var study = studyService.getStudy();
+		final List<DefinedTemplatedMail> templatedMails = new ArrayList<>();
+		for(var i = 0; i < 3; i++) {
+			final var user = new User();
+			user.setName("User " + i);
+			user.setEmail(String.format("user%d@enterprise.com", i));
+
+			final var templatedMail = new DefinedTemplatedMail(
+				MailTemplate.ACCOUNT_LOCKED,
+				Map.of("study", study, "user", user, "recovery_url", "https://rodano.ch/recover-account/" + i)
+			);
+			templatedMail.setRecipients(Collections.singleton(user.getEmail()));
+			templatedMail.setOrigin(MailOrigin.SYSTEM);
+			templatedMail.setIntent("Test");
+			templatedMails.add(templatedMail);
+		}
+
+		final var mails = mailService.createMails(templatedMails, context, "E-mail test");
+
+		assertEquals(3, mails.size());
+		for(var i = 0; i < 3; i++) {
+			final var mail = mailService.getMailByPk(mails.get(i).getPk());
+			assertEquals(MailStatus.PENDING, mail.getStatus());
+			assertEquals("Account locked due to suspicious activity", mail.getSubject());
+			Assertions.assertTrue(mail.getTextBody().startsWith("Dear User " + i));
+			Assertions.assertTrue(mail.getTextBody().contains("https://rodano.ch/recover-account/" + i));
+		}
+	}
+
 	@Disabled
 	@Test
 	@DisplayName("MailTaskSender works correctly")
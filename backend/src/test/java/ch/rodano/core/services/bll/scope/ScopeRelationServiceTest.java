@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ch.rodano.core.model.common.IdentifiableObject;
 import ch.rodano.core.model.scope.Scope;
 import ch.rodano.core.model.scope.ScopeRelation;
+import ch.rodano.core.services.dao.scope.ScopeAncestorDAOService;
 import ch.rodano.core.services.dao.scope.ScopeDAOService;
 import ch.rodano.test.DatabaseTest;
 import ch.rodano.test.SpringTestConfiguration;
@@ -36,6 +37,9 @@ public class ScopeRelationServiceTest extends DatabaseTest {
 	@Autowired
 	private ScopeDAOService scopeDAOService;
 
+	@Autowired
+	private ScopeAncestorDAOService scopeAncestorDAOService;
+
 	@Autowired
 	private TestHelperService testHelperService;
 
@@ -243,4 +247,24 @@ public class ScopeRelationServiceTest extends DatabaseTest {
 
 		assertTrue(newDefaultAncestors.stream().noneMatch(s -> s.getPk().equals(originalParent.getPk())));
 	}
+
+	@Test
+	@DisplayName("Scope ancestors are maintained consistently with the reference view")
+	public void scopeAncestorConsistency() {
+		final var countryCentreRelation = scopeRelationService.createRelation(center1, country, ZonedDateTime.now(), Optional.empty(), context, "New relation");
+		assertEquals(0, scopeAncestorDAOService.countInconsistencies());
+
+		scopeRelationService.transfer(patient, center1, ZonedDateTime.now(), context);
+		assertEquals(0, scopeAncestorDAOService.countInconsistencies());
+
+		country.setVirtual(true);
+		scopeService.save(country, context, "Make the scope virtual");
+		assertEquals(0, scopeAncestorDAOService.countInconsistencies());
+
+		scopeRelationService.endRelation(countryCentreRelation, ZonedDateTime.now(), context, "Remove the relation");
+		assertEquals(0, scopeAncestorDAOService.countInconsistencies());
+
+		scopeService.delete(center2, context, "Delete the scope");
+		assertEquals(0, scopeAncestorDAOService.countInconsistencies());
+	}
 }
@@ -0,0 +1,85 @@
+package ch.rodano.core.services.bll.session;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.rodano.core.model.session.Session;
+import ch.rodano.core.services.dao.session.SessionDAOService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SessionServiceTest {
+
+	@Test
+	@DisplayName("Access times are not lost when they can not be saved")
+	public void accessTimesAreKeptWhenSaveFails() {
+		final var sessionDAOService = new FailingSessionDAOService();
+		final var sessionService = new SessionServiceImpl(sessionDAOService, null);
+
+		final var session = new Session();
+		session.setPk(1L);
+		sessionService.refreshSession(session);
+		final var lastAccessTime = session.getLastAccessTime();
+
+		sessionDAOService.failing = true;
+		assertThrows(IllegalStateException.class, sessionService::flushLastAccessTimes);
+
+		sessionDAOService.failing = false;
+		assertEquals(1, sessionService.flushLastAccessTimes());
+		assertEquals(lastAccessTime, sessionDAOService.savedLastAccessTimes.get(1L));
+	}
+
+	private static class FailingSessionDAOService implements SessionDAOService {
+		private boolean failing;
+		private final Map<Long, ZonedDateTime> savedLastAccessTimes = new HashMap<>();
+
+		@Override
+		public void updateLastAccessTimes(final Map<Long, ZonedDateTime> lastAccessTimes) {
+			if(failing) {
+				throw new IllegalStateException("Database unavailable");
+			}
+			savedLastAccessTimes.putAll(lastAccessTimes);
+		}
+
+		@Override
+		public Session insertSession(final Session session) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Session updateSession(final Session session) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void deleteSession(final Session session) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Session getSessionByToken(final String token) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Session getSessionByPk(final Long pk) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Session> getSessions() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void deleteOlderSession(final ZonedDateTime expiryDate) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -7,10 +7,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import ch.rodano.api.controller.user.exception.UserNotActivatedException;
 import ch.rodano.core.database.initializer.DatabaseInitializer;
+import ch.rodano.core.services.bll.session.SessionService;
 import ch.rodano.test.DatabaseTest;
 import ch.rodano.test.SpringTestConfiguration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringTestConfiguration
@@ -23,6 +28,9 @@ public class UserSecurityServiceTest extends DatabaseTest {
 	@Autowired
 	private UserSecurityService userSecurityService;
 
+	@Autowired
+	private SessionService sessionService;
+
 	@Test
 	@DisplayName("Deleted user can not log into the system")
 	public void deletedUserCanNotLogin() {
@@ -58,4 +66,32 @@ public class UserSecurityServiceTest extends DatabaseTest {
 			)
 		);
 	}
+
+	@Test
+	@DisplayName("Authenticated sessions are cached until logout")
+	public void authenticatedSessionCache() {
+		final var adminUser = userService.getUserByEmail("test+test-admin@rodano.ch");
+		final var sessionToken = userSecurityService.login(
+			adminUser.getEmail(),
+			DatabaseInitializer.DEFAULT_PASSWORD,
+			0,
+			null,
+			null,
+			"",
+			"",
+			context
+		);
+
+		final var authenticatedSession = sessionService.getAuthenticatedSession(sessionToken);
+		assertNotNull(authenticatedSession);
+		assertEquals(adminUser.getPk(), authenticatedSession.user().getPk());
+		assertFalse(authenticatedSession.activeRoles().isEmpty());
+
+		//the user given by the cache must be the one of the current transaction
+		assertSame(authenticatedSession.user(), sessionService.getAuthenticatedSession(sessionToken).user());
+
+		userSecurityService.logout(adminUser, sessionToken, context);
+		assertNull(sessionService.getAuthenticatedSession(sessionToken));
+	}
 }
+
@@ -0,0 +1,74 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import ch.rodano.core.model.cron.CronRun;
+import ch.rodano.core.model.scope.Scope;
+import ch.rodano.core.services.dao.cron.CronRunDAOService;
+import ch.rodano.core.services.dao.scope.ScopeDAOService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringTestConfiguration
+public class CronRunDAOServiceTest extends DatabaseTest {
+	@Autowired
+	private CronRunDAOService cronRunDAOService;
+
+	@Autowired
+	private ScopeDAOService scopeDAOService;
+
+	@Test
+	@DisplayName("The state of the last pass of a cron replaces the state of its previous pass")
+	public void cronRunIsReplaced() {
+		assertTrue(cronRunDAOService.getCronRun("TEST_CRON").isEmpty());
+
+		final var startTime = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+		cronRunDAOService.saveCronRun(new CronRun("TEST_CRON", startTime.minusDays(1), startTime.minusHours(23), 42L, 10, 1));
+		cronRunDAOService.saveCronRun(new CronRun("TEST_CRON", startTime, null, null, 0, 0));
+
+		final var cronRun = cronRunDAOService.getCronRun("TEST_CRON").orElseThrow();
+		assertAll(
+			() -> assertEquals(startTime.toInstant(), cronRun.startTime().toInstant()),
+			() -> assertNull(cronRun.endTime()),
+			() -> assertNull(cronRun.lastScopePk()),
+			() -> assertEquals(0, cronRun.processed()),
+			() -> assertEquals(0, cronRun.failed()),
+			() -> assertFalse(cronRun.isCompleted())
+		);
+	}
+
+	@Test
+	@DisplayName("The pks of the scopes of some scope models can be retrieved batch by batch")
+	public void scopePksCanBeRetrievedInBatches() {
+		final var scopeModelIds = Set.of("PATIENT");
+		final List<Long> scopePks = new ArrayList<>();
+		List<Long> batch;
+		while(!(batch = scopeDAOService.getScopePks(scopeModelIds, scopePks.isEmpty() ? Optional.empty() : Optional.of(scopePks.getLast()), 2)).isEmpty()) {
+			assertTrue(batch.size() <= 2);
+			scopePks.addAll(batch);
+		}
+
+		final var expectedPks = scopeDAOService.getScopesByScopeModelId("PATIENT").stream()
+			.filter(s -> !s.getDeleted())
+			.map(Scope::getPk)
+			.sorted()
+			.toList();
+		assertFalse(expectedPks.isEmpty());
+		assertEquals(expectedPks, scopePks);
+	}
+}
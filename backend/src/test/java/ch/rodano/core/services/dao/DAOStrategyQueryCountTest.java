@@ -0,0 +1,94 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import ch.rodano.core.configuration.jooq.QueryCounter;
+import ch.rodano.core.model.field.Field;
+import ch.rodano.core.services.dao.field.FieldDAOService;
+import ch.rodano.core.services.dao.scope.ScopeDAOService;
+import ch.rodano.core.services.dao.strategy.DAOStrategy;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringTestConfiguration
+@Transactional
+public class DAOStrategyQueryCountTest extends DatabaseTest {
+
+	@Autowired
+	private DAOStrategy strategy;
+
+	@Autowired
+	private DSLContext create;
+
+	@Autowired
+	private ScopeDAOService scopeDAOService;
+
+	@Autowired
+	private FieldDAOService fieldDAOService;
+
+	@Test
+	@DisplayName("Loading and saving many fields issues the expected number of queries")
+	public void testLoadSaveQueryCount() {
+		final var patient = scopeDAOService.getScopeByCode("FR-01-03");
+		final var template = fieldDAOService.getFieldsByScopePk(patient.getPk()).get(0);
+
+		final var count = 10000;
+		final var now = ZonedDateTime.now();
+		final List<Field> fields = new ArrayList<>(count);
+		for(var i = 0; i < count; i++) {
+			final var field = new Field();
+			field.setCreationTime(now);
+			field.setLastUpdateTime(now);
+			field.setDatasetFk(template.getDatasetFk());
+			field.setDatasetModelId(template.getDatasetModelId());
+			field.setFieldModelId(template.getFieldModelId());
+			field.setValue(Integer.toString(i));
+			fields.add(field);
+		}
+		final var pks = strategy.insertAll(FIELD, fields).stream().map(Field::getPk).toList();
+		transactionCacheDAOService.emptyCache();
+
+		//all the fields are loaded with a single query
+		QueryCounter.reset();
+		final var loadedFields = strategy.find(FIELD, create.selectFrom(FIELD).where(FIELD.PK.in(pks)), Field.class);
+		assertEquals(count, loadedFields.size());
+		assertEquals(1, QueryCounter.getCount());
+
+		//each save issues one update, and saving a field that has not been modified issues none
+		QueryCounter.reset();
+		for(final var field : loadedFields) {
+			field.setValue(field.getValue() + "-saved");
+			strategy.save(FIELD, field);
+		}
+		strategy.save(FIELD, loadedFields.get(0));
+		assertEquals(count, QueryCounter.getCount());
+
+		//saving the fields together issues a single batch
+		QueryCounter.reset();
+		for(final var field : loadedFields) {
+			field.setValue(field.getValue() + "-batch");
+		}
+		strategy.saveAll(FIELD, loadedFields);
+		assertEquals(1, QueryCounter.getCount());
+
+		//saving fields that have not been modified issues nothing
+		QueryCounter.reset();
+		strategy.saveAll(FIELD, loadedFields);
+		assertEquals(0, QueryCounter.getCount());
+
+		transactionCacheDAOService.emptyCache();
+		final var savedField = strategy.findByPks(FIELD, List.of(pks.get(0)), Field.class).get(0);
+		assertEquals("0-saved-batch", savedField.getValue());
+	}
+}
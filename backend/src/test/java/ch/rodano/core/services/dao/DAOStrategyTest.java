@@ -0,0 +1,137 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.jooq.DSLContext;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordUnmapperProvider;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.rodano.core.configuration.jooq.RecordMappingProvider;
+import ch.rodano.core.model.field.Field;
+import ch.rodano.core.model.jooq.tables.records.FieldRecord;
+import ch.rodano.core.model.scope.ScopeRelation;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOServiceImpl;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOServiceImpl;
+import ch.rodano.core.services.dao.strategy.DAOStrategyImpl;
+
+import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static ch.rodano.core.model.jooq.Tables.SCOPE_RELATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DAOStrategyTest {
+
+	private final List<String> queries = new ArrayList<>();
+	private final TransactionCacheDAOServiceImpl transactionCacheDAOService = new TransactionCacheDAOServiceImpl();
+	private DAOStrategyImpl strategy;
+
+	@BeforeEach
+	public void createStrategy() {
+		final var provider = new RecordMappingProvider();
+		//queries are recorded instead of being executed
+		final var connection = new MockConnection(context -> {
+			queries.addAll(List.of(context.batchSQL()));
+			return Stream.of(context.batchSQL()).map(sql -> new MockResult(1, null)).toArray(MockResult[]::new);
+		});
+		final DSLContext create = DSL.using(
+			new DefaultConfiguration()
+				.set(connection)
+				.set(SQLDialect.MARIADB)
+				.set((RecordMapperProvider) provider)
+				.set((RecordUnmapperProvider) provider)
+		);
+		final var entityCacheDAOService = new EntityCacheDAOServiceImpl(create, new SimpleMeterRegistry(), Set.of(), 10, 60, 0);
+		strategy = new DAOStrategyImpl(create, null, transactionCacheDAOService, entityCacheDAOService, provider);
+	}
+
+	@Test
+	@DisplayName("Only the modified columns of an object are updated and the transaction cache is refreshed")
+	public void onlyModifiedColumnsAreUpdated() {
+		final var date = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+		final var record = new FieldRecord(1L, date, date, 2L, "VISIT_DOCUMENTATION", "WEIGHT", "1");
+		transactionCacheDAOService.getCache().storeRecord(FIELD, record);
+
+		final var field = record.into(Field.class);
+		field.setValue("2");
+		strategy.save(FIELD, field);
+
+		assertEquals(1, queries.size());
+		final var query = queries.get(0);
+		assertTrue(query.contains("`value` = ?"), query);
+		assertTrue(query.contains("`pk` = ?"), query);
+		assertFalse(query.contains("`field_model_id`"), query);
+
+		//the object is not modified anymore compared to the cached record
+		assertFalse(strategy.isModified(field, strategy.retrieveCachedRecord(FIELD, 1L)));
+		//the record of the cache that may be shared has not been modified
+		assertEquals("1", record.getValue());
+
+		transactionCacheDAOService.emptyCache();
+	}
+
+	@Test
+	@DisplayName("An object that has not been loaded in the transaction is fully updated")
+	public void objectNotLoadedIsFullyUpdated() {
+		final var date = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+		final var field = new FieldRecord(1L, date, date, 2L, "VISIT_DOCUMENTATION", "WEIGHT", "1").into(Field.class);
+		strategy.save(FIELD, field);
+
+		assertEquals(1, queries.size());
+		final var query = queries.get(0);
+		assertTrue(query.contains("`field_model_id` = ?"), query);
+		assertFalse(query.contains("set `pk`"), query);
+		assertEquals("1", strategy.retrieveCachedRecord(FIELD, 1L).get(FIELD.VALUE));
+
+		transactionCacheDAOService.emptyCache();
+	}
+
+	@Test
+	@DisplayName("Objects saved together are updated whether they have been loaded in the transaction or not")
+	public void objectsSavedTogetherAreUpdated() {
+		final var date = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+		final var loadedRecord = new FieldRecord(1L, date, date, 2L, "VISIT_DOCUMENTATION", "WEIGHT", "1");
+		transactionCacheDAOService.getCache().storeRecord(FIELD, loadedRecord);
+
+		final var loadedField = loadedRecord.into(Field.class);
+		loadedField.setValue("2");
+		final var notLoadedField = new FieldRecord(3L, date, date, 2L, "VISIT_DOCUMENTATION", "HEIGHT", "180").into(Field.class);
+		strategy.saveAll(FIELD, List.of(loadedField, notLoadedField));
+
+		assertEquals(2, queries.size());
+		assertFalse(queries.get(0).contains("`field_model_id`"), queries.get(0));
+		assertTrue(queries.get(1).contains("`field_model_id` = "), queries.get(1));
+		assertEquals("2", strategy.retrieveCachedRecord(FIELD, 1L).get(FIELD.VALUE));
+		assertEquals("180", strategy.retrieveCachedRecord(FIELD, 3L).get(FIELD.VALUE));
+
+		transactionCacheDAOService.emptyCache();
+	}
+
+	@Test
+	@DisplayName("An object is deleted using a bound primary key")
+	public void objectIsDeletedByPk() {
+		final var relation = new ScopeRelation();
+		relation.setPk(4L);
+		strategy.delete(SCOPE_RELATION, relation);
+
+		assertEquals(1, queries.size());
+		final var query = queries.get(0);
+		assertTrue(query.contains("`pk` = ?"), query);
+		assertFalse(query.contains("4"), query);
+	}
+}
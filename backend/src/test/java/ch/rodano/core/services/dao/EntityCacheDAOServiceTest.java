@@ -0,0 +1,93 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZonedDateTime;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import ch.rodano.core.services.dao.scope.ScopeDAOService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static ch.rodano.core.model.jooq.Tables.ENTITY_CACHE_INVALIDATION;
+import static ch.rodano.core.model.jooq.Tables.SCOPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringTestConfiguration
+@TestPropertySource(properties = { "rodano.dao.cache.tables=scope", "rodano.dao.cache.poll-interval=0" })
+public class EntityCacheDAOServiceTest extends DatabaseTest {
+	@Autowired
+	private ScopeDAOService scopeDAOService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private DSLContext create;
+
+	@Test
+	@DisplayName("Scopes retrieved by pk are cached between transactions")
+	public void scopesAreCached() {
+		final var scope = scopeDAOService.getScopeByPk(1L);
+		final var hits = getHits();
+
+		transactionCacheDAOService.emptyCache();
+		final var cachedScope = scopeDAOService.getScopeByPk(1L);
+
+		assertEquals(hits + 1, getHits());
+		assertEquals(scope.getCode(), cachedScope.getCode());
+		//the cache of the transaction still provides a new instance for each transaction
+		assertNotSame(scope, cachedScope);
+		assertNull(scopeDAOService.getScopeByPk(-1L));
+	}
+
+	@Test
+	@DisplayName("Saved scopes are evicted from the cache")
+	public void savedScopesAreEvicted() {
+		final var scope = scopeDAOService.getScopeByPk(1L);
+		final var shortname = scope.getShortname();
+		scope.setShortname("Entity cache test");
+		scopeDAOService.saveScope(scope, context, TEST_RATIONALE);
+
+		transactionCacheDAOService.emptyCache();
+		assertEquals("Entity cache test", scopeDAOService.getScopeByPk(1L).getShortname());
+
+		final var savedScope = scopeDAOService.getScopeByPk(1L);
+		savedScope.setShortname(shortname);
+		scopeDAOService.saveScope(savedScope, context, TEST_RATIONALE);
+	}
+
+	@Test
+	@DisplayName("Scopes modified by other nodes are evicted from the cache once the invalidation has been read")
+	public void scopesModifiedByOtherNodesAreEvicted() {
+		final var shortname = scopeDAOService.getScopeByPk(1L).getShortname();
+
+		//simulate another node that modifies the scope without notifying the other nodes
+		create.update(SCOPE).set(SCOPE.SHORTNAME, "Other node").where(SCOPE.PK.eq(1L)).execute();
+		transactionCacheDAOService.emptyCache();
+		assertEquals(shortname, scopeDAOService.getScopeByPk(1L).getShortname());
+
+		//then notifies them
+		create.insertInto(ENTITY_CACHE_INVALIDATION, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE)
+			.values(SCOPE.getName(), 1L, ZonedDateTime.now())
+			.execute();
+		transactionCacheDAOService.emptyCache();
+		assertEquals("Other node", scopeDAOService.getScopeByPk(1L).getShortname());
+
+		create.update(SCOPE).set(SCOPE.SHORTNAME, shortname).where(SCOPE.PK.eq(1L)).execute();
+		create.insertInto(ENTITY_CACHE_INVALIDATION, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE)
+			.values(SCOPE.getName(), 1L, ZonedDateTime.now())
+			.execute();
+	}
+
+	private double getHits() {
+		return meterRegistry.counter("rodano.entity-cache.requests", "table", SCOPE.getName(), "result", "hit").count();
+	}
+}
@@ -0,0 +1,114 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.rodano.core.model.jooq.tables.records.FieldRecord;
+import ch.rodano.core.model.jooq.tables.records.ScopeRecord;
+import ch.rodano.core.model.scope.ScopeData;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOServiceImpl;
+
+import static ch.rodano.core.model.jooq.Tables.ENTITY_CACHE_INVALIDATION;
+import static ch.rodano.core.model.jooq.Tables.FIELD;
+import static ch.rodano.core.model.jooq.Tables.SCOPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityCacheSnapshotTest {
+
+	private static final ZonedDateTime DATE = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+	private final List<String> queries = new ArrayList<>();
+	private EntityCacheDAOServiceImpl entityCacheDAOService;
+
+	@BeforeEach
+	public void createService() {
+		final var dialect = DSL.using(SQLDialect.MARIADB);
+		//the database contains the latest committed version of the record
+		final var connection = new MockConnection(context -> {
+			queries.add(context.sql());
+			if(context.sql().contains(ENTITY_CACHE_INVALIDATION.getName())) {
+				final var invalidations = dialect.newResult(ENTITY_CACHE_INVALIDATION.PK, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE);
+				return new MockResult[] { new MockResult(0, invalidations) };
+			}
+			final var fields = dialect.newResult(FIELD);
+			fields.add(createRecord("2"));
+			return new MockResult[] { new MockResult(1, fields) };
+		});
+		final DSLContext create = DSL.using(connection, SQLDialect.MARIADB);
+		entityCacheDAOService = new EntityCacheDAOServiceImpl(create, new SimpleMeterRegistry(), Set.of("field", "scope"), 10, 60, 0);
+	}
+
+	@AfterEach
+	public void clearSynchronization() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("Records read outside of a transaction are cached")
+	public void recordsReadOutsideTransactionAreCached() {
+		entityCacheDAOService.putRecords(FIELD, List.of(createRecord("1")), entityCacheDAOService.getGeneration());
+
+		final var records = entityCacheDAOService.getRecords(FIELD, List.of(1L));
+		assertEquals(1, records.size());
+		assertEquals("1", records.get(0).getValue());
+	}
+
+	@Test
+	@DisplayName("Records read in a transaction are cached with their latest committed version once the transaction is completed")
+	public void recordsReadInTransactionAreReadAgain() {
+		TransactionSynchronizationManager.initSynchronization();
+		//the transaction reads an outdated version of the record from its snapshot
+		entityCacheDAOService.putRecords(FIELD, List.of(createRecord("1")), entityCacheDAOService.getGeneration());
+		assertTrue(entityCacheDAOService.getRecords(FIELD, List.of(1L)).isEmpty());
+
+		final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		final var records = entityCacheDAOService.getRecords(FIELD, List.of(1L));
+		assertEquals(1, records.size());
+		assertEquals("2", records.get(0).getValue());
+		assertTrue(queries.stream().anyMatch(q -> q.contains("from `field`")), queries::toString);
+	}
+
+	@Test
+	@DisplayName("The data of the cached scopes is not shared between transactions")
+	public void scopeDataIsNotShared() {
+		final var data = new ScopeData();
+		data.getDescription().put("en", "Original");
+		final var record = new ScopeRecord();
+		record.setPk(1L);
+		record.setData(data);
+		entityCacheDAOService.putRecords(SCOPE, List.of(record), entityCacheDAOService.getGeneration());
+
+		//neither the record that has been cached nor the records retrieved from the cache share the data with the cache
+		data.getDescription().put("en", "Modified by the loading transaction");
+		entityCacheDAOService.getRecords(SCOPE, List.of(1L)).get(0).getData().getDescription().put("en", "Modified by another transaction");
+
+		assertEquals("Original", entityCacheDAOService.getRecords(SCOPE, List.of(1L)).get(0).getData().getDescription().get("en"));
+	}
+
+	private static FieldRecord createRecord(final String value) {
+		return new FieldRecord(1L, DATE, DATE, 2L, "VISIT_DOCUMENTATION", "WEIGHT", value);
+	}
+}
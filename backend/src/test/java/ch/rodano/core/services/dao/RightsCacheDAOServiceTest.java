@@ -0,0 +1,104 @@
+package ch.rodano.core.services.dao;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.rodano.core.model.jooq.tables.records.EntityCacheInvalidationRecord;
+import ch.rodano.core.model.user.User;
+import ch.rodano.core.services.dao.commons.cache.entity.EntityCacheDAOServiceImpl;
+import ch.rodano.core.services.dao.rights.RightsCacheDAOServiceImpl;
+
+import static ch.rodano.core.model.jooq.Tables.ENTITY_CACHE_INVALIDATION;
+import static ch.rodano.core.model.jooq.Tables.ROLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RightsCacheDAOServiceTest {
+
+	private final DSLContext dialect = DSL.using(SQLDialect.MARIADB);
+	//invalidations shared by the nodes, as they would be in the database
+	private final List<EntityCacheInvalidationRecord> invalidations = new ArrayList<>();
+	private final AtomicInteger roleQueries = new AtomicInteger();
+
+	private RightsCacheDAOServiceImpl node1;
+	private RightsCacheDAOServiceImpl node2;
+
+	@BeforeEach
+	public void createNodes() {
+		node1 = createNode();
+		node2 = createNode();
+	}
+
+	@Test
+	@DisplayName("The roles of a user evicted on a node are evicted on the other nodes")
+	public void userEvictionIsShared() {
+		final var user = new User();
+		user.setPk(1L);
+
+		node2.getActiveProfileIdsByScopePk(user);
+		node2.getActiveProfileIdsByScopePk(user);
+		assertEquals(1, roleQueries.get());
+
+		node1.evictUser(1L);
+		node2.getActiveProfileIdsByScopePk(user);
+		assertEquals(2, roleQueries.get());
+	}
+
+	@Test
+	@DisplayName("Evicting everything on a node evicts everything on the other nodes")
+	public void globalEvictionIsShared() {
+		final var user = new User();
+		user.setPk(1L);
+
+		node2.getActiveProfileIdsByScopePk(user);
+		node1.evictAll();
+		node2.getActiveProfileIdsByScopePk(user);
+		assertEquals(2, roleQueries.get());
+	}
+
+	private RightsCacheDAOServiceImpl createNode() {
+		final var connection = new MockConnection(context -> {
+			final var sql = context.sql();
+			if(sql.startsWith("insert into `entity_cache_invalidation`")) {
+				final var bindings = context.bindings();
+				for(var i = 0; i < bindings.length; i += 3) {
+					final var invalidation = dialect.newRecord(ENTITY_CACHE_INVALIDATION);
+					invalidation.setPk((long) invalidations.size() + 1);
+					invalidation.setTableName((String) bindings[i]);
+					invalidation.setRecordPk((Long) bindings[i + 1]);
+					invalidation.setDate(ZonedDateTime.now());
+					invalidations.add(invalidation);
+				}
+				return new MockResult[] { new MockResult(bindings.length / 3, null) };
+			}
+			if(sql.contains("from `entity_cache_invalidation`")) {
+				final var result = dialect.newResult(ENTITY_CACHE_INVALIDATION.PK, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE);
+				invalidations.forEach(i -> result.add(i.into(ENTITY_CACHE_INVALIDATION.PK, ENTITY_CACHE_INVALIDATION.TABLE_NAME, ENTITY_CACHE_INVALIDATION.RECORD_PK, ENTITY_CACHE_INVALIDATION.DATE)));
+				return new MockResult[] { new MockResult(result.size(), result) };
+			}
+			if(sql.contains("from `role`")) {
+				roleQueries.incrementAndGet();
+				final var result = dialect.newResult(ROLE.SCOPE_FK, ROLE.PROFILE_ID);
+				result.add(dialect.newRecord(ROLE.SCOPE_FK, ROLE.PROFILE_ID).values(1L, "ADMIN"));
+				return new MockResult[] { new MockResult(1, result) };
+			}
+			return new MockResult[] { new MockResult(0, null) };
+		});
+		final var create = DSL.using(connection, SQLDialect.MARIADB);
+		final var entityCacheDAOService = new EntityCacheDAOServiceImpl(create, new SimpleMeterRegistry(), Set.of(), 10, 60, 0);
+		return new RightsCacheDAOServiceImpl(create, entityCacheDAOService, 10, 10, 60);
+	}
+}
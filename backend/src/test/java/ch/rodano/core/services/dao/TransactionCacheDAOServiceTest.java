@@ -0,0 +1,84 @@
+package ch.rodano.core.services.dao;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAO;
+import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOServiceImpl;
+
+import static ch.rodano.core.model.jooq.Tables.SCOPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TransactionCacheDAOServiceTest {
+
+	@Test
+	@DisplayName("The transaction cache follows a task executed by a virtual thread")
+	public void cacheIsHandedOverToVirtualThread() throws InterruptedException, ExecutionException {
+		final var transactionCacheDAOService = new TransactionCacheDAOServiceImpl();
+		final var cache = transactionCacheDAOService.getCache();
+		final var record = DSL.using(SQLDialect.MARIADB).newRecord(SCOPE);
+		record.setPk(1L);
+		cache.storeRecord(SCOPE, record);
+
+		final AtomicReference<TransactionCacheDAO> taskCache = new AtomicReference<>();
+		final var task = transactionCacheDAOService.handOver(() -> taskCache.set(transactionCacheDAOService.getCache()));
+
+		//the cache is not shared with the current thread anymore
+		assertNotSame(cache, transactionCacheDAOService.getCache());
+
+		try(final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			executor.submit(task).get();
+		}
+
+		assertSame(cache, taskCache.get());
+		//the cache is freed once the task is done
+		assertEquals(0, cache.getRecordCacheSize());
+
+		transactionCacheDAOService.emptyCache();
+	}
+
+	@Test
+	@DisplayName("A thread reused by another task does not keep the transaction cache of the previous task")
+	public void cacheIsNotKeptByThread() throws InterruptedException, ExecutionException {
+		final var transactionCacheDAOService = new TransactionCacheDAOServiceImpl();
+		final AtomicReference<TransactionCacheDAO> firstCache = new AtomicReference<>();
+		final AtomicReference<TransactionCacheDAO> secondCache = new AtomicReference<>();
+
+		try(final var executor = Executors.newSingleThreadExecutor()) {
+			executor.submit(transactionCacheDAOService.handOver(() -> firstCache.set(transactionCacheDAOService.getCache()))).get();
+			executor.submit(transactionCacheDAOService.handOver(() -> secondCache.set(transactionCacheDAOService.getCache()))).get();
+		}
+
+		assertNotSame(firstCache.get(), secondCache.get());
+	}
+
+	@Test
+	@DisplayName("A background task does not take the transaction cache of the submitting thread")
+	public void cacheIsNotTakenByIsolatedTask() throws InterruptedException, ExecutionException {
+		final var transactionCacheDAOService = new TransactionCacheDAOServiceImpl();
+		final var cache = transactionCacheDAOService.getCache();
+
+		final AtomicReference<TransactionCacheDAO> taskCache = new AtomicReference<>();
+		final var task = transactionCacheDAOService.isolate(() -> taskCache.set(transactionCacheDAOService.getCache()));
+
+		//the submitting thread keeps its cache
+		assertSame(cache, transactionCacheDAOService.getCache());
+
+		try(final var executor = Executors.newSingleThreadExecutor()) {
+			executor.submit(task).get();
+		}
+
+		assertNotSame(cache, taskCache.get());
+		assertSame(cache, transactionCacheDAOService.getCache());
+
+		transactionCacheDAOService.emptyCache();
+	}
+}
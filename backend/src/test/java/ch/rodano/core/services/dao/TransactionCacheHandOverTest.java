@@ -0,0 +1,80 @@
+package ch.rodano.core.services.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import ch.rodano.core.model.scope.Scope;
+import ch.rodano.core.services.dao.scope.ScopeDAOService;
+import ch.rodano.test.DatabaseTest;
+import ch.rodano.test.SpringTestConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringTestConfiguration
+public class TransactionCacheHandOverTest extends DatabaseTest {
+
+	@Autowired
+	private ScopeDAOService scopeDAOService;
+
+	@Test
+	@DisplayName("Concurrent asynchronous requests completed by virtual threads reuse the objects loaded by their own request")
+	public void testConcurrentHandOver() throws InterruptedException, ExecutionException {
+		final var requests = 20;
+		final List<List<Scope>> requestScopes = new ArrayList<>(requests);
+		final List<AtomicReference<List<Scope>>> reloadedScopes = new ArrayList<>(requests);
+		final List<Future<?>> futures = new ArrayList<>(requests);
+		try(final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for(var i = 0; i < requests; i++) {
+				//each hand over gives a new cache to the current thread, so each request loads its own objects
+				final var scopes = scopeDAOService.getAllScopes();
+				final AtomicReference<List<Scope>> reloaded = new AtomicReference<>();
+				futures.add(executor.submit(transactionCacheDAOService.handOver(() -> reloaded.set(reload(scopes)))));
+				requestScopes.add(scopes);
+				reloadedScopes.add(reloaded);
+			}
+			for(final var future : futures) {
+				future.get();
+			}
+		}
+
+		for(var i = 0; i < requests; i++) {
+			final var scopes = requestScopes.get(i);
+			final var reloaded = reloadedScopes.get(i).get();
+			assertEquals(scopes.size(), reloaded.size());
+			for(var j = 0; j < scopes.size(); j++) {
+				assertSame(scopes.get(j), reloaded.get(j), "An asynchronous request uses the objects of its own request");
+			}
+			if(i > 0) {
+				assertNotSame(requestScopes.get(i - 1).get(0), scopes.get(0), "Requests do not share their objects");
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("A background job executed by a virtual thread loads its own objects")
+	public void testIsolate() throws InterruptedException, ExecutionException {
+		final var scopes = scopeDAOService.getAllScopes();
+		final AtomicReference<List<Scope>> reloadedScopes = new AtomicReference<>();
+		try(final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			executor.submit(transactionCacheDAOService.isolate(() -> reloadedScopes.set(reload(scopes)))).get();
+		}
+		assertNotSame(scopes.get(0), reloadedScopes.get().get(0));
+
+		//the current thread keeps its own cache
+		assertSame(scopes.get(0), scopeDAOService.getScopeByPk(scopes.get(0).getPk()));
+	}
+
+	private List<Scope> reload(final List<Scope> scopes) {
+		return scopes.stream().map(s -> scopeDAOService.getScopeByPk(s.getPk())).toList();
+	}
+}
@@ -15,7 +15,7 @@ import ch.rodano.core.database.initializer.DatabaseInitializer;
 import ch.rodano.core.model.actor.Actor;
 import ch.rodano.core.model.audit.DatabaseActionContext;
 import ch.rodano.core.services.bll.export.views.AggregateWorkflowViewService;
-import ch.rodano.core.services.bll.export.views.ExportViewService;
+import ch.rodano.core.services.bll.export.views.ExportTableService;
 import ch.rodano.core.services.bll.study.StudyService;
 import ch.rodano.core.services.dao.audit.AuditActionService;
 import ch.rodano.core.services.dao.commons.cache.transaction.TransactionCacheDAOService;
@@ -44,7 +44,7 @@ public class DatabaseTest {
 	private DatabaseInitializer databaseInitializer;
 
 	@Autowired
-	private ExportViewService exportViewService;
+	private ExportTableService exportTableService;
 
 	@Autowired
 	private AggregateWorkflowViewService aggregateWorkflowViewService;
@@ -70,7 +70,7 @@ public class DatabaseTest {
 				databaseInitializer.truncateTables();
 			}
 			databaseInitializer.initializeDatabaseContent(true, true);
-			exportViewService.updateViews();
+			exportTableService.rebuildTables();
 			aggregateWorkflowViewService.updateView();
 
 			watch.stop();
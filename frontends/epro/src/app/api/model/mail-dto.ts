@@ -40,9 +40,10 @@ export namespace MailDTO {
         SYSTEM: 'SYSTEM' as OriginEnum,
         ERROR: 'ERROR' as OriginEnum
     };
-    export type StatusEnum = 'PENDING' | 'SENT' | 'SIMULATED' | 'CANCELED' | 'FAILED';
+    export type StatusEnum = 'PENDING' | 'SENDING' | 'SENT' | 'SIMULATED' | 'CANCELED' | 'FAILED';
     export const StatusEnum = {
         PENDING: 'PENDING' as StatusEnum,
+        SENDING: 'SENDING' as StatusEnum,
         SENT: 'SENT' as StatusEnum,
         SIMULATED: 'SIMULATED' as StatusEnum,
         CANCELED: 'CANCELED' as StatusEnum,
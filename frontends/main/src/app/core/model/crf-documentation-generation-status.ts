@@ -9,11 +9,12 @@
  */
 
 
-export type CRFDocumentationGenerationStatus = 'NOT_STARTED' | 'IN_PROGRESS' | 'COMPLETED';
+export type CRFDocumentationGenerationStatus = 'NOT_STARTED' | 'IN_PROGRESS' | 'INTERRUPTED' | 'COMPLETED';
 
 export const CRFDocumentationGenerationStatus = {
     NOT_STARTED: 'NOT_STARTED' as CRFDocumentationGenerationStatus,
     IN_PROGRESS: 'IN_PROGRESS' as CRFDocumentationGenerationStatus,
+    INTERRUPTED: 'INTERRUPTED' as CRFDocumentationGenerationStatus,
     COMPLETED: 'COMPLETED' as CRFDocumentationGenerationStatus
 };
 
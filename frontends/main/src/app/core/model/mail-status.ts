@@ -9,10 +9,11 @@
  */
 
 
-export type MailStatus = 'PENDING' | 'SENT' | 'SIMULATED' | 'CANCELED' | 'FAILED';
+export type MailStatus = 'PENDING' | 'SENDING' | 'SENT' | 'SIMULATED' | 'CANCELED' | 'FAILED';
 
 export const MailStatus = {
     PENDING: 'PENDING' as MailStatus,
+    SENDING: 'SENDING' as MailStatus,
     SENT: 'SENT' as MailStatus,
     SIMULATED: 'SIMULATED' as MailStatus,
     CANCELED: 'CANCELED' as MailStatus,